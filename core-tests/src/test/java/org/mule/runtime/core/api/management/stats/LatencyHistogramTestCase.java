@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.api.management.stats.LatencyHistogram.highestEquivalentValue;
+import static org.mule.runtime.core.api.management.stats.LatencyHistogram.indexOf;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class LatencyHistogramTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void bucketsBoundRelativeError() {
+    for (long value = 0; value < 1_000_000; value += 7) {
+      long bucketValue = highestEquivalentValue(indexOf(value));
+      assertThat(bucketValue, allOf(greaterThanOrEqualTo(value), lessThanOrEqualTo(value + value / 16)));
+    }
+  }
+
+  @Test
+  public void smallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram(1000);
+    for (int i = 1; i <= 10; ++i) {
+      histogram.record(i);
+    }
+
+    LatencySnapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount(), is(10L));
+    assertThat(snapshot.getP50(), is(5L));
+    assertThat(snapshot.getP99(), is(10L));
+    assertThat(snapshot.getP999(), is(10L));
+    assertThat(snapshot.getMax(), is(10L));
+  }
+
+  @Test
+  public void percentiles() {
+    LatencyHistogram histogram = new LatencyHistogram(1_000_000);
+    for (int i = 1; i <= 10_000; ++i) {
+      histogram.record(i);
+    }
+
+    LatencySnapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount(), is(10_000L));
+    assertThat(snapshot.getP50(), allOf(greaterThanOrEqualTo(5_000L), lessThanOrEqualTo(5_000L + 5_000L / 16)));
+    assertThat(snapshot.getP99(), allOf(greaterThanOrEqualTo(9_900L), lessThanOrEqualTo(9_900L + 9_900L / 16)));
+    assertThat(snapshot.getP999(), allOf(greaterThanOrEqualTo(9_990L), lessThanOrEqualTo(9_990L + 9_990L / 16)));
+  }
+
+  @Test
+  public void valuesOutOfRangeAreClamped() {
+    LatencyHistogram histogram = new LatencyHistogram(100);
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+
+    LatencySnapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount(), is(2L));
+    assertThat(snapshot.getP50(), is(0L));
+    assertThat(snapshot.getMax(), is(highestEquivalentValue(indexOf(100))));
+  }
+
+  @Test
+  public void clear() {
+    LatencyHistogram histogram = new LatencyHistogram(100);
+    histogram.record(10);
+    histogram.clear();
+
+    LatencySnapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount(), is(0L));
+    assertThat(snapshot.getMax(), is(0L));
+  }
+
+  @Test
+  public void aggregatedSnapshot() {
+    LatencyHistogram first = new LatencyHistogram(100);
+    LatencyHistogram second = new LatencyHistogram(1000);
+    first.record(1);
+    second.record(2);
+    second.record(3);
+
+    LatencySnapshot snapshot = LatencyHistogram.snapshot(asList(first, second));
+    assertThat(snapshot.getCount(), is(3L));
+    assertThat(snapshot.getP50(), is(2L));
+    assertThat(snapshot.getMax(), is(3L));
+  }
+}
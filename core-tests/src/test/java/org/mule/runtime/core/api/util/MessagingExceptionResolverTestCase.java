@@ -8,11 +8,17 @@ package org.mule.runtime.core.api.util;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.internal.component.ComponentAnnotations.ANNOTATION_NAME;
@@ -36,6 +42,7 @@ import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.internal.exception.ErrorTypeLocatorFactory;
 import org.mule.runtime.core.internal.exception.ErrorTypeRepositoryFactory;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.exception.StacklessMessagingException;
 import org.mule.runtime.core.internal.message.ErrorTypeBuilder;
 import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
 import org.mule.runtime.core.privileged.connector.DispatchException;
@@ -208,6 +215,30 @@ public class MessagingExceptionResolverTestCase extends AbstractMuleTestCase {
     assertExceptionMessage(resolved.getMessage(), "DISPATCH PROBLEM");
   }
 
+  @Test
+  public void resolveLightweightKeepsOnlyCauseStackTrace() {
+    MessagingExceptionResolver lightweightResolver = new MessagingExceptionResolver(processor, true);
+    MessagingException me = lightweightResolver.newMessagingException(event, TRANSFORMER_EXCEPTION, processor);
+    MessagingException resolved = lightweightResolver.resolve(me, locator, emptyList());
+    assertExceptionErrorType(resolved, TRANSFORMER);
+    assertThat(resolved, instanceOf(StacklessMessagingException.class));
+    assertThat(resolved.getStackTrace(), arrayWithSize(0));
+    assertThat(resolved.getCause().getStackTrace(), not(arrayWithSize(0)));
+  }
+
+  @Test
+  public void resolveLightweightCachesErrorTypePerExceptionClass() {
+    ErrorTypeLocator spiedLocator = spy(locator);
+    MessagingExceptionResolver lightweightResolver = new MessagingExceptionResolver(processor, true);
+    for (int i = 0; i < 3; ++i) {
+      TransformerException cause = new TransformerException(createStaticMessage("TRANSFORMER " + i));
+      MessagingException resolved =
+          lightweightResolver.resolve(newMessagingException(cause, event, processor), spiedLocator, emptyList());
+      assertExceptionErrorType(resolved, TRANSFORMER);
+    }
+    verify(spiedLocator, times(1)).lookupErrorType(any(TransformerException.class));
+  }
+
   private void assertExceptionMessage(String result, String expected) {
     assertThat(result, containsString(expected));
   }
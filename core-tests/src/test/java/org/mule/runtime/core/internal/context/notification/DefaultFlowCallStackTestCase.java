@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.System.lineSeparator;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.test.allure.AllureConstants.Logging.LOGGING;
+import static org.mule.test.allure.AllureConstants.Logging.LoggingStory.FLOW_STACK;
+
+import org.mule.runtime.core.api.context.notification.FlowStackElement;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.NoSuchElementException;
+
+import org.apache.commons.lang3.SerializationUtils;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(LOGGING)
+@Story(FLOW_STACK)
+public class DefaultFlowCallStackTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void elementsFromTopToBottom() {
+    DefaultFlowCallStack stack = new DefaultFlowCallStack();
+    stack.push(new FlowStackElement("flow", null));
+    stack.setCurrentProcessorPath("flow/processors/0");
+    stack.push(new FlowStackElement("subFlow", null));
+
+    assertThat(stack.toString(), is("at subFlow" + lineSeparator() + "at flow(flow/processors/0)"));
+    assertThat(stack.getElements().size(), is(2));
+    assertThat(stack.peek().getFlowName(), is("subFlow"));
+  }
+
+  @Test
+  public void cloneIsNotAffectedByChangesToOriginal() {
+    DefaultFlowCallStack stack = new DefaultFlowCallStack();
+    stack.push(new FlowStackElement("flow", "flow/processors/0"));
+
+    DefaultFlowCallStack clone = stack.clone();
+    stack.setCurrentProcessorPath("flow/processors/1");
+    stack.push(new FlowStackElement("subFlow", null));
+
+    assertThat(clone.toString(), is("at flow(flow/processors/0)"));
+
+    clone.pop();
+    assertThat(clone.peek(), is(nullValue()));
+    assertThat(stack.getElements().size(), is(2));
+  }
+
+  @Test
+  public void serialization() {
+    DefaultFlowCallStack stack = new DefaultFlowCallStack();
+    stack.push(new FlowStackElement("flow", "flow/processors/0"));
+    stack.push(new FlowStackElement("subFlow", null));
+
+    DefaultFlowCallStack deserialized = SerializationUtils.clone(stack);
+
+    assertThat(deserialized.toString(), is(stack.toString()));
+    deserialized.push(new FlowStackElement("otherSubFlow", null));
+    assertThat(deserialized.getElements().size(), is(3));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void popEmpty() {
+    new DefaultFlowCallStack().pop();
+  }
+}
@@ -26,6 +26,7 @@ import static org.mule.tck.probe.PollingProber.probe;
 import static org.mule.test.allure.AllureConstants.EventContextFeature.EVENT_CONTEXT;
 import static org.mule.test.allure.AllureConstants.EventContextFeature.EventContextStory.RESPONSE_AND_COMPLETION_PUBLISHERS;
 import static reactor.core.publisher.Mono.from;
+import static reactor.core.scheduler.Schedulers.parallel;
 import static reactor.core.scheduler.Schedulers.single;
 
 import org.mule.runtime.api.component.TypedComponentIdentifier;
@@ -689,6 +690,47 @@ public class DefaultEventContextTestCase extends AbstractMuleContextTestCase {
     assertThat(callbacks, contains("onResponse", "onComplete", "onTerminated"));
   }
 
+  @Test
+  @Description("Callbacks registered while the callbacks of the same kind are being signaled run after the ones registered before.")
+  public void callbacksRegisteredWhileSignalingKeepOrder() {
+    List<String> callbacks = new ArrayList<>();
+
+    final DefaultEventContext eventContext = context.get();
+
+    eventContext.onComplete((e, t) -> {
+      callbacks.add("onComplete1");
+      eventContext.onComplete((e2, t2) -> callbacks.add("onComplete3"));
+    });
+    eventContext.onComplete((e, t) -> callbacks.add("onComplete2"));
+
+    eventContext.success();
+    eventContext.onComplete((e, t) -> callbacks.add("onComplete4"));
+
+    assertThat(callbacks, contains("onComplete1", "onComplete2", "onComplete3", "onComplete4"));
+  }
+
+  @Test
+  @Description("Parent EventContext only completes once all of its child contexts, completed concurrently, are complete.")
+  public void concurrentChildrenCompletion() throws Exception {
+    final int childCount = 1000;
+    List<BaseEventContext> children = new ArrayList<>();
+    for (int i = 0; i < childCount; ++i) {
+      children.add(child(parent, empty()));
+    }
+    parent.success();
+
+    assertParent(is(nullValue()), is(nullValue()), false, false);
+
+    Flux.fromIterable(children)
+        .parallel()
+        .runOn(parallel())
+        .doOnNext(BaseEventContext::success)
+        .sequential()
+        .blockLast();
+
+    assertParent(is(nullValue()), is(nullValue()), true, true);
+  }
+
   private void assertParent(Matcher<Object> eventMatcher, Matcher<Object> errorMatcher, boolean complete, boolean terminated) {
     assertThat(parentResultValue.get(), eventMatcher);
     assertThat(parentErrorValue.get(), errorMatcher);
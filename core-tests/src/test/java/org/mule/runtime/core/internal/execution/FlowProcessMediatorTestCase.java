@@ -19,6 +19,7 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
@@ -68,6 +69,7 @@ import org.mule.runtime.core.internal.policy.SourcePolicySuccessResult;
 import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.policy.api.PolicyPointcutParameters;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.tck.junit4.matcher.EventMatcher;
 import org.mule.tck.size.SmallTest;
@@ -193,6 +195,52 @@ public class FlowProcessMediatorTestCase extends AbstractMuleContextTestCase {
     verifySuccess();
   }
 
+  @Test
+  public void batchSuccess() throws Exception {
+    flowProcessMediator.process(asList(template, template, template), context, notifier);
+
+    verify(template, times(3)).sendResponseToClient(any(), any(), any());
+    verify(template, times(3)).afterPhaseExecution(argThat(rightMatches(Matchers.any(CoreEvent.class))));
+    verify(notifier, times(3)).phaseSuccessfully();
+    verify(notifier, never()).phaseFailure(any());
+    verify(policyManager, times(3)).addSourcePointcutParametersIntoEvent(any(), any(), any());
+    verify(policyManager, times(1)).createSourcePolicyInstance(any(), any(), any(), any());
+  }
+
+  @Test
+  public void batchPolicyResolvedForDifferentPointcutParameters() throws Exception {
+    when(policyManager.addSourcePointcutParametersIntoEvent(any(), any(), any()))
+        .thenReturn(mock(PolicyPointcutParameters.class), mock(PolicyPointcutParameters.class));
+
+    flowProcessMediator.process(asList(template, template), context, notifier);
+
+    verify(notifier, times(2)).phaseSuccessfully();
+    verify(policyManager, times(2)).createSourcePolicyInstance(any(), any(), any(), any());
+  }
+
+  @Test
+  public void batchFailureDoesNotAffectOtherMessages() throws Exception {
+    FlowProcessTemplate failingTemplate = mock(FlowProcessTemplate.class);
+    when(failingTemplate.getSourceMessage()).thenReturn(resultAdapter);
+    when(failingTemplate.getNotificationFunctions()).thenReturn(emptyList());
+    when(failingTemplate.getFailedExecutionResponseParametersFunction()).thenReturn(coreEvent -> emptyMap());
+    doAnswer(onCallback(callback -> callback.error(mockException))).when(failingTemplate)
+        .sendResponseToClient(any(), any(), any());
+    doAnswer(onCallback(callback -> callback.complete(null))).when(failingTemplate)
+        .sendFailureResponseToClient(any(), any(), any());
+
+    flowProcessMediator.process(asList(failingTemplate, template), context, notifier);
+
+    verify(failingTemplate).sendFailureResponseToClient(any(), any(), any());
+    verify(failingTemplate).afterPhaseExecution(argThat(leftMatches(Matchers.any(MessagingException.class))));
+    verify(template).sendResponseToClient(any(), any(), any());
+    verify(template, never()).sendFailureResponseToClient(any(), any(), any());
+    verify(template).afterPhaseExecution(argThat(rightMatches(Matchers.any(CoreEvent.class))));
+    // Failing to send a response counts as successful once the error response is sent
+    verify(notifier, times(2)).phaseSuccessfully();
+    verify(notifier, never()).phaseFailure(any());
+  }
+
   @Test
   public void successDelayedResponseCompletion() throws Exception {
     Reference<CompletableCallback<Void>> callbackReference = new Reference<>();
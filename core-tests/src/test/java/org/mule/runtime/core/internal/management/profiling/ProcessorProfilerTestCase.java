@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.profiling;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Mono.just;
+import static reactor.core.scheduler.Schedulers.single;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ProcessorProfilerTestCase extends AbstractMuleTestCase {
+
+  private static final String LOCATION = "flow/processors/0";
+
+  private ProcessorProfiler profiler;
+  private Processor processor;
+  private CoreEvent event;
+
+  @Before
+  public void setUp() {
+    profiler = new ProcessorProfiler();
+
+    ComponentLocation location = mock(ComponentLocation.class);
+    when(location.getLocation()).thenReturn(LOCATION);
+    processor = mock(Processor.class, withSettings().extraInterfaces(Component.class));
+    when(((Component) processor).getLocation()).thenReturn(location);
+
+    event = mock(CoreEvent.class);
+    when(event.getContext()).thenReturn(mock(EventContext.class));
+  }
+
+  @Test
+  public void disabled() {
+    process(stream -> stream);
+
+    ProcessorProfile profile = profiler.getProfiles().iterator().next();
+    assertThat(profile.getQueueWaitTimeSnapshot().getCount(), is(0L));
+    assertThat(profile.getExecutionTimeSnapshot().getCount(), is(0L));
+  }
+
+  @Test
+  public void enabledAfterInstalled() {
+    ReactiveProcessor profiled = install(stream -> stream);
+    profiler.setEnabled(true);
+
+    from(profiled.apply(just(event))).blockLast();
+
+    ProcessorProfile profile = profiler.getProfiles().iterator().next();
+    assertThat(profile.getQueueWaitTimeSnapshot().getCount(), is(1L));
+    assertThat(profile.getExecutionTimeSnapshot().getCount(), is(1L));
+  }
+
+  @Test
+  public void disabledAfterInstalled() {
+    profiler.setEnabled(true);
+    ReactiveProcessor profiled = install(stream -> stream);
+    profiler.setEnabled(false);
+
+    from(profiled.apply(just(event))).blockLast();
+
+    ProcessorProfile profile = profiler.getProfiles().iterator().next();
+    assertThat(profile.getQueueWaitTimeSnapshot().getCount(), is(0L));
+    assertThat(profile.getExecutionTimeSnapshot().getCount(), is(0L));
+  }
+
+  @Test
+  public void enabled() {
+    ProcessorProfilingListener listener = mock(ProcessorProfilingListener.class);
+    profiler.addListener(listener);
+    profiler.setEnabled(true);
+
+    process(stream -> stream);
+
+    ProcessorProfile profile = profiler.getProfiles().iterator().next();
+    assertThat(profile.getLocation(), is(LOCATION));
+    assertThat(profile.getQueueWaitTimeSnapshot().getCount(), is(1L));
+    assertThat(profile.getExecutionTimeSnapshot().getCount(), is(1L));
+    assertThat(profile.getThreadSwitches(), is(0L));
+    verify(listener).onProcessed(eq(LOCATION), anyLong(), anyLong(), eq(0));
+  }
+
+  @Test
+  public void threadSwitchCounted() {
+    profiler.setEnabled(true);
+
+    process(stream -> from(stream).publishOn(single()));
+
+    ProcessorProfile profile = profiler.getProfiles().iterator().next();
+    assertThat(profile.getExecutionTimeSnapshot().getCount(), is(1L));
+    assertThat(profile.getThreadSwitches(), is(1L));
+  }
+
+  @Test
+  public void discardedEventNotRecorded() {
+    profiler.setEnabled(true);
+
+    process(stream -> from(stream).doOnNext(e -> profiler.discard(processor, e.getContext())));
+
+    ProcessorProfile profile = profiler.getProfiles().iterator().next();
+    assertThat(profile.getExecutionTimeSnapshot().getCount(), is(0L));
+  }
+
+  private void process(ReactiveProcessor next) {
+    from(install(next).apply(just(event))).blockLast();
+  }
+
+  private ReactiveProcessor install(ReactiveProcessor next) {
+    ReactiveProcessor execution = profiler.executionInterceptor().apply(processor, next);
+    return profiler.dispatchInterceptor().apply(processor, execution);
+  }
+}
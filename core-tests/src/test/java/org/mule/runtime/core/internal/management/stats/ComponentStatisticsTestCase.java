@@ -10,6 +10,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
 import org.mule.runtime.core.api.management.stats.ComponentStatistics;
+import org.mule.runtime.core.api.management.stats.LatencySnapshot;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.junit4.rule.SystemProperty;
 
@@ -150,4 +151,23 @@ public class ComponentStatisticsTestCase extends AbstractMuleTestCase {
     stats.addExecutionBranchTime(true, 100L, 100L);
     assertValues(stats, 2L, 200L, 100L, 100L, 100L);
   }
+
+  @Test
+  public void executionTimePercentiles() {
+    ComponentStatistics stats = new ComponentStatistics();
+    for (long time = 1; time <= 20; ++time) {
+      stats.addExecutionTime(time);
+    }
+    stats.addExecutionBranchTime(true, 30L, 30L);
+    stats.addCompleteExecutionTime(30L);
+
+    LatencySnapshot snapshot = stats.getExecutionTimeSnapshot();
+    assertThat(snapshot.getCount(), equalTo(21L));
+    assertThat(snapshot.getP50(), equalTo(11L));
+    assertThat(snapshot.getP99(), equalTo(30L));
+    assertThat(snapshot.getMax(), equalTo(30L));
+
+    stats.clear();
+    assertThat(stats.getExecutionTimeSnapshot().getCount(), equalTo(0L));
+  }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.System.nanoTime;
+import static java.util.Optional.empty;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
+import org.mule.runtime.core.api.management.stats.ProcessingTime;
+import org.mule.runtime.core.internal.event.DefaultEventContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ProcessingTimeTestCase extends AbstractMuleTestCase {
+
+  private FlowConstruct flow;
+  private FlowConstructStatistics statistics;
+
+  @Before
+  public void setUp() {
+    statistics = mock(FlowConstructStatistics.class);
+    when(statistics.isEnabled()).thenReturn(true);
+
+    flow = mock(FlowConstruct.class);
+    when(flow.getStatistics()).thenReturn(statistics);
+    when(flow.getUniqueIdString()).thenReturn("id");
+    when(flow.getServerId()).thenReturn("serverId");
+  }
+
+  @Test
+  public void completeFlowExecutionTimeAddedOnTermination() {
+    DefaultEventContext context = new DefaultEventContext(flow, null, null, empty());
+    ProcessingTime processingTime = context.getProcessingTime().get();
+
+    processingTime.addFlowExecutionBranchNanoTime(nanoTime());
+    verify(statistics).addFlowExecutionBranchTime(anyLong(), anyLong());
+    verify(statistics, never()).addCompleteFlowExecutionTime(anyLong());
+
+    context.success();
+    verify(statistics).addCompleteFlowExecutionTime(processingTime.getAccumulator().get());
+  }
+
+  @Test
+  public void completeFlowExecutionTimeAddedOnce() {
+    ProcessingTime processingTime = ProcessingTime.newInstance(flow);
+
+    processingTime.complete();
+    processingTime.complete();
+    verify(statistics, times(1)).addCompleteFlowExecutionTime(0L);
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.ProcessorStatistics;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ProcessorStatisticsRecorderTestCase extends AbstractMuleTestCase {
+
+  private ProcessorStatistics statistics;
+  private ProcessorStatisticsRecorder recorder;
+  private BaseEventContext context;
+  private CoreEvent event;
+
+  @Before
+  public void setUp() {
+    statistics = new ProcessorStatistics("flow/processors/0");
+    statistics.setEnabled(true);
+    recorder = new ProcessorStatisticsRecorder(statistics);
+
+    context = mock(BaseEventContext.class);
+    event = mock(CoreEvent.class);
+    when(event.getContext()).thenReturn(context);
+  }
+
+  @Test
+  public void processingTimeRecorded() {
+    recorder.start(event);
+    recorder.stop(context);
+
+    assertThat(statistics.getProcessingTimeSnapshot().getCount(), is(1L));
+  }
+
+  @Test
+  public void notRecordedWhenDisabled() {
+    statistics.setEnabled(false);
+
+    recorder.start(event);
+    recorder.stop(context);
+
+    assertThat(statistics.getProcessingTimeSnapshot().getCount(), is(0L));
+    verify(context, never()).onTerminated(any());
+  }
+
+  @Test
+  public void notRecordedWhenNotStarted() {
+    recorder.stop(context);
+
+    assertThat(statistics.getProcessingTimeSnapshot().getCount(), is(0L));
+  }
+
+  @Test
+  public void recordedOnceEnabled() {
+    statistics.setEnabled(false);
+    recorder.start(event);
+    statistics.setEnabled(true);
+    recorder.stop(context);
+
+    assertThat(statistics.getProcessingTimeSnapshot().getCount(), is(0L));
+
+    recorder.start(event);
+    recorder.stop(context);
+
+    assertThat(statistics.getProcessingTimeSnapshot().getCount(), is(1L));
+  }
+
+  @Test
+  public void noTerminationCallbackRegistered() {
+    recorder.start(event);
+    recorder.stop(context);
+
+    verify(context, never()).onTerminated(any());
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.metadata;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mule.runtime.core.internal.metadata.DataTypeInterner.fromObject;
+import static org.mule.runtime.core.internal.metadata.DataTypeInterner.fromType;
+import static org.mule.runtime.core.internal.metadata.DataTypeInterner.parseMediaType;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.junit.Test;
+
+@SmallTest
+public class DataTypeInternerTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void sameAsFromType() {
+    assertThat(fromType(String.class), equalTo(DataType.fromType(String.class)));
+    assertThat(fromType(ArrayList.class), equalTo(DataType.fromType(ArrayList.class)));
+    assertThat(fromType(HashMap.class), equalTo(DataType.fromType(HashMap.class)));
+  }
+
+  @Test
+  public void sameAsFromObject() {
+    assertThat(fromObject("hello"), equalTo(DataType.fromObject("hello")));
+    assertThat(fromObject(null), equalTo(DataType.fromObject(null)));
+  }
+
+  @Test
+  public void fromTypeIsInterned() {
+    assertThat(fromType(String.class), sameInstance(fromType(String.class)));
+    assertThat(fromObject("hello"), sameInstance(fromObject("bye")));
+  }
+
+  @Test
+  public void parsedMediaTypeIsInterned() {
+    final MediaType parsed = parseMediaType("application/json; charset=UTF-8");
+    assertThat(parsed, equalTo(MediaType.APPLICATION_JSON.withCharset(UTF_8)));
+    assertThat(parseMediaType("application/json; charset=UTF-8"), sameInstance(parsed));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidMediaType() {
+    parseMediaType("not a media type");
+  }
+}
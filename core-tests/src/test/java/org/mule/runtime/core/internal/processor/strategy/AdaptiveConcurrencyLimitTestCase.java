@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.ProcessingStrategiesStory.ADAPTIVE_CONCURRENCY;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.ConcurrencyLimitStatistics;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(PROCESSING_STRATEGIES)
+@Story(ADAPTIVE_CONCURRENCY)
+public class AdaptiveConcurrencyLimitTestCase extends AbstractMuleTestCase {
+
+  private static final long LATENCY = MILLISECONDS.toNanos(10);
+
+  private final ConcurrencyLimitStatistics statistics = new ConcurrencyLimitStatistics("flow");
+
+  @Test
+  @Description("Events beyond the limit are rejected until an event in flight is released.")
+  public void rejectBeyondLimit() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, statistics);
+
+    assertThat(limit.tryAcquire(), is(true));
+    assertThat(limit.tryAcquire(), is(true));
+    assertThat(limit.tryAcquire(), is(false));
+    assertThat(statistics.getRejectedEvents(), is(1L));
+
+    limit.release(nanoTime(), false);
+    assertThat(limit.tryAcquire(), is(true));
+    assertThat(limit.getInFlight(), is(2));
+  }
+
+  @Test
+  @Description("The limit grows while latency is stable and the limit is in use.")
+  public void growWithStableLatency() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, statistics);
+
+    for (int i = 0; i < 20; ++i) {
+      limit.onSample(LATENCY, limit.getLimit());
+    }
+
+    assertThat(limit.getLimit(), greaterThan(10));
+    assertThat(statistics.getLimit(), is(limit.getLimit()));
+    assertThat(statistics.getLongLatency(), is(MILLISECONDS.toMicros(10)));
+  }
+
+  @Test
+  @Description("The limit shrinks when latency rises above the long term average.")
+  public void shrinkWithRisingLatency() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 100, statistics);
+
+    for (int i = 0; i < 20; ++i) {
+      limit.onSample(LATENCY, limit.getLimit());
+    }
+    final int stableLimit = limit.getLimit();
+
+    for (int i = 0; i < 20; ++i) {
+      limit.onSample(LATENCY * 5, limit.getLimit());
+    }
+
+    assertThat(limit.getLimit(), lessThan(stableLimit));
+    assertThat(statistics.getShortLatency(), is(MILLISECONDS.toMicros(50)));
+  }
+
+  @Test
+  @Description("The limit does not change while less than half of it is in use.")
+  public void noChangeWhenUnderused() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, statistics);
+
+    for (int i = 0; i < 20; ++i) {
+      limit.onSample(LATENCY, 2);
+    }
+
+    assertThat(limit.getLimit(), is(10));
+  }
+
+  @Test
+  @Description("The limit is kept between its min and max values.")
+  public void keptWithinBounds() {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 5, 12, statistics);
+
+    for (int i = 0; i < 100; ++i) {
+      limit.onSample(LATENCY, limit.getLimit());
+    }
+    assertThat(limit.getLimit(), is(12));
+
+    for (int i = 0; i < 100; ++i) {
+      limit.onSample(LATENCY * (i + 2), limit.getLimit());
+    }
+    assertThat(limit.getLimit(), is(5));
+  }
+
+  @Test
+  @Description("The limit adapts up to the max concurrency of the flow.")
+  public void configuredWithMaxConcurrency() {
+    StreamEmitterProcessingStrategyFactory factory = createAdaptiveFactory();
+    factory.setMaxConcurrency(8);
+
+    AbstractReactorStreamProcessingStrategy processingStrategy =
+        (AbstractReactorStreamProcessingStrategy) factory.create(createMuleContext(), "flow");
+
+    assertThat(processingStrategy.getAdaptiveConcurrencyLimit().getLimit(), lessThanOrEqualTo(8));
+  }
+
+  @Test
+  @Description("Without a max concurrency there is no upper bound to adapt to, so the limit is not applied.")
+  public void notConfiguredWithoutMaxConcurrency() {
+    StreamEmitterProcessingStrategyFactory factory = createAdaptiveFactory();
+
+    AbstractReactorStreamProcessingStrategy processingStrategy =
+        (AbstractReactorStreamProcessingStrategy) factory.create(createMuleContext(), "flow");
+
+    assertThat(processingStrategy.getAdaptiveConcurrencyLimit(), is(nullValue()));
+  }
+
+  private StreamEmitterProcessingStrategyFactory createAdaptiveFactory() {
+    StreamEmitterProcessingStrategyFactory factory = new StreamEmitterProcessingStrategyFactory();
+    factory.setAdaptiveMaxConcurrency(true);
+    factory.setMaxConcurrencyEagerCheck(true);
+    return factory;
+  }
+
+  private MuleContext createMuleContext() {
+    MuleContext muleContext = mock(MuleContext.class);
+    when(muleContext.getStatistics()).thenReturn(new AllStatistics());
+    return muleContext;
+  }
+}
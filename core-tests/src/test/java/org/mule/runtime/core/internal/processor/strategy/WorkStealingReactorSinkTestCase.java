@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.core.api.construct.BackPressureReason.EVENTS_ACCUMULATED;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.ProcessingStrategiesStory.WORK_STEALING;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import reactor.core.publisher.BaseSubscriber;
+
+@SmallTest
+@Feature(PROCESSING_STRATEGIES)
+@Story(WORK_STEALING)
+public class WorkStealingReactorSinkTestCase extends AbstractMuleTestCase {
+
+  @Test
+  @Description("With a single worker, events are processed in the same order they were accepted.")
+  public void singleWorkerKeepsOrder() {
+    WorkStealingReactorSink sink = createSink(1, 16);
+    TestWorker worker = subscribe(sink, 0, Long.MAX_VALUE);
+
+    List<CoreEvent> events = createEvents(100);
+    events.forEach(sink::accept);
+
+    assertThat(worker.received, is(events));
+  }
+
+  @Test
+  @Description("A worker with demand takes the events queued for a worker without demand, oldest first.")
+  public void idleWorkerTakesQueuedEvents() {
+    WorkStealingReactorSink sink = createSink(2, 16);
+    TestWorker busy = subscribe(sink, 0, 0);
+    TestWorker idle = subscribe(sink, 1, Long.MAX_VALUE);
+
+    List<CoreEvent> events = createEvents(10);
+    events.forEach(sink::accept);
+
+    assertThat(busy.received, is(empty()));
+    assertThat(idle.received, is(events));
+  }
+
+  @Test
+  @Description("A worker that gets demand takes the events queued for the other workers once its own are done.")
+  public void workerTakesQueuedEventsOnRequest() {
+    WorkStealingReactorSink sink = createSink(2, 16);
+    TestWorker first = subscribe(sink, 0, 0);
+    TestWorker second = subscribe(sink, 1, 0);
+
+    List<CoreEvent> events = createEvents(4);
+    events.forEach(sink::accept);
+    second.request(4);
+
+    assertThat(first.received, is(empty()));
+    assertThat(second.received, contains(events.get(1), events.get(3), events.get(0), events.get(2)));
+  }
+
+  @Test
+  @Description("Emitting only causes backpressure when the queues of all the workers are full.")
+  public void backPressureWhenAllQueuesFull() {
+    WorkStealingReactorSink sink = createSink(2, 2);
+    subscribe(sink, 0, 0);
+    subscribe(sink, 1, 0);
+
+    for (CoreEvent event : createEvents(4)) {
+      assertThat(sink.emit(event), is(nullValue()));
+    }
+    assertThat(sink.emit(mock(CoreEvent.class)), is(EVENTS_ACCUMULATED));
+  }
+
+  @Test
+  @Description("When disposing, workers complete once all the queued events have been processed.")
+  public void completeAfterQueuedEvents() {
+    WorkStealingReactorSink sink = createSink(2, 16);
+    TestWorker first = subscribe(sink, 0, 0);
+    TestWorker second = subscribe(sink, 1, 0);
+
+    createEvents(2).forEach(sink::accept);
+    sink.prepareDispose();
+
+    assertThat(first.completed, is(false));
+    assertThat(second.completed, is(false));
+
+    first.request(2);
+
+    assertThat(first.received, hasSize(2));
+    assertThat(first.completed, is(true));
+    assertThat(second.completed, is(true));
+  }
+
+  private WorkStealingReactorSink createSink(int workers, int workerQueueSize) {
+    return new WorkStealingReactorSink(workers, workerQueueSize, event -> {
+    }, timestamp -> {
+    });
+  }
+
+  private TestWorker subscribe(WorkStealingReactorSink sink, int workerIndex, long initialDemand) {
+    TestWorker worker = new TestWorker(initialDemand);
+    sink.workerFlux(workerIndex).subscribe(worker);
+    assertThat(sink.isSubscribed(workerIndex), is(true));
+    return worker;
+  }
+
+  private List<CoreEvent> createEvents(int count) {
+    List<CoreEvent> events = new ArrayList<>();
+    for (int i = 0; i < count; ++i) {
+      events.add(mock(CoreEvent.class));
+    }
+    return events;
+  }
+
+  private static class TestWorker extends BaseSubscriber<CoreEvent> {
+
+    private final long initialDemand;
+    private final List<CoreEvent> received = new ArrayList<>();
+    private boolean completed = false;
+
+    private TestWorker(long initialDemand) {
+      this.initialDemand = initialDemand;
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+      if (initialDemand > 0) {
+        subscription.request(initialDemand);
+      }
+    }
+
+    @Override
+    protected void hookOnNext(CoreEvent value) {
+      received.add(value);
+    }
+
+    @Override
+    protected void hookOnComplete() {
+      completed = true;
+    }
+  }
+}
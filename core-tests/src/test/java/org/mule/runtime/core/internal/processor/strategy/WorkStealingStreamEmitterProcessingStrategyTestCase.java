@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.ProcessingStrategiesStory.WORK_STEALING;
+import static reactor.core.publisher.Flux.from;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.internal.processor.strategy.AbstractProcessingStrategyTestCase.TestScheduler;
+import org.mule.runtime.core.internal.processor.strategy.WorkStealingStreamEmitterProcessingStrategyFactory.WorkStealingStreamEmitterProcessingStrategy;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(PROCESSING_STRATEGIES)
+@Story(WORK_STEALING)
+public class WorkStealingStreamEmitterProcessingStrategyTestCase extends AbstractMuleTestCase {
+
+  private static final int TIMEOUT = 5000;
+  private static final int FAST_EVENTS = 16;
+
+  private Scheduler dispatch;
+  private Scheduler cpuLight;
+  private WorkStealingStreamEmitterProcessingStrategy processingStrategy;
+
+  @Before
+  public void before() throws Exception {
+    dispatch = new TestScheduler(2, "dispatch", false);
+    cpuLight = new TestScheduler(2, "cpuLight", false);
+    processingStrategy = new WorkStealingStreamEmitterProcessingStrategy(64, 1, () -> dispatch, () -> cpuLight, 2, 2, false);
+    processingStrategy.start();
+  }
+
+  @After
+  public void after() {
+    processingStrategy.dispose();
+    dispatch.stop();
+    cpuLight.stop();
+  }
+
+  @Test
+  @Description("While a subscriber is busy with a slow event, the events assigned to it after that one are processed by the idle subscriber.")
+  public void idleSubscriberTakesEventsOfBusySubscriber() throws Exception {
+    final CoreEvent slowEvent = mock(CoreEvent.class);
+    final Latch slowEventLatch = new Latch();
+    final CountDownLatch fastEventsLatch = new CountDownLatch(FAST_EVENTS);
+
+    ReactiveProcessor pipeline = publisher -> from(publisher).doOnNext(event -> {
+      if (event == slowEvent) {
+        awaitQuietly(slowEventLatch);
+      } else {
+        fastEventsLatch.countDown();
+      }
+    });
+    Sink sink = processingStrategy.createSink(mock(FlowConstruct.class, RETURNS_DEEP_STUBS),
+                                              processingStrategy.onPipeline(pipeline));
+
+    try {
+      sink.accept(slowEvent);
+      for (int i = 0; i < FAST_EVENTS; ++i) {
+        sink.accept(mock(CoreEvent.class));
+      }
+
+      // half of the fast events are assigned to the subscriber busy with the slow event
+      assertThat(fastEventsLatch.await(TIMEOUT, MILLISECONDS), is(true));
+    } finally {
+      slowEventLatch.release();
+      sink.dispose();
+    }
+  }
+
+  private static void awaitQuietly(Latch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+    }
+  }
+}
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.registry;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
@@ -77,6 +79,27 @@ public class SimpleRegistryTestCase extends AbstractMuleContextTestCase {
     assertThat(registryMap.getLostObjects(), is(empty()));
   }
 
+  @Test
+  public void lookupByTypeFollowsRegistrations() throws Exception {
+    final RegistryMap registryMap = new RegistryMap(mock(Logger.class));
+    InterfaceBasedTracker tracker = new InterfaceBasedTracker();
+    registryMap.putAndLogWarningIfDuplicate("tracker", tracker);
+    registryMap.putAndLogWarningIfDuplicate("string", "value");
+
+    assertThat(registryMap.lookupObjects(Disposable.class), contains(tracker));
+    assertThat(registryMap.lookupObjects(AbstractLifecycleTracker.class), contains(tracker));
+    assertThat(registryMap.lookupByType(CharSequence.class).keySet(), contains("string"));
+    assertThat(registryMap.lookupByType(Object.class).keySet(), containsInAnyOrder("tracker", "string"));
+
+    registryMap.putAndLogWarningIfDuplicate("tracker", "otherValue");
+    assertThat(registryMap.lookupObjects(Disposable.class), is(empty()));
+    assertThat(registryMap.lookupByType(CharSequence.class).keySet(), containsInAnyOrder("tracker", "string"));
+
+    registryMap.remove("string");
+    assertThat(registryMap.lookupObjects(CharSequence.class), contains("otherValue"));
+    assertThat(registryMap.lookupByType(Runnable.class).entrySet(), is(empty()));
+  }
+
 
   @Test
   public void testJSR250ObjectLifecycle() throws Exception {
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.metadata.DataType.NUMBER;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.el.ExpressionManagerSession;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ChoiceRouteDispatcherTestCase extends AbstractMuleTestCase {
+
+  private static final String SELECTOR = "#[attributes.headers.type]";
+
+  private final Processor processor = event -> event;
+  private final List<ProcessorRoute> routes = new ArrayList<>();
+  private ExpressionManagerSession session;
+
+  @Before
+  public void before() {
+    session = mock(ExpressionManagerSession.class);
+  }
+
+  @Test
+  public void comparisonsOnCommonSelectorDispatchedByValue() {
+    addRoutes("#[attributes.headers.type == 'A']", "#[attributes.headers.type == \"B\"]", "#['C' == attributes.headers.type]");
+    ChoiceRouteDispatcher dispatcher = dispatcher();
+    when(session.evaluate(SELECTOR)).thenReturn(new TypedValue<>("C", STRING));
+
+    assertThat(dispatcher.hasSelectorGroups(), is(true));
+    assertThat(dispatcher.select(session), is(2));
+    verify(session, times(1)).evaluate(SELECTOR);
+    verify(session, never()).evaluateBoolean(anyString(), anyBoolean(), anyBoolean());
+  }
+
+  @Test
+  public void noMatchingValueFallsToDefault() {
+    addRoutes("#[attributes.headers.type == 'A']", "#[attributes.headers.type == 'B']");
+    ChoiceRouteDispatcher dispatcher = dispatcher();
+    when(session.evaluate(SELECTOR)).thenReturn(new TypedValue<>("D", STRING));
+
+    assertThat(dispatcher.select(session), is(2));
+    verify(session, never()).evaluateBoolean(anyString(), anyBoolean(), anyBoolean());
+  }
+
+  @Test
+  public void firstOfRepeatedValuesTaken() {
+    addRoutes("#[attributes.headers.type == 'A']", "#[attributes.headers.type == 'B']", "#[attributes.headers.type == 'A']");
+    ChoiceRouteDispatcher dispatcher = dispatcher();
+    when(session.evaluate(SELECTOR)).thenReturn(new TypedValue<>("A", STRING));
+
+    assertThat(dispatcher.select(session), is(0));
+  }
+
+  @Test
+  public void nonStringSelectorEvaluatesRoutesInOrder() {
+    addRoutes("#[attributes.headers.type == 'A']", "#[attributes.headers.type == 'B']");
+    ChoiceRouteDispatcher dispatcher = dispatcher();
+    when(session.evaluate(SELECTOR)).thenReturn(new TypedValue<>(1, NUMBER));
+    when(session.evaluateBoolean(eq("#[attributes.headers.type == 'B']"), anyBoolean(), anyBoolean())).thenReturn(true);
+
+    assertThat(dispatcher.select(session), is(1));
+    verify(session, times(2)).evaluateBoolean(anyString(), anyBoolean(), anyBoolean());
+  }
+
+  @Test
+  public void routesKeepTheirOrderAroundSelectorGroups() {
+    addRoutes("#[vars.first]", "#[attributes.headers.type == 'A']", "#[attributes.headers.type == 'B']",
+              "#[attributes.headers.type == 'C' and vars.other]");
+    ChoiceRouteDispatcher dispatcher = dispatcher();
+    when(session.evaluate(SELECTOR)).thenReturn(new TypedValue<>("C", STRING));
+    when(session.evaluateBoolean(eq("#[attributes.headers.type == 'C' and vars.other]"), anyBoolean(), anyBoolean()))
+        .thenReturn(true);
+
+    assertThat(dispatcher.select(session), is(3));
+    verify(session).evaluateBoolean(eq("#[vars.first]"), anyBoolean(), anyBoolean());
+
+    when(session.evaluateBoolean(eq("#[vars.first]"), anyBoolean(), anyBoolean())).thenReturn(true);
+    assertThat(dispatcher.select(session), is(0));
+  }
+
+  @Test
+  public void unanalysableRoutesEvaluatedInOrder() {
+    addRoutes("#[attributes.headers.type == 'A' or vars.x]", "#[vars.type == 'A']", "#[payload == '$(vars.x)']",
+              "mel:payload == 'A'");
+    ChoiceRouteDispatcher dispatcher = dispatcher();
+
+    assertThat(dispatcher.hasSelectorGroups(), is(false));
+    assertThat(dispatcher.select(session), is(4));
+    verify(session, never()).evaluate(anyString());
+    verify(session, times(4)).evaluateBoolean(anyString(), anyBoolean(), anyBoolean());
+  }
+
+  private void addRoutes(String... expressions) {
+    for (String expression : asList(expressions)) {
+      routes.add(new ProcessorExpressionRoute(expression, processor));
+    }
+  }
+
+  private ChoiceRouteDispatcher dispatcher() {
+    routes.add(new ProcessorRoute(processor));
+    return ChoiceRouteDispatcher.of(routes);
+  }
+}
@@ -106,6 +106,18 @@ public class ChoiceRouterTestCase extends AbstractReactiveProcessorTestCase {
     assertThat(process(choiceRouter, zapEvent()).getMessage().getPayload().getValue(), is("zap:bar"));
   }
 
+  @Test
+  public void matchingRouteAmongRoutesOnCommonSelector() throws Exception {
+    choiceRouter.addRoute("payload == 'bar'", newChain(empty(), new TestMessageProcessor("bar")));
+    choiceRouter.addRoute(payloadZapExpression(), newChain(empty(), new TestMessageProcessor("zap")));
+    choiceRouter.addRoute("payload == 'foo'", newChain(empty(), new TestMessageProcessor("foo")));
+    choiceRouter.setDefaultRoute(newChain(empty(), new TestMessageProcessor("default")));
+    initialise();
+
+    assertThat(process(choiceRouter, zapEvent()).getMessage().getPayload().getValue(), is("zap:zap"));
+    assertThat(process(choiceRouter, fooEvent()).getMessage().getPayload().getValue(), is("foo:foo"));
+  }
+
   @Test
   public void matchingRouteWithStatistics() throws Exception {
     TestMessageProcessor processor = new TestMessageProcessor("bar");
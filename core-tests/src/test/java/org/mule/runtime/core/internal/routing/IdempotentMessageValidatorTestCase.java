@@ -28,6 +28,8 @@ import org.mule.runtime.core.api.util.IOUtils;
 import org.mule.runtime.core.internal.el.ExpressionLanguageAdaptor;
 import org.mule.runtime.core.internal.el.dataweave.DataWeaveExpressionLanguageAdaptor;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
+import org.mule.runtime.core.internal.util.store.ObjectStorePartition;
 import org.mule.tck.core.util.store.InMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.weave.v2.el.ByteArrayBasedCursorStreamProvider;
@@ -86,6 +88,31 @@ public class IdempotentMessageValidatorTestCase extends AbstractMuleContextTestC
     processedEvent = idempotent.process(event);
   }
 
+  @Test
+  public void idempotentReceiverWithAtomicStore() throws Exception {
+    idempotent.setObjectStore(new ObjectStorePartition<>("foo", new PartitionedInMemoryObjectStore<>()));
+
+    final BaseEventContext contextA = mock(BaseEventContext.class);
+    when(contextA.getCorrelationId()).thenReturn("1");
+
+    Message okMessage = InternalMessage.builder().value("OK").build();
+    CoreEvent event = CoreEvent.builder(contextA).message(okMessage).build();
+
+    idempotent.initialise();
+    CoreEvent processedEvent = idempotent.process(event);
+    assertThat(processedEvent, sameInstance(event));
+    assertEquals(idempotent.getObjectStore().retrieve("1"), "1");
+
+    final BaseEventContext contextB = mock(BaseEventContext.class);
+    when(contextB.getCorrelationId()).thenReturn("1");
+
+    // This will not process, because the ID is a duplicate
+    event = CoreEvent.builder(contextB).message(okMessage).build();
+
+    expected.expect(ValidationException.class);
+    idempotent.process(event);
+  }
+
   @Test
   public void testIdCheckWithMEL() throws Exception {
     String melExpression = "#[payload]";
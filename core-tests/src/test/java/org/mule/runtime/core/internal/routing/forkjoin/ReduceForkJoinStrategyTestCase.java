@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.REDUCE;
+
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Story;
+
+@Story(REDUCE)
+public class ReduceForkJoinStrategyTestCase extends AbstractForkJoinStrategyTestCase {
+
+  @Override
+  protected ForkJoinStrategy createStrategy(ProcessingStrategy processingStrategy, int concurrency, boolean delayErrors,
+                                            long timeout) {
+    return new ReduceForkJoinStrategyFactory<List<Object>>(ArrayList::new, (list, message) -> {
+      list.add(message.getPayload().getValue());
+      return list;
+    }).createForkJoinStrategy(processingStrategy, concurrency, delayErrors, timeout, scheduler, timeoutErrorType);
+  }
+
+  @Test
+  @Description("This strategy reduces the results of the routes as they arrive, in the same order as the routes.")
+  public void reduce() throws Throwable {
+    strategy = new ReduceForkJoinStrategyFactory<Integer>(() -> 0,
+                                                          (sum, message) -> sum + (Integer) message.getPayload().getValue())
+                                                              .createForkJoinStrategy(processingStrategy, 4, true, 5000,
+                                                                                      scheduler, timeoutErrorType);
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(), asList(createRoutingPairWithSleep(of(1), 50),
+                                                                            createRoutingPair(of(2)),
+                                                                            createRoutingPair(of(3))));
+
+    assertThat(result.getMessage().getPayload().getValue(), equalTo(6));
+  }
+
+  @Test
+  @Description("The results of the routes are reduced in the same order as the routes, regardless of the order they complete in.")
+  public void reduceInOrder() throws Throwable {
+    strategy = new ReduceForkJoinStrategyFactory<String>(() -> "", (acc, message) -> acc + message.getPayload().getValue())
+        .createForkJoinStrategy(processingStrategy, 4, true, 5000, scheduler, timeoutErrorType);
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(), asList(createRoutingPairWithSleep(of("a"), 100),
+                                                                            createRoutingPairWithSleep(of("b"), 50),
+                                                                            createRoutingPair(of("c"))));
+
+    assertThat(result.getMessage().getPayload().getValue(), equalTo("abc"));
+  }
+
+  @Override
+  @Test
+  @Description("When a route timeout occurs all routes are still executed and a CompositeRoutingException is thrown with details of the timeout error in RoutingResult.")
+  public void timeoutDelayed() throws Throwable {
+    strategy = createStrategy(processingStrategy, 1, true, 50);
+
+    Message pair2Result = of(2);
+    Processor pair2Processor = createProcessorSpy(pair2Result);
+    RoutingPair pair2 = of(testEvent(), createChain(pair2Processor));
+
+    expectedException.expect(instanceOf(CompositeRoutingException.class));
+
+    invokeStrategyBlocking(strategy, testEvent(), asList(createRoutingPairWithSleep(of(1), 250), pair2),
+                           throwable -> {
+                             verify(pair2Processor, times(1)).process(any(CoreEvent.class));
+                             CompositeRoutingException compositeRoutingException = assertCompositeRoutingException(throwable, 1);
+                             RoutingResult routingResult = assertRoutingResult(compositeRoutingException, 0, 1);
+                             assertThat(routingResult.getFailures().get("0").getCause(),
+                                        instanceOf(TimeoutException.class));
+                           });
+  }
+
+  @Override
+  @Test
+  @Description("When an error occurs all routes are executed regardless and a CompositeRoutingException is thrown containing a RoutingResult with details of the failures only.")
+  public void errorDelayed() throws Throwable {
+    Processor processorSpy = createProcessorSpy(testEvent().getMessage());
+
+    RuntimeException exception1 = new IllegalStateException();
+    RoutingPair failingPair1 = of(testEvent(), createFailingRoutingPair(exception1));
+    RuntimeException exception2 = new UnsupportedOperationException();
+    RoutingPair failingPair2 = of(testEvent(), createFailingRoutingPair(exception2));
+    RoutingPair okPair = of(testEvent(), createChain(processorSpy));
+
+    expectedException.expect(instanceOf(CompositeRoutingException.class));
+
+    invokeStrategyBlocking(strategy, testEvent(), asList(failingPair1, okPair, failingPair2), throwable -> {
+      verify(processorSpy, times(1)).process(any(CoreEvent.class));
+      CompositeRoutingException compositeRoutingException = assertCompositeRoutingException(throwable, 2);
+      RoutingResult routingResult = assertRoutingResult(compositeRoutingException, 0, 2);
+      assertThat(routingResult.getFailures().get("0").getCause(), is(exception1));
+      assertThat(routingResult.getFailures().get("1"), is(nullValue()));
+      assertThat(routingResult.getFailures().get("2").getCause(), is(exception2));
+    });
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.FORK_JOIN_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.STREAMING_COLLECT_LIST;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.message.Message;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+import reactor.core.publisher.Flux;
+
+@Feature(FORK_JOIN_STRATEGIES)
+@Story(STREAMING_COLLECT_LIST)
+public class RouteResultsIteratorTestCase extends AbstractMuleTestCase {
+
+  @Test
+  @Description("Results are iterated in order until the routes complete.")
+  public void iterateResults() {
+    RouteResultsIterator results = new RouteResultsIterator(2, Long.MAX_VALUE);
+    Flux.range(1, 5).map(Message::of).subscribe(results);
+
+    for (int i = 1; i <= 5; ++i) {
+      assertThat(results.hasNext(), is(true));
+      assertThat(results.next().getPayload().getValue(), is(i));
+    }
+    assertThat(results.hasNext(), is(false));
+  }
+
+  @Test
+  @Description("Only as many results as the capacity are requested ahead of the ones consumed.")
+  public void requestsBoundedByCapacity() {
+    AtomicLong requested = new AtomicLong();
+    RouteResultsIterator results = new RouteResultsIterator(2, Long.MAX_VALUE);
+    Flux.range(1, 10).doOnRequest(requested::addAndGet).map(Message::of).subscribe(results);
+
+    assertThat(requested.get(), is(2L));
+    results.next();
+    assertThat(requested.get(), is(3L));
+  }
+
+  @Test
+  @Description("Waiting for the result of the next route is bounded by the timeout of the routes.")
+  public void timeoutWaitingForResult() {
+    RouteResultsIterator results = new RouteResultsIterator(2, 10);
+    Flux.<Message>never().subscribe(results);
+
+    try {
+      results.hasNext();
+      fail("Expected to time out waiting for the result");
+    } catch (MuleRuntimeException e) {
+      assertThat(e.getCause(), instanceOf(TimeoutException.class));
+    }
+  }
+
+  @Test
+  @Description("Closing the iterator cancels the routes.")
+  public void closeCancelsRoutes() {
+    AtomicBoolean cancelled = new AtomicBoolean();
+    RouteResultsIterator results = new RouteResultsIterator(2, Long.MAX_VALUE);
+    Flux.<Message>never().doOnCancel(() -> cancelled.set(true)).subscribe(results);
+
+    results.close();
+
+    assertThat(cancelled.get(), is(true));
+  }
+
+  @Test
+  @Description("The failure of the routes is thrown once the results preceding it have been consumed.")
+  public void failureAfterResults() {
+    IllegalStateException failure = new IllegalStateException();
+    RouteResultsIterator results = new RouteResultsIterator(2, Long.MAX_VALUE);
+    Flux.just(of(1)).concatWith(Flux.error(failure)).subscribe(results);
+
+    assertThat(results.next().getPayload().getValue(), is(1));
+    try {
+      results.hasNext();
+      fail("Expected the failure to be thrown");
+    } catch (IllegalStateException e) {
+      assertThat(e, is(failure));
+    }
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STREAMING_MANAGER;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.FORK_JOIN_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.STREAMING_COLLECT_LIST;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Mono.from;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.api.streaming.StreamingManager;
+import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+import reactor.core.publisher.Flux;
+
+@Feature(FORK_JOIN_STRATEGIES)
+@Story(STREAMING_COLLECT_LIST)
+public class StreamingCollectListForkJoinStrategyTestCase extends AbstractMuleContextTestCase {
+
+  private Scheduler scheduler;
+  private ForkJoinStrategy strategy;
+
+  @Before
+  public void setup() throws MuleException {
+    scheduler = muleContext.getSchedulerService().ioScheduler();
+
+    ProcessingStrategy processingStrategy = mock(ProcessingStrategy.class);
+    when(processingStrategy.onPipeline(any(ReactiveProcessor.class)))
+        .thenAnswer(invocation -> {
+          ReactiveProcessor processor = invocation.getArgument(0);
+          return (ReactiveProcessor) publisher -> Flux.from(publisher)
+              .publishOn(fromExecutorService(scheduler)).transform(processor);
+        });
+
+    strategy = new StreamingCollectListForkJoinStrategyFactory(((MuleContextWithRegistry) muleContext).getRegistry()
+        .lookupObject(OBJECT_STREAMING_MANAGER))
+            .createForkJoinStrategy(processingStrategy, 4, true, Long.MAX_VALUE, scheduler,
+                                    muleContext.getErrorTypeRepository().getErrorType(TIMEOUT).get());
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.stop();
+  }
+
+  @Test
+  @Description("Routers using this strategy are blocking, since iterating the result blocks until the routes complete.")
+  public void blockingProcessingType() {
+    assertThat(new StreamingCollectListForkJoinStrategyFactory(mock(StreamingManager.class)).getProcessingType(), is(BLOCKING));
+  }
+
+  @Test
+  @Description("This strategy streams the results of the routes, in the same order as the routes.")
+  public void streamResults() throws Exception {
+    CoreEvent result = from(strategy.forkJoin(testEvent(), fromIterable(asList(createRoutingPair(of(1)),
+                                                                                createRoutingPair(of(2)),
+                                                                                createRoutingPair(of(3)))))).block();
+
+    assertThat(result.getMessage().getPayload().getValue(), instanceOf(CursorIteratorProvider.class));
+    assertThat(consume((CursorIteratorProvider) result.getMessage().getPayload().getValue()), contains(1, 2, 3));
+  }
+
+  @Test
+  @Description("The result is emitted without waiting for the routes to complete.")
+  public void resultEmittedBeforeRoutesComplete() throws Exception {
+    Latch routeLatch = new Latch();
+    RoutingPair blockedPair = of(testEvent(), createChain(event -> {
+      try {
+        routeLatch.await(RECEIVE_TIMEOUT, MILLISECONDS);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      return builder(event).message(of(2)).build();
+    }));
+
+    CoreEvent result = from(strategy.forkJoin(testEvent(), fromIterable(asList(createRoutingPair(of(1)), blockedPair))))
+        .block();
+    routeLatch.release();
+
+    assertThat(consume((CursorIteratorProvider) result.getMessage().getPayload().getValue()), contains(1, 2));
+  }
+
+  @Test
+  @Description("Route errors are thrown via CompositeRoutingException once the results preceding them have been consumed.")
+  public void errorThrownOnIteration() throws Exception {
+    RuntimeException exception = new IllegalStateException();
+    RoutingPair failingPair = of(testEvent(), createChain(event -> {
+      throw exception;
+    }));
+
+    CoreEvent result = from(strategy.forkJoin(testEvent(), fromIterable(asList(createRoutingPair(of(1)), failingPair))))
+        .block();
+
+    try (CursorIterator cursor = ((CursorIteratorProvider) result.getMessage().getPayload().getValue()).openCursor()) {
+      assertThat(((Message) cursor.next()).getPayload().getValue(), is(1));
+      cursor.hasNext();
+      fail("Expected the route error to be thrown");
+    } catch (MuleRuntimeException e) {
+      assertThat(e.getCause(), instanceOf(CompositeRoutingException.class));
+      assertThat(((CompositeRoutingException) e.getCause()).getErrors().get(0).getCause(), is(exception));
+    }
+  }
+
+  private List<Object> consume(CursorIteratorProvider provider) throws Exception {
+    List<Object> payloads = new ArrayList<>();
+    try (CursorIterator cursor = provider.openCursor()) {
+      while (cursor.hasNext()) {
+        payloads.add(((Message) cursor.next()).getPayload().getValue());
+      }
+    }
+    return payloads;
+  }
+
+  private RoutingPair createRoutingPair(Message result) throws MuleException {
+    return of(testEvent(), createChain(event -> builder(event).message(result).build()));
+  }
+
+  private MessageProcessorChain createChain(Processor processor) throws MuleException {
+    MessageProcessorChain chain = newChain(Optional.empty(), processor);
+    initialiseIfNeeded(chain, muleContext);
+    return chain;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.tck.size.SmallTest;
+
+import java.io.InputStream;
+
+import org.junit.After;
+
+import io.qameta.allure.Feature;
+
+/**
+ * Runs the {@link CursorStreamProviderTestCase} scenarios over a {@link FileStoreCursorStreamProvider}. When the data is bigger
+ * than the in memory size, the remainder is buffered in a file.
+ */
+@SmallTest
+@Feature(STREAMING)
+public class FileStoreCursorStreamProviderTestCase extends CursorStreamProviderTestCase {
+
+  public FileStoreCursorStreamProviderTestCase(String name, int dataSize, int bufferSize, int maxBufferSize) {
+    super(name, dataSize, bufferSize, maxBufferSize);
+  }
+
+  private FileStoreCursorStreamProvider fileStoreStreamProvider;
+
+  @Override
+  protected CursorStreamProvider createStreamProvider(int bufferSize, int maxBufferSize, InputStream dataStream) {
+    fileStoreStreamProvider =
+        new FileStoreCursorStreamProvider(dataStream, new FileStoreCursorStreamConfig(new DataSize(bufferSize, BYTE)),
+                                          bufferManager);
+    return fileStoreStreamProvider;
+  }
+
+  @After
+  public void releaseBuffer() {
+    fileStoreStreamProvider.releaseResources();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.toIntExact;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.OBJECT_STREAMING;
+
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.core.api.util.func.CheckedConsumer;
+import org.mule.tck.size.SmallTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(STREAMING)
+@Story(OBJECT_STREAMING)
+public class FileStoreCursorIteratorProviderTestCase extends AbstractObjectStreamingTestCase {
+
+  private static final int DATA_SIZE = 500;
+  private static final int MAX_IN_MEMORY_INSTANCES = 50;
+
+  private FileStoreCursorIteratorProvider streamProvider;
+
+  public FileStoreCursorIteratorProviderTestCase() {
+    super(DATA_SIZE);
+  }
+
+  @Before
+  public void before() {
+    streamProvider = new FileStoreCursorIteratorProvider(toStreamingIterator(data),
+                                                         new FileStoreCursorIteratorConfig(MAX_IN_MEMORY_INSTANCES),
+                                                         muleContext.getObjectSerializer());
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+    streamProvider.releaseResources();
+  }
+
+  @Test
+  @Description("fully consume a stream which doesn't fit in memory")
+  public void consumeFully() throws Exception {
+    withCursor(cursor -> checkEquals(data, cursor));
+  }
+
+  @Test
+  @Description("consume a stream which doesn't fit in memory with two cursors at a time")
+  public void consumeWithTwoCursors() throws Exception {
+    withCursor(cursor1 -> withCursor(cursor2 -> {
+      checkEquals(data, cursor1);
+      checkEquals(data, cursor2);
+    }));
+  }
+
+  @Test
+  @Description("seek back and forth between items kept in memory and items written to the file")
+  public void seekAcrossMemoryAndFile() throws Exception {
+    withCursor(cursor -> {
+      seekAndAssert(cursor, DATA_SIZE - 10, 10);
+      seekAndAssert(cursor, 0, MAX_IN_MEMORY_INSTANCES + 10);
+      seekAndAssert(cursor, DATA_SIZE / 2, 100);
+      seekAndAssert(cursor, 10, 10);
+    });
+  }
+
+  private void seekAndAssert(CursorIterator<Object> cursor, long position, int size) throws Exception {
+    cursor.seek(position);
+    List<Object> read = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      read.add(cursor.next());
+    }
+    checkEquals(read, data.subList(toIntExact(position), toIntExact(position + size)));
+  }
+
+  private void withCursor(CheckedConsumer<CursorIterator> consumer) throws IOException {
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      consumer.accept(cursor);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.util.Collections.nCopies;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.internal.store.CaffeineInMemoryObjectStore;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class CaffeineInMemoryObjectStoreTestCase extends AbstractMuleTestCase {
+
+  private static final String TEST_PARTITION = "testPartition";
+  private static final String TEST_VALUE = "testValue";
+  private static final String TEST_KEY1 = "testKey1";
+  private static final String TEST_KEY2 = "testKey2";
+
+  private CaffeineInMemoryObjectStore<String> store;
+
+  private long currentNanoTime = MILLISECONDS.toNanos(1);
+
+  @Before
+  public void setup() {
+    store = createStore(0);
+  }
+
+  @Test
+  public void expireByTtl() throws ObjectStoreException {
+    store.configurePartition(TEST_PARTITION, 10, UNBOUNDED);
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(6);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(12);
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY2, TEST_PARTITION), equalTo(TEST_VALUE));
+
+    currentNanoTime = MILLISECONDS.toNanos(20);
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+  }
+
+  @Test
+  public void readsDoNotExtendTtl() throws ObjectStoreException {
+    store.configurePartition(TEST_PARTITION, 10, UNBOUNDED);
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(8);
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(TEST_VALUE));
+
+    currentNanoTime = MILLISECONDS.toNanos(12);
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(false));
+  }
+
+  @Test
+  public void boundedByMaxEntries() throws ObjectStoreException {
+    store.configurePartition(TEST_PARTITION, UNBOUNDED, 10);
+    for (int i = 0; i < 100; ++i) {
+      store.store(TEST_KEY1 + i, TEST_VALUE, TEST_PARTITION);
+    }
+    store.expire(UNBOUNDED, 10, TEST_PARTITION);
+
+    assertThat(store.allKeys(TEST_PARTITION), hasSize(lessThanOrEqualTo(10)));
+    assertThat(store.getPartitionStatistics(TEST_PARTITION).evictionCount(), greaterThan(0L));
+  }
+
+  @Test
+  public void boundedBySize() throws ObjectStoreException {
+    store = createStore(1024);
+    store.configurePartition(TEST_PARTITION, UNBOUNDED, UNBOUNDED);
+    for (int i = 0; i < 100; ++i) {
+      store.store(TEST_KEY1 + i, TEST_VALUE, TEST_PARTITION);
+    }
+    store.expire(UNBOUNDED, UNBOUNDED, TEST_PARTITION);
+
+    // each entry weighs a bit over 100 bytes
+    assertThat(store.allKeys(TEST_PARTITION), hasSize(lessThanOrEqualTo(10)));
+    assertThat(store.getPartitionStatistics(TEST_PARTITION).evictionCount(), greaterThan(0L));
+  }
+
+  @Test
+  public void boundedBySizeOfCollections() throws ObjectStoreException {
+    CaffeineInMemoryObjectStore<ArrayList<String>> store = createStore(1024);
+    store.configurePartition(TEST_PARTITION, UNBOUNDED, UNBOUNDED);
+    for (int i = 0; i < 10; ++i) {
+      store.store(TEST_KEY1 + i, new ArrayList<>(nCopies(20, TEST_VALUE)), TEST_PARTITION);
+    }
+    store.expire(UNBOUNDED, UNBOUNDED, TEST_PARTITION);
+
+    // each entry weighs over 1000 bytes, estimated from the size of the list and its first element
+    assertThat(store.allKeys(TEST_PARTITION), hasSize(lessThanOrEqualTo(1)));
+    assertThat(store.getPartitionStatistics(TEST_PARTITION).evictionCount(), greaterThan(0L));
+  }
+
+  @Test
+  public void reconfiguredPartitionKeepsEntries() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.configurePartition(TEST_PARTITION, 10, UNBOUNDED);
+
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+  }
+
+  @Test
+  public void clearAndDisposePartition() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.clear(TEST_PARTITION);
+    assertThat(store.allKeys(TEST_PARTITION), is(empty()));
+
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.disposePartition(TEST_PARTITION);
+    assertThat(store.allPartitions(), is(empty()));
+  }
+
+  private <T extends Serializable> CaffeineInMemoryObjectStore<T> createStore(long maxPartitionSize) {
+    return new CaffeineInMemoryObjectStore<T>(maxPartitionSize) {
+
+      @Override
+      protected long getCurrentNanoTime() {
+        return currentNanoTime;
+      }
+    };
+  }
+}
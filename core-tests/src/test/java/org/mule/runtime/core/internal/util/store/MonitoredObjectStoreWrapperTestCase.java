@@ -10,18 +10,27 @@ import static java.lang.System.currentTimeMillis;
 import static java.util.Arrays.asList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.store.MonitoredObjectStoreWrapper.MULE_OBJECT_STORE_MAX_EXPIRATIONS_PER_RUN;
 import static org.mule.tck.probe.PollingProber.check;
 
 import org.mule.runtime.api.store.ObjectDoesNotExistException;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreSettings;
+import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
 import org.mule.runtime.core.internal.util.store.MonitoredObjectStoreWrapper.StoredObject;
 import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
 import org.mule.tck.size.SmallTest;
 
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -34,6 +43,9 @@ public class MonitoredObjectStoreWrapperTestCase extends AbstractMuleTestCase {
   private static final String KEY = "key";
   private static final String OTHER_KEY = "otherKey";
 
+  @Rule
+  public SystemProperty maxExpirationsPerRun = new SystemProperty(MULE_OBJECT_STORE_MAX_EXPIRATIONS_PER_RUN, "10");
+
   @Mock
   private ObjectStoreSettings settings;
 
@@ -41,6 +53,8 @@ public class MonitoredObjectStoreWrapperTestCase extends AbstractMuleTestCase {
   private ObjectStore<StoredObject<String>> objectStore;
   private MonitoredObjectStoreWrapper<String> wrapper;
 
+  private long currentTime = 1000;
+
   @Test
   public void expireWithoutMaxEntries() throws Exception {
     when(settings.getMaxEntries()).thenReturn(empty());
@@ -163,4 +177,94 @@ public class MonitoredObjectStoreWrapperTestCase extends AbstractMuleTestCase {
       return true;
     });
   }
+
+  @Test
+  public void storedEntriesExpiredWithoutReadingStore() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(of(5));
+    when(settings.getEntryTTL()).thenReturn(empty());
+    when(objectStore.allKeys()).thenReturn(asList());
+
+    wrapper = createWrapper(objectStore);
+    wrapper.expire();
+
+    for (int i = 0; i < 8; ++i) {
+      wrapper.store(KEY + i, "");
+      currentTime += 2;
+    }
+    wrapper.expire();
+
+    verify(objectStore, times(1)).allKeys();
+    verify(objectStore, never()).retrieve(any());
+    for (int i = 0; i < 3; ++i) {
+      verify(objectStore).remove(KEY + i);
+    }
+    for (int i = 3; i < 8; ++i) {
+      verify(objectStore, never()).remove(KEY + i);
+    }
+  }
+
+  @Test
+  public void expirationsPerRunBounded() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(empty());
+    when(settings.getEntryTTL()).thenReturn(of(1L));
+    when(objectStore.allKeys()).thenReturn(asList());
+
+    wrapper = createWrapper(objectStore);
+    for (int i = 0; i < 15; ++i) {
+      wrapper.store(KEY + i, "");
+    }
+    currentTime += 5;
+
+    wrapper.expire();
+    verify(objectStore, times(10)).remove(any());
+
+    wrapper.expire();
+    verify(objectStore, times(15)).remove(any());
+  }
+
+  @Test
+  public void atomicOperationsIndexEntries() throws Exception {
+    when(settings.getMaxEntries()).thenReturn(of(1));
+    when(settings.getEntryTTL()).thenReturn(empty());
+
+    ObjectStorePartition<StoredObject<String>> baseStore =
+        new ObjectStorePartition<>("test", new PartitionedInMemoryObjectStore<>());
+    wrapper = createWrapper(baseStore);
+    wrapper.expire();
+
+    assertThat(wrapper.supportsAtomicOperations(), is(true));
+    assertThat(wrapper.putIfAbsent(KEY, "1"), is(nullValue()));
+    assertThat(wrapper.putIfAbsent(KEY, "2"), is("1"));
+    assertThat(wrapper.replace(KEY, "2", "3"), is(false));
+    assertThat(wrapper.replace(KEY, "1", "3"), is(true));
+    currentTime += 2;
+    assertThat(wrapper.compute(OTHER_KEY, (key, value) -> value == null ? "1" : value + "1"), is("1"));
+    wrapper.expire();
+
+    assertThat(wrapper.contains(KEY), is(false));
+    assertThat(wrapper.retrieve(OTHER_KEY), is("1"));
+
+    assertThat(wrapper.compute(OTHER_KEY, (key, value) -> null), is(nullValue()));
+    assertThat(wrapper.allKeys().isEmpty(), is(true));
+  }
+
+  @Test
+  public void atomicOperationsNotSupportedByBaseStore() {
+    when(settings.getMaxEntries()).thenReturn(of(1));
+    when(settings.getEntryTTL()).thenReturn(empty());
+
+    wrapper = new MonitoredObjectStoreWrapper<>(objectStore, settings);
+
+    assertThat(wrapper.supportsAtomicOperations(), is(false));
+  }
+
+  private MonitoredObjectStoreWrapper<String> createWrapper(ObjectStore<StoredObject<String>> baseStore) {
+    return new MonitoredObjectStoreWrapper<String>(baseStore, settings) {
+
+      @Override
+      protected long getCurrentTime() {
+        return currentTime;
+      }
+    };
+  }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class ObjectStoreExpiryIndexTestCase extends AbstractMuleTestCase {
+
+  private final ObjectStoreExpiryIndex index = new ObjectStoreExpiryIndex(100);
+
+  @Test
+  public void oldestFirstWithinBucket() {
+    index.add("c", 30);
+    index.add("a", 10);
+    index.add("b", 20);
+
+    assertThat(index.findExpirable(1000, 100L, null, 10), contains("a", "b", "c"));
+  }
+
+  @Test
+  public void oldestFirstAcrossBuckets() {
+    index.add("late", 250);
+    index.add("early", 50);
+    index.add("middle", 150);
+
+    assertThat(index.findExpirable(1000, null, 1, 10), contains("early", "middle"));
+  }
+
+  @Test
+  public void stopsAtFirstNotExpirable() {
+    index.add("a", 10);
+    index.add("b", 20);
+    index.add("c", 90);
+
+    assertThat(index.findExpirable(100, 50L, null, 10), contains("a", "b"));
+  }
+
+  @Test
+  public void limitedKeysLookedAt() {
+    for (int i = 0; i < 50; ++i) {
+      index.add("key" + i, 50 - i);
+    }
+
+    assertThat(index.findExpirable(1000, 100L, null, 3), contains("key49", "key48", "key47"));
+  }
+
+  @Test
+  public void storedAgainMovesKey() {
+    index.add("a", 10);
+    index.add("b", 20);
+    index.add("a", 30);
+
+    assertThat(index.findExpirable(1000, null, 1, 10), contains("b"));
+  }
+
+  @Test
+  public void addIfAbsentKeepsTimestamp() {
+    index.add("a", 10);
+    index.add("b", 20);
+    index.addIfAbsent("a", 30);
+
+    assertThat(index.findExpirable(1000, null, 1, 10), contains("a"));
+  }
+
+  @Test
+  public void removedKeysNotExpirable() {
+    index.add("a", 10);
+    index.add("b", 20);
+    index.remove("a");
+    index.remove("b");
+
+    assertThat(index.size(), is(0));
+    assertThat(index.findExpirable(1000, 1L, null, 10), is(empty()));
+  }
+}
@@ -9,11 +9,13 @@ package org.mule.runtime.core.internal.util.store;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
 import org.mule.tck.junit4.AbstractMuleTestCase;
@@ -115,4 +117,44 @@ public class PartitionedInMemoryObjectStoreTestCase extends AbstractMuleTestCase
     verify(os, times(1)).disposePartition(TEST_PARTITION);
   }
 
+
+  @Test
+  public void atomicOperations() throws ObjectStoreException {
+    assertThat(store.putIfAbsent(TEST_KEY1, TEST_VALUE, TEST_PARTITION), is(nullValue()));
+    assertThat(store.putIfAbsent(TEST_KEY1, TEST_VALUE + 1, TEST_PARTITION), equalTo(TEST_VALUE));
+
+    assertThat(store.replace(TEST_KEY1, TEST_VALUE + 1, TEST_VALUE + 2, TEST_PARTITION), is(false));
+    assertThat(store.replace(TEST_KEY1, TEST_VALUE, TEST_VALUE + 2, TEST_PARTITION), is(true));
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(TEST_VALUE + 2));
+
+    assertThat(store.compute(TEST_KEY2, (key, value) -> value == null ? TEST_VALUE : value + 1, TEST_PARTITION),
+               equalTo(TEST_VALUE));
+    assertThat(store.compute(TEST_KEY2, (key, value) -> value == null ? TEST_VALUE : value + 1, TEST_PARTITION),
+               equalTo(TEST_VALUE + 1));
+    assertThat(store.compute(TEST_KEY2, (key, value) -> null, TEST_PARTITION), is(nullValue()));
+    assertThat(store.contains(TEST_KEY2, TEST_PARTITION), is(false));
+  }
+
+  @Test
+  public void replacedEntryKeepsExpiration() throws ObjectStoreException {
+    store.putIfAbsent(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(2);
+    store.replace(TEST_KEY1, TEST_VALUE, TEST_VALUE + 1, TEST_PARTITION);
+    store.compute(TEST_KEY2, (key, value) -> TEST_VALUE, TEST_PARTITION);
+    store.expire(1, 100, TEST_PARTITION);
+
+    assertThat(store.contains(TEST_KEY1, TEST_PARTITION), is(false));
+    assertThat(store.retrieve(TEST_KEY2, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
+
+  @Test
+  public void computedRemovalNotExpiredAgain() throws ObjectStoreException {
+    store.compute(TEST_KEY1, (key, value) -> TEST_VALUE, TEST_PARTITION);
+    store.compute(TEST_KEY1, (key, value) -> null, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+    store.expire(UNBOUNDED, 1, TEST_PARTITION);
+
+    assertThat(store.retrieve(TEST_KEY2, TEST_PARTITION), equalTo(TEST_VALUE));
+  }
 }
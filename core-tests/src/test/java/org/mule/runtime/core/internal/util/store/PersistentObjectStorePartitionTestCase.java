@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.util.store;
 
 import static org.apache.commons.io.FileUtils.deleteDirectory;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -132,4 +133,24 @@ public class PersistentObjectStorePartitionTestCase extends AbstractMuleTestCase
     partition.clear();
     assertEquals(0, partition.allKeys().size());
   }
+
+  @Test
+  public void atomicOperationsKeepSingleFilePerKey() throws Exception {
+    final String KEY = "key";
+    final String VALUE = "value";
+
+    assertThat(partition.putIfAbsent(KEY, VALUE), is(nullValue()));
+    assertThat(VALUE, is(partition.putIfAbsent(KEY, VALUE + 1)));
+    assertThat(partition.replace(KEY, VALUE + 1, VALUE + 2), is(false));
+    assertThat(partition.replace(KEY, VALUE, VALUE + 2), is(true));
+    assertThat(VALUE + 23, is(partition.compute(KEY, (key, value) -> value + "3")));
+
+    assertThat(VALUE + 23, is(partition.retrieve(KEY)));
+    // Expect the stored object, and the partition-descriptor file
+    assertThat(objectStoreFolder.getRoot().listFiles().length, is(2));
+
+    assertThat(partition.compute(KEY, (key, value) -> null), is(nullValue()));
+    assertThat(partition.contains(KEY), is(false));
+    assertThat(objectStoreFolder.getRoot().listFiles().length, is(1));
+  }
 }
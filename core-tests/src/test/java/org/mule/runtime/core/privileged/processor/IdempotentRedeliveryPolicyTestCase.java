@@ -13,6 +13,8 @@ import static java.util.Optional.of;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toMap;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
@@ -28,10 +30,14 @@ import static org.mule.runtime.api.component.AbstractComponent.LOCATION_KEY;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.OBJECT;
 import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.rx.Exceptions.checkedConsumer;
 import static org.mule.runtime.core.privileged.processor.IdempotentRedeliveryPolicy.SECURE_HASH_EXPR_FORMAT;
 import static reactor.core.publisher.Mono.error;
 import static reactor.core.publisher.Mono.from;
+import static reactor.core.publisher.Mono.fromFuture;
+import static reactor.core.publisher.Mono.just;
 
 import org.mule.runtime.api.el.CompiledExpression;
 import org.mule.runtime.api.exception.MuleException;
@@ -53,6 +59,8 @@ import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.lock.MuleLockFactory;
 import org.mule.runtime.core.internal.lock.SingleServerLockProvider;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
+import org.mule.runtime.core.internal.util.store.ObjectStorePartition;
 import org.mule.runtime.core.privileged.processor.IdempotentRedeliveryPolicy.RedeliveryCounter;
 import org.mule.tck.SerializationTestUtils;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
@@ -62,6 +70,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -185,6 +194,67 @@ public class IdempotentRedeliveryPolicyTestCase extends AbstractMuleContextTestC
     assertThat(count.get(), equalTo(2));
   }
 
+  @Test
+  public void deliveriesOfSameMessageProcessedOneAtATime() throws Exception {
+    mockSha256();
+
+    when(message.getPayload()).thenReturn(new TypedValue<>(STRING_MESSAGE, STRING));
+    final AtomicInteger deliveries = new AtomicInteger();
+    final CompletableFuture<CoreEvent> firstDeliveryResult = new CompletableFuture<>();
+    final Processor asyncMessageProcessor = mock(Processor.class);
+    when(asyncMessageProcessor.apply(any(Publisher.class))).thenAnswer(invocation -> from(invocation.getArgument(0))
+        .flatMap(e -> deliveries.incrementAndGet() == 1 ? fromFuture(firstDeliveryResult) : just(e)));
+    irp.setListener(asyncMessageProcessor);
+    irp.initialise();
+
+    CompletableFuture<CoreEvent> firstDelivery = from(irp.apply(just(event))).toFuture();
+    CompletableFuture<CoreEvent> secondDelivery = from(irp.apply(just(event))).toFuture();
+    // the second delivery waits for the first one to complete, without blocking this thread
+    assertThat(deliveries.get(), is(1));
+
+    MessagingException me = mock(MessagingException.class, RETURNS_DEEP_STUBS.get());
+    when(me.getEvent().getError()).thenReturn(of(mock(Error.class)));
+    firstDeliveryResult.completeExceptionally(me);
+
+    assertThat(secondDelivery.get(5000, MILLISECONDS), is(event));
+    assertThat(firstDelivery.isCompletedExceptionally(), is(true));
+    assertThat(deliveries.get(), is(2));
+    // the failure of the first delivery is forgotten once the message is processed successfully
+    assertThat(irp.findCounter("" + event.getMessage().getPayload().hashCode()), nullValue());
+  }
+
+  @Test
+  public void counterUpdateFailureCausedByDeliveryFailure() throws Exception {
+    mockSha256();
+
+    when(message.getPayload()).thenReturn(new TypedValue<>(STRING_MESSAGE, STRING));
+    irp.setObjectStore(new InMemoryObjectStore() {
+
+      @Override
+      protected void doStore(String key, RedeliveryCounter value) throws ObjectStoreException {
+        throw new ObjectStoreException(createStaticMessage("Store unavailable"));
+      }
+    });
+    irp.initialise();
+
+    expectedException.expect(ObjectStoreException.class);
+    expectedException.expectCause(instanceOf(MessagingException.class));
+    irp.process(event);
+  }
+
+  @Test
+  public void blockingWithNonAtomicStore() throws Exception {
+    irp.initialise();
+    assertThat(irp.getProcessingType(), is(BLOCKING));
+  }
+
+  @Test
+  public void cpuLiteWithAtomicInMemoryStore() throws Exception {
+    irp.setObjectStore(new ObjectStorePartition<>("test", new PartitionedInMemoryObjectStore<>()));
+    irp.initialise();
+    assertThat(irp.getProcessingType(), is(CPU_LITE));
+  }
+
   @Test
   public void multipleObjectStoreConfigurationShouldRaiseException() throws Exception {
     irp.setObjectStore(mockObjectStore);
@@ -26,6 +26,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.junit.rules.ExpectedException.none;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -66,6 +67,7 @@ import org.mule.runtime.core.api.config.MuleConfiguration;
 import org.mule.runtime.core.api.construct.Flow;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.ProcessorStatistics;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
@@ -872,6 +874,71 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
     assertThat(postNotification.getException().getCause(), is(illegalStateException));
   }
 
+  @Test
+  public void processorStatisticsRecorded() throws Exception {
+    muleContext.getStatistics().setEnabled(true);
+    process(newChain(empty(), getLocatedAppendingMP("1")), getTestEventUsingFlow("0"));
+
+    assertThat(getProcessorStatistics().getProcessingTimeSnapshot().getCount(), is(1L));
+  }
+
+  @Test
+  public void processorStatisticsRecordedOnError() throws Exception {
+    muleContext.getStatistics().setEnabled(true);
+    Processor processor = new ExceptionThrowingMessageProcessor(illegalStateException) {
+
+      @Override
+      public ComponentLocation getLocation() {
+        return TEST_CONNECTOR_LOCATION;
+      }
+    };
+
+    try {
+      process(newChain(empty(), processor), getTestEventUsingFlow("0"));
+      fail("Expected the processor to fail");
+    } catch (Exception e) {
+      // expected
+    }
+
+    assertThat(getProcessorStatistics().getProcessingTimeSnapshot().getCount(), is(1L));
+  }
+
+  @Test
+  public void processorStatisticsNotRecordedWhenDisabled() throws Exception {
+    muleContext.getStatistics().setEnabled(false);
+    process(newChain(empty(), getLocatedAppendingMP("1")), getTestEventUsingFlow("0"));
+
+    assertThat(getProcessorStatistics().getProcessingTimeSnapshot().getCount(), is(0L));
+  }
+
+  @Test
+  public void processorStatisticsRecordedWhenEnabledAfterAssembly() throws Exception {
+    muleContext.getStatistics().setEnabled(false);
+    MessageProcessorChain chain = newChain(empty(), getLocatedAppendingMP("1"));
+    initialiseIfNeeded(chain, muleContext);
+    startIfNeeded(chain);
+    Publisher<CoreEvent> result = chain.apply(Flux.just(getTestEventUsingFlow("0")));
+
+    muleContext.getStatistics().setEnabled(true);
+    from(result).blockLast();
+
+    assertThat(getProcessorStatistics().getProcessingTimeSnapshot().getCount(), is(1L));
+  }
+
+  private AppendingMP getLocatedAppendingMP(String append) {
+    return new AppendingMP(append) {
+
+      @Override
+      public ComponentLocation getLocation() {
+        return TEST_CONNECTOR_LOCATION;
+      }
+    };
+  }
+
+  private ProcessorStatistics getProcessorStatistics() {
+    return muleContext.getStatistics().getProcessorStatistics(TEST_CONNECTOR_LOCATION.getLocation());
+  }
+
   @Override
   protected CoreEvent process(Processor messageProcessor, CoreEvent event) throws Exception {
     initialiseIfNeeded(messageProcessor, muleContext);
@@ -12,6 +12,7 @@ import org.mule.runtime.core.internal.management.stats.ApplicationStatistics;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <code>AllStatistics</code> TODO
@@ -23,6 +24,8 @@ public class AllStatistics {
   private long startTime;
   private ApplicationStatistics appStats;
   private Map<String, FlowConstructStatistics> flowConstructStats = new HashMap<String, FlowConstructStatistics>();
+  private Map<String, ProcessorStatistics> processorStats = new ConcurrentHashMap<>();
+  private Map<String, ConcurrencyLimitStatistics> concurrencyLimitStats = new ConcurrentHashMap<>();
 
   /**
    * 
@@ -38,6 +41,12 @@ public class AllStatistics {
     for (FlowConstructStatistics statistics : getServiceStatistics()) {
       statistics.clear();
     }
+    for (ProcessorStatistics statistics : processorStats.values()) {
+      statistics.clear();
+    }
+    for (ConcurrencyLimitStatistics statistics : concurrencyLimitStats.values()) {
+      statistics.clear();
+    }
     startTime = System.currentTimeMillis();
   }
 
@@ -57,6 +66,12 @@ public class AllStatistics {
     for (FlowConstructStatistics statistics : flowConstructStats.values()) {
       statistics.setEnabled(b);
     }
+    for (ProcessorStatistics statistics : processorStats.values()) {
+      statistics.setEnabled(b);
+    }
+    for (ConcurrencyLimitStatistics statistics : concurrencyLimitStats.values()) {
+      statistics.setEnabled(b);
+    }
   }
 
   public synchronized long getStartTime() {
@@ -86,4 +101,46 @@ public class AllStatistics {
   public FlowConstructStatistics getApplicationStatistics() {
     return appStats;
   }
+
+  /**
+   * @param location the location of a processor
+   * @return the statistics of the processor at the given {@code location}, created if not there yet
+   * @since 4.3.0
+   */
+  public ProcessorStatistics getProcessorStatistics(String location) {
+    return processorStats.computeIfAbsent(location, l -> {
+      ProcessorStatistics statistics = new ProcessorStatistics(l);
+      statistics.setEnabled(isStatisticsEnabled);
+      return statistics;
+    });
+  }
+
+  /**
+   * @return the statistics of every processor of the application
+   * @since 4.3.0
+   */
+  public Collection<ProcessorStatistics> getProcessorStatistics() {
+    return processorStats.values();
+  }
+
+  /**
+   * @param name the name of a flow or async scope with an adaptive concurrency limit
+   * @return the statistics of the concurrency limit of the given flow or async scope, created if not there yet
+   * @since 4.3.0
+   */
+  public ConcurrencyLimitStatistics getConcurrencyLimitStatistics(String name) {
+    return concurrencyLimitStats.computeIfAbsent(name, n -> {
+      ConcurrencyLimitStatistics statistics = new ConcurrencyLimitStatistics(n);
+      statistics.setEnabled(isStatisticsEnabled);
+      return statistics;
+    });
+  }
+
+  /**
+   * @return the statistics of every adaptive concurrency limit of the application
+   * @since 4.3.0
+   */
+  public Collection<ConcurrencyLimitStatistics> getConcurrencyLimitStatistics() {
+    return concurrencyLimitStats.values();
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.api.annotation.NoExtend;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Maintains the state of the adaptive concurrency limit of a flow or async scope: the max concurrency currently in effect, the
+ * latencies it is calculated from, and how many events were rejected because of it.
+ *
+ * @since 4.3.0
+ */
+@NoExtend
+public class ConcurrencyLimitStatistics implements Statistics {
+
+  private static final long serialVersionUID = 3466164407315209734L;
+
+  private final String name;
+  private final LongAdder rejectedEvents = new LongAdder();
+  private volatile int limit;
+  private volatile long shortLatency;
+  private volatile long longLatency;
+  private volatile boolean enabled = false;
+
+  public ConcurrencyLimitStatistics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return the name of the flow or async scope whose concurrency is limited
+   */
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Updates the state of the limit after it has been recalculated.
+   *
+   * @param limit        the max concurrency now in effect
+   * @param shortLatency the latency of the latest sample, in nanoseconds
+   * @param longLatency  the long term average latency, in nanoseconds
+   */
+  public void update(int limit, long shortLatency, long longLatency) {
+    this.limit = limit;
+    this.shortLatency = shortLatency;
+    this.longLatency = longLatency;
+  }
+
+  /**
+   * Indicates that an event was rejected because the limit was reached.
+   */
+  public void incRejectedEvents() {
+    rejectedEvents.increment();
+  }
+
+  /**
+   * @return the max concurrency currently in effect
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return the latency, in microseconds, of the latest event used to recalculate the limit
+   */
+  public long getShortLatency() {
+    return NANOSECONDS.toMicros(shortLatency);
+  }
+
+  /**
+   * @return the long term average latency, in microseconds, the short latency is compared against to recalculate the limit
+   */
+  public long getLongLatency() {
+    return NANOSECONDS.toMicros(longLatency);
+  }
+
+  /**
+   * @return the number of events rejected because the limit was reached
+   */
+  public long getRejectedEvents() {
+    return rejectedEvents.sum();
+  }
+
+  /**
+   * Resets the count of rejected events. The limit and latencies are kept since they are still in effect.
+   */
+  public void clear() {
+    rejectedEvents.reset();
+  }
+}
@@ -64,6 +64,36 @@ public interface FlowConstructStatistics extends Statistics {
    */
   long getTotalProcessingTime();
 
+  /**
+   * @return the count and percentiles, in milliseconds, of the time required to process each event
+   * @since 4.3.0
+   */
+  LatencySnapshot getProcessingTimeSnapshot();
+
+  /**
+   * @return the median time, in milliseconds, required to process an event
+   * @since 4.3.0
+   */
+  default long getProcessingTimeP50() {
+    return getProcessingTimeSnapshot().getP50();
+  }
+
+  /**
+   * @return the 99th percentile of the time, in milliseconds, required to process an event
+   * @since 4.3.0
+   */
+  default long getProcessingTimeP99() {
+    return getProcessingTimeSnapshot().getP99();
+  }
+
+  /**
+   * @return the 99.9th percentile of the time, in milliseconds, required to process an event
+   * @since 4.3.0
+   */
+  default long getProcessingTimeP999() {
+    return getProcessingTimeSnapshot().getP999();
+  }
+
   /**
    * @return the number of execution errors at a given time
    */
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.Thread.currentThread;
+
+import org.mule.api.annotation.NoExtend;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Counts recorded latencies in buckets whose width grows with the recorded values, so that percentiles can be estimated with a
+ * bounded relative error using a fixed amount of memory.
+ * <p>
+ * Values below {@code 32} are counted exactly. Above that, each power of two is split in {@code 16} buckets, so estimated
+ * percentiles are at most about 6% above the actual value. Values above the highest trackable value are counted as that value.
+ * <p>
+ * Counts are striped by thread, so that concurrent recordings don't contend on the same memory, and recording doesn't allocate
+ * once the stripe of the recording thread is created. The unit of the recorded values is up to the caller.
+ *
+ * @since 4.3.0
+ */
+@NoExtend
+public final class LatencyHistogram implements Serializable {
+
+  private static final long serialVersionUID = -3184538025727127563L;
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int LINEAR_BUCKET_COUNT = 2 * SUB_BUCKET_COUNT;
+
+  private static final int STRIPES = min(highestOneBit(max(getRuntime().availableProcessors(), 1) * 2 - 1), 16);
+
+  private final long highestTrackableValue;
+  private final int bucketCount;
+  private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPES);
+
+  /**
+   * @param highestTrackableValue the highest value to tell apart from the ones below it
+   */
+  public LatencyHistogram(long highestTrackableValue) {
+    this.highestTrackableValue = max(highestTrackableValue, 1);
+    this.bucketCount = indexOf(this.highestTrackableValue) + 1;
+  }
+
+  /**
+   * Counts the given {@code value}. Negative values are counted as zero.
+   */
+  public void record(long value) {
+    stripe().getAndIncrement(indexOf(min(max(value, 0), highestTrackableValue)));
+  }
+
+  /**
+   * Discards the recorded values. Values recorded concurrently may be lost.
+   */
+  public void clear() {
+    for (int i = 0; i < STRIPES; ++i) {
+      stripes.set(i, null);
+    }
+  }
+
+  /**
+   * @return the count and percentiles of the values recorded so far
+   */
+  public LatencySnapshot snapshot() {
+    long[] counts = new long[bucketCount];
+    addCountsTo(counts);
+    return snapshot(counts);
+  }
+
+  /**
+   * @param histograms the histograms to aggregate
+   * @return the count and percentiles of the values recorded so far by all the given {@code histograms}
+   */
+  public static LatencySnapshot snapshot(Collection<LatencyHistogram> histograms) {
+    int bucketCount = 0;
+    for (LatencyHistogram histogram : histograms) {
+      bucketCount = max(bucketCount, histogram.bucketCount);
+    }
+
+    long[] counts = new long[bucketCount];
+    for (LatencyHistogram histogram : histograms) {
+      histogram.addCountsTo(counts);
+    }
+    return snapshot(counts);
+  }
+
+  private void addCountsTo(long[] counts) {
+    for (int i = 0; i < STRIPES; ++i) {
+      AtomicLongArray stripe = stripes.get(i);
+      if (stripe != null) {
+        for (int bucket = 0; bucket < bucketCount; ++bucket) {
+          counts[bucket] += stripe.get(bucket);
+        }
+      }
+    }
+  }
+
+  private AtomicLongArray stripe() {
+    final int index = (int) currentThread().getId() & (STRIPES - 1);
+    AtomicLongArray stripe = stripes.get(index);
+    if (stripe == null) {
+      stripes.compareAndSet(index, null, new AtomicLongArray(bucketCount));
+      stripe = stripes.get(index);
+    }
+    return stripe;
+  }
+
+  private static LatencySnapshot snapshot(long[] counts) {
+    long count = 0;
+    int highestBucket = 0;
+    for (int bucket = 0; bucket < counts.length; ++bucket) {
+      if (counts[bucket] > 0) {
+        count += counts[bucket];
+        highestBucket = bucket;
+      }
+    }
+
+    if (count == 0) {
+      return LatencySnapshot.EMPTY;
+    }
+
+    return new LatencySnapshot(count,
+                               valueAtPercentile(counts, count, 50.0),
+                               valueAtPercentile(counts, count, 99.0),
+                               valueAtPercentile(counts, count, 99.9),
+                               highestEquivalentValue(highestBucket));
+  }
+
+  private static long valueAtPercentile(long[] counts, long count, double percentile) {
+    final long target = max((long) ceil(count * percentile / 100.0), 1);
+    long accumulated = 0;
+    for (int bucket = 0; bucket < counts.length; ++bucket) {
+      accumulated += counts[bucket];
+      if (accumulated >= target) {
+        return highestEquivalentValue(bucket);
+      }
+    }
+    return highestEquivalentValue(counts.length - 1);
+  }
+
+  static int indexOf(long value) {
+    if (value < LINEAR_BUCKET_COUNT) {
+      return (int) value;
+    }
+    final int shift = 63 - numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+  }
+
+  /**
+   * @return the highest value counted in the given {@code bucket}
+   */
+  static long highestEquivalentValue(int bucket) {
+    if (bucket < LINEAR_BUCKET_COUNT) {
+      return bucket;
+    }
+    final int shift = bucket / SUB_BUCKET_COUNT - 1;
+    final long subBucket = bucket % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
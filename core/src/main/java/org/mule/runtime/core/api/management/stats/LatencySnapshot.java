@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import static java.lang.String.format;
+
+import org.mule.api.annotation.NoExtend;
+
+import java.io.Serializable;
+
+/**
+ * The count and percentiles of the values recorded by a {@link LatencyHistogram} at a given time. Percentiles are estimated as
+ * the highest value of the bucket they fall in, and are in the unit the values were recorded in.
+ *
+ * @since 4.3.0
+ */
+@NoExtend
+public final class LatencySnapshot implements Serializable {
+
+  private static final long serialVersionUID = 6431529842707425610L;
+
+  static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0, 0, 0);
+
+  private final long count;
+  private final long p50;
+  private final long p99;
+  private final long p999;
+  private final long max;
+
+  LatencySnapshot(long count, long p50, long p99, long p999, long max) {
+    this.count = count;
+    this.p50 = p50;
+    this.p99 = p99;
+    this.p999 = p999;
+    this.max = max;
+  }
+
+  /**
+   * @return the number of recorded values
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * @return the median of the recorded values, or zero if none was recorded
+   */
+  public long getP50() {
+    return p50;
+  }
+
+  /**
+   * @return the 99th percentile of the recorded values, or zero if none was recorded
+   */
+  public long getP99() {
+    return p99;
+  }
+
+  /**
+   * @return the 99.9th percentile of the recorded values, or zero if none was recorded
+   */
+  public long getP999() {
+    return p999;
+  }
+
+  /**
+   * @return the highest recorded value, or zero if none was recorded
+   */
+  public long getMax() {
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return format("count: %d, p50: %d, p99: %d, p999: %d, max: %d", count, p50, p99, p999, max);
+  }
+}
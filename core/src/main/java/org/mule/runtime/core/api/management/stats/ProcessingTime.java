@@ -6,14 +6,24 @@
  */
 package org.mule.runtime.core.api.management.stats;
 
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
 import org.mule.api.annotation.NoExtend;
 import org.mule.runtime.core.api.construct.FlowConstruct;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Accumulates the processing time for all branches of a flow
+ * Accumulates the processing time for all branches of a flow.
+ * <p>
+ * The accumulated time is added to the flow construct's statistics through {@link #complete()}, which is called by the event
+ * context once all of its processing is done.
  */
 @NoExtend
 public class ProcessingTime implements Serializable {
@@ -24,6 +34,7 @@ public class ProcessingTime implements Serializable {
   private static final long serialVersionUID = 1L;
 
   private AtomicLong accumulator = new AtomicLong();
+  private AtomicBoolean completed = new AtomicBoolean();
   private FlowConstructStatistics statistics;
 
   /**
@@ -34,7 +45,7 @@ public class ProcessingTime implements Serializable {
   public static ProcessingTime newInstance(FlowConstruct flow) {
     FlowConstructStatistics stats = flow.getStatistics();
     if (stats != null && flow.getStatistics().isEnabled()) {
-      return new ProcessingTime(stats, flow.getMuleContext().getProcessorTimeWatcher());
+      return new ProcessingTime(stats);
     } else {
       return null;
     }
@@ -44,25 +55,52 @@ public class ProcessingTime implements Serializable {
    * Create a Processing Time
    *
    * @param stats never null
-   * @param muleContext
    */
-  private ProcessingTime(FlowConstructStatistics stats, ProcessingTimeWatcher processorTimeWatcher) {
+  private ProcessingTime(FlowConstructStatistics stats) {
     this.statistics = stats;
-    processorTimeWatcher.addProcessingTime(this);
   }
 
   /**
    * Add the execution time for this branch to the flow construct's statistics
    *
-   * @param startTime time this branch started
+   * @param startTime time this branch started, as returned by {@link System#currentTimeMillis()}
+   * @deprecated since 4.3.0, use {@link #addFlowExecutionBranchNanoTime(long)} instead, which is not affected by changes of the
+   *             system clock.
    */
+  @Deprecated
   public void addFlowExecutionBranchTime(long startTime) {
+    addFlowExecutionBranchElapsedTime(currentTimeMillis() - startTime);
+  }
+
+  /**
+   * Add the execution time for this branch to the flow construct's statistics
+   *
+   * @param startNanoTime time this branch started, as returned by {@link System#nanoTime()}
+   * @since 4.3.0
+   */
+  public void addFlowExecutionBranchNanoTime(long startNanoTime) {
+    addFlowExecutionBranchElapsedTime(NANOSECONDS.toMillis(nanoTime() - startNanoTime));
+  }
+
+  private void addFlowExecutionBranchElapsedTime(long elapsedMillis) {
     if (statistics.isEnabled()) {
-      long elapsedTime = getEffectiveTime(System.currentTimeMillis() - startTime);
+      long elapsedTime = getEffectiveTime(elapsedMillis);
       statistics.addFlowExecutionBranchTime(elapsedTime, accumulator.addAndGet(elapsedTime));
     }
   }
 
+  /**
+   * Add the time accumulated by all the branches of the flow to the flow construct's statistics. Only the first call has any
+   * effect.
+   *
+   * @since 4.3.0
+   */
+  public void complete() {
+    if (completed.compareAndSet(false, true) && statistics.isEnabled()) {
+      statistics.addCompleteFlowExecutionTime(accumulator.get());
+    }
+  }
+
   /**
    * Convert processing time to effective processing time. If processing took less than a tick, we consider it to have been one
    * millisecond
@@ -78,4 +116,12 @@ public class ProcessingTime implements Serializable {
   public AtomicLong getAccumulator() {
     return accumulator;
   }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    // instances serialized before this field was added have not been completed
+    if (completed == null) {
+      completed = new AtomicBoolean();
+    }
+  }
 }
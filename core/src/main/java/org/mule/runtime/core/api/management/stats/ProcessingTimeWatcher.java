@@ -12,8 +12,12 @@ import org.mule.runtime.api.lifecycle.Stoppable;
 
 /**
  * Watches {@link ProcessingTime} instances to detect when they are weakly reachable.
+ *
+ * @deprecated since 4.3.0, {@link ProcessingTime} instances are completed by their event context when it terminates, so they
+ *             don't need to be watched.
  */
 @NoImplement
+@Deprecated
 public interface ProcessingTimeWatcher extends Startable, Stoppable {
 
   /**
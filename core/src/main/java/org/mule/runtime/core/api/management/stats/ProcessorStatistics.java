@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+
+import org.mule.api.annotation.NoExtend;
+
+/**
+ * Maintains the processing time statistics of the processor at a given location.
+ * <p>
+ * Processing times are only measured while statistics are enabled, so that processor chains don't track events otherwise.
+ * Enabling statistics at runtime starts measuring the events that processors start processing after that.
+ *
+ * @since 4.3.0
+ */
+@NoExtend
+public class ProcessorStatistics implements Statistics {
+
+  private static final long serialVersionUID = -2571638201757342195L;
+
+  private static final long HIGHEST_TRACKABLE_PROCESSING_TIME = HOURS.toMicros(1);
+
+  private final String location;
+  private final LatencyHistogram processingTimeHistogram = new LatencyHistogram(HIGHEST_TRACKABLE_PROCESSING_TIME);
+  private volatile boolean enabled = false;
+
+  public ProcessorStatistics(String location) {
+    this.location = location;
+  }
+
+  /**
+   * @return the location of the processor
+   */
+  public String getLocation() {
+    return location;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Adds the time the processor took to process an event.
+   *
+   * @param time the processing time, in microseconds
+   */
+  public void addProcessingTime(long time) {
+    processingTimeHistogram.record(time);
+  }
+
+  /**
+   * @return the count and percentiles, in microseconds, of the time the processor took to process each event
+   */
+  public LatencySnapshot getProcessingTimeSnapshot() {
+    return processingTimeHistogram.snapshot();
+  }
+
+  /**
+   * @return the median time, in microseconds, the processor took to process an event
+   */
+  public long getProcessingTimeP50() {
+    return getProcessingTimeSnapshot().getP50();
+  }
+
+  /**
+   * @return the 99th percentile of the time, in microseconds, the processor took to process an event
+   */
+  public long getProcessingTimeP99() {
+    return getProcessingTimeSnapshot().getP99();
+  }
+
+  /**
+   * @return the 99.9th percentile of the time, in microseconds, the processor took to process an event
+   */
+  public long getProcessingTimeP999() {
+    return getProcessingTimeSnapshot().getP999();
+  }
+
+  /**
+   * Resets all the statistic state
+   */
+  public void clear() {
+    processingTimeHistogram.clear();
+  }
+}
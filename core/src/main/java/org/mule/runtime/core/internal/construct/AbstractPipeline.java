@@ -7,8 +7,8 @@
 package org.mule.runtime.core.internal.construct;
 
 import static java.lang.String.format;
-import static java.lang.System.currentTimeMillis;
 import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableMap;
 import static org.mule.runtime.api.functional.Either.left;
@@ -389,7 +389,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
       notificationFirer.dispatch(new PipelineMessageNotification(createInfo(event, null, AbstractPipeline.this),
                                                                  AbstractPipeline.this.getName(), PROCESS_START));
 
-      long startTime = currentTimeMillis();
+      long startTime = nanoTime();
 
       BaseEventContext baseEventContext = ((BaseEventContext) event.getContext());
       baseEventContext.onComplete((response, throwable) -> {
@@ -405,7 +405,7 @@ public abstract class AbstractPipeline extends AbstractFlowConstruct implements
           response = messagingException.getEvent();
         }
         fireCompleteNotification(response, messagingException);
-        baseEventContext.getProcessingTime().ifPresent(time -> time.addFlowExecutionBranchTime(startTime));
+        baseEventContext.getProcessingTime().ifPresent(time -> time.addFlowExecutionBranchNanoTime(startTime));
       });
     };
   }
@@ -15,16 +15,29 @@ import org.mule.runtime.core.api.context.notification.FlowStackElement;
 import org.mule.runtime.core.internal.event.EventContextDeepNestingException;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.EmptyStackException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 
 /**
  * Keeps context information about the executing flows and its callers in order to provide augmented troubleshooting information
  * for an application developer.
+ * <p>
+ * The stack is made of immutable {@link Frame}s linked to their parent, so {@link #clone() cloning} it only copies the reference
+ * to the top frame, and the copies share the frames below. Changes to the stack just swap the top frame, without locking.
+ * <p>
+ * The serialized form is still the deque of elements, from the top, used before the frames, so stacks serialized by previous
+ * versions can be read and the other way around.
  */
 public class DefaultFlowCallStack implements FlowCallStack {
 
@@ -34,14 +47,20 @@ public class DefaultFlowCallStack implements FlowCallStack {
   private static final int MAX_DEPTH =
       getInteger(MULE_FLOW_STACK_MAX_DEPTH, getInteger(BaseEventContext.class.getName() + ".maxDepth", 50));
 
-  private final Deque<FlowStackElement> innerStack;
+  private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("innerStack", Deque.class)};
+
+  private static final AtomicReferenceFieldUpdater<DefaultFlowCallStack, Frame> TOP_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(DefaultFlowCallStack.class, Frame.class, "top");
+
+  // null when the stack is empty
+  private volatile Frame top;
 
   public DefaultFlowCallStack() {
-    this.innerStack = new ArrayDeque<>(4);
+    this(null);
   }
 
-  private DefaultFlowCallStack(final Deque<FlowStackElement> innerStack) {
-    this.innerStack = ((ArrayDeque) innerStack).clone();
+  private DefaultFlowCallStack(Frame top) {
+    this.top = top;
   }
 
   /**
@@ -50,19 +69,19 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @param flowStackElement the element to add
    */
   public void push(FlowStackElement flowStackElement) {
-    if (innerStack.size() >= MAX_DEPTH) {
-      StringBuilder messageBuilder = new StringBuilder();
+    Frame current;
+    do {
+      current = top;
+      if (current != null && current.depth >= MAX_DEPTH) {
+        StringBuilder messageBuilder = new StringBuilder();
 
-      messageBuilder.append("Too many nested child contexts.")
-          .append(lineSeparator())
-          .append(toString());
-
-      throw new EventContextDeepNestingException(messageBuilder.toString());
-    }
+        messageBuilder.append("Too many nested child contexts.")
+            .append(lineSeparator())
+            .append(toString());
 
-    synchronized (innerStack) {
-      innerStack.push(flowStackElement);
-    }
+        throw new EventContextDeepNestingException(messageBuilder.toString());
+      }
+    } while (!TOP_UPDATER.compareAndSet(this, current, new Frame(flowStackElement, current)));
   }
 
   /**
@@ -72,11 +91,15 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws EmptyStackException if this stack is empty.
    */
   public void setCurrentProcessorPath(String processorPath) {
-    if (!innerStack.isEmpty()) {
-      synchronized (innerStack) {
-        innerStack.push(new FlowStackElement(innerStack.pop().getFlowName(), processorPath));
+    Frame current;
+    do {
+      current = top;
+      if (current == null) {
+        return;
       }
-    }
+    } while (!TOP_UPDATER.compareAndSet(this, current,
+                                        new Frame(new FlowStackElement(current.element.getFlowName(), processorPath),
+                                                  current.parent)));
   }
 
   /**
@@ -86,9 +109,15 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws EmptyStackException if this stack is empty.
    */
   public FlowStackElement pop() {
-    synchronized (innerStack) {
-      return innerStack.pop();
-    }
+    Frame current;
+    do {
+      current = top;
+      if (current == null) {
+        throw new NoSuchElementException();
+      }
+    } while (!TOP_UPDATER.compareAndSet(this, current, current.parent));
+
+    return current.element;
   }
 
   /**
@@ -98,23 +127,23 @@ public class DefaultFlowCallStack implements FlowCallStack {
    * @throws EmptyStackException if this stack is empty.
    */
   public FlowStackElement peek() {
-    synchronized (innerStack) {
-      return innerStack.peek();
-    }
+    Frame current = top;
+    return current == null ? null : current.element;
   }
 
   @Override
   public List<FlowStackElement> getElements() {
-    synchronized (innerStack) {
-      return new ArrayList<>(innerStack);
+    Frame current = top;
+    List<FlowStackElement> elements = new ArrayList<>(current == null ? 0 : current.depth);
+    for (Frame frame = current; frame != null; frame = frame.parent) {
+      elements.add(frame.element);
     }
+    return elements;
   }
 
   @Override
   public DefaultFlowCallStack clone() {
-    synchronized (innerStack) {
-      return new DefaultFlowCallStack(innerStack);
-    }
+    return new DefaultFlowCallStack(top);
   }
 
   @Override
@@ -129,15 +158,46 @@ public class DefaultFlowCallStack implements FlowCallStack {
   private String doToString(Function<FlowStackElement, String> toString) {
     StringBuilder stackString = new StringBuilder(256);
 
-    int i = 0;
-    synchronized (innerStack) {
-      for (FlowStackElement flowStackElement : innerStack) {
-        stackString.append("at ").append(toString.apply(flowStackElement));
-        if (++i != innerStack.size()) {
-          stackString.append(lineSeparator());
-        }
+    for (Frame frame = top; frame != null; frame = frame.parent) {
+      stackString.append("at ").append(toString.apply(frame.element));
+      if (frame.parent != null) {
+        stackString.append(lineSeparator());
       }
     }
     return stackString.toString();
   }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("innerStack", new ArrayDeque<>(getElements()));
+    out.writeFields();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    Deque<FlowStackElement> innerStack = (Deque<FlowStackElement>) in.readFields().get("innerStack", null);
+    Frame frame = null;
+    if (innerStack != null) {
+      for (Iterator<FlowStackElement> elements = innerStack.descendingIterator(); elements.hasNext();) {
+        frame = new Frame(elements.next(), frame);
+      }
+    }
+    top = frame;
+  }
+
+  /**
+   * An immutable element of the stack, that may be shared by many stacks cloned from the same one.
+   */
+  private static final class Frame {
+
+    private final FlowStackElement element;
+    private final Frame parent;
+    private final int depth;
+
+    private Frame(FlowStackElement element, Frame parent) {
+      this.element = element;
+      this.parent = parent;
+      this.depth = parent == null ? 1 : parent.depth + 1;
+    }
+  }
 }
@@ -9,6 +9,7 @@ package org.mule.runtime.core.internal.event;
 import static java.lang.String.format;
 import static java.lang.System.lineSeparator;
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 import static java.util.stream.Collectors.joining;
 import static org.apache.commons.lang3.StringUtils.leftPad;
 import static org.mule.runtime.api.functional.Either.left;
@@ -24,13 +25,11 @@ import org.mule.runtime.core.api.exception.NullExceptionHandler;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -43,36 +42,66 @@ import reactor.core.publisher.MonoSink;
 
 /**
  * Base class for implementations of {@link BaseEventContext}
+ * <p>
+ * Completion tracking is lock-free: child contexts are accounted for with a pending-children counter that each child decrements
+ * when it completes, state transitions are done with CAS, and the response/completion/termination callbacks are kept in
+ * {@link ConsumerNode} stacks that are drained in registration order when the corresponding state is reached.
  *
  * @since 4.0
  */
 abstract class AbstractEventContext implements BaseEventContext {
 
-  private static final byte STATE_READY = 0;
-  private static final byte STATE_RESPONSE = 1;
-  private static final byte STATE_COMPLETE = 2;
-  private static final byte STATE_TERMINATED = 3;
+  private static final int STATE_READY = 0;
+  private static final int STATE_RESPONSE = 1;
+  private static final int STATE_COMPLETE = 2;
+  private static final int STATE_TERMINATED = 3;
+
+  private static final AtomicIntegerFieldUpdater<AbstractEventContext> STATE_UPDATER =
+      AtomicIntegerFieldUpdater.newUpdater(AbstractEventContext.class, "state");
+  private static final AtomicIntegerFieldUpdater<AbstractEventContext> PENDING_CHILDREN_UPDATER =
+      AtomicIntegerFieldUpdater.newUpdater(AbstractEventContext.class, "pendingChildren");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, Either> RESULT_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, Either.class, "result");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> ON_RESPONSE_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ConsumerNode.class, "onResponseConsumers");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> ON_COMPLETION_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ConsumerNode.class, "onCompletionConsumers");
+  private static final AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> ON_TERMINATED_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AbstractEventContext.class, ConsumerNode.class, "onTerminatedConsumers");
+
+  /**
+   * Marks a consumer stack whose consumers are being signaled. Consumers registered meanwhile are pushed on top of it and picked
+   * up by the signaling thread, so that they are not run before the ones registered earlier.
+   */
+  private static final ConsumerNode DRAINING = new ConsumerNode(null, null);
+
+  /**
+   * Marks a consumer stack that has already been signaled. Consumers registered afterwards are signaled right away.
+   */
+  private static final ConsumerNode DRAINED = new ConsumerNode(null, null);
 
   private static final int TO_STRING_TAB_SIZE = 4;
   private static final Logger LOGGER = LoggerFactory.getLogger(AbstractEventContext.class);
   private static final FlowExceptionHandler NULL_EXCEPTION_HANDLER = NullExceptionHandler.getInstance();
 
   private final boolean debugLogEnabled = LOGGER.isDebugEnabled();
-  private transient final List<BaseEventContext> childContexts = new ArrayList<>();
+  private transient final Set<AbstractEventContext> childContexts = newKeySet();
   private transient final FlowExceptionHandler exceptionHandler;
   private transient final CompletableFuture<Void> externalCompletion;
-  private transient List<BiConsumer<CoreEvent, Throwable>> onResponseConsumerList = new ArrayList<>();
-  private transient List<BiConsumer<CoreEvent, Throwable>> onCompletionConsumerList = new ArrayList<>(2);
-  private transient List<BiConsumer<CoreEvent, Throwable>> onTerminatedConsumerList = new ArrayList<>();
 
-  private final ReadWriteLock childContextsReadWriteLock = new ReentrantReadWriteLock();
+  // A null stack is an empty one, so there is nothing to initialize after deserialization.
+  private transient volatile ConsumerNode onResponseConsumers;
+  private transient volatile ConsumerNode onCompletionConsumers;
+  private transient volatile ConsumerNode onTerminatedConsumers;
 
   private final int depthLevel;
 
-  private volatile byte state = STATE_READY;
+  private volatile int state = STATE_READY;
+  private volatile int pendingChildren = 0;
+  private volatile boolean registeredInParent = false;
   private volatile Either<Throwable, CoreEvent> result;
 
-  private LazyValue<ResponsePublisher> responsePublisher = new LazyValue<>(ResponsePublisher::new);
+  private volatile LazyValue<ResponsePublisher> responsePublisher = new LazyValue<>(ResponsePublisher::new);
 
   protected FlowCallStack flowCallStack;
 
@@ -94,26 +123,15 @@ abstract class AbstractEventContext implements BaseEventContext {
     this.exceptionHandler = exceptionHandler;
   }
 
-  protected void initCompletionLists() {
-    if (onCompletionConsumerList == null) {
-      onResponseConsumerList = new ArrayList<>();
-    }
-
-    if (onCompletionConsumerList == null) {
-      onCompletionConsumerList = new ArrayList<>(2);
-    }
-
-    if (onTerminatedConsumerList == null) {
-      onTerminatedConsumerList = new ArrayList<>();
-    }
+  void addChildContext(AbstractEventContext childContext) {
+    PENDING_CHILDREN_UPDATER.incrementAndGet(this);
+    childContext.registeredInParent = true;
+    childContexts.add(childContext);
   }
 
-  void addChildContext(BaseEventContext childContext) {
-    childContextsReadWriteLock.writeLock().lock();
-    try {
-      childContexts.add(childContext);
-    } finally {
-      childContextsReadWriteLock.writeLock().unlock();
+  private void childCompleted() {
+    if (PENDING_CHILDREN_UPDATER.decrementAndGet(this) == 0) {
+      tryComplete();
     }
   }
 
@@ -182,83 +200,105 @@ abstract class AbstractEventContext implements BaseEventContext {
     return empty();
   }
 
-  private synchronized void responseDone(Either<Throwable, CoreEvent> result) {
-    this.result = result;
-    responsePublisher.ifComputed(rp -> rp.result = result);
+  private void responseDone(Either<Throwable, CoreEvent> result) {
+    // Setting the result is what decides which response wins, so it is visible to anyone that sees the new state.
+    if (state != STATE_READY || !RESULT_UPDATER.compareAndSet(this, null, result)) {
+      if (debugLogEnabled) {
+        LOGGER.debug("{} response was already completed, ignoring.", this);
+      }
+      return;
+    }
 
-    state = STATE_RESPONSE;
-    for (BiConsumer<CoreEvent, Throwable> onResponseConsumer : onResponseConsumerList) {
-      signalConsumerSilently(onResponseConsumer);
+    LazyValue<ResponsePublisher> rp = responsePublisher;
+    if (rp != null) {
+      rp.ifComputed(publisher -> publisher.result = result);
     }
-    onResponseConsumerList.clear();
+
+    if (!STATE_UPDATER.compareAndSet(this, STATE_READY, STATE_RESPONSE)) {
+      // Already terminated, and its result cleared, by a response that won meanwhile.
+      RESULT_UPDATER.compareAndSet(this, result, null);
+      return;
+    }
+
+    drain(ON_RESPONSE_UPDATER);
     tryComplete();
   }
 
   protected void tryComplete() {
-    boolean allChildrenComplete;
-
-    getChildContextsReadLock().lock();
-    try {
-      allChildrenComplete = childContexts.stream().allMatch(BaseEventContext::isComplete);
-    } finally {
-      getChildContextsReadLock().unlock();
-    }
+    if (state == STATE_RESPONSE && pendingChildren == 0
+        && STATE_UPDATER.compareAndSet(this, STATE_RESPONSE, STATE_COMPLETE)) {
+      if (debugLogEnabled) {
+        LOGGER.debug("{} completed.", this);
+      }
 
-    synchronized (this) {
-      if (state == STATE_RESPONSE && allChildrenComplete) {
-        if (debugLogEnabled) {
-          LOGGER.debug("{} completed.", this);
-        }
-        this.state = STATE_COMPLETE;
-
-        for (BiConsumer<CoreEvent, Throwable> consumer : onCompletionConsumerList) {
-          signalConsumerSilently(consumer);
-        }
-        onCompletionConsumerList.clear();
-        getParentContext().ifPresent(context -> {
-          if (context instanceof AbstractEventContext) {
-            ((AbstractEventContext) context).tryComplete();
-          }
-        });
-        tryTerminate();
+      drain(ON_COMPLETION_UPDATER);
+      if (registeredInParent) {
+        getParentContext().ifPresent(context -> ((AbstractEventContext) context).childCompleted());
       }
+      tryTerminate();
     }
   }
 
-  protected synchronized void tryTerminate() {
-    if (this.state == STATE_COMPLETE && (externalCompletion == null || externalCompletion.isDone())) {
+  protected void tryTerminate() {
+    if (state == STATE_COMPLETE && (externalCompletion == null || externalCompletion.isDone())
+        && STATE_UPDATER.compareAndSet(this, STATE_COMPLETE, STATE_TERMINATED)) {
       if (debugLogEnabled) {
         LOGGER.debug("{} terminated.", this);
       }
-      this.state = STATE_TERMINATED;
 
-      for (BiConsumer<CoreEvent, Throwable> consumer : onTerminatedConsumerList) {
-        signalConsumerSilently(consumer);
-      }
-      onTerminatedConsumerList.clear();
+      drain(ON_TERMINATED_UPDATER);
 
-      getChildContextsWriteLock().lock();
-      try {
-        this.childContexts.clear();
-      } finally {
-        getChildContextsWriteLock().unlock();
+      childContexts.clear();
+      if (registeredInParent) {
+        getParentContext().ifPresent(context -> ((AbstractEventContext) context).childContexts.remove(this));
       }
 
-      getParentContext().ifPresent(context -> {
-        AbstractEventContext parent = (AbstractEventContext) context;
-        parent.getChildContextsWriteLock().lock();
-        try {
-          parent.childContexts.remove(this);
-        } finally {
-          parent.getChildContextsWriteLock().unlock();
-        }
-      });
-
       result = null;
       responsePublisher = null;
     }
   }
 
+  /**
+   * Signals all the consumers of the given stack in the order they were registered, including the ones registered while this is
+   * running, and then marks the stack as {@link #DRAINED}.
+   */
+  private void drain(AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> consumers) {
+    ConsumerNode head = consumers.getAndSet(this, DRAINING);
+    while (true) {
+      signalInOrder(head);
+
+      if (consumers.compareAndSet(this, DRAINING, DRAINED)) {
+        return;
+      }
+      head = consumers.getAndSet(this, DRAINING);
+    }
+  }
+
+  private void signalInOrder(ConsumerNode head) {
+    ConsumerNode reversed = null;
+    for (ConsumerNode node = head; node != null && node != DRAINING; node = node.next) {
+      reversed = new ConsumerNode(node.consumer, reversed);
+    }
+    for (ConsumerNode node = reversed; node != null; node = node.next) {
+      signalConsumerSilently(node.consumer);
+    }
+  }
+
+  private void register(AtomicReferenceFieldUpdater<AbstractEventContext, ConsumerNode> consumers,
+                        BiConsumer<CoreEvent, Throwable> consumer) {
+    requireNonNull(consumer);
+    while (true) {
+      ConsumerNode head = consumers.get(this);
+      if (head == DRAINED) {
+        signalConsumerSilently(consumer);
+        return;
+      }
+      if (consumers.compareAndSet(this, head, new ConsumerNode(consumer, head))) {
+        return;
+      }
+    }
+  }
+
   private void signalConsumerSilently(BiConsumer<CoreEvent, Throwable> consumer) {
     try {
       consumer.accept(result.getRight(), result.getLeft());
@@ -295,52 +335,48 @@ abstract class AbstractEventContext implements BaseEventContext {
   }
 
   @Override
-  public synchronized void onTerminated(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_TERMINATED) {
-      signalConsumerSilently(consumer);
-    } else {
-      onTerminatedConsumerList.add(requireNonNull(consumer));
-    }
+  public void onTerminated(BiConsumer<CoreEvent, Throwable> consumer) {
+    register(ON_TERMINATED_UPDATER, consumer);
   }
 
   @Override
-  public synchronized void onComplete(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_COMPLETE) {
-      signalConsumerSilently(consumer);
-    } else {
-      onCompletionConsumerList.add(requireNonNull(consumer));
-    }
+  public void onComplete(BiConsumer<CoreEvent, Throwable> consumer) {
+    register(ON_COMPLETION_UPDATER, consumer);
   }
 
   @Override
-  public synchronized void onResponse(BiConsumer<CoreEvent, Throwable> consumer) {
-    if (state >= STATE_RESPONSE) {
-      signalConsumerSilently(consumer);
-    } else {
-      onResponseConsumerList.add(requireNonNull(consumer));
-    }
+  public void onResponse(BiConsumer<CoreEvent, Throwable> consumer) {
+    register(ON_RESPONSE_UPDATER, consumer);
   }
 
   @Override
-  public synchronized Publisher<CoreEvent> getResponsePublisher() {
-    if (isTerminated()) {
+  public Publisher<CoreEvent> getResponsePublisher() {
+    LazyValue<ResponsePublisher> rp = responsePublisher;
+    if (rp == null || isTerminated()) {
       throw new IllegalStateException("getResponsePublisher() cannot be called after eventContext termination.");
     }
 
-    return Mono.create(responsePublisher.get());
+    return Mono.create(rp.get());
   }
 
   public void forEachChild(Consumer<BaseEventContext> childConsumer) {
-    getChildContextsReadLock().lock();
-    try {
-      childContexts.stream().filter(context -> !context.isTerminated()).forEach(context -> {
-        childConsumer.accept(context);
-        if (context instanceof AbstractEventContext) {
-          ((AbstractEventContext) context).forEachChild(childConsumer);
-        }
-      });
-    } finally {
-      getChildContextsReadLock().unlock();
+    childContexts.stream().filter(context -> !context.isTerminated()).forEach(context -> {
+      childConsumer.accept(context);
+      context.forEachChild(childConsumer);
+    });
+  }
+
+  /**
+   * Node of a lock-free stack of response/completion/termination consumers.
+   */
+  private static final class ConsumerNode {
+
+    private final BiConsumer<CoreEvent, Throwable> consumer;
+    private final ConsumerNode next;
+
+    private ConsumerNode(BiConsumer<CoreEvent, Throwable> consumer, ConsumerNode next) {
+      this.consumer = consumer;
+      this.next = next;
     }
   }
 
@@ -350,30 +386,26 @@ abstract class AbstractEventContext implements BaseEventContext {
    */
   private final class ResponsePublisher implements Consumer<MonoSink<CoreEvent>> {
 
-    private volatile Either<Throwable, CoreEvent> result;
+    private volatile Either<Throwable, CoreEvent> result = AbstractEventContext.this.result;
 
     @Override
     public void accept(MonoSink<CoreEvent> sink) {
       if (isResponseDone()) {
         signalPublisherSink(sink);
       } else {
-        synchronized (AbstractEventContext.this) {
-          if (isResponseDone()) {
-            signalPublisherSink(sink);
-          } else {
-            onResponse((event, throwable) -> {
-              if (throwable != null) {
-                sink.error(throwable);
-              } else {
-                sink.success(event);
-              }
-            });
-          }
-        }
+        // If the response arrives meanwhile, the consumer is signaled right away, but always after the result is set here.
+        onResponse((event, throwable) -> signalPublisherSink(sink));
       }
     }
 
     private void signalPublisherSink(MonoSink<CoreEvent> sink) {
+      Either<Throwable, CoreEvent> result = this.result;
+      if (result == null) {
+        // This publisher was created concurrently with the response being set
+        result = AbstractEventContext.this.result;
+        this.result = result;
+      }
+
       if (result.isLeft()) {
         sink.error(result.getLeft());
       } else {
@@ -387,27 +419,18 @@ abstract class AbstractEventContext implements BaseEventContext {
     return depthLevel;
   }
 
-  public Lock getChildContextsReadLock() {
-    return childContextsReadWriteLock.readLock();
-  }
-
-  public Lock getChildContextsWriteLock() {
-    return childContextsReadWriteLock.writeLock();
-  }
-
   protected abstract String basicToString();
 
   protected final String detailedToString(int level, BaseEventContext highlight) {
     return (this == highlight ? "=> " : "") + basicToString()
         + lineSeparator()
         + childContexts.stream()
-            .map(ctx -> leftPad("", (1 + level) * TO_STRING_TAB_SIZE)
-                + ((AbstractEventContext) ctx).detailedToString(1 + level, highlight))
+            .map(ctx -> leftPad("", (1 + level) * TO_STRING_TAB_SIZE) + ctx.detailedToString(1 + level, highlight))
             .collect(joining(lineSeparator()));
   }
 
   protected byte getState() {
-    return state;
+    return (byte) state;
   }
 
 }
@@ -48,6 +48,7 @@ import org.mule.runtime.core.internal.message.EventInternalContext;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.message.InternalEvent.Builder;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.metadata.DataTypeInterner;
 import org.mule.runtime.core.privileged.connector.ReplyToHandler;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.event.DefaultMuleSession;
@@ -166,7 +167,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     initVariables();
 
-    flowVariables.put(key, new TypedValue<>(value, DataType.fromObject(value)));
+    flowVariables.put(key, new TypedValue<>(value, DataTypeInterner.fromObject(value)));
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -339,7 +340,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       if (entry.getValue() instanceof TypedValue) {
         target.put(entry.getKey(), (TypedValue<?>) entry.getValue());
       } else {
-        target.put(entry.getKey(), new TypedValue<>(entry.getValue(), DataType.fromObject(entry.getValue())));
+        target.put(entry.getKey(), new TypedValue<>(entry.getValue(), DataTypeInterner.fromObject(entry.getValue())));
       }
     }
     this.modified = true;
@@ -80,7 +80,7 @@ public final class DefaultEventContext extends AbstractEventContext implements S
    */
   public static BaseEventContext child(BaseEventContext parent, Optional<ComponentLocation> componentLocation,
                                        FlowExceptionHandler exceptionHandler) {
-    BaseEventContext child =
+    ChildEventContext child =
         new ChildEventContext(parent, componentLocation.orElse(null), exceptionHandler, parent.getDepthLevel() + 1);
     if (parent instanceof AbstractEventContext) {
       ((AbstractEventContext) parent).addChildContext(child);
@@ -173,6 +173,7 @@ public final class DefaultEventContext extends AbstractEventContext implements S
     this.location = location;
     this.processingTime = ProcessingTime.newInstance(flow);
     this.correlationId = correlationId;
+    recordProcessingTimeOnTermination();
 
     // Only generate flowStack dump information for when the eventContext is created for a flow.
     if (flow != null && flow.getMuleContext() != null) {
@@ -202,6 +203,7 @@ public final class DefaultEventContext extends AbstractEventContext implements S
     this.location = location;
     this.processingTime = ProcessingTime.newInstance(flow);
     this.correlationId = correlationId;
+    recordProcessingTimeOnTermination();
 
     // Only generate flowStack dump information for when the eventContext is created for a flow.
     if (flow != null && flow.getMuleContext() != null) {
@@ -255,9 +257,14 @@ public final class DefaultEventContext extends AbstractEventContext implements S
     createStreamingState();
   }
 
+  private void recordProcessingTimeOnTermination() {
+    if (processingTime != null) {
+      onTerminated((response, throwable) -> processingTime.complete());
+    }
+  }
+
   void createStreamingState() {
     if (streamingState == null) {
-      initCompletionLists();
       streamingState = new EventStreamingState();
       onTerminated((event, e) -> streamingState.dispose());
     }
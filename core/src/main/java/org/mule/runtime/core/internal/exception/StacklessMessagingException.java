@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.exception;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.i18n.I18nMessage;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+/**
+ * A {@link MessagingException} that doesn't fill its own stack trace.
+ * <p>
+ * Used when lightweight errors are enabled to wrap a failure raised by a known processor. The stack trace of this wrapper only
+ * contains the frames of the reactive infrastructure that propagated the error, so skipping it avoids the cost of walking the
+ * stack each time an error is used for control flow. The stack trace of the actual cause is kept, and it is the one that gets
+ * logged if the error ends up not being handled.
+ *
+ * @since 4.3
+ */
+public class StacklessMessagingException extends MessagingException {
+
+  private static final long serialVersionUID = -2461375125939851763L;
+
+  public StacklessMessagingException(CoreEvent event, Throwable cause, Component failingComponent) {
+    super(event, cause, failingComponent);
+  }
+
+  public StacklessMessagingException(I18nMessage message, CoreEvent event, Throwable cause, Component failingComponent) {
+    super(message, event, cause, failingComponent);
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -73,16 +73,19 @@ import org.mule.runtime.core.internal.util.mediatype.MediaTypeDecoratedResultCol
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.exception.ErrorTypeLocator;
 import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.policy.api.PolicyPointcutParameters;
 
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 import javax.xml.namespace.QName;
@@ -158,19 +161,51 @@ public class FlowProcessMediator implements Initialisable {
   public void process(FlowProcessTemplate template,
                       MessageProcessContext messageProcessContext,
                       PhaseResultNotifier phaseResultNotifier) {
-    try {
+    process(template, messageProcessContext, phaseResultNotifier, messageProcessContext.getMessageSource(),
+            (AbstractFlowConstruct) messageProcessContext.getFlowConstruct(), new ResolvedSourcePolicy());
+  }
 
-      final MessageSource messageSource = messageProcessContext.getMessageSource();
-      final AbstractFlowConstruct flowConstruct = (AbstractFlowConstruct) messageProcessContext.getFlowConstruct();
+  /**
+   * Routes a batch of messages received together by the same source through the flow.
+   * <p>
+   * Each message gets its own event and is dispatched and responded to independently, just like if each of them had been
+   * processed through {@link #process(FlowProcessTemplate, MessageProcessContext, PhaseResultNotifier)}, but the work that
+   * doesn't depend on each message is done once for the whole batch. In particular, the source policy is only resolved again
+   * when the pointcut parameters of a message differ from the ones of the previous message.
+   *
+   * @param templates             the templates of the messages to process, in the order they were received
+   * @param messageProcessContext the context of execution of the messages
+   * @param phaseResultNotifier   notified of the outcome of each of the messages
+   */
+  public void process(List<FlowProcessTemplate> templates,
+                      MessageProcessContext messageProcessContext,
+                      PhaseResultNotifier phaseResultNotifier) {
+    final MessageSource messageSource = messageProcessContext.getMessageSource();
+    final AbstractFlowConstruct flowConstruct = (AbstractFlowConstruct) messageProcessContext.getFlowConstruct();
+    final ResolvedSourcePolicy resolvedPolicy = new ResolvedSourcePolicy();
+
+    for (FlowProcessTemplate template : templates) {
+      process(template, messageProcessContext, phaseResultNotifier, messageSource, flowConstruct, resolvedPolicy);
+    }
+  }
+
+  private void process(FlowProcessTemplate template,
+                       MessageProcessContext messageProcessContext,
+                       PhaseResultNotifier phaseResultNotifier,
+                       MessageSource messageSource,
+                       AbstractFlowConstruct flowConstruct,
+                       ResolvedSourcePolicy resolvedPolicy) {
+    try {
       final CompletableFuture<Void> responseCompletion = new CompletableFuture<>();
-      final FlowProcessor flowExecutionProcessor = new FlowProcessor(template, flowConstruct);
       final CoreEvent event = createEvent(template, messageSource, responseCompletion, flowConstruct);
-      policyManager.addSourcePointcutParametersIntoEvent(messageSource, event.getMessage().getAttributes(),
-                                                         (InternalEvent) event);
+      final PolicyPointcutParameters pointcutParameters =
+          policyManager.addSourcePointcutParametersIntoEvent(messageSource, event.getMessage().getAttributes(),
+                                                             (InternalEvent) event);
 
       try {
         final SourcePolicy policy =
-            policyManager.createSourcePolicyInstance(messageSource, event, flowExecutionProcessor, template);
+            resolvedPolicy.get(pointcutParameters, () -> policyManager
+                .createSourcePolicyInstance(messageSource, event, new FlowProcessor(template, flowConstruct), template));
 
         final PhaseContext phaseContext = new PhaseContext(template,
                                                            messageSource,
@@ -572,6 +607,26 @@ public class FlowProcessMediator implements Initialisable {
   }
 
 
+  /**
+   * Keeps the latest resolved {@link SourcePolicy}, so that it is not resolved again for the following messages of a batch with
+   * the same pointcut parameters.
+   */
+  private static final class ResolvedSourcePolicy {
+
+    private boolean resolved = false;
+    private PolicyPointcutParameters pointcutParameters;
+    private SourcePolicy policy;
+
+    private SourcePolicy get(PolicyPointcutParameters pointcutParameters, Supplier<SourcePolicy> policyResolver) {
+      if (!resolved || !Objects.equals(this.pointcutParameters, pointcutParameters)) {
+        policy = policyResolver.get();
+        this.pointcutParameters = pointcutParameters;
+        resolved = true;
+      }
+      return policy;
+    }
+  }
+
   /**
    * Container for passing relevant context between private methods to avoid long method signatures everywhere.
    */
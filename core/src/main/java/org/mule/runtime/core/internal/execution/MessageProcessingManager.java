@@ -8,6 +8,8 @@ package org.mule.runtime.core.internal.execution;
 
 import org.mule.runtime.core.api.source.MessageSource;
 
+import java.util.List;
+
 /**
  * In charge of processing messages through mule.
  *
@@ -25,4 +27,20 @@ public interface MessageProcessingManager {
    */
   void processMessage(FlowProcessTemplate messageProcessTemplate, MessageProcessContext messageProcessContext);
 
+  /**
+   * Process a batch of messages received together from the same {@link MessageSource} by routing each of them through a flow.
+   * <p>
+   * Each message is processed and responded to independently, as in
+   * {@link #processMessage(FlowProcessTemplate, MessageProcessContext)}, but implementations may do the work common to all the
+   * messages only once for the batch.
+   *
+   * @param messageProcessTemplates the templates of each of the messages, in the order they were received
+   * @param messageProcessContext   defines the context of execution of the messages
+   */
+  default void processMessages(List<FlowProcessTemplate> messageProcessTemplates, MessageProcessContext messageProcessContext) {
+    for (FlowProcessTemplate messageProcessTemplate : messageProcessTemplates) {
+      processMessage(messageProcessTemplate, messageProcessContext);
+    }
+  }
+
 }
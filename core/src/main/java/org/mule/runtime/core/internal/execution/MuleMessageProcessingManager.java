@@ -15,6 +15,8 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.exception.SystemExceptionHandler;
 import org.mule.runtime.core.internal.policy.PolicyManager;
 
+import java.util.List;
+
 import javax.inject.Inject;
 
 /**
@@ -42,6 +44,13 @@ public class MuleMessageProcessingManager implements MessageProcessingManager, I
                            () -> mediator.process(messageProcessTemplate, messageProcessContext, this));
   }
 
+  @Override
+  public void processMessages(List<FlowProcessTemplate> messageProcessTemplates,
+                              MessageProcessContext messageProcessContext) {
+    withContextClassLoader(messageProcessContext.getExecutionClassLoader(),
+                           () -> mediator.process(messageProcessTemplates, messageProcessContext, this));
+  }
+
   @Override
   public void phaseSuccessfully() {
 
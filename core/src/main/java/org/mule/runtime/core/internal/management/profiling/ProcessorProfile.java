@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.profiling;
+
+import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.LatencyHistogram;
+import org.mule.runtime.core.api.management.stats.LatencySnapshot;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the timings profiled for the processor at a given location.
+ * <p>
+ * The timings of an event are tracked from when it's dispatched to the processing strategy of the processor, through when the
+ * processor starts processing it, to when the processor completes it. Events dropped or cancelled before the processor completes
+ * them are forgotten once their event context is no longer referenced.
+ *
+ * @since 4.3.0
+ */
+public final class ProcessorProfile {
+
+  private static final long HIGHEST_TRACKABLE_TIME = HOURS.toMicros(1);
+
+  private final String location;
+  private final ProcessorProfiler profiler;
+  private final Map<EventContext, Sample> inFlight = newBuilder().weakKeys().<EventContext, Sample>build().asMap();
+
+  private final LatencyHistogram queueWaitTime = new LatencyHistogram(HIGHEST_TRACKABLE_TIME);
+  private final LatencyHistogram executionTime = new LatencyHistogram(HIGHEST_TRACKABLE_TIME);
+  private final LongAdder threadSwitches = new LongAdder();
+
+  ProcessorProfile(String location, ProcessorProfiler profiler) {
+    this.location = location;
+    this.profiler = profiler;
+  }
+
+  /**
+   * @return the location of the processor
+   */
+  public String getLocation() {
+    return location;
+  }
+
+  /**
+   * @return the count and percentiles, in microseconds, of the time events waited for the processing strategy
+   */
+  public LatencySnapshot getQueueWaitTimeSnapshot() {
+    return queueWaitTime.snapshot();
+  }
+
+  /**
+   * @return the count and percentiles, in microseconds, of the time the processor took to process each event
+   */
+  public LatencySnapshot getExecutionTimeSnapshot() {
+    return executionTime.snapshot();
+  }
+
+  /**
+   * @return the number of times processing an event moved to a different thread
+   */
+  public long getThreadSwitches() {
+    return threadSwitches.sum();
+  }
+
+  /**
+   * Resets the aggregated timings.
+   */
+  public void clear() {
+    queueWaitTime.clear();
+    executionTime.clear();
+    threadSwitches.reset();
+  }
+
+  void dispatched(CoreEvent event) {
+    if (profiler.isEnabled()) {
+      inFlight.put(event.getContext(), new Sample(nanoTime(), currentThread()));
+    }
+  }
+
+  void started(CoreEvent event) {
+    if (!profiler.isEnabled()) {
+      return;
+    }
+    Sample sample = inFlight.get(event.getContext());
+    if (sample != null) {
+      sample.startTime = nanoTime();
+      sample.startThread = currentThread();
+    }
+  }
+
+  void executed(CoreEvent result) {
+    if (!profiler.isEnabled()) {
+      return;
+    }
+    Sample sample = inFlight.get(result.getContext());
+    if (sample != null) {
+      sample.endTime = nanoTime();
+      sample.endThread = currentThread();
+    }
+  }
+
+  void completed(CoreEvent result) {
+    if (!profiler.isEnabled()) {
+      return;
+    }
+    Sample sample = inFlight.remove(result.getContext());
+    if (sample == null || sample.startThread == null || sample.endThread == null) {
+      return;
+    }
+
+    final long queueWait = sample.startTime - sample.dispatchTime;
+    final long execution = sample.endTime - sample.startTime;
+    final int switches = (sample.startThread != sample.dispatchThread ? 1 : 0)
+        + (sample.endThread != sample.startThread ? 1 : 0);
+
+    queueWaitTime.record(NANOSECONDS.toMicros(queueWait));
+    executionTime.record(NANOSECONDS.toMicros(execution));
+    threadSwitches.add(switches);
+    profiler.notifyListeners(location, queueWait, execution, switches);
+  }
+
+  /**
+   * Discards the timings of the event with the given {@code context}, when it failed to be processed.
+   */
+  void discard(EventContext context) {
+    inFlight.remove(context);
+  }
+
+  private static final class Sample {
+
+    private final long dispatchTime;
+    private final Thread dispatchThread;
+    private volatile long startTime;
+    private volatile Thread startThread;
+    private volatile long endTime;
+    private volatile Thread endThread;
+
+    private Sample(long dispatchTime, Thread dispatchThread) {
+      this.dispatchTime = dispatchTime;
+      this.dispatchThread = dispatchThread;
+    }
+  }
+}
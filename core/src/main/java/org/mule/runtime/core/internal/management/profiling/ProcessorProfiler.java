@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.profiling;
+
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.publisher.Flux.from;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+
+import org.slf4j.Logger;
+
+/**
+ * Profiles the time each processor takes to process events, telling apart the time events wait for the processing strategy of
+ * the processor from the time the processor actually takes, and counting the thread switches in between.
+ * <p>
+ * Profiling is disabled by default. It's enabled through {@link #MULE_PROCESSOR_PROFILING_ENABLED} or at runtime through
+ * {@link #setEnabled(boolean)}. Its interceptors are installed in every processor chain and check whether profiling is enabled
+ * for each event, so while it's disabled events only pay for that check. The timings are aggregated per processor location, and
+ * notified to the registered {@link ProcessorProfilingListener}s.
+ *
+ * @since 4.3.0
+ */
+public class ProcessorProfiler {
+
+  private static final Logger LOGGER = getLogger(ProcessorProfiler.class);
+
+  /**
+   * Whether processors are profiled from the start.
+   */
+  public static final String MULE_PROCESSOR_PROFILING_ENABLED = SYSTEM_PROPERTY_PREFIX + "processor.profiling.enabled";
+
+  private volatile boolean enabled = getBoolean(MULE_PROCESSOR_PROFILING_ENABLED);
+  private final Map<String, ProcessorProfile> profiles = new ConcurrentHashMap<>();
+  private final List<ProcessorProfilingListener> listeners = new CopyOnWriteArrayList<>();
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Enables or disables profiling. Events are profiled by the processors they are dispatched to after profiling is enabled.
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public void addListener(ProcessorProfilingListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(ProcessorProfilingListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * @return the profiles of every processor that may be profiled
+   */
+  public Collection<ProcessorProfile> getProfiles() {
+    return profiles.values();
+  }
+
+  /**
+   * Resets the aggregated timings of every processor.
+   */
+  public void clear() {
+    profiles.values().forEach(ProcessorProfile::clear);
+  }
+
+  /**
+   * @return an interceptor to apply outside of the processing strategy of the processors, so that it marks when events are
+   *         dispatched to it and when the processor completes them.
+   */
+  public BiFunction<Processor, ReactiveProcessor, ReactiveProcessor> dispatchInterceptor() {
+    return (processor, next) -> {
+      final ProcessorProfile profile = getProfile(processor);
+      if (profile == null) {
+        return next;
+      }
+      return stream -> from(stream)
+          .doOnNext(profile::dispatched)
+          .transform(next)
+          .doOnNext(profile::completed);
+    };
+  }
+
+  /**
+   * @return an interceptor to apply inside of the processing strategy of the processors, so that it marks when the processor
+   *         starts and ends processing events.
+   */
+  public BiFunction<Processor, ReactiveProcessor, ReactiveProcessor> executionInterceptor() {
+    return (processor, next) -> {
+      final ProcessorProfile profile = getProfile(processor);
+      if (profile == null) {
+        return next;
+      }
+      return stream -> from(stream)
+          .doOnNext(profile::started)
+          .transform(next)
+          .doOnNext(profile::executed);
+    };
+  }
+
+  /**
+   * Discards the timings being tracked for the event with the given {@code context}, when the given {@code processor} failed to
+   * process it.
+   */
+  public void discard(Processor processor, EventContext context) {
+    if (!enabled) {
+      return;
+    }
+    final String location = getLocation(processor);
+    final ProcessorProfile profile = location != null ? profiles.get(location) : null;
+    if (profile != null) {
+      profile.discard(context);
+    }
+  }
+
+  void notifyListeners(String location, long queueWaitTime, long executionTime, int threadSwitches) {
+    for (ProcessorProfilingListener listener : listeners) {
+      try {
+        listener.onProcessed(location, queueWaitTime, executionTime, threadSwitches);
+      } catch (Exception e) {
+        LOGGER.warn("Processor profiling listener " + listener + " failed", e);
+      }
+    }
+  }
+
+  private ProcessorProfile getProfile(Processor processor) {
+    final String location = getLocation(processor);
+    return location != null ? profiles.computeIfAbsent(location, l -> new ProcessorProfile(l, this)) : null;
+  }
+
+  private static String getLocation(Processor processor) {
+    if (!(processor instanceof Component) || ((Component) processor).getLocation() == null) {
+      return null;
+    }
+    return ((Component) processor).getLocation().getLocation();
+  }
+}
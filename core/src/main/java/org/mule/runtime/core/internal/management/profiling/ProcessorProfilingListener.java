@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.profiling;
+
+/**
+ * Notified of the timings of each event processed by a processor while profiling is enabled, for instance to emit them as Java
+ * Flight Recorder events where available.
+ * <p>
+ * Implementations are called on the thread that completed the processing of the event, so they must be fast and must not block.
+ *
+ * @since 4.3.0
+ */
+@FunctionalInterface
+public interface ProcessorProfilingListener {
+
+  /**
+   * @param location       the location of the processor
+   * @param queueWaitTime  the time in nanoseconds the event waited for the processing strategy to start processing it
+   * @param executionTime  the time in nanoseconds the processor took to process the event
+   * @param threadSwitches the number of times processing the event moved to a different thread
+   */
+  void onProcessed(String location, long queueWaitTime, long executionTime, int threadSwitches);
+}
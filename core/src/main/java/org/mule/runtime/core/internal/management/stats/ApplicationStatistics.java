@@ -6,8 +6,15 @@
  */
 package org.mule.runtime.core.internal.management.stats;
 
+import static org.mule.runtime.core.api.management.stats.LatencyHistogram.snapshot;
+
 import org.mule.runtime.core.api.management.stats.AllStatistics;
 import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
+import org.mule.runtime.core.api.management.stats.LatencyHistogram;
+import org.mule.runtime.core.api.management.stats.LatencySnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Aggregate statistics for all services and flows in an application. Do this by looping through all of the applications'
@@ -86,6 +93,17 @@ public class ApplicationStatistics extends DefaultFlowConstructStatistics {
     return total;
   }
 
+  @Override
+  public LatencySnapshot getProcessingTimeSnapshot() {
+    List<LatencyHistogram> histograms = new ArrayList<>();
+    for (FlowConstructStatistics stats : parent.getServiceStatistics()) {
+      if (stats instanceof DefaultFlowConstructStatistics && !(stats instanceof ApplicationStatistics)) {
+        histograms.add(((DefaultFlowConstructStatistics) stats).flowStatistics.getExecutionTimeHistogram());
+      }
+    }
+    return snapshot(histograms);
+  }
+
   @Override
   public long getExecutionErrors() {
     long total = 0;
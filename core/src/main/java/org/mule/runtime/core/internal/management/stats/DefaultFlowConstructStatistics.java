@@ -7,6 +7,7 @@
 package org.mule.runtime.core.internal.management.stats;
 
 import org.mule.runtime.core.api.management.stats.ComponentStatistics;
+import org.mule.runtime.core.api.management.stats.LatencySnapshot;
 
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -98,6 +99,11 @@ public class DefaultFlowConstructStatistics extends AbstractFlowConstructStatist
     return flowStatistics.getTotalExecutionTime();
   }
 
+  @Override
+  public LatencySnapshot getProcessingTimeSnapshot() {
+    return flowStatistics.getExecutionTimeSnapshot();
+  }
+
   @Override
   public long getExecutionErrors() {
     return executionError.get();
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.ProcessorStatistics;
+
+import java.util.Map;
+
+/**
+ * Measures the time a processor takes to process each event and adds it to its {@link ProcessorStatistics}.
+ * <p>
+ * Processors may complete asynchronously, so the time each event started being processed is kept by its event context until
+ * the processor completes it, either successfully or with an error. The start times are weakly keyed on the event contexts, so
+ * events dropped by the processor, or failed without the processor reporting it, are forgotten once their event context is no
+ * longer referenced.
+ *
+ * @since 4.3.0
+ */
+public final class ProcessorStatisticsRecorder {
+
+  private final ProcessorStatistics statistics;
+  private final Map<EventContext, Long> startTimes = newBuilder().weakKeys().<EventContext, Long>build().asMap();
+
+  public ProcessorStatisticsRecorder(ProcessorStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  /**
+   * Marks the start of the processing of the given {@code event}, if statistics are enabled.
+   */
+  public void start(CoreEvent event) {
+    if (!statistics.isEnabled()) {
+      return;
+    }
+
+    startTimes.put(event.getContext(), nanoTime());
+  }
+
+  /**
+   * Adds the processing time of the event with the given {@code context}, if its start was marked.
+   */
+  public void stop(EventContext context) {
+    Long startTime = startTimes.remove(context);
+    if (startTime != null) {
+      statistics.addProcessingTime(NANOSECONDS.toMicros(nanoTime() - startTime));
+    }
+  }
+}
@@ -45,6 +45,7 @@ import org.mule.runtime.core.api.transformer.Transformer;
 import org.mule.runtime.core.api.transformer.TransformerException;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
 import org.mule.runtime.core.internal.message.InternalMessage.CollectionBuilder;
+import org.mule.runtime.core.internal.metadata.DataTypeInterner;
 import org.mule.runtime.core.internal.metadata.DefaultCollectionDataType;
 import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
 
@@ -351,7 +352,7 @@ public final class DefaultMessageBuilder
 
   private DataType resolveDataType(Object value) {
     if (payload == null) {
-      return DataType.fromObject(value);
+      return DataTypeInterner.fromObject(value);
     } else {
       return DataType.builder(payload.getDataType()).fromObject(value).build();
     }
@@ -359,7 +360,7 @@ public final class DefaultMessageBuilder
 
   private DataType resolveAttributesDataType(Object value) {
     if (attributes == null) {
-      return DataType.fromObject(value);
+      return DataTypeInterner.fromObject(value);
     } else {
       return DataType.builder(attributes.getDataType()).fromObject(value).build();
     }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.metadata;
+
+import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
+import static java.lang.Integer.getInteger;
+import static java.util.Objects.requireNonNull;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.MediaType;
+
+import javax.activation.DataHandler;
+import javax.activation.DataSource;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+/**
+ * Interns the {@link DataType}s and {@link MediaType}s that are most commonly resolved when building messages and events.
+ * <p>
+ * {@link DataType#fromType(Class)} and {@link DataType#fromObject(Object)} need a new {@link DefaultDataTypeBuilder} just to look
+ * up an already built {@link DataType}. The methods in this class instead go straight to a {@link ClassValue} indexed by the
+ * type, so no allocation happens once the {@link DataType} for a class has been built. Parsed {@link MediaType}s are also kept,
+ * keyed by the string they were parsed from.
+ *
+ * @since 4.3
+ */
+public final class DataTypeInterner {
+
+  private static final int MEDIA_TYPE_CACHE_SIZE = getInteger(SYSTEM_PROPERTY_PREFIX + "mediaType.cache.size", 1024);
+
+  private static final ClassValue<DataType> DATA_TYPES = new ClassValue<DataType>() {
+
+    @Override
+    protected DataType computeValue(Class<?> type) {
+      return DataType.fromType(type);
+    }
+  };
+
+  private static final LoadingCache<String, MediaType> MEDIA_TYPES =
+      newBuilder().maximumSize(MEDIA_TYPE_CACHE_SIZE).build(MediaType::parse);
+
+  private DataTypeInterner() {
+    // Nothing to do
+  }
+
+  /**
+   * Equivalent to {@link DataType#fromType(Class)}, without allocating once the {@link DataType} for {@code type} is known.
+   *
+   * @param type the java type of the {@link DataType}
+   * @return the {@link DataType} for the given {@code type}, with no particular media type
+   */
+  public static DataType fromType(Class<?> type) {
+    requireNonNull(type, "'type' cannot be null.");
+    return DATA_TYPES.get(type);
+  }
+
+  /**
+   * Equivalent to {@link DataType#fromObject(Object)}, without allocating once the {@link DataType} for the class of
+   * {@code value} is known.
+   *
+   * @param value the object to get the {@link DataType} for
+   * @return the {@link DataType} for the given {@code value}
+   */
+  public static DataType fromObject(Object value) {
+    if (value == null) {
+      return fromType(Object.class);
+    } else if (value instanceof DataHandler || value instanceof DataSource) {
+      // These carry their own media type, so they are not interned
+      return DataType.fromObject(value);
+    } else {
+      return fromType(value.getClass());
+    }
+  }
+
+  /**
+   * Equivalent to {@link MediaType#parse(String)}, reusing the result of previous parsings of the same string.
+   *
+   * @param mediaType the media type string to parse
+   * @return the parsed {@link MediaType}
+   * @throws IllegalArgumentException if the given media type string is invalid.
+   */
+  public static MediaType parseMediaType(String mediaType) {
+    requireNonNull(mediaType);
+    return MEDIA_TYPES.get(mediaType);
+  }
+}
@@ -391,7 +391,7 @@ public class DefaultDataTypeBuilder
     requireNonNull(mediaType);
     validateAlreadyBuilt();
 
-    this.mediaType = MediaType.parse(mediaType);
+    this.mediaType = DataTypeInterner.parseMediaType(mediaType);
     mutated = true;
     return this;
   }
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.policy;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.exception.StacklessMessagingException;
+
+/**
+ * A {@link FlowExecutionException} that doesn't fill its own stack trace.
+ *
+ * @see StacklessMessagingException
+ * @since 4.3
+ */
+public class StacklessFlowExecutionException extends FlowExecutionException {
+
+  private static final long serialVersionUID = 5003846151233585286L;
+
+  public StacklessFlowExecutionException(CoreEvent event, Throwable cause, Component failingComponent) {
+    super(event, cause, failingComponent);
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.processor.strategy;
 
+import static java.lang.System.nanoTime;
 import static org.mule.runtime.core.api.construct.BackPressureReason.MAX_CONCURRENCY_EXCEEDED;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE_ASYNC;
 import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_BUFFER_SIZE;
@@ -37,6 +38,7 @@ abstract class AbstractReactorStreamProcessingStrategy extends AbstractStreamPro
   private final BiConsumer<CoreEvent, Throwable> inFlightDecrementCallback = (e, t) -> inFlightEvents.decrementAndGet();
 
   private Scheduler cpuLightScheduler;
+  private AdaptiveConcurrencyLimit adaptiveConcurrencyLimit;
 
   AbstractReactorStreamProcessingStrategy(int subscribers,
                                           Supplier<Scheduler> cpuLightSchedulerSupplier,
@@ -87,7 +89,16 @@ abstract class AbstractReactorStreamProcessingStrategy extends AbstractStreamPro
    * @return true if the event can be accepted for processing
    */
   protected BackPressureReason checkCapacity(CoreEvent event) {
-    if (maxConcurrencyEagerCheck) {
+    if (adaptiveConcurrencyLimit != null) {
+      if (!adaptiveConcurrencyLimit.tryAcquire()) {
+        return MAX_CONCURRENCY_EXCEEDED;
+      }
+
+      final long startNanos = nanoTime();
+      // Errors are not sampled, since failing fast would make the flow look faster than it is
+      ((BaseEventContext) event.getContext())
+          .onResponse((e, t) -> adaptiveConcurrencyLimit.release(startNanos, t == null));
+    } else if (maxConcurrencyEagerCheck) {
       if (inFlightEvents.incrementAndGet() > maxConcurrency) {
         inFlightEvents.decrementAndGet();
         return MAX_CONCURRENCY_EXCEEDED;
@@ -101,6 +112,20 @@ abstract class AbstractReactorStreamProcessingStrategy extends AbstractStreamPro
     return null;
   }
 
+  /**
+   * Makes the max concurrency of this strategy adapt to the latency of the events, up to {@code maxConcurrency}, instead of being
+   * fixed. Must be called before this strategy is started.
+   *
+   * @param adaptiveConcurrencyLimit the limit to check the capacity of this strategy against
+   */
+  void setAdaptiveConcurrencyLimit(AdaptiveConcurrencyLimit adaptiveConcurrencyLimit) {
+    this.adaptiveConcurrencyLimit = adaptiveConcurrencyLimit;
+  }
+
+  AdaptiveConcurrencyLimit getAdaptiveConcurrencyLimit() {
+    return adaptiveConcurrencyLimit;
+  }
+
   protected int getParallelism() {
     return parallelism;
   }
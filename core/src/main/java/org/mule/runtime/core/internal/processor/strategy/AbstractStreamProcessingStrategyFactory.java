@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.processor.strategy;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.MAX_VALUE;
 import static java.lang.Integer.getInteger;
 import static java.lang.Integer.max;
@@ -19,12 +20,15 @@ import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LIFECYCLE_FAIL_ON_FIRST_DISPOSE_ERROR;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
+import static org.mule.runtime.core.internal.processor.strategy.AdaptiveConcurrencyLimit.DEFAULT_INITIAL_LIMIT;
+import static org.mule.runtime.core.internal.processor.strategy.AdaptiveConcurrencyLimit.DEFAULT_MIN_LIMIT;
 import static org.slf4j.LoggerFactory.getLogger;
 import static reactor.util.concurrent.Queues.isPowerOfTwo;
 
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.management.stats.ConcurrencyLimitStatistics;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
 
@@ -54,8 +58,11 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
   // required to achieve absolute minimum latency for the scenarios where this is important.
   protected static final int DEFAULT_SUBSCRIBER_COUNT =
       getInteger(SYSTEM_PROPERTY_PREFIX + "DEFAULT_SUBSCRIBER_COUNT", max(1, (CORES / 2)));
+  protected static final boolean DEFAULT_ADAPTIVE_MAX_CONCURRENCY =
+      getBoolean(SYSTEM_PROPERTY_PREFIX + "ADAPTIVE_MAX_CONCURRENCY");
   private int bufferSize = DEFAULT_BUFFER_SIZE;
   private int subscriberCount = DEFAULT_SUBSCRIBER_COUNT;
+  private boolean adaptiveMaxConcurrency = DEFAULT_ADAPTIVE_MAX_CONCURRENCY;
 
   /**
    * Configure the size of the ring-buffer size used to buffer and de-multiplexes events from multiple source threads. This value
@@ -82,6 +89,22 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
     this.subscriberCount = subscriberCount;
   }
 
+  /**
+   * Configures whether the max concurrency adapts to the latency of the events being processed, with the configured
+   * {@code maxConcurrency} as its upper bound. Only applies when {@code maxConcurrency} is set and checked eagerly, since there
+   * is no upper bound to adapt to otherwise.
+   *
+   * @param adaptiveMaxConcurrency whether the max concurrency adapts to the latency of the events
+   * @since 4.3.0
+   */
+  public void setAdaptiveMaxConcurrency(boolean adaptiveMaxConcurrency) {
+    this.adaptiveMaxConcurrency = adaptiveMaxConcurrency;
+  }
+
+  public boolean isAdaptiveMaxConcurrency() {
+    return adaptiveMaxConcurrency;
+  }
+
   protected int getBufferSize() {
     return bufferSize;
   }
@@ -101,6 +124,20 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
             .withName(schedulersNamePrefix + "." + CPU_LITE.name()));
   }
 
+  /**
+   * Sets an {@link AdaptiveConcurrencyLimit} to the given strategy if this factory is configured for it and has a
+   * {@code maxConcurrency} set, publishing its state to the {@link ConcurrencyLimitStatistics} with the given name.
+   */
+  <T extends AbstractReactorStreamProcessingStrategy> T configureConcurrencyLimit(T processingStrategy, MuleContext muleContext,
+                                                                                 String name) {
+    if (isAdaptiveMaxConcurrency() && isMaxConcurrencyEagerCheck() && getMaxConcurrency() < MAX_VALUE) {
+      ConcurrencyLimitStatistics statistics = muleContext.getStatistics().getConcurrencyLimitStatistics(name);
+      processingStrategy.setAdaptiveConcurrencyLimit(new AdaptiveConcurrencyLimit(DEFAULT_INITIAL_LIMIT, DEFAULT_MIN_LIMIT,
+                                                                                  getMaxConcurrency(), statistics));
+    }
+    return processingStrategy;
+  }
+
   protected int resolveParallelism() {
     return max(CORES, getMaxConcurrency());
   }
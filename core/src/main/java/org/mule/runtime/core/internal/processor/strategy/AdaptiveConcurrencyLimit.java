@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.sqrt;
+import static java.lang.System.nanoTime;
+
+import org.mule.runtime.core.api.management.stats.ConcurrencyLimitStatistics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Max concurrency that adapts to the latency of the events being processed, based on the gradient between the long term average
+ * latency and the latency of the latest event.
+ * <p>
+ * While latency is stable the limit grows, and when latency rises above the long term average, meaning events are queuing
+ * somewhere downstream, the limit is reduced proportionally. The limit is only recalculated while at least half of it is in use,
+ * so that an idle flow does not grow its limit unbounded.
+ * <p>
+ * The limit is always kept between {@code minLimit} and {@code maxLimit}.
+ *
+ * @since 4.3.0
+ */
+final class AdaptiveConcurrencyLimit {
+
+  static final int DEFAULT_INITIAL_LIMIT = 20;
+  static final int DEFAULT_MIN_LIMIT = 1;
+
+  // How much the latest latency may exceed the long term average before the limit is reduced
+  private static final double TOLERANCE = 1.5;
+  // Weight of a newly calculated limit against the current one
+  private static final double SMOOTHING = 0.2;
+  // The min gradient, so that a single latency spike at most halves the limit
+  private static final double MIN_GRADIENT = 0.5;
+  private static final int LONG_LATENCY_WINDOW = 600;
+  private static final int LONG_LATENCY_WARMUP = 10;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final ConcurrencyLimitStatistics statistics;
+  private final AtomicInteger inFlight = new AtomicInteger();
+
+  private volatile int limit;
+
+  // Guarded by this
+  private double estimatedLimit;
+  private double longLatency;
+  private int samples;
+
+  /**
+   * @param initialLimit the limit to start with, before there is any latency to calculate it from
+   * @param minLimit     the min value of the limit
+   * @param maxLimit     the max value of the limit
+   * @param statistics   where to publish the state of the limit
+   */
+  AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, ConcurrencyLimitStatistics statistics) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.statistics = statistics;
+    this.estimatedLimit = max(minLimit, min(maxLimit, initialLimit));
+    this.limit = (int) estimatedLimit;
+    statistics.update(limit, 0, 0);
+  }
+
+  /**
+   * Reserves a slot for an event, if the limit has not been reached.
+   *
+   * @return whether the event may be processed. If {@code true}, {@link #release(long, boolean)} must be called once the event
+   *         has been processed.
+   */
+  boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= limit) {
+        statistics.incRejectedEvents();
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * Frees the slot of an event that has been processed.
+   *
+   * @param startNanos the {@link System#nanoTime()} when the slot was acquired
+   * @param sample     whether the latency of the event is to be used to recalculate the limit
+   */
+  void release(long startNanos, boolean sample) {
+    final int inFlightBeforeRelease = inFlight.getAndDecrement();
+    if (sample) {
+      onSample(nanoTime() - startNanos, inFlightBeforeRelease);
+    }
+  }
+
+  /**
+   * Recalculates the limit from the latency of an event.
+   *
+   * @param latency  the time it took to process the event, in nanoseconds
+   * @param inFlight the number of events being processed when the event completed
+   */
+  synchronized void onSample(long latency, int inFlight) {
+    if (samples < LONG_LATENCY_WARMUP) {
+      ++samples;
+      longLatency += (latency - longLatency) / samples;
+    } else {
+      longLatency += (latency - longLatency) * 2 / (LONG_LATENCY_WINDOW + 1);
+    }
+
+    // Latency has dropped a lot, let the long term average catch up faster
+    if (longLatency / latency > 2) {
+      longLatency *= 0.95;
+    }
+
+    if (inFlight >= estimatedLimit / 2) {
+      final double gradient = max(MIN_GRADIENT, min(1.0, TOLERANCE * longLatency / max(latency, 1)));
+      final double newLimit = estimatedLimit * gradient + max(1.0, sqrt(estimatedLimit));
+      estimatedLimit = max(minLimit, min(maxLimit, estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+      limit = (int) estimatedLimit;
+    }
+
+    statistics.update(limit, latency, (long) longLatency);
+  }
+
+  /**
+   * @return the max concurrency currently in effect
+   */
+  int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return the number of events being processed
+   */
+  int getInFlight() {
+    return inFlight.get();
+  }
+}
@@ -19,6 +19,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 import static reactor.core.publisher.Flux.from;
 import static reactor.core.publisher.FluxSink.OverflowStrategy.BUFFER;
 import static reactor.core.scheduler.Schedulers.fromExecutorService;
+import static reactor.util.concurrent.Queues.SMALL_BUFFER_SIZE;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.scheduler.Scheduler;
@@ -62,15 +63,17 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
 
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
-    return new StreamEmitterProcessingStrategy(getBufferSize(),
-                                               getSubscriberCount(),
-                                               getFlowDispatchSchedulerSupplier(muleContext, schedulersNamePrefix),
-                                               getCpuLightSchedulerSupplier(
-                                                                            muleContext,
-                                                                            schedulersNamePrefix),
-                                               resolveParallelism(),
-                                               getMaxConcurrency(),
-                                               isMaxConcurrencyEagerCheck());
+    StreamEmitterProcessingStrategy processingStrategy =
+        new StreamEmitterProcessingStrategy(getBufferSize(),
+                                            getSubscriberCount(),
+                                            getFlowDispatchSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                            getCpuLightSchedulerSupplier(
+                                                                         muleContext,
+                                                                         schedulersNamePrefix),
+                                            resolveParallelism(),
+                                            getMaxConcurrency(),
+                                            isMaxConcurrencyEagerCheck());
+    return configureConcurrencyLimit(processingStrategy, muleContext, schedulersNamePrefix);
   }
 
   @Override
@@ -80,7 +83,7 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
             .withName(schedulersNamePrefix + "." + CPU_LITE.name()));
   }
 
-  private Supplier<Scheduler> getFlowDispatchSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+  protected Supplier<Scheduler> getFlowDispatchSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
     return () -> {
       SchedulerConfig config = muleContext.getSchedulerBaseConfig().withName(schedulersNamePrefix + ".dispatch");
 
@@ -185,10 +188,19 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
         sinks.add(sink);
       }
 
-      activeSinksCount.addAndGet(sinksCount);
+      onSinksCreated(sinksCount);
       return new RoundRobinReactorSink<>(sinks);
     }
 
+    /**
+     * Keeps track of the given number of sinks, so that the schedulers are not stopped until all of them are disposed.
+     *
+     * @param count the number of sinks created
+     */
+    protected void onSinksCreated(int count) {
+      activeSinksCount.addAndGet(count);
+    }
+
     @Override
     public void registerInternalSink(Publisher<CoreEvent> flux, String sinkRepresentation) {
       Latch completionLatch = new Latch();
@@ -264,11 +276,18 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
     @Override
     public ReactiveProcessor onPipeline(ReactiveProcessor pipeline) {
       reactor.core.scheduler.Scheduler scheduler = fromExecutorService(decorateScheduler(getFlowDispatcherScheduler()));
-      return publisher -> from(publisher).publishOn(scheduler)
+      return publisher -> from(publisher).publishOn(scheduler, getDispatchPrefetch())
           .doOnSubscribe(subscription -> currentThread().setContextClassLoader(executionClassloader))
           .transform(pipeline);
     }
 
+    /**
+     * @return the max number of events each subscriber takes from its sink ahead of the ones being processed
+     */
+    protected int getDispatchPrefetch() {
+      return SMALL_BUFFER_SIZE;
+    }
+
     @Override
     protected BackPressureReason checkCapacity(CoreEvent event) {
       if (lastRetryTimestamp.get() != MIN_VALUE) {
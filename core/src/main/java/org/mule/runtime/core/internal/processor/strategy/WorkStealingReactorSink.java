@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.System.currentTimeMillis;
+import static org.mule.runtime.core.api.construct.BackPressureReason.EVENTS_ACCUMULATED;
+import static reactor.core.publisher.FluxSink.OverflowStrategy.BUFFER;
+
+import org.mule.runtime.core.api.construct.BackPressureReason;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.processor.strategy.AbstractProcessingStrategy.ReactorSink;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+/**
+ * {@link ReactorSink} that dispatches events to a number of workers, each one with its own queue, so that a worker that has
+ * demand and no queued events of its own takes the events queued for the other workers.
+ * <p>
+ * Events are assigned to the workers by rotation. An event is only rejected with backpressure when the queues of all the
+ * workers are full, rather than when the queue of the worker it was assigned to is.
+ * <p>
+ * Every worker, including the ones taking events from other workers, takes the oldest event of a queue, so the events of a queue
+ * are dispatched in the same order they were accepted. With a single worker, events are processed in the same order they were
+ * accepted.
+ *
+ * @since 4.3.0
+ */
+final class WorkStealingReactorSink implements ReactorSink<CoreEvent> {
+
+  private final Worker[] workers;
+  private final int workerQueueSize;
+  private final Consumer<CoreEvent> onEventConsumer;
+  private final Consumer<Long> disposer;
+
+  private final AtomicInteger index = new AtomicInteger(0);
+  // Saving update function to avoid creating the lambda every time
+  private final IntUnaryOperator update;
+  // Total of events queued in all the workers, used to complete the workers once all of them are empty
+  private final AtomicInteger queuedEvents = new AtomicInteger(0);
+
+  private volatile boolean completing = false;
+  private long prepareDisposeTimestamp = -1;
+
+  /**
+   * @param workersCount    the number of workers to dispatch events to
+   * @param workerQueueSize the max number of events queued for each worker before emitting causes backpressure
+   * @param onEventConsumer callback for every event accepted by this sink
+   * @param disposer        callback to wait for the completion of the workers when this sink is disposed
+   */
+  WorkStealingReactorSink(int workersCount, int workerQueueSize, Consumer<CoreEvent> onEventConsumer,
+                          Consumer<Long> disposer) {
+    this.workers = new Worker[workersCount];
+    for (int i = 0; i < workersCount; ++i) {
+      workers[i] = new Worker(i);
+    }
+    this.workerQueueSize = workerQueueSize;
+    this.onEventConsumer = onEventConsumer;
+    this.disposer = disposer;
+    this.update = value -> (value + 1) % workers.length;
+  }
+
+  /**
+   * @param workerIndex the index of a worker
+   * @return the events dispatched to the given worker, to be transformed and subscribed to exactly once
+   */
+  Flux<CoreEvent> workerFlux(int workerIndex) {
+    final Worker worker = workers[workerIndex];
+    return Flux.create(sink -> {
+      worker.sink = sink;
+      sink.onRequest(n -> drain(worker));
+    }, BUFFER);
+  }
+
+  /**
+   * @param workerIndex the index of a worker
+   * @return whether the flux of the given worker has been subscribed to
+   */
+  boolean isSubscribed(int workerIndex) {
+    return workers[workerIndex].sink != null;
+  }
+
+  @Override
+  public void accept(CoreEvent event) {
+    onEventConsumer.accept(event);
+    Worker worker = workers[nextIndex()];
+    worker.queued.incrementAndGet();
+    enqueue(worker, event);
+  }
+
+  @Override
+  public BackPressureReason emit(CoreEvent event) {
+    onEventConsumer.accept(event);
+    final int first = nextIndex();
+    for (int i = 0; i < workers.length; ++i) {
+      Worker worker = workers[(first + i) % workers.length];
+      if (worker.queued.incrementAndGet() <= workerQueueSize) {
+        enqueue(worker, event);
+        return null;
+      }
+      worker.queued.decrementAndGet();
+    }
+    return EVENTS_ACCUMULATED;
+  }
+
+  private int nextIndex() {
+    return index.getAndUpdate(update);
+  }
+
+  private void enqueue(Worker worker, CoreEvent event) {
+    queuedEvents.incrementAndGet();
+    worker.queue.offer(event);
+    drain(worker);
+
+    if (!worker.queue.isEmpty()) {
+      // The worker has no demand, so let the idle workers take its events
+      for (int i = 1; i < workers.length && !worker.queue.isEmpty(); ++i) {
+        Worker other = workers[(worker.index + i) % workers.length];
+        if (other.hasDemand()) {
+          drain(other);
+        }
+      }
+    }
+  }
+
+  private void drain(Worker worker) {
+    if (worker.wip.getAndIncrement() != 0) {
+      return;
+    }
+
+    int missed = 1;
+    do {
+      final FluxSink<CoreEvent> sink = worker.sink;
+      if (sink != null && !worker.done) {
+        while (sink.requestedFromDownstream() > 0) {
+          CoreEvent event = poll(worker);
+          if (event == null) {
+            event = steal(worker);
+          }
+          if (event == null) {
+            break;
+          }
+          sink.next(event);
+        }
+
+        if (completing && queuedEvents.get() == 0) {
+          worker.done = true;
+          sink.complete();
+        }
+      }
+
+      missed = worker.wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private CoreEvent steal(Worker thief) {
+    for (int i = 1; i < workers.length; ++i) {
+      CoreEvent event = poll(workers[(thief.index + i) % workers.length]);
+      if (event != null) {
+        return event;
+      }
+    }
+    return null;
+  }
+
+  private CoreEvent poll(Worker worker) {
+    CoreEvent event = worker.queue.poll();
+    if (event != null) {
+      worker.queued.decrementAndGet();
+      if (queuedEvents.decrementAndGet() == 0 && completing) {
+        // The last queued event has been taken, the other workers may complete now
+        completeWorkers();
+      }
+    }
+    return event;
+  }
+
+  private void completeWorkers() {
+    for (Worker worker : workers) {
+      drain(worker);
+    }
+  }
+
+  @Override
+  public void prepareDispose() {
+    prepareDisposeTimestamp = currentTimeMillis();
+    completing = true;
+    completeWorkers();
+  }
+
+  @Override
+  public void dispose() {
+    if (prepareDisposeTimestamp == -1) {
+      completing = true;
+      completeWorkers();
+      disposer.accept(currentTimeMillis());
+    } else {
+      disposer.accept(prepareDisposeTimestamp);
+    }
+  }
+
+  @Override
+  public CoreEvent intoSink(CoreEvent event) {
+    return event;
+  }
+
+  private static final class Worker {
+
+    private final int index;
+    private final Queue<CoreEvent> queue = new ConcurrentLinkedQueue<>();
+    // Events queued for this worker, counted apart since the size of the queue is not constant time
+    private final AtomicInteger queued = new AtomicInteger(0);
+    private final AtomicInteger wip = new AtomicInteger(0);
+
+    private volatile FluxSink<CoreEvent> sink;
+    private volatile boolean done = false;
+
+    private Worker(int index) {
+      this.index = index;
+    }
+
+    private boolean hasDemand() {
+      final FluxSink<CoreEvent> currentSink = sink;
+      return currentSink != null && currentSink.requestedFromDownstream() > 0;
+    }
+  }
+}
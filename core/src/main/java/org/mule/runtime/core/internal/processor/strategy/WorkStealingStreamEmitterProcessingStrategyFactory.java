@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * {@link StreamEmitterProcessingStrategyFactory} variant in which the subscribers of a flow take the events queued for the other
+ * subscribers when they run out of events of their own, instead of each subscriber only processing the events assigned to it.
+ * <p>
+ * This avoids a subscriber backing up and causing backpressure while other subscribers sit idle when the processing cost of
+ * events is uneven. Each subscriber only takes one event at a time, so the events it has not started processing yet remain
+ * available to the other subscribers.
+ *
+ * @since 4.3.0
+ * @see WorkStealingReactorSink
+ */
+public class WorkStealingStreamEmitterProcessingStrategyFactory extends StreamEmitterProcessingStrategyFactory {
+
+  @Override
+  public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
+    WorkStealingStreamEmitterProcessingStrategy processingStrategy =
+        new WorkStealingStreamEmitterProcessingStrategy(getBufferSize(),
+                                                        getSubscriberCount(),
+                                                        getFlowDispatchSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                                        getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                                        resolveParallelism(),
+                                                        getMaxConcurrency(),
+                                                        isMaxConcurrencyEagerCheck());
+    return configureConcurrencyLimit(processingStrategy, muleContext, schedulersNamePrefix);
+  }
+
+  @Override
+  public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
+    return WorkStealingStreamEmitterProcessingStrategy.class;
+  }
+
+  static class WorkStealingStreamEmitterProcessingStrategy extends StreamEmitterProcessingStrategy {
+
+    public WorkStealingStreamEmitterProcessingStrategy(int bufferSize,
+                                                       int subscribers,
+                                                       Supplier<Scheduler> flowDispatchSchedulerSupplier,
+                                                       Supplier<Scheduler> cpuLightSchedulerSupplier,
+                                                       int parallelism,
+                                                       int maxConcurrency,
+                                                       boolean maxConcurrencyEagerCheck) {
+      super(bufferSize, subscribers, flowDispatchSchedulerSupplier, cpuLightSchedulerSupplier, parallelism, maxConcurrency,
+            maxConcurrencyEagerCheck);
+    }
+
+    @Override
+    protected int getDispatchPrefetch() {
+      // Events taken ahead by a subscriber wait behind the one being processed and can no longer be taken by idle subscribers
+      return 1;
+    }
+
+    @Override
+    public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor function) {
+      final long shutdownTimeout = flowConstruct.getMuleContext().getConfiguration().getShutdownTimeout();
+      final int workersCount = getSinksCount();
+      final List<Latch> completionLatches = new ArrayList<>(workersCount);
+
+      WorkStealingReactorSink sink =
+          new WorkStealingReactorSink(workersCount, getBufferQueueSize(), onEventConsumer, prepareDisposeTimestamp -> {
+            for (Latch completionLatch : completionLatches) {
+              awaitSubscribersCompletion(flowConstruct, shutdownTimeout, completionLatch, prepareDisposeTimestamp);
+            }
+            stopSchedulersIfNeeded();
+          });
+
+      for (int i = 0; i < workersCount; i++) {
+        Latch completionLatch = new Latch();
+        AtomicReference<Throwable> failedSubscriptionCause = new AtomicReference<>();
+        sink.workerFlux(i)
+            .transform(function)
+            .subscribe(null, getThrowableConsumer(flowConstruct, completionLatch, failedSubscriptionCause),
+                       () -> completionLatch.release());
+
+        if (!sink.isSubscribed(i)) {
+          throw resolveSubscriptionErrorCause(failedSubscriptionCause);
+        }
+        completionLatches.add(completionLatch);
+      }
+
+      // All the workers are disposed at once through the single sink
+      onSinksCreated(1);
+      return sink;
+    }
+  }
+}
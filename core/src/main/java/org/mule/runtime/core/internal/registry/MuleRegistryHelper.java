@@ -61,6 +61,12 @@ public class MuleRegistryHelper implements MuleRegistry {
   protected Map<String, Transformer> exactTransformerCache = new ConcurrentHashMap<>(8);
   protected Map<String, List<Transformer>> transformerListCache = new ConcurrentHashMap<>(8);
 
+  /**
+   * The source and result data types of each entry of {@link #transformerListCache}, so that only the entries affected by a new
+   * converter are invalidated.
+   */
+  private final Map<String, DataType[]> transformerListCacheDataTypes = new ConcurrentHashMap<>(8);
+
   private final MuleContext muleContext;
 
   private final ReadWriteLock transformerResolversLock = new ReentrantReadWriteLock();
@@ -101,6 +107,7 @@ public class MuleRegistryHelper implements MuleRegistry {
   @Override
   public void dispose() {
     transformerListCache.clear();
+    transformerListCacheDataTypes.clear();
     exactTransformerCache.clear();
     registry.dispose();
   }
@@ -219,6 +226,7 @@ public class MuleRegistryHelper implements MuleRegistry {
       readLock.unlock();
     }
 
+    transformerListCacheDataTypes.put(dataTypePairHash, new DataType[] {source, result});
     List<Transformer> concurrentlyAddedTransformers = transformerListCache.putIfAbsent(dataTypePairHash, results);
     if (concurrentlyAddedTransformers != null) {
       return concurrentlyAddedTransformers;
@@ -269,7 +277,9 @@ public class MuleRegistryHelper implements MuleRegistry {
         transformerResolversReadLock.unlock();
       }
 
-      transformerListCache.clear();
+      invalidateTransformerListCache(t, action);
+      // the resolved transformer may be a chain of converters, so any new or removed converter may change the resolution of any
+      // pair of data types
       exactTransformerCache.clear();
 
       Lock transformersWriteLock = transformersLock.writeLock();
@@ -286,6 +296,28 @@ public class MuleRegistryHelper implements MuleRegistry {
     }
   }
 
+  private void invalidateTransformerListCache(Transformer t, TransformerResolver.RegistryAction action) {
+    if (action == ADDED) {
+      transformerListCacheDataTypes.entrySet().removeIf(entry -> {
+        DataType source = entry.getValue()[0];
+        DataType result = entry.getValue()[1];
+        if (result.isCompatibleWith(t.getReturnDataType()) && t.isSourceDataTypeSupported(source)) {
+          transformerListCache.remove(entry.getKey());
+          return true;
+        }
+        return false;
+      });
+    } else {
+      transformerListCache.entrySet().removeIf(entry -> {
+        if (entry.getValue().contains(t)) {
+          transformerListCacheDataTypes.remove(entry.getKey());
+          return true;
+        }
+        return false;
+      });
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -35,8 +35,6 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.apache.commons.collections.functors.InstanceofPredicate;
-
 /**
  * Use the registryLock when reading/writing/iterating over the contents of the registry hashmap.
  *
@@ -127,23 +125,8 @@ public abstract class TransientRegistry extends AbstractRegistry {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public <T> Map<String, T> lookupByType(Class<T> type) {
-    final Map<String, T> results = new HashMap<>();
-    try {
-      registryMap.lockForReading();
-
-      for (Map.Entry<String, Object> entry : registryMap.entrySet()) {
-        final Class<?> clazz = entry.getValue().getClass();
-        if (type.isAssignableFrom(clazz)) {
-          results.put(entry.getKey(), (T) entry.getValue());
-        }
-      }
-    } finally {
-      registryMap.unlockForReading();
-    }
-
-    return results;
+    return registryMap.lookupByType(type);
   }
 
   @Override
@@ -157,9 +140,8 @@ public abstract class TransientRegistry extends AbstractRegistry {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public <T> Collection<T> lookupObjects(Class<T> returntype) {
-    return (Collection<T>) registryMap.select(new InstanceofPredicate(returntype));
+    return registryMap.lookupObjects(returntype);
   }
 
   @Override
@@ -9,9 +9,13 @@ package org.mule.runtime.core.internal.registry.map;
 
 import org.mule.runtime.api.lifecycle.Disposable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
@@ -25,11 +29,16 @@ import org.slf4j.Logger;
 /**
  * This class encapsulates the {@link HashMap} that's used for storing the objects in the transient registry and also shields
  * client code from having to deal with locking the {@link ReadWriteLock} for the exposed Map operations.
+ * <p>
+ * The keys of the objects are also indexed by every class and interface each object is an instance of, so that lookups by type
+ * don't need to check every object in the registry.
  */
 public class RegistryMap {
 
   private final Map<String, Object> registry = new HashMap<>();
   private final ReadWriteLock registryLock = new ReentrantReadWriteLock();
+  private final Map<Class<?>, Set<String>> typeIndex = new HashMap<>();
+  private final Map<Class<?>, Collection<Class<?>>> typeHierarchies = new HashMap<>();
   private final Set<Object> lostObjects = new TreeSet<>(new Comparator<Object>() {
 
     @Override
@@ -59,11 +68,61 @@ public class RegistryMap {
     }
   }
 
+  /**
+   * @param type the type of the objects to look for
+   * @return the objects in the registry which are instances of {@code type}, by their keys
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Map<String, T> lookupByType(Class<T> type) {
+    Lock readLock = registryLock.readLock();
+    try {
+      readLock.lock();
+      Set<String> keys = typeIndex.get(type);
+      if (keys == null) {
+        return new HashMap<>();
+      }
+
+      Map<String, T> results = new LinkedHashMap<>();
+      for (String key : keys) {
+        results.put(key, (T) registry.get(key));
+      }
+      return results;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * @param type the type of the objects to look for
+   * @return the objects in the registry which are instances of {@code type}
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Collection<T> lookupObjects(Class<T> type) {
+    Lock readLock = registryLock.readLock();
+    try {
+      readLock.lock();
+      Set<String> keys = typeIndex.get(type);
+      if (keys == null) {
+        return new ArrayList<>();
+      }
+
+      List<T> results = new ArrayList<>(keys.size());
+      for (String key : keys) {
+        results.add((T) registry.get(key));
+      }
+      return results;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
   public void clear() {
     Lock writeLock = registryLock.writeLock();
     try {
       writeLock.lock();
       registry.clear();
+      typeIndex.clear();
+      typeHierarchies.clear();
       lostObjects.clear();
     } finally {
       writeLock.unlock();
@@ -76,6 +135,8 @@ public class RegistryMap {
       writeLock.lock();
 
       final Object previousObject = registry.put(key, object);
+      unindex(key, previousObject);
+      index(key, object);
       if (previousObject != null && previousObject != object) {
         if (previousObject instanceof Disposable) {
           lostObjects.add(previousObject);
@@ -96,7 +157,10 @@ public class RegistryMap {
     Lock writeLock = registryLock.writeLock();
     try {
       writeLock.lock();
-      registry.putAll(map);
+      for (Map.Entry<String, Object> entry : map.entrySet()) {
+        unindex(entry.getKey(), registry.put(entry.getKey(), entry.getValue()));
+        index(entry.getKey(), entry.getValue());
+      }
     } finally {
       writeLock.unlock();
     }
@@ -117,12 +181,59 @@ public class RegistryMap {
     Lock writeLock = registryLock.writeLock();
     try {
       writeLock.lock();
-      return registry.remove(key);
+      final Object removed = registry.remove(key);
+      unindex(key, removed);
+      return removed;
     } finally {
       writeLock.unlock();
     }
   }
 
+  private void index(String key, Object object) {
+    if (object == null) {
+      return;
+    }
+    for (Class<?> type : getTypeHierarchy(object.getClass())) {
+      typeIndex.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(key);
+    }
+  }
+
+  private void unindex(String key, Object object) {
+    if (object == null) {
+      return;
+    }
+    for (Class<?> type : getTypeHierarchy(object.getClass())) {
+      Set<String> keys = typeIndex.get(type);
+      if (keys != null) {
+        keys.remove(key);
+        if (keys.isEmpty()) {
+          typeIndex.remove(type);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the given class along with all its superclasses and all the interfaces it implements
+   */
+  private Collection<Class<?>> getTypeHierarchy(Class<?> clazz) {
+    return typeHierarchies.computeIfAbsent(clazz, c -> {
+      Set<Class<?>> hierarchy = new LinkedHashSet<>();
+      addTypeHierarchy(c, hierarchy);
+      return hierarchy;
+    });
+  }
+
+  private static void addTypeHierarchy(Class<?> clazz, Set<Class<?>> hierarchy) {
+    if (clazz == null || !hierarchy.add(clazz)) {
+      return;
+    }
+    addTypeHierarchy(clazz.getSuperclass(), hierarchy);
+    for (Class<?> implemented : clazz.getInterfaces()) {
+      addTypeHierarchy(implemented, hierarchy);
+    }
+  }
+
   public Set<Map.Entry<String, Object>> entrySet() {
     return registry.entrySet();
   }
@@ -27,6 +27,7 @@ import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.core.api.el.ExtendedExpressionManager;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.AbstractMuleObjectOwner;
+import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
@@ -124,6 +125,11 @@ public abstract class AbstractForkJoinRouter extends AbstractMuleObjectOwner<Mes
                                                        isDelayErrors(), timeout, timeoutScheduler, timeoutErrorType);
   }
 
+  @Override
+  public ProcessingType getProcessingType() {
+    return forkJoinStrategyFactory != null ? forkJoinStrategyFactory.getProcessingType() : Scope.super.getProcessingType();
+  }
+
   protected ProcessingStrategy resolveProcessingStrategy() {
     return getFromAnnotatedObject(componentLocator, this)
         .map(flow -> flow.getProcessingStrategy())
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.regex.Pattern.compile;
+
+import org.mule.runtime.core.api.el.ExpressionManagerSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the first route of a {@link ChoiceRouter} that accepts an event.
+ * <p>
+ * Consecutive routes whose expressions compare the same selector against a string literal, such as
+ * {@code #[attributes.headers.type == 'X']}, are grouped so that the selector is evaluated once and the route is found by its
+ * value. If the selector doesn't evaluate to a string, the routes of the group are evaluated one by one as usual. Every other
+ * route is evaluated on its own, in the order the routes were added.
+ *
+ * @since 4.3.0
+ */
+final class ChoiceRouteDispatcher {
+
+  private static final String IDENTIFIER = "[A-Za-z_][A-Za-z0-9_]*";
+  private static final String QUOTED_KEY = "'[^'\\\\$]*'|\"[^\"\\\\$]*\"";
+  private static final String SELECTOR =
+      IDENTIFIER + "(?:\\s*\\.\\s*(?:" + IDENTIFIER + "|" + QUOTED_KEY + ")|\\s*\\[\\s*(?:" + QUOTED_KEY + ")\\s*\\])*";
+  private static final String LITERAL = "'([^'\\\\$]*)'|\"([^\"\\\\$]*)\"";
+
+  private static final Pattern SELECTOR_FIRST = compile("(" + SELECTOR + ")\\s*==\\s*(?:" + LITERAL + ")");
+  private static final Pattern LITERAL_FIRST = compile("(?:" + LITERAL + ")\\s*==\\s*(" + SELECTOR + ")");
+  private static final Pattern KEYWORD = compile("(?:true|false|null|not)\\b.*");
+
+  private final List<RouteGroup> groups;
+
+  private ChoiceRouteDispatcher(List<RouteGroup> groups) {
+    this.groups = groups;
+  }
+
+  /**
+   * Analyses the expressions of the given {@code routes} to group the ones that can be dispatched by a single selector.
+   *
+   * @param routes the routes of the router, in order, with the default one last
+   * @return a dispatcher for the given routes
+   */
+  static ChoiceRouteDispatcher of(List<ProcessorRoute> routes) {
+    final List<RouteGroup> groups = new ArrayList<>();
+
+    int index = 0;
+    while (index < routes.size()) {
+      SelectorComparison comparison = SelectorComparison.of(routes.get(index));
+      if (comparison == null) {
+        groups.add(new SequentialRoute(index, routes.get(index)));
+        ++index;
+        continue;
+      }
+
+      List<SelectorComparison> comparisons = new ArrayList<>();
+      comparisons.add(comparison);
+      int next = index + 1;
+      while (next < routes.size()) {
+        SelectorComparison nextComparison = SelectorComparison.of(routes.get(next));
+        if (nextComparison == null || !nextComparison.selector.equals(comparison.selector)) {
+          break;
+        }
+        comparisons.add(nextComparison);
+        ++next;
+      }
+
+      if (comparisons.size() > 1) {
+        groups.add(new SelectorRouteGroup(comparison.selector, index, routes.subList(index, next), comparisons));
+      } else {
+        groups.add(new SequentialRoute(index, routes.get(index)));
+      }
+      index = next;
+    }
+
+    return new ChoiceRouteDispatcher(groups);
+  }
+
+  /**
+   * @param session the session to evaluate the expressions of the routes with
+   * @return the index of the first route that accepts the event, or {@code -1} if none does
+   */
+  int select(ExpressionManagerSession session) {
+    for (RouteGroup group : groups) {
+      int selected = group.select(session);
+      if (selected >= 0) {
+        return selected;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @return whether any of the routes is dispatched by a selector
+   */
+  boolean hasSelectorGroups() {
+    return groups.stream().anyMatch(group -> group instanceof SelectorRouteGroup);
+  }
+
+  private interface RouteGroup {
+
+    int select(ExpressionManagerSession session);
+  }
+
+  private static final class SequentialRoute implements RouteGroup {
+
+    private final int index;
+    private final ProcessorRoute route;
+
+    private SequentialRoute(int index, ProcessorRoute route) {
+      this.index = index;
+      this.route = route;
+    }
+
+    @Override
+    public int select(ExpressionManagerSession session) {
+      return route.accepts(session) ? index : -1;
+    }
+  }
+
+  private static final class SelectorRouteGroup implements RouteGroup {
+
+    private final String selector;
+    private final int firstIndex;
+    private final List<ProcessorRoute> routes;
+    private final Map<String, Integer> indexByValue = new HashMap<>();
+
+    private SelectorRouteGroup(String selector, int firstIndex, List<ProcessorRoute> routes,
+                               List<SelectorComparison> comparisons) {
+      this.selector = selector;
+      this.firstIndex = firstIndex;
+      this.routes = new ArrayList<>(routes);
+      for (int i = 0; i < comparisons.size(); ++i) {
+        // only the first of the routes comparing against the same value can ever be taken
+        indexByValue.putIfAbsent(comparisons.get(i).value, firstIndex + i);
+      }
+    }
+
+    @Override
+    public int select(ExpressionManagerSession session) {
+      Object value = session.evaluate(selector).getValue();
+      if (value instanceof String) {
+        return indexByValue.getOrDefault(value, -1);
+      }
+
+      for (int i = 0; i < routes.size(); ++i) {
+        if (routes.get(i).accepts(session)) {
+          return firstIndex + i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  /**
+   * An expression comparing a selector against a string literal.
+   */
+  private static final class SelectorComparison {
+
+    private final String selector;
+    private final String value;
+
+    private SelectorComparison(String selector, String value) {
+      this.selector = selector;
+      this.value = value;
+    }
+
+    /**
+     * @return the comparison made by the expression of the given {@code route}, or {@code null} if its expression is not such a
+     *         comparison
+     */
+    private static SelectorComparison of(ProcessorRoute route) {
+      if (!(route instanceof ProcessorExpressionRoute)) {
+        return null;
+      }
+
+      String expression = ((ProcessorExpressionRoute) route).getExpression().trim();
+      boolean delimited = expression.startsWith("#[") && expression.endsWith("]");
+      String body = delimited ? expression.substring(2, expression.length() - 1).trim() : expression;
+
+      String selector;
+      String value;
+      Matcher matcher = SELECTOR_FIRST.matcher(body);
+      if (matcher.matches()) {
+        selector = matcher.group(1);
+        value = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+      } else {
+        matcher = LITERAL_FIRST.matcher(body);
+        if (!matcher.matches()) {
+          return null;
+        }
+        value = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+        selector = matcher.group(3);
+      }
+
+      if (KEYWORD.matcher(selector).matches()) {
+        return null;
+      }
+
+      return new SelectorComparison(delimited ? "#[" + selector + "]" : selector, value);
+    }
+  }
+}
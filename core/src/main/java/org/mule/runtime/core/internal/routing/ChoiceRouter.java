@@ -49,6 +49,7 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
   private final List<ProcessorRoute> routes = new ArrayList<>();
 
   private Processor defaultProcessor;
+  private ChoiceRouteDispatcher dispatcher;
   private RouterStatistics routerStatistics;
   private MuleContext muleContext;
   private ExpressionManager expressionManager;
@@ -73,6 +74,7 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
       defaultProcessor = event -> event;
     }
     routes.add(new ProcessorRoute(defaultProcessor));
+    dispatcher = ChoiceRouteDispatcher.of(routes);
 
     for (ProcessorRoute route : routes) {
       initialiseIfNeeded(route, muleContext);
@@ -150,7 +152,8 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
 
     /**
      * Decides which route should execute for an incoming event and executes it, purposely separating those actions so that a
-     * single {@link ExpressionManagerSession} can be used for all routes decision process.
+     * single {@link ExpressionManagerSession} can be used for all routes decision process. The routes are looked at through
+     * the {@link ChoiceRouteDispatcher}, so routes comparing a common selector don't evaluate it once per route.
      *
      * @param event the incoming event
      */
@@ -158,7 +161,8 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
     protected void route(CoreEvent event) {
       ExecutableRoute selectedRoute;
       try (ExpressionManagerSession session = expressionManager.openSession(getLocation(), event, NULL_BINDING_CONTEXT)) {
-        selectedRoute = getRoutes().stream().filter(route -> route.shouldExecute(session)).findFirst().get();
+        // the default route is always last and always accepts the event
+        selectedRoute = getRoutes().get(dispatcher.select(session));
       }
       selectedRoute.execute(event);
       updateStatistics(selectedRoute.getProcessor());
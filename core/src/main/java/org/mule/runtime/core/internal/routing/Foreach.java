@@ -43,9 +43,11 @@ import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 
 import com.google.common.collect.Iterators;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -148,15 +150,11 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     final AtomicReference<CoreEvent> currentEvent = new AtomicReference<>(request);
 
     // Split into sequence of TypedValue
-    return fromIterable(() -> splitRequest(request))
+    // If batchSize > 1 then take the sequence in List<TypedValue<T>> chunks, converted to TypedValue<List<TypedValue<T>>>.
+    return fromIterable(() -> batchSize > 1 ? new BatchIterator(splitRequest(request), batchSize) : splitRequest(request))
         // Wrap any exception that occurs during split in a MessagingException. This is required as the
         // automatic wrapping is only applied when the signal is an Event.
         .onErrorMap(throwable -> new MessagingException(request, throwable, Foreach.this))
-        // If batchSize > 1 then buffer sequence into List<TypedValue<T>> and convert to
-        // TypedValue<List<TypedValue<T>>>.
-        .transform(p -> batchSize > 1
-            ? from(p).buffer(batchSize).map(list -> new TypedValue<>(list, fromObject(list)))
-            : p)
         // For each TypedValue part process the nested chain using the event from the previous part.
         .flatMapSequential(typedValue -> {
           BaseEventContext childContext = newChildContext(currentEvent.get(), ofNullable(getLocation()));
@@ -179,10 +177,12 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
             partEventBuilder.message(Message.builder().payload(typedValue).build());
           }
 
+          partEventBuilder.addVariable(counterVariableName, count.incrementAndGet());
+
           return Mono
-              .from(processWithChildContext(partEventBuilder.addVariable(counterVariableName, count.incrementAndGet()).build(),
-                                            nestedChain, childContext))
-              .doOnNext(result -> currentEvent.set(CoreEvent.builder(result).build()));
+              .from(processWithChildContext(partEventBuilder.build(), nestedChain, childContext))
+              // the result is the base of the event for the next element, there's no need to copy it
+              .doOnNext(currentEvent::set);
         },
                            // Force sequential execution of the chain for each element
                            1)
@@ -253,6 +253,38 @@ public class Foreach extends AbstractMessageProcessorOwner implements Initialisa
     this.counterVariableName = counterVariableName;
   }
 
+  /**
+   * Groups the elements of an iterator into lists of up to a given size, each taken from the iterator at once.
+   */
+  private static class BatchIterator implements Iterator<TypedValue<?>> {
+
+    private final Iterator<TypedValue<?>> delegate;
+    private final int batchSize;
+
+    public BatchIterator(Iterator<TypedValue<?>> delegate, int batchSize) {
+      this.delegate = delegate;
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return delegate.hasNext();
+    }
+
+    @Override
+    public TypedValue<?> next() {
+      if (!delegate.hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      final List<TypedValue<?>> batch = new ArrayList<>();
+      while (batch.size() < batchSize && delegate.hasNext()) {
+        batch.add(delegate.next());
+      }
+      return new TypedValue<>(batch, fromObject(batch));
+    }
+  }
+
   private static class EventBuilderConfigurerIteratorWrapper implements Iterator<TypedValue<?>> {
 
     private final EventBuilderConfigurerIterator configurerIterator;
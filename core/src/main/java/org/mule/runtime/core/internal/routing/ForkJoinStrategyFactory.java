@@ -7,9 +7,12 @@
 
 package org.mule.runtime.core.internal.routing;
 
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
+
 import org.mule.runtime.api.message.ErrorType;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
 
@@ -32,4 +35,12 @@ public interface ForkJoinStrategyFactory {
 
   DataType getResultDataType();
 
+  /**
+   * @return the {@link ProcessingType} of the routers using the strategies created by this factory, according to how the
+   *         result event they emit is consumed.
+   */
+  default ProcessingType getProcessingType() {
+    return CPU_LITE;
+  }
+
 }
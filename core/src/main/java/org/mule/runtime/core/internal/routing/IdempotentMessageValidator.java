@@ -41,6 +41,7 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
 
 import java.util.UUID;
 
@@ -164,22 +165,7 @@ public class IdempotentMessageValidator extends AbstractComponent
       String id = getIdForEvent(session);
       String value = getValueForEvent(session);
 
-      if (event != null && isNewMessage(event, id)) {
-        try {
-          store.store(id, value);
-          return true;
-        } catch (ObjectAlreadyExistsException ex) {
-          return false;
-        } catch (ObjectStoreNotAvailableException e) {
-          LOGGER.error("ObjectStore not available: " + e.getMessage());
-          return false;
-        } catch (ObjectStoreException e) {
-          LOGGER.warn("ObjectStore exception: " + e.getMessage());
-          return false;
-        }
-      } else {
-        return false;
-      }
+      return event != null && storeIfNewMessage(event, id, value);
     } catch (ExpressionRuntimeException e) {
       throw e;
     } catch (Exception e) {
@@ -188,6 +174,28 @@ public class IdempotentMessageValidator extends AbstractComponent
     }
   }
 
+  private boolean storeIfNewMessage(CoreEvent event, String id, String value) {
+    try {
+      if (store instanceof AtomicObjectStore && ((AtomicObjectStore<String>) store).supportsAtomicOperations()) {
+        // checks and stores the id in a single operation
+        return ((AtomicObjectStore<String>) store).putIfAbsent(id, value) == null;
+      } else if (isNewMessage(event, id)) {
+        store.store(id, value);
+        return true;
+      } else {
+        return false;
+      }
+    } catch (ObjectAlreadyExistsException ex) {
+      return false;
+    } catch (ObjectStoreNotAvailableException e) {
+      LOGGER.error("ObjectStore not available: " + e.getMessage());
+      return false;
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("ObjectStore exception: " + e.getMessage());
+      return false;
+    }
+  }
+
   @Override
   public final CoreEvent process(CoreEvent event) throws MuleException {
     if (accept(event)) {
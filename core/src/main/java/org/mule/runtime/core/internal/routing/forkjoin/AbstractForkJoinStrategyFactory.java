@@ -22,9 +22,6 @@ import static reactor.core.publisher.Mono.just;
 import org.mule.runtime.api.message.Error;
 import org.mule.runtime.api.message.ErrorType;
 import org.mule.runtime.api.message.Message;
-import org.mule.runtime.api.metadata.CollectionDataType;
-import org.mule.runtime.api.metadata.DataType;
-import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -40,7 +37,6 @@ import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
 import org.mule.runtime.core.privileged.routing.RoutingResult;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +48,7 @@ import java.util.function.Function;
 
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -85,31 +82,63 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     reactor.core.scheduler.Scheduler reactorTimeoutScheduler = Schedulers.fromExecutorService(timeoutScheduler);
     return (original, routingPairs) -> {
       final AtomicInteger count = new AtomicInteger();
-      final CoreEvent.Builder resultBuilder = builder(original);
-      return from(routingPairs)
+      return aggregate(original, from(routingPairs)
           .map(addSequence(count))
           .flatMapSequential(processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeout, reactorTimeoutScheduler,
                                               timeoutErrorType),
-                             maxConcurrency)
-          .reduce(new Pair<List<CoreEvent>, Boolean>(new ArrayList<>(), false), (pair, event) -> {
-            // Accumulates events and check if there is a (new) error within those events
-            pair.getFirst().add(event);
-            boolean hasNewError = event.getError().map(err -> !isOriginalError(err, original.getError())).orElse(false);
-            return new Pair(pair.getFirst(), pair.getSecond() || hasNewError);
-          })
-          .doOnNext(p -> {
-            Pair<List<CoreEvent>, Boolean> pair = (Pair<List<CoreEvent>, Boolean>) p;
-            if (pair.getSecond()) {
-              throw propagate(createCompositeRoutingException(pair.getFirst().stream()
-                  .map(event -> removeOriginalError(event, original.getError())).collect(toList())));
-            }
-          })
-          .map(pair -> ((Pair<List<CoreEvent>, Boolean>) pair).getFirst())
-          .doOnNext(mergeVariables(original, resultBuilder))
-          .map(createResultEvent(original, resultBuilder));
+                             maxConcurrency),
+                       timeout);
     };
   }
 
+  /**
+   * Aggregates the results of the routes into the result event.
+   * <p>
+   * This implementation waits for all the results, checks them for errors, merges their variables and then builds the result
+   * event with {@link #createResultEvent(CoreEvent, CoreEvent.Builder)}. Implementations that can aggregate the results as they
+   * arrive may override this so that the result events are not kept until all routes complete.
+   *
+   * @param original the original event
+   * @param routeResults the results of the routes, in the same order as the routing pairs
+   * @param timeout the timeout of each route, in milliseconds
+   * @return the result event
+   */
+  protected Publisher<CoreEvent> aggregate(CoreEvent original, Flux<CoreEvent> routeResults, long timeout) {
+    final CoreEvent.Builder resultBuilder = builder(original);
+    return routeResults
+        .reduce(new Pair<List<CoreEvent>, Boolean>(new ArrayList<>(), false), (pair, event) -> {
+          // Accumulates events and check if there is a (new) error within those events
+          pair.getFirst().add(event);
+          return new Pair(pair.getFirst(), pair.getSecond() || hasNewError(original, event));
+        })
+        .doOnNext(p -> {
+          Pair<List<CoreEvent>, Boolean> pair = (Pair<List<CoreEvent>, Boolean>) p;
+          if (pair.getSecond()) {
+            throw propagate(createCompositeRoutingException(pair.getFirst().stream()
+                .map(event -> removeOriginalError(event, original.getError())).collect(toList())));
+          }
+        })
+        .map(pair -> ((Pair<List<CoreEvent>, Boolean>) pair).getFirst())
+        .doOnNext(mergeVariables(original, resultBuilder))
+        .map(createResultEvent(original, resultBuilder));
+  }
+
+  /**
+   * @return whether the variables of the results of the routes are to be merged into the result event
+   */
+  protected boolean isMergeVariables() {
+    return mergeVariables;
+  }
+
+  /**
+   * @param original the original event
+   * @param routeResult the result of a route
+   * @return whether the result of the route has an error other than the one the original event already had
+   */
+  protected boolean hasNewError(CoreEvent original, CoreEvent routeResult) {
+    return routeResult.getError().map(err -> !isOriginalError(err, original.getError())).orElse(false);
+  }
+
   private boolean isOriginalError(Error newError, Optional<Error> originalError) {
     return originalError.map(error -> error.equals(newError)).orElse(false);
   }
@@ -211,34 +240,9 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
       if (!mergeVariables) {
         return;
       }
-      Map<String, TypedValue> routeVars = new HashMap<>();
-      list.forEach(event -> event.getVariables().forEach((key, value) -> {
-        // Only merge variables that have been added or mutated in routes
-        if (!value.equals(original.getVariables().get(key))) {
-          if (!routeVars.containsKey(key)) {
-            // A new variable that hasn't already been set by another route is added as a simple entry.
-            routeVars.put(key, value);
-          } else {
-            // If a variable already exists from before route, or was set in a previous route, then it's added to a list of 1.
-            if (!(routeVars.get(key).getValue() instanceof List)) {
-              List newList = new ArrayList();
-              newList.add(routeVars.get(key).getValue());
-              routeVars.put(key, new TypedValue(newList, DataType.builder().collectionType(List.class)
-                  .itemType(routeVars.get(key).getDataType().getType()).build()));
-            }
-            List valueList = (List) routeVars.get(key).getValue();
-            valueList.add(value.getValue());
-            if (((CollectionDataType) routeVars.get(key).getDataType()).getItemDataType().isCompatibleWith(value.getDataType())) {
-              // If item types are compatible then data type is conserved
-              routeVars.put(key, new TypedValue(valueList, routeVars.get(key).getDataType()));
-            } else {
-              // Else Object item type is used.
-              routeVars.put(key, new TypedValue(valueList, DataType.builder().collectionType(List.class).build()));
-            }
-          }
-        }
-      }));
-      routeVars.forEach((s, typedValue) -> result.addVariable(s, typedValue));
+      RouteVariablesMerger variablesMerger = new RouteVariablesMerger(original);
+      list.forEach(variablesMerger::merge);
+      variablesMerger.addTo(result);
     };
   }
 
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Objects.requireNonNull;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.api.metadata.DataType.OBJECT;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static reactor.core.Exceptions.propagate;
+
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link ForkJoinStrategy} that:
+ * <ul>
+ * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
+ * <li>Merges the variables set in the routes, collecting the values of a variable set by more than one route into a list.
+ * <li>Reduces the result message of each route into an accumulator as the results arrive, in the same order as the route pairs,
+ * with an optional timeout.
+ * <li>Emits a result {@link CoreEvent} with the final accumulator as payload once all routes complete.
+ * <li>Will process all routes, regardless of errors, and propagating a composite exception where there were one or more errors.
+ * </ul>
+ * <p>
+ * Only the accumulator is kept while routes are processed, rather than the result of every route. Because of this, the
+ * {@link RoutingResult} of the composite exception thrown when there are errors only has the failures of the routes.
+ * <p>
+ * The reducer is never invoked concurrently, so it may mutate the accumulator.
+ *
+ * @param <T> the type of the accumulator
+ *
+ * @since 4.3.0
+ */
+public class ReduceForkJoinStrategyFactory<T> extends AbstractForkJoinStrategyFactory {
+
+  private final Supplier<T> initialValue;
+  private final BiFunction<T, Message, T> reducer;
+
+  /**
+   * @param initialValue provides the initial value of the accumulator for each execution of the strategy
+   * @param reducer      reduces the accumulator and the result message of a route into a new accumulator
+   */
+  public ReduceForkJoinStrategyFactory(Supplier<T> initialValue, BiFunction<T, Message, T> reducer) {
+    this(initialValue, reducer, true);
+  }
+
+  /**
+   * @param initialValue   provides the initial value of the accumulator for each execution of the strategy
+   * @param reducer        reduces the accumulator and the result message of a route into a new accumulator
+   * @param mergeVariables whether the variables of the results of the routes are to be merged into the result event
+   */
+  public ReduceForkJoinStrategyFactory(Supplier<T> initialValue, BiFunction<T, Message, T> reducer, boolean mergeVariables) {
+    super(mergeVariables);
+    this.initialValue = requireNonNull(initialValue);
+    this.reducer = requireNonNull(reducer);
+  }
+
+  @Override
+  protected Publisher<CoreEvent> aggregate(CoreEvent original, Flux<CoreEvent> routeResults, long timeout) {
+    return routeResults
+        .reduceWith(() -> new Reduction(original), Reduction::accumulate)
+        .map(Reduction::toResultEvent);
+  }
+
+  @Override
+  protected Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original, CoreEvent.Builder resultBuilder) {
+    return list -> {
+      T accumulator = initialValue.get();
+      for (CoreEvent event : list) {
+        accumulator = reducer.apply(accumulator, event.getMessage());
+      }
+      return resultBuilder.message(of(accumulator)).build();
+    };
+  }
+
+  @Override
+  public DataType getResultDataType() {
+    return OBJECT;
+  }
+
+  /**
+   * The state of an execution of the strategy.
+   */
+  private final class Reduction {
+
+    private final CoreEvent original;
+    private final RouteVariablesMerger variablesMerger;
+    private final Map<String, Error> failures = new LinkedHashMap<>();
+    private T accumulator;
+
+    private Reduction(CoreEvent original) {
+      this.original = original;
+      this.variablesMerger = isMergeVariables() ? new RouteVariablesMerger(original) : null;
+      this.accumulator = initialValue.get();
+    }
+
+    private Reduction accumulate(CoreEvent routeResult) {
+      if (hasNewError(original, routeResult)) {
+        failures.put(Integer.toString(routeResult.getGroupCorrelation().get().getSequence()), routeResult.getError().get());
+      } else if (failures.isEmpty()) {
+        // the accumulator is discarded once a route fails, so there's no point in reducing any further
+        accumulator = reducer.apply(accumulator, routeResult.getMessage());
+        if (variablesMerger != null) {
+          variablesMerger.merge(routeResult);
+        }
+      }
+      return this;
+    }
+
+    private CoreEvent toResultEvent() {
+      if (!failures.isEmpty()) {
+        throw propagate(new CompositeRoutingException(new RoutingResult(emptyMap(), failures)));
+      }
+
+      CoreEvent.Builder resultBuilder = builder(original);
+      if (variablesMerger != null) {
+        variablesMerger.addTo(resultBuilder);
+      }
+      return resultBuilder.message(of(accumulator)).build();
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static reactor.core.Exceptions.unwrap;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.message.Message;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeoutException;
+
+import org.reactivestreams.Subscription;
+
+import reactor.core.publisher.BaseSubscriber;
+
+/**
+ * An {@link Iterator} over the result messages of the routes of a fork-join, which are added as the routes complete.
+ * <p>
+ * {@link #hasNext()} blocks until the result of the next route is available or all routes have completed, for up to the timeout
+ * of the routes, so it must not be called from CPU lite threads. If the routes fail, the failure is thrown once the results
+ * preceding it have been consumed.
+ * <p>
+ * At most {@code capacity} results are requested ahead of the ones consumed, so results that are not consumed hold back the
+ * routes rather than piling up. Closing the iterator cancels the routes.
+ *
+ * @since 4.3.0
+ */
+final class RouteResultsIterator extends BaseSubscriber<Message> implements Iterator<Message>, Closeable {
+
+  private static final Object COMPLETE = new Object();
+
+  private final int capacity;
+  private final long timeout;
+  private final BlockingQueue<Object> results;
+  private Object next;
+
+  /**
+   * @param capacity the max number of results to request ahead of the ones consumed
+   * @param timeout  the max time in milliseconds to wait for the result of the next route
+   */
+  RouteResultsIterator(int capacity, long timeout) {
+    this.capacity = capacity;
+    this.timeout = timeout;
+    // room for the terminal signal after the requested results
+    this.results = new ArrayBlockingQueue<>(capacity + 1);
+  }
+
+  @Override
+  protected void hookOnSubscribe(Subscription subscription) {
+    subscription.request(capacity);
+  }
+
+  @Override
+  protected void hookOnNext(Message result) {
+    results.add(result);
+  }
+
+  @Override
+  protected void hookOnError(Throwable error) {
+    results.add(new Failure(unwrap(error)));
+  }
+
+  @Override
+  protected void hookOnComplete() {
+    results.add(COMPLETE);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      try {
+        next = results.poll(timeout, MILLISECONDS);
+      } catch (InterruptedException e) {
+        currentThread().interrupt();
+        throw new MuleRuntimeException(createStaticMessage("Interrupted while waiting for the result of a route"), e);
+      }
+
+      if (next == null) {
+        throw new MuleRuntimeException(createStaticMessage("Timeout while waiting for the result of a route"),
+                                       new TimeoutException());
+      }
+    }
+
+    if (next instanceof Failure) {
+      Throwable error = ((Failure) next).error;
+      if (error instanceof RuntimeException) {
+        throw (RuntimeException) error;
+      }
+      throw new MuleRuntimeException(error);
+    }
+    return next != COMPLETE;
+  }
+
+  @Override
+  public Message next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Message result = (Message) next;
+    next = null;
+    request(1);
+    return result;
+  }
+
+  /**
+   * Cancels the routes that have not completed yet.
+   */
+  @Override
+  public void close() {
+    dispose();
+  }
+
+  private static final class Failure {
+
+    private final Throwable error;
+
+    private Failure(Throwable error) {
+      this.error = error;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import org.mule.runtime.api.metadata.CollectionDataType;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges the variables of the results of the routes of a fork-join as each result arrives, so that the result events don't need
+ * to be kept until all routes complete.
+ * <p>
+ * Only variables that have been added or mutated in routes are merged. A variable set by a single route is merged as is, while a
+ * variable set by more than one route is merged as a list of the values set by each route.
+ *
+ * @since 4.3.0
+ */
+final class RouteVariablesMerger {
+
+  private final Map<String, TypedValue<?>> originalVariables;
+  private final Map<String, TypedValue> routeVars = new HashMap<>();
+
+  RouteVariablesMerger(CoreEvent original) {
+    this.originalVariables = original.getVariables();
+  }
+
+  /**
+   * Merges the variables of the given route result into the ones of the previous results.
+   *
+   * @param routeResult the result of a route
+   */
+  void merge(CoreEvent routeResult) {
+    routeResult.getVariables().forEach((key, value) -> {
+      // Only merge variables that have been added or mutated in routes
+      if (!value.equals(originalVariables.get(key))) {
+        if (!routeVars.containsKey(key)) {
+          // A new variable that hasn't already been set by another route is added as a simple entry.
+          routeVars.put(key, value);
+        } else {
+          // If a variable already exists from before route, or was set in a previous route, then it's added to a list of 1.
+          if (!(routeVars.get(key).getValue() instanceof List)) {
+            List newList = new ArrayList();
+            newList.add(routeVars.get(key).getValue());
+            routeVars.put(key, new TypedValue(newList, DataType.builder().collectionType(List.class)
+                .itemType(routeVars.get(key).getDataType().getType()).build()));
+          }
+          List valueList = (List) routeVars.get(key).getValue();
+          valueList.add(value.getValue());
+          if (((CollectionDataType) routeVars.get(key).getDataType()).getItemDataType().isCompatibleWith(value.getDataType())) {
+            // If item types are compatible then data type is conserved
+            routeVars.put(key, new TypedValue(valueList, routeVars.get(key).getDataType()));
+          } else {
+            // Else Object item type is used.
+            routeVars.put(key, new TypedValue(valueList, DataType.builder().collectionType(List.class).build()));
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Adds the variables merged so far to the given result builder.
+   *
+   * @param resultBuilder the builder of the result event
+   */
+  void addTo(CoreEvent.Builder resultBuilder) {
+    routeVars.forEach((s, typedValue) -> resultBuilder.addVariable(s, typedValue));
+  }
+}
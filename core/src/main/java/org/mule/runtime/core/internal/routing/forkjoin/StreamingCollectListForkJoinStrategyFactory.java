@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.util.StreamingUtils.asCursorProvider;
+import static reactor.core.publisher.Mono.defer;
+
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
+import org.mule.runtime.core.api.streaming.StreamingManager;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ForkJoinStrategy} that:
+ * <ul>
+ * <li>Performs parallel execution of route pairs subject to {@code maxConcurrency}.
+ * <li>Emits a result {@link CoreEvent} with a {@link CursorIteratorProvider} payload as soon as routes are started, without
+ * waiting for them to complete.
+ * <li>Streams the result {@link Message} of each route through the payload as the results arrive, in the same order as the route
+ * pairs, with an optional timeout that also bounds the wait for each result while iterating.
+ * <li>Will process all routes, regardless of errors, and failing the iteration of the payload with a composite exception where
+ * there were one or more errors.
+ * </ul>
+ * <p>
+ * Since the result event is emitted before the routes complete, variables set in the routes are not merged into it. Only the
+ * result messages are kept until consumed rather than the result events, so the {@link RoutingResult} of the composite exception
+ * only has the failures of the routes. A bounded number of results is kept ahead of the iteration of the payload, and closing
+ * the payload cancels the routes still running.
+ * <p>
+ * Iterating the payload blocks until the result of each route is available, so routers using this strategy are
+ * {@link ProcessingType#BLOCKING} and the payload should be consumed by blocking or IO processors rather than CPU lite ones.
+ *
+ * @since 4.3.0
+ */
+public class StreamingCollectListForkJoinStrategyFactory extends AbstractForkJoinStrategyFactory {
+
+  // the max number of route results held until the payload is iterated
+  private static final int RESULTS_BUFFER_SIZE = 256;
+
+  private final StreamingManager streamingManager;
+
+  /**
+   * @param streamingManager the manager to create the streaming payload of the result event with
+   */
+  public StreamingCollectListForkJoinStrategyFactory(StreamingManager streamingManager) {
+    super(false);
+    this.streamingManager = requireNonNull(streamingManager);
+  }
+
+  @Override
+  public ProcessingType getProcessingType() {
+    return BLOCKING;
+  }
+
+  @Override
+  protected Publisher<CoreEvent> aggregate(CoreEvent original, Flux<CoreEvent> routeResults, long timeout) {
+    return Mono.create(sink -> {
+      final RouteResultsIterator results = new RouteResultsIterator(RESULTS_BUFFER_SIZE, timeout);
+      final Map<String, Error> failures = new LinkedHashMap<>();
+      // the routes are only cancelled by the downstream until the result event is emitted, and by closing the payload after
+      sink.onCancel(results::close);
+
+      final CoreEvent resultEvent = builder(original)
+          .message(of(streamingManager.forObjects().getDefaultCursorProviderFactory().of(original, results)))
+          .build();
+
+      routeResults
+          .<Message>handle((routeResult, resultSink) -> {
+            if (hasNewError(original, routeResult)) {
+              failures.put(Integer.toString(routeResult.getGroupCorrelation().get().getSequence()),
+                           routeResult.getError().get());
+            } else {
+              resultSink.next(routeResult.getMessage());
+            }
+          })
+          .concatWith(defer(() -> failures.isEmpty()
+              ? Mono.<Message>empty()
+              : Mono.<Message>error(new CompositeRoutingException(new RoutingResult(emptyMap(), failures)))))
+          .subscriberContext(sink.currentContext())
+          .subscribe(results);
+
+      sink.success(resultEvent);
+    });
+  }
+
+  @Override
+  protected Function<List<CoreEvent>, CoreEvent> createResultEvent(CoreEvent original, CoreEvent.Builder resultBuilder) {
+    return list -> resultBuilder.message(of(asCursorProvider(list.stream().map(event -> event.getMessage()).collect(toList()))))
+        .build();
+  }
+
+  @Override
+  public DataType getResultDataType() {
+    return DataType.fromType(CursorIteratorProvider.class);
+  }
+}
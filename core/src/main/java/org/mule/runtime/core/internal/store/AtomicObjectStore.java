@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.api.store.ObjectStoreException;
+
+import java.io.Serializable;
+import java.util.function.BiFunction;
+
+/**
+ * An {@link ObjectStore} that can conditionally modify its entries in a single atomic operation, so that its users don't need
+ * to check the current value of an entry and then modify it holding a lock.
+ * <p>
+ * Values are compared with {@link Object#equals(Object)}, since stores that serialize their values don't return the same
+ * instances that were stored. Replacing the value of an entry doesn't change when the entry expires.
+ *
+ * @since 4.3.0
+ */
+public interface AtomicObjectStore<T extends Serializable> extends ObjectStore<T> {
+
+  /**
+   * Wrappers of other stores are only able to perform atomic operations if the wrapped store is.
+   *
+   * @return whether the atomic operations of this store may be used
+   */
+  default boolean supportsAtomicOperations() {
+    return true;
+  }
+
+  /**
+   * Stores the given {@code value} unless there's already a value for the given {@code key}.
+   *
+   * @param key   the identifier of the object to store
+   * @param value the object to store
+   * @return the value already stored for the given {@code key}, or {@code null} if the given {@code value} was stored
+   * @throws ObjectStoreException if the given key is {@code null} or the store is not available
+   */
+  T putIfAbsent(String key, T value) throws ObjectStoreException;
+
+  /**
+   * Replaces the value of the given {@code key} only if it is currently equal to {@code expectedValue}.
+   *
+   * @param key           the identifier of the object to replace
+   * @param expectedValue the value expected to be currently stored
+   * @param newValue      the value to store
+   * @return whether the value was replaced
+   * @throws ObjectStoreException if the given key is {@code null} or the store is not available
+   */
+  boolean replace(String key, T expectedValue, T newValue) throws ObjectStoreException;
+
+  /**
+   * Computes a new value for the given {@code key} from its current one. No other operation on the {@code key} happens in
+   * between.
+   *
+   * @param key               the identifier of the object to compute
+   * @param remappingFunction receives the key and its current value, or {@code null} if there is none, and returns the value to
+   *                          store, or {@code null} to remove it
+   * @return the new value of the given {@code key}, or {@code null} if there is none
+   * @throws ObjectStoreException if the given key is {@code null} or the store is not available
+   */
+  T compute(String key, BiFunction<String, T, T> remappingFunction) throws ObjectStoreException;
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static java.lang.Long.getLong;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
+import org.mule.runtime.core.api.component.InternalComponent;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * An in memory {@link PartitionableExpirableObjectStore} in which each partition is a Caffeine cache, so that its bounds are
+ * enforced as entries are stored rather than by periodically scanning the partition.
+ * <p>
+ * Partitions are bounded by the approximate retained size of their entries when
+ * {@link #MULE_IN_MEMORY_OBJECT_STORE_MAX_PARTITION_SIZE} is set, or else by their configured max entries. In both cases entries
+ * are evicted following Caffeine's W-TinyLFU policy rather than by age. The entry TTL of a partition is counted from when each
+ * entry is stored, and enforced through Caffeine's timer wheel. Because of this, partitions of this store don't need to be
+ * monitored for expiration.
+ *
+ * @since 4.3.0
+ */
+public class CaffeineInMemoryObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
+    implements PartitionableExpirableObjectStore<T>, PartitionableAtomicObjectStore<T>, InternalComponent {
+
+  /**
+   * The max approximate retained size in bytes of the entries of each partition. Zero, the default, means that partitions are
+   * only bounded by their max entries.
+   */
+  public static final String MULE_IN_MEMORY_OBJECT_STORE_MAX_PARTITION_SIZE =
+      SYSTEM_PROPERTY_PREFIX + "objectStore.inMemory.maxPartitionSize";
+
+  // object header plus a reference, for values whose size can't be estimated
+  private static final int DEFAULT_ENTRY_SIZE = 16;
+  private static final int REFERENCE_SIZE = 8;
+  // how deep nested collections are sampled when estimating sizes
+  private static final int MAX_ESTIMATE_DEPTH = 2;
+
+  private final long maxPartitionSize;
+  private final ConcurrentMap<String, PartitionSettings> partitionSettings = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Cache<String, T>> partitions = new ConcurrentHashMap<>();
+
+  public CaffeineInMemoryObjectStore() {
+    this(getLong(MULE_IN_MEMORY_OBJECT_STORE_MAX_PARTITION_SIZE, 0L));
+  }
+
+  /**
+   * @param maxPartitionSize the max approximate retained size in bytes of the entries of each partition, or zero for no size
+   *                         bound
+   */
+  public CaffeineInMemoryObjectStore(long maxPartitionSize) {
+    this.maxPartitionSize = maxPartitionSize;
+  }
+
+  /**
+   * Sets the bounds of the given partition. If the partition already has entries, they are kept as long as they fit in the new
+   * bounds.
+   *
+   * @param partitionName the name of the partition
+   * @param entryTTL      the time to live in milliseconds of the entries of the partition, or {@code UNBOUNDED}
+   * @param maxEntries    the max entries of the partition, or {@code UNBOUNDED}
+   */
+  public void configurePartition(String partitionName, long entryTTL, int maxEntries) {
+    final PartitionSettings settings = new PartitionSettings(entryTTL, maxEntries);
+    partitionSettings.put(partitionName, settings);
+
+    partitions.computeIfPresent(partitionName, (name, previous) -> {
+      Cache<String, T> partition = createPartition(settings);
+      partition.putAll(previous.asMap());
+      previous.invalidateAll();
+      return partition;
+    });
+  }
+
+  /**
+   * @param partitionName the name of a partition
+   * @return the hit, miss and eviction statistics of the given partition
+   */
+  public CacheStats getPartitionStatistics(String partitionName) {
+    Cache<String, T> partition = partitions.get(partitionName);
+    return partition != null ? partition.stats() : CacheStats.empty();
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return false;
+  }
+
+  @Override
+  protected boolean doContains(String key, String partitionName) throws ObjectStoreException {
+    Cache<String, T> partition = partitions.get(partitionName);
+    return partition != null && partition.asMap().containsKey(key);
+  }
+
+  @Override
+  protected void doStore(String key, T value, String partitionName) throws ObjectStoreException {
+    if (getPartition(partitionName).asMap().putIfAbsent(key, value) != null) {
+      throw new ObjectAlreadyExistsException();
+    }
+  }
+
+  @Override
+  protected T doRetrieve(String key, String partitionName) throws ObjectStoreException {
+    T value = getPartition(partitionName).getIfPresent(key);
+    if (value == null) {
+      throw new ObjectDoesNotExistException();
+    }
+    return value;
+  }
+
+  @Override
+  protected T doRemove(String key, String partitionName) throws ObjectStoreException {
+    T removedValue = getPartition(partitionName).asMap().remove(key);
+    if (removedValue == null) {
+      throw new ObjectDoesNotExistException();
+    }
+    return removedValue;
+  }
+
+  @Override
+  public T putIfAbsent(String key, T value, String partitionName) throws ObjectStoreException {
+    validateKeyAndPartitionName(key, partitionName);
+    return getPartition(partitionName).asMap().putIfAbsent(key, value);
+  }
+
+  @Override
+  public boolean replace(String key, T expectedValue, T newValue, String partitionName) throws ObjectStoreException {
+    validateKeyAndPartitionName(key, partitionName);
+    return getPartition(partitionName).asMap().replace(key, expectedValue, newValue);
+  }
+
+  @Override
+  public T compute(String key, BiFunction<String, T, T> remappingFunction, String partitionName)
+      throws ObjectStoreException {
+    validateKeyAndPartitionName(key, partitionName);
+    return getPartition(partitionName).asMap().compute(key, remappingFunction);
+  }
+
+  @Override
+  public List<String> allKeys(String partitionName) throws ObjectStoreException {
+    return new ArrayList<>(getPartition(partitionName).asMap().keySet());
+  }
+
+  @Override
+  public Map<String, T> retrieveAll(String partitionName) throws ObjectStoreException {
+    return new LinkedHashMap<>(getPartition(partitionName).asMap());
+  }
+
+  @Override
+  public void clear(String partitionName) throws ObjectStoreException {
+    getPartition(partitionName).invalidateAll();
+  }
+
+  @Override
+  public List<String> allPartitions() throws ObjectStoreException {
+    return new ArrayList<>(partitions.keySet());
+  }
+
+  @Override
+  public void open(String partitionName) throws ObjectStoreException {
+    // Nothing to do
+  }
+
+  @Override
+  public void close(String partitionName) throws ObjectStoreException {
+    disposePartition(partitionName);
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    expire(entryTTL, maxEntries, DEFAULT_PARTITION_NAME);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The bounds of the partition are enforced as entries are stored, so this only performs any pending maintenance of the
+   * partition. The given bounds are ignored in favor of the ones set through {@link #configurePartition(String, long, int)}.
+   */
+  @Override
+  public void expire(long entryTTL, int maxEntries, String partitionName) throws ObjectStoreException {
+    Cache<String, T> partition = partitions.get(partitionName);
+    if (partition != null) {
+      partition.cleanUp();
+    }
+  }
+
+  @Override
+  public void disposePartition(String partitionName) throws ObjectStoreException {
+    partitionSettings.remove(partitionName);
+    Cache<String, T> partition = partitions.remove(partitionName);
+    if (partition != null) {
+      partition.invalidateAll();
+      partition.cleanUp();
+    }
+  }
+
+  protected long getCurrentNanoTime() {
+    return System.nanoTime();
+  }
+
+  private Cache<String, T> getPartition(String partitionName) {
+    return partitions.computeIfAbsent(partitionName,
+                                      name -> createPartition(partitionSettings.getOrDefault(name, PartitionSettings.NO_BOUNDS)));
+  }
+
+  private Cache<String, T> createPartition(PartitionSettings settings) {
+    Caffeine<Object, Object> builder = Caffeine.newBuilder()
+        .ticker(this::getCurrentNanoTime)
+        // maintenance is cheap, and doing it in the calling thread avoids depending on the common pool
+        .executor(Runnable::run)
+        .recordStats();
+
+    if (maxPartitionSize > 0) {
+      builder.maximumWeight(maxPartitionSize)
+          .weigher((key, value) -> (int) min(estimateSize(key) + estimateSize(value), Integer.MAX_VALUE));
+    } else if (settings.maxEntries != UNBOUNDED) {
+      builder.maximumSize(settings.maxEntries);
+    }
+
+    if (settings.entryTTL != UNBOUNDED) {
+      final long ttlNanos = MILLISECONDS.toNanos(settings.entryTTL);
+      builder.expireAfter(new Expiry<Object, Object>() {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+          return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+          return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+          return currentDuration;
+        }
+      });
+    }
+
+    return builder.build();
+  }
+
+  /**
+   * Cheaply approximates the retained size of the given {@code value}: common types by their shallow size, {@link TypedValue}s
+   * by their byte length when known, and collections, maps and arrays by their length times the size of their first element.
+   * Values of any other type are not inspected, since this is computed for every entry stored in a size bounded partition.
+   */
+  static long estimateSize(Object value) {
+    return estimateSize(value, 0);
+  }
+
+  private static long estimateSize(Object value, int depth) {
+    if (value == null) {
+      return 0;
+    } else if (value instanceof String) {
+      return 40 + 2L * ((String) value).length();
+    } else if (value instanceof byte[]) {
+      return 16 + ((byte[]) value).length;
+    } else if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+      return DEFAULT_ENTRY_SIZE + 8;
+    } else if (depth >= MAX_ESTIMATE_DEPTH) {
+      return DEFAULT_ENTRY_SIZE;
+    } else if (value instanceof TypedValue) {
+      TypedValue<?> typedValue = (TypedValue<?>) value;
+      OptionalLong byteLength = typedValue.getByteLength();
+      return DEFAULT_ENTRY_SIZE
+          + (byteLength.isPresent() ? byteLength.getAsLong() : estimateSize(typedValue.getValue(), depth + 1));
+    } else if (value instanceof Collection) {
+      Collection<?> collection = (Collection<?>) value;
+      return estimateSequenceSize(collection.size(), collection.isEmpty() ? null : collection.iterator().next(), depth);
+    } else if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      if (map.isEmpty()) {
+        return DEFAULT_ENTRY_SIZE;
+      }
+      Map.Entry<?, ?> first = map.entrySet().iterator().next();
+      long entrySize = DEFAULT_ENTRY_SIZE + estimateSize(first.getKey(), depth + 1) + estimateSize(first.getValue(), depth + 1);
+      return DEFAULT_ENTRY_SIZE + map.size() * (REFERENCE_SIZE + entrySize);
+    } else if (value instanceof Object[]) {
+      Object[] array = (Object[]) value;
+      return estimateSequenceSize(array.length, array.length == 0 ? null : array[0], depth);
+    }
+
+    return DEFAULT_ENTRY_SIZE;
+  }
+
+  private static long estimateSequenceSize(int length, Object sample, int depth) {
+    return DEFAULT_ENTRY_SIZE + length * (REFERENCE_SIZE + estimateSize(sample, depth + 1));
+  }
+
+  private static final class PartitionSettings {
+
+    private static final PartitionSettings NO_BOUNDS = new PartitionSettings(UNBOUNDED, UNBOUNDED);
+
+    private final long entryTTL;
+    private final int maxEntries;
+
+    private PartitionSettings(long entryTTL, int maxEntries) {
+      this.entryTTL = entryTTL;
+      this.maxEntries = maxEntries;
+    }
+  }
+}
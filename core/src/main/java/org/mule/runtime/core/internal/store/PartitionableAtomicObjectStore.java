@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.PartitionableObjectStore;
+
+import java.io.Serializable;
+import java.util.function.BiFunction;
+
+/**
+ * A {@link PartitionableObjectStore} that can conditionally modify the entries of each of its partitions in a single atomic
+ * operation.
+ *
+ * @see AtomicObjectStore
+ * @since 4.3.0
+ */
+public interface PartitionableAtomicObjectStore<T extends Serializable>
+    extends PartitionableObjectStore<T>, AtomicObjectStore<T> {
+
+  /**
+   * @see AtomicObjectStore#putIfAbsent(String, Serializable)
+   */
+  T putIfAbsent(String key, T value, String partitionName) throws ObjectStoreException;
+
+  /**
+   * @see AtomicObjectStore#replace(String, Serializable, Serializable)
+   */
+  boolean replace(String key, T expectedValue, T newValue, String partitionName) throws ObjectStoreException;
+
+  /**
+   * @see AtomicObjectStore#compute(String, BiFunction)
+   */
+  T compute(String key, BiFunction<String, T, T> remappingFunction, String partitionName) throws ObjectStoreException;
+
+  @Override
+  default T putIfAbsent(String key, T value) throws ObjectStoreException {
+    return putIfAbsent(key, value, DEFAULT_PARTITION_NAME);
+  }
+
+  @Override
+  default boolean replace(String key, T expectedValue, T newValue) throws ObjectStoreException {
+    return replace(key, expectedValue, newValue, DEFAULT_PARTITION_NAME);
+  }
+
+  @Override
+  default T compute(String key, BiFunction<String, T, T> remappingFunction) throws ObjectStoreException {
+    return compute(key, remappingFunction, DEFAULT_PARTITION_NAME);
+  }
+}
@@ -23,12 +23,14 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PartitionedInMemoryObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
-    implements PartitionableExpirableObjectStore<T>, InternalComponent {
+    implements PartitionableExpirableObjectStore<T>, PartitionableAtomicObjectStore<T>, InternalComponent {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PartitionedInMemoryObjectStore.class);
 
@@ -74,6 +76,11 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
       throw new ObjectDoesNotExistException();
     }
 
+    removeExpiryEntry(key, partitionName);
+    return removedValue;
+  }
+
+  private void removeExpiryEntry(String key, String partitionName) {
     Iterator<ExpiryEntry> iterator = getExpiryInfoPartition(partitionName).iterator();
     while (iterator.hasNext()) {
       ExpiryEntry entry = iterator.next();
@@ -82,8 +89,42 @@ public class PartitionedInMemoryObjectStore<T extends Serializable> extends Abst
         break;
       }
     }
+  }
 
-    return removedValue;
+  @Override
+  public T putIfAbsent(String key, T value, String partitionName) throws ObjectStoreException {
+    validateKeyAndPartitionName(key, partitionName);
+
+    T currentValue = getPartition(partitionName).putIfAbsent(key, value);
+    if (currentValue == null) {
+      getExpiryInfoPartition(partitionName).add(new ExpiryEntry(getCurrentNanoTime(), key));
+    }
+    return currentValue;
+  }
+
+  @Override
+  public boolean replace(String key, T expectedValue, T newValue, String partitionName) throws ObjectStoreException {
+    validateKeyAndPartitionName(key, partitionName);
+    return getPartition(partitionName).replace(key, expectedValue, newValue);
+  }
+
+  @Override
+  public T compute(String key, BiFunction<String, T, T> remappingFunction, String partitionName)
+      throws ObjectStoreException {
+    validateKeyAndPartitionName(key, partitionName);
+
+    final AtomicReference<T> previousValue = new AtomicReference<>();
+    T newValue = getPartition(partitionName).compute(key, (k, currentValue) -> {
+      previousValue.set(currentValue);
+      return remappingFunction.apply(k, currentValue);
+    });
+
+    if (previousValue.get() == null && newValue != null) {
+      getExpiryInfoPartition(partitionName).add(new ExpiryEntry(getCurrentNanoTime(), key));
+    } else if (previousValue.get() != null && newValue == null) {
+      removeExpiryEntry(key, partitionName);
+    }
+    return newValue;
   }
 
   @Override
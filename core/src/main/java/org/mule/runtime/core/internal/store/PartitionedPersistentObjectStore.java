@@ -27,11 +27,13 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 
 public class PartitionedPersistentObjectStore<T extends Serializable> extends AbstractPartitionableObjectStore<T>
-    implements PartitionableExpirableObjectStore<T>, InternalComponent, MuleContextAware {
+    implements PartitionableExpirableObjectStore<T>, PartitionableAtomicObjectStore<T>, InternalComponent,
+    MuleContextAware {
 
   private static final Logger LOGGER = getLogger(PartitionedPersistentObjectStore.class);
   public static final String OBJECT_STORE_DIR = "objectstore";
@@ -122,6 +124,25 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     return getPartitionObjectStore(partitionName).remove(key.toString());
   }
 
+  @Override
+  public T putIfAbsent(String key, T value, String partitionName) throws ObjectStoreException {
+    validateKeyAndPartitionName(key, partitionName);
+    return getPartitionObjectStore(partitionName).putIfAbsent(key, value);
+  }
+
+  @Override
+  public boolean replace(String key, T expectedValue, T newValue, String partitionName) throws ObjectStoreException {
+    validateKeyAndPartitionName(key, partitionName);
+    return getPartitionObjectStore(partitionName).replace(key, expectedValue, newValue);
+  }
+
+  @Override
+  public T compute(String key, BiFunction<String, T, T> remappingFunction, String partitionName)
+      throws ObjectStoreException {
+    validateKeyAndPartitionName(key, partitionName);
+    return getPartitionObjectStore(partitionName).compute(key, remappingFunction);
+  }
+
   @Override
   public List<String> allKeys(String partitionName) throws ObjectStoreException {
     return getPartitionObjectStore(partitionName).allKeys();
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds the first
+ * {@link FileStoreCursorStreamConfig#getMaxInMemorySize()} bytes in memory and spills the rest of the stream into a temporal
+ * file.
+ * <p>
+ * The in memory part is kept in {@link FileStoreCursorStreamConfig#getBucketsCount()} buckets of
+ * {@link FileStoreCursorStreamConfig#getBucketSize()} bytes, which are allocated through the {@link ByteBufferManager} as the
+ * stream is consumed. The file is accessed through memory mapped segments, so reads from any of both parts return a view over
+ * the buffered data rather than a copy of it.
+ * <p>
+ * The file is created only if the stream exceeds the in memory size, and it is deleted when this buffer is closed.
+ *
+ * @since 4.3.0
+ */
+public class FileStoreInputStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final Logger LOGGER = getLogger(FileStoreInputStreamBuffer.class);
+
+  private static final int MAPPED_SEGMENT_SIZE = 1024 * 1024;
+
+  private final int bucketSize;
+  private final ByteBuffer[] buckets;
+  private final long maxInMemorySize;
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+  private ByteBuffer spillBuffer;
+  private File bufferFile;
+  private FileChannel fileChannel;
+  private long bufferTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate the in memory buckets
+   */
+  public FileStoreInputStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    super(stream, bufferManager);
+    bucketSize = config.getBucketSize();
+    buckets = new ByteBuffer[config.getBucketsCount()];
+    maxInMemorySize = (long) bucketSize * buckets.length;
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    return doGet(position, length, true);
+  }
+
+  private ByteBuffer doGet(long position, int length, boolean consumeStreamIfNecessary) {
+    return withReadLock(releaser -> {
+
+      ByteBuffer presentRead = getFromCurrentData(position, length);
+      if (presentRead != null) {
+        return presentRead;
+      }
+
+      if (consumeStreamIfNecessary) {
+        releaser.release();
+        return withWriteLock(() -> {
+
+          ByteBuffer refetch;
+          refetch = getFromCurrentData(position, length);
+          if (refetch != null) {
+            return refetch;
+          }
+
+          final long requiredUpperBound = position + length;
+          while (!streamFullyConsumed && bufferTip < requiredUpperBound) {
+            try {
+              final int read = consumeForwardData();
+              if (read > 0) {
+                refetch = getFromCurrentData(position, min(length, read));
+                if (refetch != null) {
+                  return refetch;
+                }
+              }
+            } catch (IOException e) {
+              throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+            }
+          }
+
+          return doGet(position, length, false);
+        });
+      } else {
+        return getFromCurrentData(position, length);
+      }
+    });
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    if (position < bufferTip) {
+      length = min(length, toIntExact(min(bufferTip - position, Integer.MAX_VALUE)));
+      return copy(position, length);
+    }
+
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Data is read into the current in memory bucket, or into the current file segment once all the buckets are full.
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    final int read = bufferTip < maxInMemorySize ? consumeIntoBucket() : consumeIntoFile();
+    if (read > 0) {
+      bufferTip += read;
+    }
+
+    return read;
+  }
+
+  private int consumeIntoBucket() throws IOException {
+    final int bucketIndex = toIntExact(bufferTip / bucketSize);
+    ByteBuffer bucket = buckets[bucketIndex];
+    if (bucket == null) {
+      bucket = bufferManager.allocate(bucketSize);
+      buckets[bucketIndex] = bucket;
+    }
+
+    return consumeStream(bucket);
+  }
+
+  private int consumeIntoFile() throws IOException {
+    final long filePosition = bufferTip - maxInMemorySize;
+    final int segmentIndex = toIntExact(filePosition / MAPPED_SEGMENT_SIZE);
+    final MappedByteBuffer segment = segmentIndex < segments.size() ? segments.get(segmentIndex) : mapSegment(segmentIndex);
+
+    if (spillBuffer == null) {
+      spillBuffer = bufferManager.allocate(bucketSize);
+    }
+
+    spillBuffer.clear();
+    spillBuffer.limit(min(spillBuffer.capacity(), segment.remaining()));
+
+    final int read = consumeStream(spillBuffer);
+    if (read > 0) {
+      spillBuffer.flip();
+      segment.put(spillBuffer);
+    }
+
+    return read;
+  }
+
+  private MappedByteBuffer mapSegment(int segmentIndex) throws IOException {
+    if (fileChannel == null) {
+      bufferFile = createBufferFile("stream");
+      fileChannel = FileChannel.open(bufferFile.toPath(), READ, WRITE);
+    }
+
+    MappedByteBuffer segment = fileChannel.map(READ_WRITE, (long) segmentIndex * MAPPED_SEGMENT_SIZE, MAPPED_SEGMENT_SIZE);
+    segments.add(segment);
+    return segment;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned buffer is a read only view over the bucket or file segment that contains the given {@code position}, so it
+   * may contain less than {@code length} bytes if that region ends earlier.
+   */
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    final ByteBuffer region;
+    final int offset;
+
+    if (position < maxInMemorySize) {
+      region = buckets[toIntExact(position / bucketSize)];
+      offset = toIntExact(position % bucketSize);
+    } else {
+      final long filePosition = position - maxInMemorySize;
+      region = segments.get(toIntExact(filePosition / MAPPED_SEGMENT_SIZE));
+      offset = toIntExact(filePosition % MAPPED_SEGMENT_SIZE);
+    }
+
+    // the position of the region is where the next write will happen, which delimits the data available on it
+    ByteBuffer view = region.asReadOnlyBuffer();
+    view.limit(min(region.position(), offset + length));
+    view.position(offset);
+    return view.slice();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void doClose() {
+    for (int i = 0; i < buckets.length; i++) {
+      deallocate(buckets[i]);
+      buckets[i] = null;
+    }
+
+    deallocate(spillBuffer);
+    spillBuffer = null;
+    segments.clear();
+
+    if (fileChannel != null) {
+      closeSafely(fileChannel, FileChannel::close);
+      fileChannel = null;
+    }
+
+    if (bufferFile != null) {
+      if (!bufferFile.delete()) {
+        // the file may still be mapped on some platforms, so it is deleted later
+        LOGGER.debug("Could not delete buffer file {} yet, will be deleted on exit", bufferFile);
+        bufferFile.deleteOnExit();
+      }
+      bufferFile = null;
+    }
+  }
+}
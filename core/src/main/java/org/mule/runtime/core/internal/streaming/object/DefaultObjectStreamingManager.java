@@ -6,12 +6,17 @@
  */
 package org.mule.runtime.core.internal.streaming.object;
 
-import org.mule.runtime.core.internal.streaming.object.factory.InMemoryCursorIteratorProviderFactory;
-import org.mule.runtime.core.internal.streaming.object.factory.NullCursorIteratorProviderFactory;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.runtime.core.api.streaming.object.CursorIteratorProviderFactory;
 import org.mule.runtime.core.api.streaming.object.InMemoryCursorIteratorConfig;
 import org.mule.runtime.core.api.streaming.object.ObjectStreamingManager;
+import org.mule.runtime.core.internal.streaming.object.factory.FileStoreCursorIteratorProviderFactory;
+import org.mule.runtime.core.internal.streaming.object.factory.InMemoryCursorIteratorProviderFactory;
+import org.mule.runtime.core.internal.streaming.object.factory.NullCursorIteratorProviderFactory;
+
+import javax.inject.Inject;
 
 /**
  * Default implementation of {@link ObjectStreamingManager}
@@ -22,6 +27,9 @@ public class DefaultObjectStreamingManager implements ObjectStreamingManager {
 
   protected final StreamingManager streamingManager;
 
+  @Inject
+  private MuleContext muleContext;
+
   public DefaultObjectStreamingManager(StreamingManager streamingManager) {
     this.streamingManager = streamingManager;
   }
@@ -34,6 +42,18 @@ public class DefaultObjectStreamingManager implements ObjectStreamingManager {
     return new InMemoryCursorIteratorProviderFactory(config, streamingManager);
   }
 
+  /**
+   * Creates a {@link CursorIteratorProviderFactory} which buffers in memory up to a certain amount of instances and then in a
+   * temporal file
+   *
+   * @param config the configuration for the produced {@link CursorIteratorProvider} instances
+   * @return a new {@link CursorIteratorProviderFactory}
+   * @since 4.3.0
+   */
+  public CursorIteratorProviderFactory getFileStoreCursorProviderFactory(FileStoreCursorIteratorConfig config) {
+    return new FileStoreCursorIteratorProviderFactory(config, muleContext.getObjectSerializer(), streamingManager);
+  }
+
   /**
    * {@inheritDoc}
    */
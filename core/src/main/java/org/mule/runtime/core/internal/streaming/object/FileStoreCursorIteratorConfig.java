@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_OBJECT_STREAMING_BUFFER_SIZE;
+import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_OBJECT_STREAMING_MAX_BUFFER_SIZE;
+
+/**
+ * Configuration for a {@link FileStoreObjectStreamBuffer}, which keeps up to a certain amount of instances in memory and
+ * spills the rest to a local file.
+ *
+ * @since 4.3.0
+ */
+public final class FileStoreCursorIteratorConfig {
+
+  private static final int DEFAULT_CACHED_BUCKETS_COUNT = 2;
+
+  private final int maxInMemoryInstances;
+  private final int bucketSize;
+  private final int inMemoryBucketsCount;
+  private final int cachedBucketsCount;
+
+  /**
+   * @return A new instance configured with default settings
+   */
+  public static FileStoreCursorIteratorConfig getDefault() {
+    return new FileStoreCursorIteratorConfig(DEFAULT_OBJECT_STREAMING_MAX_BUFFER_SIZE);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param maxInMemoryInstances the maximum amount of instances to be held in memory. Must be greater than zero
+   */
+  public FileStoreCursorIteratorConfig(int maxInMemoryInstances) {
+    this(maxInMemoryInstances, DEFAULT_CACHED_BUCKETS_COUNT);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param maxInMemoryInstances the maximum amount of instances to be held in memory. Must be greater than zero
+   * @param cachedBucketsCount   how many of the buckets read back from the file are kept in memory. Cannot be negative
+   */
+  public FileStoreCursorIteratorConfig(int maxInMemoryInstances, int cachedBucketsCount) {
+    checkArgument(maxInMemoryInstances > 0, "maxInMemoryInstances must be greater than zero");
+    checkArgument(cachedBucketsCount >= 0, "cachedBucketsCount cannot be negative");
+
+    bucketSize = min(DEFAULT_OBJECT_STREAMING_BUFFER_SIZE, maxInMemoryInstances);
+    inMemoryBucketsCount = max(1, maxInMemoryInstances / bucketSize);
+    this.maxInMemoryInstances = inMemoryBucketsCount * bucketSize;
+    this.cachedBucketsCount = cachedBucketsCount;
+  }
+
+  /**
+   * @return The maximum amount of instances to be held in memory
+   */
+  public int getMaxInMemoryInstances() {
+    return maxInMemoryInstances;
+  }
+
+  /**
+   * @return How many instances each bucket holds
+   */
+  public int getBucketSize() {
+    return bucketSize;
+  }
+
+  /**
+   * @return How many buckets are held in memory before spilling to the file
+   */
+  public int getInMemoryBucketsCount() {
+    return inMemoryBucketsCount;
+  }
+
+  /**
+   * @return How many of the buckets read back from the file are kept in memory
+   */
+  public int getCachedBucketsCount() {
+    return cachedBucketsCount;
+  }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.serialization.SerializationProtocol;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+
+/**
+ * An {@link AbstractObjectStreamBuffer} implementation which keeps the first
+ * {@link FileStoreCursorIteratorConfig#getInMemoryBucketsCount()} buckets in memory, and serializes the ones after those into a
+ * temporal file as they get full.
+ * <p>
+ * Buckets are serialized with the internal protocol of the given {@link ObjectSerializer}, so the streamed items need to be
+ * serializable by it. The last {@link FileStoreCursorIteratorConfig#getCachedBucketsCount()} buckets read back from the file are
+ * kept in memory, so that cursors reading sequentially do not deserialize the same bucket once per item.
+ *
+ * @param <T> The generic type of the items in the stream
+ * @since 4.3.0
+ */
+public class FileStoreObjectStreamBuffer<T> extends AbstractObjectStreamBuffer<T> {
+
+  private static final Logger LOGGER = getLogger(FileStoreObjectStreamBuffer.class);
+
+  private final FileStoreCursorIteratorConfig config;
+  private final SerializationProtocol serializationProtocol;
+
+  private final List<Bucket<T>> inMemoryBuckets = new ArrayList<>();
+  private final List<long[]> spilledBuckets = new ArrayList<>();
+  private final Map<Integer, Bucket<T>> cachedBuckets;
+
+  private File bufferFile;
+  private FileChannel fileChannel;
+  private long fileTip = 0;
+
+  public FileStoreObjectStreamBuffer(Iterator<T> stream, FileStoreCursorIteratorConfig config,
+                                     ObjectSerializer objectSerializer) {
+    super(stream);
+    this.config = config;
+    this.serializationProtocol = objectSerializer.getInternalProtocol();
+
+    final int cachedBucketsCount = config.getCachedBucketsCount();
+    cachedBuckets = new LinkedHashMap<Integer, Bucket<T>>(cachedBucketsCount + 1, 1f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Bucket<T>> eldest) {
+        return size() > cachedBucketsCount;
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Position toPosition(long position) {
+    final int bucketSize = config.getBucketSize();
+    return new Position((int) (position / bucketSize), (int) (position % bucketSize));
+  }
+
+  @Override
+  protected void initialize(Optional<Position> maxPosition, Bucket<T> initialBucket) {
+    initialBucket = new Bucket<>(0, config.getBucketSize());
+    inMemoryBuckets.add(initialBucket);
+    setCurrentBucket(initialBucket);
+  }
+
+  @Override
+  protected Optional<Bucket<T>> getPresentBucket(Position position) {
+    final int bucketIndex = position.getBucketIndex();
+    if (bucketIndex < inMemoryBuckets.size()) {
+      return of(inMemoryBuckets.get(bucketIndex));
+    }
+
+    final Bucket<T> currentBucket = getCurrentBucket();
+    if (currentBucket != null && currentBucket.getIndex() == bucketIndex) {
+      return of(currentBucket);
+    }
+
+    final int spilledIndex = bucketIndex - config.getInMemoryBucketsCount();
+    if (spilledIndex >= 0 && spilledIndex < spilledBuckets.size()) {
+      return of(readSpilledBucket(bucketIndex, spilledBuckets.get(spilledIndex)));
+    }
+
+    return empty();
+  }
+
+  private Bucket<T> readSpilledBucket(int bucketIndex, long[] segment) {
+    synchronized (cachedBuckets) {
+      Bucket<T> bucket = cachedBuckets.get(bucketIndex);
+      if (bucket != null) {
+        return bucket;
+      }
+    }
+
+    // positional reads on the channel are safe to be done concurrently from many cursors
+    final ByteBuffer bytes = ByteBuffer.allocate((int) segment[1]);
+    try {
+      long filePosition = segment[0];
+      while (bytes.hasRemaining()) {
+        int read = fileChannel.read(bytes, filePosition);
+        if (read < 0) {
+          break;
+        }
+        filePosition += read;
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read streaming buffer file " + bufferFile), e);
+    }
+
+    final Bucket<T> bucket = serializationProtocol.deserialize(bytes.array());
+    synchronized (cachedBuckets) {
+      cachedBuckets.put(bucketIndex, bucket);
+    }
+    return bucket;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Once all the in memory buckets are used, each bucket that gets full is written to the file.
+   */
+  @Override
+  protected Bucket<T> onBucketOverflow(Bucket<T> overflownBucket) {
+    final int overflownIndex = overflownBucket.getIndex();
+    if (overflownIndex >= config.getInMemoryBucketsCount()) {
+      spill(overflownBucket);
+    }
+
+    Bucket<T> newBucket = new Bucket<>(overflownIndex + 1, config.getBucketSize());
+    if (newBucket.getIndex() < config.getInMemoryBucketsCount()) {
+      inMemoryBuckets.add(newBucket);
+    }
+
+    return newBucket;
+  }
+
+  private void spill(Bucket<T> bucket) {
+    final byte[] bytes = serializationProtocol.serialize(bucket);
+    try {
+      if (fileChannel == null) {
+        bufferFile = createBufferFile("objects");
+        fileChannel = FileChannel.open(bufferFile.toPath(), READ, WRITE);
+      }
+
+      final ByteBuffer buffer = wrap(bytes);
+      long filePosition = fileTip;
+      while (buffer.hasRemaining()) {
+        filePosition += fileChannel.write(buffer, filePosition);
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write streaming buffer file " + bufferFile), e);
+    }
+
+    spilledBuckets.add(new long[] {fileTip, bytes.length});
+    fileTip += bytes.length;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This buffer has no limit, since any item that doesn't fit in memory goes to the file.
+   */
+  @Override
+  protected void validateMaxBufferSizeNotExceeded(int instancesCount) {
+    // nothing to validate
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doClose() {
+    inMemoryBuckets.clear();
+    spilledBuckets.clear();
+    synchronized (cachedBuckets) {
+      cachedBuckets.clear();
+    }
+
+    if (fileChannel != null) {
+      closeSafely(fileChannel, FileChannel::close);
+      fileChannel = null;
+    }
+
+    if (bufferFile != null) {
+      if (!bufferFile.delete()) {
+        LOGGER.debug("Could not delete buffer file {}, will be deleted on exit", bufferFile);
+        bufferFile.deleteOnExit();
+      }
+      bufferFile = null;
+    }
+  }
+}
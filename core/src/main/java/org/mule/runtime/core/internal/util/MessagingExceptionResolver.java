@@ -7,9 +7,11 @@
 
 package org.mule.runtime.core.internal.util;
 
+import static java.lang.Boolean.getBoolean;
 import static java.util.Optional.of;
 import static org.mule.runtime.api.exception.ExceptionHelper.getExceptionsAsList;
 import static org.mule.runtime.api.notification.EnrichedNotificationInfo.createInfo;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.exception.Errors.CORE_NAMESPACE_NAME;
 import static org.mule.runtime.core.api.exception.Errors.Identifiers.CRITICAL_IDENTIFIER;
 import static org.mule.runtime.core.api.util.ExceptionUtils.getComponentIdentifierOf;
@@ -21,8 +23,10 @@ import static org.mule.runtime.core.internal.util.InternalExceptionUtils.createE
 
 import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.event.Event;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.TypedException;
 import org.mule.runtime.api.message.Error;
 import org.mule.runtime.api.message.ErrorType;
 import org.mule.runtime.api.notification.EnrichedNotificationInfo;
@@ -33,14 +37,18 @@ import org.mule.runtime.core.api.execution.ExceptionContextProvider;
 import org.mule.runtime.core.internal.exception.ErrorMapping;
 import org.mule.runtime.core.internal.exception.ErrorMappingsAware;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.exception.StacklessMessagingException;
 import org.mule.runtime.core.internal.policy.FlowExecutionException;
+import org.mule.runtime.core.internal.policy.StacklessFlowExecutionException;
 import org.mule.runtime.core.privileged.exception.ErrorTypeLocator;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Tries to resolve a new {@link MessagingException}s with the real cause of the problem from an incoming
@@ -50,10 +58,56 @@ import java.util.Optional;
  */
 public class MessagingExceptionResolver {
 
+  /**
+   * System property to enable lightweight error propagation. When enabled, the {@link MessagingException}s created to wrap
+   * failures of known processors don't fill their own stack trace (the stack trace of the cause is kept), and the
+   * {@link ErrorType} resolved for each exception class thrown by the processor is cached.
+   *
+   * @since 4.3
+   */
+  public static final String MULE_LIGHTWEIGHT_ERRORS_PROPERTY = SYSTEM_PROPERTY_PREFIX + "error.lightweight";
+
+  private static final boolean LIGHTWEIGHT_ERRORS = getBoolean(MULE_LIGHTWEIGHT_ERRORS_PROPERTY);
+
   private final Component component;
+  private final boolean lightweightErrors;
+
+  // Error types resolved for exceptions that are not MessagingExceptions, per exception class, for the component of this resolver.
+  private final Map<Class<? extends Throwable>, ErrorType> errorTypesCache;
+  private volatile ErrorTypeLocator cachedLocator;
 
   public MessagingExceptionResolver(Component component) {
+    this(component, LIGHTWEIGHT_ERRORS);
+  }
+
+  /**
+   * @param component the component for which exceptions will be resolved
+   * @param lightweightErrors whether stack-trace-less exceptions are created and resolved error types are cached.
+   *
+   * @since 4.3
+   */
+  public MessagingExceptionResolver(Component component, boolean lightweightErrors) {
     this.component = component;
+    this.lightweightErrors = lightweightErrors;
+    this.errorTypesCache = lightweightErrors ? new ConcurrentHashMap<>() : null;
+  }
+
+  /**
+   * Creates a new {@link MessagingException} for a failure of the given {@code failingComponent}.
+   * <p>
+   * If lightweight errors are enabled, the returned exception will not have its own stack trace.
+   *
+   * @param event the event that was being processed when the failure happened
+   * @param cause the cause of the failure
+   * @param failingComponent the component that failed
+   * @return a new {@link MessagingException}
+   *
+   * @since 4.3
+   */
+  public MessagingException newMessagingException(CoreEvent event, Throwable cause, Component failingComponent) {
+    return lightweightErrors
+        ? new StacklessMessagingException(event, cause, failingComponent)
+        : new MessagingException(event, cause, failingComponent);
   }
 
   /**
@@ -97,8 +151,8 @@ public class MessagingExceptionResolver {
       result = ((MessagingException) root);
     } else {
       result = me instanceof FlowExecutionException
-          ? new FlowExecutionException(event, root, failingComponent)
-          : new MessagingException(event, root, failingComponent);
+          ? newFlowExecutionException(event, root, failingComponent)
+          : newMessagingException(event, root, failingComponent);
     }
     return result;
   }
@@ -182,14 +236,24 @@ public class MessagingExceptionResolver {
     if (errorEvent == me.getEvent() && failingProcessor == me.getFailingComponent()) {
       updated = me;
     } else {
-      updated = me instanceof FlowExecutionException
-          ? new FlowExecutionException(errorEvent, me.getCause(), failingProcessor)
-          : new MessagingException(me.getI18nMessage(), errorEvent, me.getCause(), failingProcessor);
+      if (me instanceof FlowExecutionException) {
+        updated = newFlowExecutionException(errorEvent, me.getCause(), failingProcessor);
+      } else if (lightweightErrors && me.getCause() != null) {
+        updated = new StacklessMessagingException(me.getI18nMessage(), errorEvent, me.getCause(), failingProcessor);
+      } else {
+        updated = new MessagingException(me.getI18nMessage(), errorEvent, me.getCause(), failingProcessor);
+      }
     }
 
     return enrich(updated, failingProcessor, processor, errorEvent, exceptionContextProviders);
   }
 
+  private FlowExecutionException newFlowExecutionException(CoreEvent event, Throwable cause, Component failingComponent) {
+    return lightweightErrors && cause != null
+        ? new StacklessFlowExecutionException(event, cause, failingComponent)
+        : new FlowExecutionException(event, cause, failingComponent);
+  }
+
   private Component getFailingProcessor(MessagingException me, Throwable root) {
     Component failing = me.getFailingComponent();
     if (failing == null && root instanceof MessagingException) {
@@ -209,6 +273,8 @@ public class MessagingExceptionResolver {
       } else {
         mapped = ((MessagingException) e).getExceptionInfo().getErrorType();
       }
+    } else if (lightweightErrors && failing == component && isErrorTypeDependantOnlyOnClass(e)) {
+      return cachedErrorTypeFromNotMessagingException(failing, locator, e);
     } else {
       mapped = errorTypeFromNotMessagingException(failing, locator, e);
     }
@@ -216,6 +282,24 @@ public class MessagingExceptionResolver {
     return mapped != null ? mapped : locator.lookupErrorType(e);
   }
 
+  private boolean isErrorTypeDependantOnlyOnClass(Throwable e) {
+    // These exceptions may carry their own error type, so the result of their resolution is not cacheable by class
+    return !(e instanceof ConnectionException) && !(e instanceof TypedException);
+  }
+
+  private ErrorType cachedErrorTypeFromNotMessagingException(Component failing, ErrorTypeLocator locator, Throwable e) {
+    if (cachedLocator != locator) {
+      // The cached values are only valid for the locator that resolved them
+      errorTypesCache.clear();
+      cachedLocator = locator;
+    }
+
+    return errorTypesCache.computeIfAbsent(e.getClass(), exceptionClass -> {
+      final ErrorType mapped = errorTypeFromNotMessagingException(failing, locator, e);
+      return mapped != null ? mapped : locator.lookupErrorType(e);
+    });
+  }
+
   private ErrorType errorTypeFromNotMessagingException(Component failing, ErrorTypeLocator locator, Throwable e) {
     final ComponentIdentifier identifier = getComponentIdentifierOf(failing);
 
@@ -6,11 +6,12 @@
  */
 package org.mule.runtime.core.internal.util.store;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.System.currentTimeMillis;
-import static java.util.Comparator.comparing;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toMap;
 import static org.mule.runtime.api.store.ObjectStoreManager.BASE_PERSISTENT_OBJECT_STORE_KEY;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.propertyHasInvalidValue;
 
 import org.mule.runtime.api.exception.DefaultMuleException;
@@ -28,22 +29,34 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.UUID;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
 import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
 
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
+import java.util.Objects;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The MonitoredObjectStoreWrapper wraps an ObjectStore which does not support direct expiry and adds this behavior
+ * <p>
+ * The keys stored through this wrapper are indexed by the time they were stored, so each expiry run only looks at the oldest
+ * entries instead of reading the whole store. Entries already in the base store are indexed on the first run.
  */
 public class MonitoredObjectStoreWrapper<T extends Serializable> extends TemplateObjectStore<T>
-    implements Runnable, MuleContextAware, Initialisable, Disposable {
+    implements AtomicObjectStore<T>, Runnable, MuleContextAware, Initialisable, Disposable {
+
+  /**
+   * The max number of entries looked at by each expiry run. Entries still to expire once reached are expired by the next runs.
+   */
+  public static final String MULE_OBJECT_STORE_MAX_EXPIRATIONS_PER_RUN =
+      SYSTEM_PROPERTY_PREFIX + "objectStore.monitor.maxExpirationsPerRun";
 
   private static Logger LOGGER = LoggerFactory.getLogger(MonitoredObjectStoreWrapper.class);
 
@@ -75,11 +88,16 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
    */
   protected String name = null;
 
+  private final int maxExpirationsPerRun = getInteger(MULE_OBJECT_STORE_MAX_EXPIRATIONS_PER_RUN, 10000);
+  private final ObjectStoreExpiryIndex expiryIndex;
+  private volatile boolean indexed = false;
+
   public MonitoredObjectStoreWrapper(ObjectStore<StoredObject<T>> baseStore, ObjectStoreSettings settings) {
     this.baseStore = baseStore;
     maxEntries = settings.getMaxEntries().orElse(null);
     entryTtl = settings.getEntryTTL().orElse(null);
     expirationInterval = settings.getExpirationInterval();
+    expiryIndex = new ObjectStoreExpiryIndex(expirationInterval);
   }
 
   @Override
@@ -89,8 +107,9 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
 
   @Override
   protected void doStore(String key, T value) throws ObjectStoreException {
-    Long time = Long.valueOf(System.currentTimeMillis());
+    Long time = Long.valueOf(getCurrentTime());
     getStore().store(key, new StoredObject<>(value, time, key));
+    expiryIndex.add(key, time);
   }
 
   @Override
@@ -106,11 +125,13 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
   @Override
   public void clear() throws ObjectStoreException {
     this.getStore().clear();
+    expiryIndex.clear();
   }
 
   @Override
   protected T doRemove(String key) throws ObjectStoreException {
     StoredObject<T> object = getStore().remove(key);
+    expiryIndex.remove(key);
     if (object == null) {
       return null;
     } else {
@@ -118,6 +139,65 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
     }
   }
 
+  @Override
+  public boolean supportsAtomicOperations() {
+    return getStore() instanceof AtomicObjectStore
+        && ((AtomicObjectStore<StoredObject<T>>) getStore()).supportsAtomicOperations();
+  }
+
+  @Override
+  public T putIfAbsent(String key, T value) throws ObjectStoreException {
+    validateKey(key);
+    Long time = Long.valueOf(getCurrentTime());
+    StoredObject<T> current = getAtomicStore().putIfAbsent(key, new StoredObject<>(value, time, key));
+    if (current == null) {
+      expiryIndex.add(key, time);
+      return null;
+    } else {
+      return current.getItem();
+    }
+  }
+
+  @Override
+  public boolean replace(String key, T expectedValue, T newValue) throws ObjectStoreException {
+    validateKey(key);
+    final AtomicBoolean replaced = new AtomicBoolean(false);
+    // stored objects are compared by their items, which may have been deserialized
+    getAtomicStore().compute(key, (k, current) -> {
+      if (current != null && Objects.equals(current.getItem(), expectedValue)) {
+        replaced.set(true);
+        return new StoredObject<>(newValue, current.getTimestamp(), k);
+      }
+      return current;
+    });
+    return replaced.get();
+  }
+
+  @Override
+  public T compute(String key, BiFunction<String, T, T> remappingFunction) throws ObjectStoreException {
+    validateKey(key);
+    final Long time = Long.valueOf(getCurrentTime());
+    StoredObject<T> stored = getAtomicStore().compute(key, (k, current) -> {
+      T newValue = remappingFunction.apply(k, current != null ? current.getItem() : null);
+      return newValue != null ? new StoredObject<>(newValue, current != null ? current.getTimestamp() : time, k) : null;
+    });
+
+    if (stored != null) {
+      expiryIndex.addIfAbsent(key, stored.getTimestamp());
+      return stored.getItem();
+    } else {
+      expiryIndex.remove(key);
+      return null;
+    }
+  }
+
+  private AtomicObjectStore<StoredObject<T>> getAtomicStore() {
+    if (!supportsAtomicOperations()) {
+      throw new UnsupportedOperationException("The base store of " + name + " doesn't support atomic operations");
+    }
+    return (AtomicObjectStore<StoredObject<T>>) getStore();
+  }
+
   @Override
   public boolean isPersistent() {
     return getStore().isPersistent();
@@ -158,46 +238,37 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
     try {
       LOGGER.debug("Starting expiry on {}...", getStore().toString());
 
-      final long now = currentTimeMillis();
-      List<String> keys = allKeys();
-      int excess = maxEntries != null ? (keys.size() - maxEntries) : 0;
-
-      PriorityQueue<StoredObject<T>> sortedMaxEntries = null;
-
-      if (excess > 0) {
-        LOGGER.trace("Will expire {} entries from {}", excess, getStore().toString());
-        sortedMaxEntries = new PriorityQueue<>(excess, comparing(paramT -> paramT.timestamp));
+      final long now = getCurrentTime();
+      if (!indexed) {
+        indexStoredEntries();
+        indexed = true;
       }
 
-      for (String key : keys) {
-        StoredObject<T> obj = expiryRetrieve(key);
-        if (obj == null) {
-          excess--;
-          continue;
-        }
-
-        if (entryTtl != null && now - obj.getTimestamp() >= entryTtl) {
-          LOGGER.trace("Expiring entry '{}' from {} due to TTL...", key, getStore().toString());
-          expiryRemove(key);
-        } else if (maxEntries != null && excess > 0) {
-          sortedMaxEntries.offer(obj);
-        }
-      }
+      List<String> expirable = expiryIndex.findExpirable(now, entryTtl, maxEntries, maxExpirationsPerRun);
+      LOGGER.trace("Will expire {} entries from {}", expirable.size(), getStore().toString());
 
-      if (sortedMaxEntries != null) {
-        StoredObject<T> obj = sortedMaxEntries.poll();
-        while (obj != null && excess > 0) {
-          LOGGER.trace("Expiring entry '{}' from {} due to size excess...", obj.getKey(), getStore().toString());
-          excess--;
-          expiryRemove(obj.getKey());
-          obj = sortedMaxEntries.poll();
-        }
+      for (String key : expirable) {
+        LOGGER.trace("Expiring entry '{}' from {}...", key, getStore().toString());
+        expiryRemove(key);
       }
     } catch (Exception e) {
       LOGGER.warn("Running expiry on " + getStore() + " threw " + e.getClass().getName() + ":" + e.getMessage(), e);
     }
   }
 
+  /**
+   * Indexes the entries that were in the base store before this wrapper, such as the ones of a persistent store from a previous
+   * run.
+   */
+  private void indexStoredEntries() throws ObjectStoreException {
+    for (String key : allKeys()) {
+      StoredObject<T> obj = expiryRetrieve(key);
+      if (obj != null) {
+        expiryIndex.addIfAbsent(key, obj.getTimestamp());
+      }
+    }
+  }
+
   private StoredObject<T> expiryRetrieve(String key) throws ObjectStoreException {
     try {
       return getStore().retrieve(key);
@@ -211,10 +282,15 @@ public class MonitoredObjectStoreWrapper<T extends Serializable> extends Templat
     try {
       remove(key);
     } catch (ObjectDoesNotExistException e) {
+      expiryIndex.remove(key);
       LOGGER.trace("Entry '{}' from {} already removed", key, getStore().toString());
     }
   }
 
+  protected long getCurrentTime() {
+    return currentTimeMillis();
+  }
+
   @Override
   public void dispose() {
     if (scheduledTask != null) {
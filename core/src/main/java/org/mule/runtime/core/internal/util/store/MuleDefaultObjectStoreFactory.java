@@ -6,7 +6,11 @@
  */
 package org.mule.runtime.core.internal.util.store;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.api.store.ObjectStore;
+import org.mule.runtime.core.internal.store.CaffeineInMemoryObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedPersistentObjectStore;
 
@@ -14,8 +18,17 @@ import java.io.Serializable;
 
 public class MuleDefaultObjectStoreFactory implements DefaultObjectStoreFactory {
 
+  /**
+   * Whether the default in memory object store is a {@link CaffeineInMemoryObjectStore} instead of a
+   * {@link PartitionedInMemoryObjectStore}.
+   */
+  public static final String MULE_IN_MEMORY_OBJECT_STORE_CAFFEINE = SYSTEM_PROPERTY_PREFIX + "objectStore.inMemory.caffeine";
+
   @Override
   public ObjectStore<Serializable> createDefaultInMemoryObjectStore() {
+    if (getBoolean(MULE_IN_MEMORY_OBJECT_STORE_CAFFEINE)) {
+      return new CaffeineInMemoryObjectStore<>();
+    }
     return new PartitionedInMemoryObjectStore<>();
   }
 
@@ -27,6 +27,7 @@ import org.mule.runtime.api.store.ObjectStoreSettings;
 import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
 import org.mule.runtime.api.store.PartitionableObjectStore;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.store.CaffeineInMemoryObjectStore;
 
 import java.io.Serializable;
 import java.util.NoSuchElementException;
@@ -152,6 +153,12 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
 
   private <T extends ObjectStore<?>> T doCreateObjectStore(String name, ObjectStoreSettings settings) {
     final ObjectStore<? extends Serializable> baseStore = getBaseStore(settings);
+    if (baseStore instanceof CaffeineInMemoryObjectStore) {
+      // bounds are enforced by the store itself, so no monitor is needed
+      ((CaffeineInMemoryObjectStore) baseStore).configurePartition(name, settings.getEntryTTL().orElse((long) UNBOUNDED),
+                                                                   settings.getMaxEntries().orElse(UNBOUNDED));
+    }
+
     T store;
     try {
       store = getPartitionFromBaseObjectStore(baseStore, name);
@@ -159,7 +166,8 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
       throw new MuleRuntimeException(createStaticMessage("Found exception trying to create Object Store of name " + name), e);
     }
 
-    if (settings.getExpirationInterval() > 0 && (settings.getMaxEntries().isPresent() || settings.getEntryTTL().isPresent())) {
+    if (settings.getExpirationInterval() > 0 && (settings.getMaxEntries().isPresent() || settings.getEntryTTL().isPresent())
+        && !(baseStore instanceof CaffeineInMemoryObjectStore)) {
       store = getMonitorablePartition(name, baseStore, store, settings);
     }
 
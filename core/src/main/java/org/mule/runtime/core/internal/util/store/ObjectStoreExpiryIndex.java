@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Math.max;
+import static java.util.Comparator.comparingLong;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Keeps the keys of an object store ordered by the time they were stored, so that the entries to expire can be found without
+ * reading the whole store.
+ * <p>
+ * Keys are grouped in buckets spanning a fixed amount of time, and kept ordered by timestamp within each bucket. Finding the
+ * entries to expire only visits the oldest keys, up to the first one that is neither past its TTL nor over the max entries.
+ * <p>
+ * The buckets of a key are updated while computing its timestamp, so concurrent changes to the same key are applied one at a
+ * time and never leave it in a bucket other than the one of its current timestamp.
+ *
+ * @since 4.3.0
+ */
+final class ObjectStoreExpiryIndex {
+
+  private static final Comparator<IndexedKey> OLDEST_FIRST =
+      comparingLong((IndexedKey indexed) -> indexed.timestamp).thenComparing(indexed -> indexed.key);
+
+  private final long bucketWidth;
+  private final Map<String, Long> timestamps = new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+  /**
+   * @param bucketWidth the time in milliseconds spanned by each bucket
+   */
+  ObjectStoreExpiryIndex(long bucketWidth) {
+    this.bucketWidth = max(bucketWidth, 1);
+  }
+
+  /**
+   * Indexes the given {@code key}, replacing its previous timestamp if it was already indexed.
+   */
+  void add(String key, long timestamp) {
+    timestamps.compute(key, (k, previous) -> {
+      if (previous != null) {
+        removeFromBucket(key, previous);
+      }
+      addToBucket(key, timestamp);
+      return timestamp;
+    });
+  }
+
+  /**
+   * Indexes the given {@code key} unless it's already indexed.
+   */
+  void addIfAbsent(String key, long timestamp) {
+    timestamps.computeIfAbsent(key, k -> {
+      addToBucket(key, timestamp);
+      return timestamp;
+    });
+  }
+
+  void remove(String key) {
+    timestamps.computeIfPresent(key, (k, timestamp) -> {
+      removeFromBucket(key, timestamp);
+      return null;
+    });
+  }
+
+  void clear() {
+    timestamps.clear();
+    buckets.clear();
+  }
+
+  int size() {
+    return timestamps.size();
+  }
+
+  /**
+   * Finds the keys to expire, oldest first. The index is not modified, keys are expected to be removed once expired.
+   *
+   * @param now        the current time in milliseconds
+   * @param entryTtl   the time to live in milliseconds of the entries, or {@code null} if entries don't expire
+   * @param maxEntries the max number of entries to keep, or {@code null} if unbounded
+   * @param limit      the max number of keys to look at
+   * @return the keys to expire
+   */
+  List<String> findExpirable(long now, Long entryTtl, Integer maxEntries, int limit) {
+    final List<String> expirable = new ArrayList<>();
+    int excess = maxEntries != null ? size() - maxEntries : 0;
+    int visited = 0;
+
+    for (Bucket bucket : buckets.values()) {
+      // only copy the keys that may be looked at, the bucket is already ordered
+      final List<IndexedKey> keys = new ArrayList<>();
+      synchronized (bucket) {
+        Iterator<IndexedKey> iterator = bucket.keys.iterator();
+        while (iterator.hasNext() && visited + keys.size() < limit) {
+          keys.add(iterator.next());
+        }
+      }
+
+      for (IndexedKey indexed : keys) {
+        visited++;
+
+        Long timestamp = timestamps.get(indexed.key);
+        if (timestamp == null || timestamp != indexed.timestamp) {
+          // removed or stored again concurrently
+          continue;
+        }
+
+        if ((entryTtl != null && now - timestamp >= entryTtl) || excess > 0) {
+          expirable.add(indexed.key);
+          excess--;
+        } else {
+          // every key after this one is newer
+          return expirable;
+        }
+      }
+
+      if (visited >= limit) {
+        return expirable;
+      }
+    }
+
+    return expirable;
+  }
+
+  private void addToBucket(String key, long timestamp) {
+    final long index = timestamp / bucketWidth;
+    while (true) {
+      Bucket bucket = buckets.computeIfAbsent(index, i -> new Bucket());
+      synchronized (bucket) {
+        if (!bucket.discarded) {
+          bucket.keys.add(new IndexedKey(key, timestamp));
+          return;
+        }
+      }
+      // emptied and discarded concurrently
+      buckets.remove(index, bucket);
+    }
+  }
+
+  private void removeFromBucket(String key, long timestamp) {
+    final long index = timestamp / bucketWidth;
+    Bucket bucket = buckets.get(index);
+    if (bucket == null) {
+      return;
+    }
+
+    synchronized (bucket) {
+      bucket.keys.remove(new IndexedKey(key, timestamp));
+      if (bucket.keys.isEmpty()) {
+        bucket.discarded = true;
+        buckets.remove(index, bucket);
+      }
+    }
+  }
+
+  private static final class Bucket {
+
+    private final NavigableSet<IndexedKey> keys = new TreeSet<>(OLDEST_FIRST);
+    private boolean discarded = false;
+  }
+
+  private static final class IndexedKey {
+
+    private final String key;
+    private final long timestamp;
+
+    private IndexedKey(String key, long timestamp) {
+      this.key = key;
+      this.timestamp = timestamp;
+    }
+  }
+}
@@ -12,14 +12,18 @@ import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.TemplateObjectStore;
 import org.mule.runtime.api.store.PartitionableObjectStore;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
+import org.mule.runtime.core.internal.store.PartitionableAtomicObjectStore;
 
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 
-public class ObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T> implements Disposable {
+public class ObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
+    implements AtomicObjectStore<T>, Disposable {
 
   private static final Logger LOGGER = getLogger(ObjectStorePartition.class);
 
@@ -61,6 +65,35 @@ public class ObjectStorePartition<T extends Serializable> extends TemplateObject
     return partitionedObjectStore.remove(key, partitionName);
   }
 
+  @Override
+  public boolean supportsAtomicOperations() {
+    return partitionedObjectStore instanceof PartitionableAtomicObjectStore
+        && ((PartitionableAtomicObjectStore<T>) partitionedObjectStore).supportsAtomicOperations();
+  }
+
+  @Override
+  public T putIfAbsent(String key, T value) throws ObjectStoreException {
+    return getAtomicStore().putIfAbsent(key, value, partitionName);
+  }
+
+  @Override
+  public boolean replace(String key, T expectedValue, T newValue) throws ObjectStoreException {
+    return getAtomicStore().replace(key, expectedValue, newValue, partitionName);
+  }
+
+  @Override
+  public T compute(String key, BiFunction<String, T, T> remappingFunction) throws ObjectStoreException {
+    return getAtomicStore().compute(key, remappingFunction, partitionName);
+  }
+
+  private PartitionableAtomicObjectStore<T> getAtomicStore() {
+    if (!supportsAtomicOperations()) {
+      throw new UnsupportedOperationException("The base store of partition '" + partitionName
+          + "' doesn't support atomic operations");
+    }
+    return (PartitionableAtomicObjectStore<T>) partitionedObjectStore;
+  }
+
   @Override
   public boolean isPersistent() {
     return partitionedObjectStore.isPersistent();
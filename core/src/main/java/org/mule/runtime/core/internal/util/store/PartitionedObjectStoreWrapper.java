@@ -14,15 +14,18 @@ import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.TemplateObjectStore;
 import org.mule.runtime.api.util.Pair;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
 
 import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 
 import org.slf4j.Logger;
 
-public class PartitionedObjectStoreWrapper<T extends Serializable> extends TemplateObjectStore<T> implements Disposable {
+public class PartitionedObjectStoreWrapper<T extends Serializable> extends TemplateObjectStore<T>
+    implements AtomicObjectStore<T>, Disposable {
 
   private static final Logger LOGGER = getLogger(PartitionedObjectStoreWrapper.class);
 
@@ -84,6 +87,37 @@ public class PartitionedObjectStoreWrapper<T extends Serializable> extends Templ
     return getStore().remove(partitioned(key));
   }
 
+  @Override
+  public boolean supportsAtomicOperations() {
+    return getStore() instanceof AtomicObjectStore && ((AtomicObjectStore<T>) getStore()).supportsAtomicOperations();
+  }
+
+  @Override
+  public T putIfAbsent(String key, T value) throws ObjectStoreException {
+    validateKey(key);
+    return getAtomicStore().putIfAbsent(partitioned(key), value);
+  }
+
+  @Override
+  public boolean replace(String key, T expectedValue, T newValue) throws ObjectStoreException {
+    validateKey(key);
+    return getAtomicStore().replace(partitioned(key), expectedValue, newValue);
+  }
+
+  @Override
+  public T compute(String key, BiFunction<String, T, T> remappingFunction) throws ObjectStoreException {
+    validateKey(key);
+    return getAtomicStore().compute(partitioned(key), (k, value) -> remappingFunction.apply(key, value));
+  }
+
+  private AtomicObjectStore<T> getAtomicStore() {
+    if (!supportsAtomicOperations()) {
+      throw new UnsupportedOperationException("The base store of partition '" + partitionName
+          + "' doesn't support atomic operations");
+    }
+    return (AtomicObjectStore<T>) getStore();
+  }
+
   @Override
   public boolean isPersistent() {
     return getStore().isPersistent();
@@ -26,6 +26,7 @@ import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
 import org.mule.runtime.api.store.TemplateObjectStore;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
 import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
 
 import java.io.BufferedInputStream;
@@ -46,6 +47,8 @@ import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
 
 import org.apache.commons.collections.BidiMap;
 import org.apache.commons.collections.bidimap.TreeBidiMap;
@@ -53,7 +56,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PersistentObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
-    implements ExpirableObjectStore<T> {
+    implements ExpirableObjectStore<T>, AtomicObjectStore<T> {
 
   private static final String OBJECT_FILE_EXTENSION = ".obj";
   private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
@@ -209,6 +212,68 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     }
   }
 
+  @Override
+  public T putIfAbsent(String key, T value) throws ObjectStoreException {
+    validateKey(key);
+    assureLoaded();
+
+    synchronized (realKeyToUUIDIndex) {
+      if (realKeyToUUIDIndex.containsKey(key)) {
+        return load(key);
+      }
+      write(key, value);
+      return null;
+    }
+  }
+
+  @Override
+  public boolean replace(String key, T expectedValue, T newValue) throws ObjectStoreException {
+    validateKey(key);
+    assureLoaded();
+
+    synchronized (realKeyToUUIDIndex) {
+      if (!realKeyToUUIDIndex.containsKey(key) || !Objects.equals(load(key), expectedValue)) {
+        return false;
+      }
+      write(key, newValue);
+      return true;
+    }
+  }
+
+  @Override
+  public T compute(String key, BiFunction<String, T, T> remappingFunction) throws ObjectStoreException {
+    validateKey(key);
+    assureLoaded();
+
+    synchronized (realKeyToUUIDIndex) {
+      boolean exists = realKeyToUUIDIndex.containsKey(key);
+      T newValue = remappingFunction.apply(key, exists ? load(key) : null);
+      if (newValue != null) {
+        write(key, newValue);
+      } else if (exists) {
+        deleteStoreFile(getValueFile((String) realKeyToUUIDIndex.get(key)));
+      }
+      return newValue;
+    }
+  }
+
+  /**
+   * Stores the given {@code value} in a new file, and only then deletes the file with the previous value of the {@code key}, if
+   * any. The new file keeps the modification time of the previous one, since entries are expired by it. Must be called holding
+   * the lock of {@link #realKeyToUUIDIndex}.
+   */
+  private void write(String key, T value) throws ObjectStoreException {
+    String previousFilename = (String) realKeyToUUIDIndex.get(key);
+    File newFile = createFileToStoreObject();
+    serialize(newFile, new StoreValue<T>(key, value));
+    if (previousFilename != null) {
+      File previousFile = getValueFile(previousFilename);
+      newFile.setLastModified(previousFile.lastModified());
+      deleteStoreFile(previousFile);
+    }
+    realKeyToUUIDIndex.put(key, newFile.getName());
+  }
+
   @Override
   public boolean isPersistent() {
     return true;
@@ -8,8 +8,6 @@ package org.mule.runtime.core.privileged.processor;
 
 import static java.lang.String.format;
 import static java.lang.System.lineSeparator;
-import static java.util.Optional.empty;
-import static java.util.Optional.of;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.metadata.DataType.STRING;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_STORE_MANAGER;
@@ -19,8 +17,16 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNee
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
+import static org.mule.runtime.core.api.rx.Exceptions.checkedConsumer;
+import static org.mule.runtime.core.api.rx.Exceptions.rxExceptionToMuleException;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.compile;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.WITHIN_PROCESS_TO_APPLY;
 import static org.slf4j.LoggerFactory.getLogger;
+import static reactor.core.publisher.Mono.defer;
+import static reactor.core.publisher.Mono.error;
+import static reactor.core.publisher.Mono.fromFuture;
+import static reactor.core.publisher.Mono.just;
 
 import org.mule.api.annotation.NoExtend;
 import org.mule.runtime.api.el.CompiledExpression;
@@ -38,7 +44,9 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.execution.ExceptionContextProvider;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
 import org.mule.runtime.core.internal.util.MessagingExceptionResolver;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.exception.ErrorTypeLocator;
 import org.mule.runtime.core.privileged.exception.MessageRedeliveredException;
 
@@ -46,7 +54,9 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Supplier;
@@ -54,11 +64,22 @@ import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Implement a retry policy for Mule. This is similar to JMS retry policies that will redeliver a message a maximum number of
  * times. If this maximum is exceeded, fails with an exception.
+ * <p>
+ * Deliveries of the same message are processed one at a time, the next one starting once the previous one completes, without
+ * holding any lock or thread while the message is processed. The redelivery counters are updated with the atomic operations of
+ * the object store when it supports them, or else holding a lock just for the update, so that updates are atomic even when the
+ * object store is shared.
+ * <p>
+ * Since accessing the object store may block, this policy is {@link ProcessingType#BLOCKING} unless its object store is an in
+ * memory one that supports atomic operations.
  */
 @NoExtend
 public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
@@ -98,6 +119,8 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
   private ObjectStore<RedeliveryCounter> privateStore;
   private String idrId;
 
+  // the completion of the latest delivery of each message being processed
+  private final Map<String, CompletableFuture<Void>> deliveriesInFlight = new ConcurrentHashMap<>();
 
   /**
    * Holds information about the redelivery failures.
@@ -111,6 +134,17 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
     private final AtomicInteger counter = new AtomicInteger();
     private final List<Error> errors = new LinkedList<>();
 
+    public RedeliveryCounter() {}
+
+    private RedeliveryCounter(RedeliveryCounter previous, Error error) {
+      if (previous != null) {
+        counter.set(previous.counter.get());
+        errors.addAll(previous.errors);
+      }
+      counter.incrementAndGet();
+      errors.add(error);
+    }
+
   }
 
   @Override
@@ -199,9 +233,21 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
 
   @Override
   public CoreEvent process(CoreEvent event) throws MuleException {
-    Optional<Exception> exceptionSeen = empty();
+    try {
+      return processWithRedelivery(event).block();
+    } catch (Throwable e) {
+      throw rxExceptionToMuleException(e);
+    }
+  }
 
-    String messageId = null;
+  @Override
+  public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+    return Flux.from(publisher)
+        .flatMap(event -> processWithRedelivery(event).onErrorStop());
+  }
+
+  private Mono<CoreEvent> processWithRedelivery(CoreEvent event) {
+    final String messageId;
     try {
       messageId = getIdForEvent(event);
     } catch (ExpressionRuntimeException e) {
@@ -210,49 +256,68 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
       } else {
         LOGGER.warn(EXPRESSION_RUNTIME_EXCEPTION_WARN_MSG);
       }
-      return null;
-    } catch (Exception ex) {
-      exceptionSeen = of(ex);
+      return Mono.empty();
+    } catch (Exception e) {
+      return error(new MessageRedeliveredException(null, 0, maxRedeliveryCount, e));
     }
 
-    Lock lock = lockFactory.createLock(idrId + "-" + messageId);
-    lock.lock();
-    try {
+    return defer(() -> {
+      final CompletableFuture<Void> delivery = new CompletableFuture<>();
+      final CompletableFuture<Void> previousDelivery = deliveriesInFlight.put(messageId, delivery);
+
+      return (previousDelivery == null ? Mono.<Void>empty() : fromFuture(previousDelivery))
+          .then(defer(() -> processDelivery(event, messageId)))
+          .doFinally(signal -> {
+            deliveriesInFlight.remove(messageId, delivery);
+            delivery.complete(null);
+          });
+    });
+  }
 
-      RedeliveryCounter counter = findCounter(messageId);
-      if (exceptionSeen.isPresent()) {
-        throw new MessageRedeliveredException(messageId, counter.counter.get(), maxRedeliveryCount, exceptionSeen.get());
-      } else if (counter != null && counter.counter.get() > maxRedeliveryCount) {
-        throw new MessageRedeliveredException(messageId, counter.errors, counter.counter.get(), maxRedeliveryCount);
-      }
+  private Mono<CoreEvent> processDelivery(CoreEvent event, String messageId) {
+    final RedeliveryCounter counter;
+    try {
+      counter = findCounter(messageId);
+    } catch (ObjectStoreException e) {
+      return error(e);
+    }
 
-      try {
-        CoreEvent returnEvent = processNext(event);
-        counter = findCounter(messageId);
-        if (counter != null) {
-          resetCounter(messageId);
-        }
-        return returnEvent;
-      } catch (Exception ex) {
-        if (ex instanceof MessagingException) {
-          incrementCounter(messageId, (MessagingException) ex);
-          throw ex;
-        } else {
-          MessagingException me = createMessagingException(event, ex);
-          incrementCounter(messageId, me);
-          throw ex;
-        }
-      }
-    } finally {
-      lock.unlock();
+    if (counter != null && counter.counter.get() > maxRedeliveryCount) {
+      return error(new MessageRedeliveredException(messageId, counter.errors, counter.counter.get(), maxRedeliveryCount));
     }
+
+    return just(event)
+        .transform(applyNext())
+        // Ensure errors handled by MessageProcessorChains are returned
+        .switchIfEmpty(Mono.from(((BaseEventContext) event.getContext()).getResponsePublisher()))
+        .subscriberContext(ctx -> ctx.put(WITHIN_PROCESS_TO_APPLY, true))
+        .onErrorResume(e -> {
+          MessagingException me = e instanceof MessagingException
+              ? (MessagingException) e
+              : createMessagingException(event, e);
+          try {
+            incrementCounter(messageId, counter, me);
+          } catch (ObjectStoreException ose) {
+            ObjectStoreException updateFailure =
+                new ObjectStoreException(createStaticMessage("Could not update the redelivery counter of message '"
+                    + messageId + "' after it failed"), e);
+            updateFailure.addSuppressed(ose);
+            return error(updateFailure);
+          }
+          return error(e);
+        })
+        .doOnNext(checkedConsumer(result -> {
+          if (counter != null) {
+            resetCounter(messageId);
+          }
+        }));
   }
 
   @Override
   public ProcessingType getProcessingType() {
-    // This is because the execution of the flow happens with a lock taken, and if the thread is changed because of a non-blocking
-    // execution, the lock cannot be released (reentrant locks can only be released in the same thread that acquired it).
-    return BLOCKING;
+    // the counters are read and updated in the object store, under a lock unless the store supports atomic operations. The
+    // store is only known once initialised.
+    return isStoreAtomic() && !store.isPersistent() ? CPU_LITE : BLOCKING;
   }
 
   private MessagingException createMessagingException(CoreEvent event, Throwable cause) {
@@ -260,8 +325,20 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
   }
 
   private void resetCounter(String messageId) throws ObjectStoreException {
-    store.remove(messageId);
-    store.store(messageId, new RedeliveryCounter());
+    if (isStoreAtomic()) {
+      ((AtomicObjectStore<RedeliveryCounter>) store).compute(messageId, (id, counter) -> null);
+      return;
+    }
+
+    Lock lock = lockFactory.createLock(idrId + "-" + messageId);
+    lock.lock();
+    try {
+      if (store.contains(messageId)) {
+        store.remove(messageId);
+      }
+    } finally {
+      lock.unlock();
+    }
   }
 
   public RedeliveryCounter findCounter(String messageId) throws ObjectStoreException {
@@ -272,17 +349,55 @@ public class IdempotentRedeliveryPolicy extends AbstractRedeliveryPolicy {
     return null;
   }
 
-  private RedeliveryCounter incrementCounter(String messageId, MessagingException ex) throws ObjectStoreException {
-    RedeliveryCounter counter = findCounter(messageId);
-    if (counter == null) {
-      counter = new RedeliveryCounter();
-    } else {
-      store.remove(messageId);
+  private RedeliveryCounter incrementCounter(String messageId, RedeliveryCounter expected, MessagingException ex)
+      throws ObjectStoreException {
+    final Error error = ex.getEvent().getError().get();
+    if (isStoreAtomic()) {
+      return ((AtomicObjectStore<RedeliveryCounter>) store)
+          .compute(messageId, (id, current) -> new RedeliveryCounter(current, error));
+    }
+
+    RedeliveryCounter counter = expected;
+    RedeliveryCounter incremented = new RedeliveryCounter(counter, error);
+    while (!compareAndSetCounter(messageId, counter, incremented)) {
+      // updated by another node sharing the store
+      counter = findCounter(messageId);
+      incremented = new RedeliveryCounter(counter, error);
     }
-    counter.counter.incrementAndGet();
-    counter.errors.add(ex.getEvent().getError().get());
-    store.store(messageId, counter);
-    return counter;
+    return incremented;
+  }
+
+  /**
+   * Replaces the counter of the given message with {@code update}, as long as its current value is the one of {@code expected}.
+   *
+   * @return whether the counter was replaced
+   */
+  private boolean compareAndSetCounter(String messageId, RedeliveryCounter expected, RedeliveryCounter update)
+      throws ObjectStoreException {
+    Lock lock = lockFactory.createLock(idrId + "-" + messageId);
+    lock.lock();
+    try {
+      RedeliveryCounter current = findCounter(messageId);
+      if (countOf(current) != countOf(expected)) {
+        return false;
+      }
+
+      if (current != null) {
+        store.remove(messageId);
+      }
+      store.store(messageId, update);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean isStoreAtomic() {
+    return store instanceof AtomicObjectStore && ((AtomicObjectStore<RedeliveryCounter>) store).supportsAtomicOperations();
+  }
+
+  private static int countOf(RedeliveryCounter counter) {
+    return counter != null ? counter.counter.get() : 0;
   }
 
   private String getIdForEvent(CoreEvent event) {
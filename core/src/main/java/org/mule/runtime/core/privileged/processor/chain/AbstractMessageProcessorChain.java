@@ -60,6 +60,8 @@ import org.mule.runtime.core.internal.context.DefaultMuleContext;
 import org.mule.runtime.core.internal.context.thread.notification.ThreadNotificationLogger;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.interception.InterceptorManager;
+import org.mule.runtime.core.internal.management.profiling.ProcessorProfiler;
+import org.mule.runtime.core.internal.management.stats.ProcessorStatisticsRecorder;
 import org.mule.runtime.core.internal.processor.chain.InterceptedReactiveProcessor;
 import org.mule.runtime.core.internal.processor.interceptor.ReactiveAroundInterceptorAdapter;
 import org.mule.runtime.core.internal.processor.interceptor.ReactiveInterceptorAdapter;
@@ -152,6 +154,8 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   private ThreadNotificationService threadNotificationService;
   private ThreadNotificationLogger threadNotificationLogger;
 
+  private ProcessorProfiler processorProfiler;
+
   AbstractMessageProcessorChain(String name,
                                 Optional<ProcessingStrategy> processingStrategyOptional,
                                 List<Processor> processors, FlowExceptionHandler messagingExceptionHandler) {
@@ -197,16 +201,17 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptors = resolveInterceptors();
     Flux<CoreEvent> stream = from(publisher);
     for (Processor processor : getProcessorsToExecute()) {
+      final ProcessorStatisticsRecorder statisticsRecorder = resolveStatisticsRecorder(processor);
       // Perform assembly for processor chain by transforming the existing publisher with a publisher function for each processor
       // along with the interceptors that decorate it.
-      stream = stream.transform(applyInterceptors(interceptors, processor))
+      stream = stream.transform(recordProcessingTime(applyInterceptors(interceptors, processor), statisticsRecorder))
           // #1 Register local error hook to wrap exceptions in a MessagingException maintaining failed event.
           .subscriberContext(context -> context.put(REACTOR_ON_OPERATOR_ERROR_LOCAL,
                                                     getLocalOperatorErrorHook(processor, errorTypeLocator,
                                                                               exceptionContextProviders)))
           // #2 Register continue error strategy to handle errors without stopping the stream.
           .onErrorContinue(exception -> !(exception instanceof LifecycleException),
-                           getContinueStrategyErrorHandler(processor, errorBubbler));
+                           getContinueStrategyErrorHandler(processor, statisticsRecorder, errorBubbler));
     }
 
     stream = stream.subscriberContext(ctx -> {
@@ -229,6 +234,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
    * current EventContext error callback.
    */
   private BiConsumer<Throwable, Object> getContinueStrategyErrorHandler(Processor processor,
+                                                                        ProcessorStatisticsRecorder statisticsRecorder,
                                                                         BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
     final MessagingExceptionResolver exceptionResolver =
         (processor instanceof Component) ? new MessagingExceptionResolver((Component) processor) : null;
@@ -244,7 +250,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
       }
 
       if (object != null && !(object instanceof CoreEvent) && throwable instanceof MessagingException) {
-        notifyError(processor,
+        notifyError(processor, statisticsRecorder,
                     (BaseEventContext) ((MessagingException) throwable).getEvent().getContext(),
                     messagingExceptionMapper.apply((MessagingException) throwable),
                     errorBubbler);
@@ -252,14 +258,14 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
         CoreEvent event = (CoreEvent) object;
         if (throwable instanceof MessagingException) {
           // Give priority to failed event from reactor over MessagingException event.
-          notifyError(processor,
+          notifyError(processor, statisticsRecorder,
                       (BaseEventContext) (event != null
                           ? event.getContext()
                           : ((MessagingException) throwable).getEvent().getContext()),
                       messagingExceptionMapper.apply((MessagingException) throwable),
                       errorBubbler);
         } else {
-          notifyError(processor,
+          notifyError(processor, statisticsRecorder,
                       ((BaseEventContext) event.getContext()),
                       resolveException(processor, event, throwable, errorTypeLocator, exceptionContextProviders,
                                        exceptionResolver),
@@ -269,13 +275,43 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     };
   }
 
-  private void notifyError(Processor processor, BaseEventContext context, final MessagingException resolvedException,
+  private void notifyError(Processor processor, ProcessorStatisticsRecorder statisticsRecorder, BaseEventContext context,
+                           final MessagingException resolvedException,
                            BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
+    if (statisticsRecorder != null) {
+      statisticsRecorder.stop(context);
+    }
+    if (processorProfiler != null) {
+      processorProfiler.discard(processor, context);
+    }
     errorNotification(processor)
         .andThen(t -> errorBubbler.accept(context, t))
         .accept(resolvedException);
   }
 
+  /**
+   * @return the recorder of the processing time of the given {@code processor}, or {@code null} if it has no location
+   */
+  private ProcessorStatisticsRecorder resolveStatisticsRecorder(Processor processor) {
+    if (!(processor instanceof Component) || ((Component) processor).getLocation() == null
+        || ((Component) processor).getLocation().getLocation() == null
+        || muleContext == null || muleContext.getStatistics() == null) {
+      return null;
+    }
+    return new ProcessorStatisticsRecorder(muleContext.getStatistics()
+        .getProcessorStatistics(((Component) processor).getLocation().getLocation()));
+  }
+
+  private ReactiveProcessor recordProcessingTime(ReactiveProcessor processor, ProcessorStatisticsRecorder statisticsRecorder) {
+    if (statisticsRecorder == null) {
+      return processor;
+    }
+    return stream -> from(stream)
+        .doOnNext(statisticsRecorder::start)
+        .transform(processor)
+        .doOnNext(result -> statisticsRecorder.stop(result.getContext()));
+  }
+
   private ReactiveProcessor applyInterceptors(List<BiFunction<Processor, ReactiveProcessor, ReactiveProcessor>> interceptorsToBeExecuted,
                                               Processor processor) {
     ReactiveProcessor interceptorWrapperProcessorFunction = processor;
@@ -305,6 +341,11 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
             // #1 Set back previous TCCL.
             .andThen(doOnNextOrErrorWithContext(TCCL_ORIGINAL_REACTOR_CTX_CONSUMER))));
 
+    // Profile processor execution, on processor execution thread.
+    if (processorProfiler != null) {
+      interceptors.add(processorProfiler.executionInterceptor());
+    }
+
     // Apply processing strategy. This is done here to ensure notifications and interceptors do not execute on async processor
     // threads which may be limited to avoid deadlocks.
     if (processingStrategy != null) {
@@ -321,6 +362,11 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
       }
     }
 
+    // Profile dispatch to the processing strategy, on flow thread.
+    if (processorProfiler != null) {
+      interceptors.add(processorProfiler.dispatchInterceptor());
+    }
+
     // Apply processor interceptors around processor and other core logic
     interceptors.addAll(additionalInterceptors);
 
@@ -489,6 +535,11 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     setMuleContextIfNeeded(getMessageProcessorsForLifecycle(), muleContext);
   }
 
+  @Inject
+  public void setProcessorProfiler(Optional<ProcessorProfiler> processorProfiler) {
+    this.processorProfiler = processorProfiler.orElse(null);
+  }
+
   @Override
   public void initialise() throws InitialisationException {
     processorInterceptorManager.getInterceptorFactories().stream().forEach(interceptorFactory -> {
@@ -69,8 +69,8 @@ public final class ChainErrorHandlingUtils {
     }
 
     if (processor instanceof Component) {
-      return exceptionResolver.resolve(new MessagingException(event, throwable, (Component) processor), locator,
-                                       exceptionContextProviders);
+      return exceptionResolver.resolve(exceptionResolver.newMessagingException(event, throwable, (Component) processor),
+                                       locator, exceptionContextProviders);
     } else {
       return new MessagingException(event, throwable);
     }
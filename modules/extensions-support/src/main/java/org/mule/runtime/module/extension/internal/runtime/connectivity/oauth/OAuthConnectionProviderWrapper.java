@@ -9,6 +9,8 @@ package org.mule.runtime.module.extension.internal.runtime.connectivity.oauth;
 import org.mule.runtime.core.internal.connection.ConnectionProviderWrapper;
 import org.mule.runtime.extension.api.connectivity.oauth.OAuthGrantType;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Base contract for a {@link ConnectionProviderWrapper} that is OAuth enabled
  *
@@ -34,6 +36,25 @@ public interface OAuthConnectionProviderWrapper<C> extends ConnectionProviderWra
    */
   void refreshToken(String resourceOwnerId);
 
+  /**
+   * Executes a refresh token for the given {@code resourceOwnerId} without blocking the calling thread.
+   * <p>
+   * This default implementation performs a blocking {@link #refreshToken(String)}.
+   *
+   * @param resourceOwnerId a resource owner Id
+   * @return a future that completes once the token has been refreshed
+   */
+  default CompletableFuture<Void> refreshTokenAsync(String resourceOwnerId) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    try {
+      refreshToken(resourceOwnerId);
+      future.complete(null);
+    } catch (Throwable t) {
+      future.completeExceptionally(t);
+    }
+    return future;
+  }
+
   /**
    * Invalidates the context of the given {@code resourceOwnerId}
    *
@@ -19,6 +19,7 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
 import org.mule.runtime.api.lock.LockFactory;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreManager;
 import org.mule.runtime.api.util.LazyValue;
@@ -69,8 +70,11 @@ public abstract class OAuthHandler<Dancer> implements Lifecycle {
 
 
   protected final Map<String, Dancer> dancers = new ConcurrentHashMap<>();
+  protected final OAuthTokenRefresher tokenRefresher = new OAuthTokenRefresher();
   protected boolean started = false;
 
+  private Scheduler tokenRefreshScheduler;
+
   protected Map<String, String> getParameterExtractors(OAuthConfig config) {
     return getParameterExtractors(config.getParameterExtractors());
   }
@@ -91,6 +95,10 @@ public abstract class OAuthHandler<Dancer> implements Lifecycle {
     for (Dancer dancer : dancers.values()) {
       start(dancer);
     }
+
+    tokenRefreshScheduler = muleContext.getSchedulerService()
+        .cpuLightScheduler(muleContext.getSchedulerBaseConfig().withName(getClass().getSimpleName() + ".tokenRefresh"));
+    tokenRefresher.start(tokenRefreshScheduler);
     started = true;
   }
 
@@ -101,6 +109,12 @@ public abstract class OAuthHandler<Dancer> implements Lifecycle {
 
   @Override
   public void stop() throws MuleException {
+    tokenRefresher.stop();
+    if (tokenRefreshScheduler != null) {
+      tokenRefreshScheduler.stop();
+      tokenRefreshScheduler = null;
+    }
+
     dancers.forEach((key, dancer) -> {
       try {
         disable(key, dancer);
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.connectivity.oauth;
+
+import static java.lang.Long.getLong;
+import static java.lang.Long.parseLong;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.util.Reference;
+import org.mule.runtime.oauth.api.state.ResourceOwnerOAuthContext;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Coordinates the refreshes of the access tokens handled by an {@link OAuthHandler}.
+ * <p>
+ * Concurrent refreshes of the same token are collapsed into a single call to the token endpoint, and every caller gets a future
+ * that completes when that call does. Once a token is known to expire, a refresh is scheduled ahead of its expiration so that
+ * operations rarely find an expired token. The expiration is relative to when the token was obtained, which is only known for the
+ * tokens obtained through {@link #refresh(String, Supplier, Supplier)} or reported through
+ * {@link #obtained(String, ResourceOwnerOAuthContext)}. Any other token, such as one restored from the store, may be about to
+ * expire, so it's refreshed as soon as it's scheduled.
+ * <p>
+ * Tokens are identified by a key which must be unique per config and resource owner.
+ *
+ * @since 4.3.0
+ */
+public class OAuthTokenRefresher {
+
+  /**
+   * How long in milliseconds before a token expires it is refreshed. Defaults to one minute. A negative value disables
+   * proactive refreshes.
+   */
+  public static final String MULE_OAUTH_REFRESH_MARGIN = SYSTEM_PROPERTY_PREFIX + "oauth.proactiveRefreshMargin";
+
+  private static final Logger LOGGER = getLogger(OAuthTokenRefresher.class);
+
+  private final long refreshMargin;
+  private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+  private final Map<String, ScheduledFuture<?>> scheduled = new ConcurrentHashMap<>();
+  private final Map<String, TokenRefreshTime> refreshTimes = new ConcurrentHashMap<>();
+
+  private volatile ScheduledExecutorService scheduler;
+
+  public OAuthTokenRefresher() {
+    this(getLong(MULE_OAUTH_REFRESH_MARGIN, 60000L));
+  }
+
+  public OAuthTokenRefresher(long refreshMargin) {
+    this.refreshMargin = refreshMargin;
+  }
+
+  /**
+   * Enables proactive refreshes, which will run on the given {@code scheduler}
+   *
+   * @param scheduler the scheduler for the proactive refreshes
+   */
+  public void start(ScheduledExecutorService scheduler) {
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Cancels the pending proactive refreshes. Refreshes already in flight are not interrupted.
+   */
+  public void stop() {
+    scheduler = null;
+    scheduled.values().forEach(task -> task.cancel(false));
+    scheduled.clear();
+  }
+
+  /**
+   * Refreshes the token identified by the given {@code key}, or joins the refresh of that token if there's one in flight.
+   * <p>
+   * After a successful refresh, the next proactive refresh is scheduled based on the context returned by
+   * {@code contextSupplier}.
+   *
+   * @param key             the key of the token
+   * @param refresher       starts the actual refresh
+   * @param contextSupplier provides the context of the token once refreshed
+   * @return a future that completes once the token has been refreshed
+   */
+  public CompletableFuture<Void> refresh(String key, Supplier<CompletableFuture<Void>> refresher,
+                                         Supplier<ResourceOwnerOAuthContext> contextSupplier) {
+    final CompletableFuture<Void> pending = new CompletableFuture<>();
+    final CompletableFuture<Void> existing = inFlight.putIfAbsent(key, pending);
+    if (existing != null) {
+      return existing;
+    }
+
+    CompletableFuture<Void> refresh;
+    try {
+      refresh = refresher.get();
+    } catch (Throwable t) {
+      refresh = new CompletableFuture<>();
+      refresh.completeExceptionally(t);
+    }
+
+    refresh.whenComplete((v, t) -> {
+      // removed before completing, so that anyone reacting to the completion with another refresh triggers a new call
+      inFlight.remove(key, pending);
+
+      if (t == null) {
+        try {
+          final ResourceOwnerOAuthContext context = contextSupplier.get();
+          obtained(key, context);
+          schedule(key, context, refresher, contextSupplier);
+        } catch (Exception e) {
+          LOGGER.warn("Could not schedule the next refresh of token " + key, e);
+        }
+        pending.complete(null);
+      } else {
+        pending.completeExceptionally(t);
+      }
+    });
+
+    return pending;
+  }
+
+  /**
+   * Records that the token of the given {@code context} has just been obtained, so that its proactive refresh is scheduled
+   * relative to now.
+   *
+   * @param key     the key of the token
+   * @param context the context of the token just obtained
+   */
+  public void obtained(String key, ResourceOwnerOAuthContext context) {
+    final long delay = context != null && context.getAccessToken() != null ? refreshDelay(context.getExpiresIn()) : -1;
+    if (delay < 0) {
+      refreshTimes.remove(key);
+    } else {
+      refreshTimes.put(key, new TokenRefreshTime(context.getAccessToken(), nanoTime() + MILLISECONDS.toNanos(delay)));
+    }
+  }
+
+  /**
+   * Schedules a proactive refresh of the token identified by the given {@code key}, unless there's one already scheduled.
+   *
+   * @param key             the key of the token
+   * @param context         the current context of the token
+   * @param refresher       starts the actual refresh
+   * @param contextSupplier provides the context of the token once refreshed
+   */
+  public void scheduleIfAbsent(String key, ResourceOwnerOAuthContext context, Supplier<CompletableFuture<Void>> refresher,
+                               Supplier<ResourceOwnerOAuthContext> contextSupplier) {
+    if (!scheduled.containsKey(key)) {
+      schedule(key, context, refresher, contextSupplier);
+    }
+  }
+
+  /**
+   * Cancels the proactive refresh of the token identified by the given {@code key}, if any.
+   *
+   * @param key the key of the token
+   */
+  public void cancel(String key) {
+    refreshTimes.remove(key);
+    ScheduledFuture<?> task = scheduled.remove(key);
+    if (task != null) {
+      task.cancel(false);
+    }
+  }
+
+  private void schedule(String key, ResourceOwnerOAuthContext context, Supplier<CompletableFuture<Void>> refresher,
+                        Supplier<ResourceOwnerOAuthContext> contextSupplier) {
+    final ScheduledExecutorService currentScheduler = scheduler;
+    final long delay = context != null ? refreshDelay(key, context) : -1;
+    if (currentScheduler == null || delay < 0) {
+      cancel(key);
+      return;
+    }
+
+    final Reference<ScheduledFuture<?>> task = new Reference<>();
+    scheduled.compute(key, (k, previous) -> {
+      if (previous != null) {
+        previous.cancel(false);
+      }
+
+      try {
+        task.set(currentScheduler.schedule(() -> {
+          LOGGER.debug("Refreshing token {} ahead of its expiration", k);
+          refresh(k, refresher, contextSupplier).whenComplete((v, t) -> {
+            if (t != null) {
+              // a successful refresh replaces this task with the next one, a failed one leaves it to be scheduled again
+              scheduled.remove(k, task.get());
+              // operations will still refresh the token once they find it expired
+              LOGGER.warn("Could not refresh token " + k + " ahead of its expiration", t);
+            }
+          });
+        }, delay, MILLISECONDS));
+        return task.get();
+      } catch (RejectedExecutionException e) {
+        // the scheduler is being stopped
+        return null;
+      }
+    });
+  }
+
+  /**
+   * @param key     the key of the token
+   * @param context the current context of the token
+   * @return how long to wait in milliseconds before refreshing the token, or {@code -1} if it should not be refreshed ahead
+   */
+  long refreshDelay(String key, ResourceOwnerOAuthContext context) {
+    if (refreshDelay(context.getExpiresIn()) < 0) {
+      return -1;
+    }
+
+    final TokenRefreshTime refreshTime = refreshTimes.get(key);
+    if (refreshTime == null || !refreshTime.accessToken.equals(context.getAccessToken())) {
+      // it's not known when the token was obtained, so it may be about to expire
+      return 0;
+    }
+    return max(0, NANOSECONDS.toMillis(refreshTime.refreshAt - nanoTime()));
+  }
+
+  /**
+   * @param expiresIn the lifetime of a token in seconds, as returned by the token endpoint
+   * @return how long to wait in milliseconds before refreshing the token, or {@code -1} if it should not be refreshed ahead
+   */
+  long refreshDelay(String expiresIn) {
+    if (refreshMargin < 0 || expiresIn == null) {
+      return -1;
+    }
+
+    final long lifetime;
+    try {
+      lifetime = MILLISECONDS.convert(parseLong(expiresIn.trim()), SECONDS);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+
+    if (lifetime <= 0) {
+      return -1;
+    }
+
+    // short lived tokens are refreshed halfway through their lifetime rather than right after being obtained
+    return lifetime > 2 * refreshMargin ? lifetime - refreshMargin : lifetime / 2;
+  }
+
+  private static final class TokenRefreshTime {
+
+    private final String accessToken;
+    private final long refreshAt;
+
+    private TokenRefreshTime(String accessToken, long refreshAt) {
+      this.accessToken = accessToken;
+      this.refreshAt = refreshAt;
+    }
+  }
+}
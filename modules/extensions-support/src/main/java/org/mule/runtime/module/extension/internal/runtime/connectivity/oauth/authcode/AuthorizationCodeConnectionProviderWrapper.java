@@ -27,6 +27,7 @@ import org.mule.runtime.oauth.api.state.ResourceOwnerOAuthContext;
 
 import java.lang.reflect.Field;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A {@link ReconnectableConnectionProviderWrapper} which makes sure that by the time the
@@ -82,6 +83,11 @@ public class AuthorizationCodeConnectionProviderWrapper<C> extends BaseOAuthConn
     oauthHandler.refreshToken(oauthConfig.getOwnerConfigName(), resourceOwnerId);
   }
 
+  @Override
+  public CompletableFuture<Void> refreshTokenAsync(String resourceOwnerId) {
+    return oauthHandler.refreshTokenAsync(oauthConfig.getOwnerConfigName(), resourceOwnerId);
+  }
+
   @Override
   public void invalidate(String resourceOwnerId) {
     oauthHandler.invalidate(oauthConfig.getOwnerConfigName(), resourceOwnerId);
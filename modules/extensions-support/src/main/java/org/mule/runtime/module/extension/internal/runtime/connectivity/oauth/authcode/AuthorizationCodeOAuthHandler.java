@@ -53,6 +53,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -98,10 +99,8 @@ public class AuthorizationCodeOAuthHandler extends OAuthHandler<AuthorizationCod
    * @param resourceOwnerId the id of the user to be invalidated
    */
   public void refreshToken(String ownerConfigName, String resourceOwnerId) {
-    AuthorizationCodeOAuthDancer dancer = dancers.get(ownerConfigName);
-
     try {
-      dancer.refreshToken(resourceOwnerId).get();
+      refreshTokenAsync(ownerConfigName, resourceOwnerId).get();
     } catch (Exception e) {
       throw new MuleRuntimeException(
                                      createStaticMessage(format("Could not refresh token for resourceOwnerId '%s' using config '%s'",
@@ -110,6 +109,20 @@ public class AuthorizationCodeOAuthHandler extends OAuthHandler<AuthorizationCod
     }
   }
 
+  /**
+   * Performs the refresh token flow without blocking. If a refresh for the same resource owner is already in flight, no new
+   * one is started and the returned future completes along with it.
+   *
+   * @param ownerConfigName the name of the extension config which obtained the token
+   * @param resourceOwnerId the id of the user whose token is refreshed
+   * @return a future that completes once the token has been refreshed
+   */
+  public CompletableFuture<Void> refreshTokenAsync(String ownerConfigName, String resourceOwnerId) {
+    AuthorizationCodeOAuthDancer dancer = dancers.get(ownerConfigName);
+    return tokenRefresher.refresh(tokenKey(ownerConfigName, resourceOwnerId), () -> dancer.refreshToken(resourceOwnerId),
+                                  () -> dancer.getContextForResourceOwner(resourceOwnerId));
+  }
+
   /**
    * @param config an {@link OAuthConfig}
    * @return the {@link ResourceOwnerOAuthContext} for the given {@code config} or {@link Optional#empty()}
@@ -128,6 +141,14 @@ public class AuthorizationCodeOAuthHandler extends OAuthHandler<AuthorizationCod
       return empty();
     }
 
+    // without a refresh token, a new authorization dance is required once the token expires
+    if (contextForResourceOwner.getRefreshToken() != null) {
+      final String resourceOwnerId = config.getResourceOwnerId();
+      tokenRefresher.scheduleIfAbsent(tokenKey(config.getOwnerConfigName(), resourceOwnerId), contextForResourceOwner,
+                                      () -> dancer.refreshToken(resourceOwnerId),
+                                      () -> dancer.getContextForResourceOwner(resourceOwnerId));
+    }
+
     return of(contextForResourceOwner);
   }
 
@@ -143,9 +164,38 @@ public class AuthorizationCodeOAuthHandler extends OAuthHandler<AuthorizationCod
       return;
     }
 
+    tokenRefresher.cancel(tokenKey(ownerConfigName, resourceOwnerId));
     dancer.invalidateContext(resourceOwnerId);
   }
 
+  /**
+   * @return a listener that reports the tokens obtained by the dancer to the {@link #tokenRefresher}, so that their proactive
+   *         refreshes are scheduled relative to when they were obtained
+   */
+  private AuthorizationCodeListener tokenRefresherListener(String ownerConfigName) {
+    return new AuthorizationCodeListener() {
+
+      @Override
+      public void onAuthorizationCompleted(ResourceOwnerOAuthContext context) {
+        tokenRefresher.obtained(tokenKey(ownerConfigName, context.getResourceOwnerId()), context);
+      }
+
+      @Override
+      public void onTokenRefreshed(ResourceOwnerOAuthContext context) {
+        tokenRefresher.obtained(tokenKey(ownerConfigName, context.getResourceOwnerId()), context);
+      }
+
+      @Override
+      public void onTokenInvalidated() {
+        // invalidated tokens are cancelled through invalidate
+      }
+    };
+  }
+
+  private String tokenKey(String ownerConfigName, String resourceOwnerId) {
+    return resourceOwnerId + "-" + ownerConfigName;
+  }
+
   private AuthorizationCodeOAuthDancer createDancer(AuthorizationCodeConfig config, List<AuthorizationCodeListener> listeners)
       throws MuleException {
     checkArgument(listeners != null, "listeners cannot be null");
@@ -202,6 +252,7 @@ public class AuthorizationCodeOAuthHandler extends OAuthHandler<AuthorizationCod
     listenerFlows.getSecond().ifPresent(flow -> dancerBuilder.afterDanceCallback(afterCallback(config, flow)));
 
     listeners.forEach(dancerBuilder::addListener);
+    dancerBuilder.addListener(tokenRefresherListener(config.getOwnerConfigName()));
 
     AuthorizationCodeOAuthDancer dancer = dancerBuilder.build();
 
@@ -26,6 +26,7 @@ import org.mule.runtime.oauth.api.state.ResourceOwnerOAuthContext;
 
 import java.lang.reflect.Field;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A {@link ReconnectableConnectionProviderWrapper} which makes sure that by the time the
@@ -68,6 +69,11 @@ public class ClientCredentialsConnectionProviderWrapper<C> extends BaseOAuthConn
     oauthHandler.refreshToken(oauthConfig);
   }
 
+  @Override
+  public CompletableFuture<Void> refreshTokenAsync(String resourceOwnerId) {
+    return oauthHandler.refreshTokenAsync(oauthConfig);
+  }
+
   @Override
   public void invalidate(String resourceOwnerId) {
     oauthHandler.invalidate(oauthConfig);
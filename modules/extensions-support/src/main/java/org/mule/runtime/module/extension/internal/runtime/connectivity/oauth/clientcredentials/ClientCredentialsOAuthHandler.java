@@ -26,6 +26,7 @@ import org.mule.runtime.oauth.api.builder.OAuthClientCredentialsDancerBuilder;
 import org.mule.runtime.oauth.api.state.ResourceOwnerOAuthContext;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * {@link OAuthHandler} implementation for the client credentials grant type
@@ -56,10 +57,8 @@ public class ClientCredentialsOAuthHandler extends OAuthHandler<ClientCredential
    * @param config a registered {@link ClientCredentialsConfig}
    */
   public void refreshToken(ClientCredentialsConfig config) {
-    ClientCredentialsOAuthDancer dancer = dancers.get(config.getOwnerConfigName());
-
     try {
-      dancer.refreshToken().get();
+      refreshTokenAsync(config).get();
     } catch (Exception e) {
       throw new MuleRuntimeException(
                                      createStaticMessage(format("Could not refresh token for config '%s'",
@@ -68,6 +67,18 @@ public class ClientCredentialsOAuthHandler extends OAuthHandler<ClientCredential
     }
   }
 
+  /**
+   * Performs the refresh token flow without blocking. If a refresh for the given {@code config} is already in flight, no new
+   * one is started and the returned future completes along with it.
+   *
+   * @param config a registered {@link ClientCredentialsConfig}
+   * @return a future that completes once the token has been refreshed
+   */
+  public CompletableFuture<Void> refreshTokenAsync(ClientCredentialsConfig config) {
+    ClientCredentialsOAuthDancer dancer = dancers.get(config.getOwnerConfigName());
+    return tokenRefresher.refresh(config.getOwnerConfigName(), dancer::refreshToken, dancer::getContext);
+  }
+
   /**
    * Retrieves the {@link ResourceOwnerOAuthContext} for the given {@code config}. If no such context yet exists,
    * then it performs the OAuth authorization and returns the resulting context.
@@ -89,6 +100,7 @@ public class ClientCredentialsOAuthHandler extends OAuthHandler<ClientCredential
       try {
         dancer.accessToken().get();
         contextForResourceOwner = dancer.getContext();
+        tokenRefresher.obtained(config.getOwnerConfigName(), contextForResourceOwner);
       } catch (Exception e) {
         throw new MuleRuntimeException(
                                        createStaticMessage(format("Could not obtain access token for config '%s'",
@@ -97,6 +109,8 @@ public class ClientCredentialsOAuthHandler extends OAuthHandler<ClientCredential
       }
     }
 
+    tokenRefresher.scheduleIfAbsent(config.getOwnerConfigName(), contextForResourceOwner, dancer::refreshToken,
+                                    dancer::getContext);
     return contextForResourceOwner;
   }
 
@@ -111,6 +125,7 @@ public class ClientCredentialsOAuthHandler extends OAuthHandler<ClientCredential
       return;
     }
 
+    tokenRefresher.cancel(config.getOwnerConfigName());
     dancer.invalidateContext();
   }
 
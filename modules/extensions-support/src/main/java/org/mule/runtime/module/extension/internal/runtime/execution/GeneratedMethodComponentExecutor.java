@@ -31,6 +31,7 @@ import org.mule.runtime.module.extension.internal.runtime.execution.executor.Met
 import org.mule.runtime.module.extension.internal.runtime.resolver.ArgumentResolver;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -72,6 +73,8 @@ public class GeneratedMethodComponentExecutor<M extends ComponentModel>
   private final Method method;
   private final Object componentInstance;
   private final ClassLoader extensionClassLoader;
+  private final Class<?>[] parameterTypes;
+  private final String[] parameterNames;
 
   @Inject
   private MethodExecutorGenerator methodExecutorGenerator;
@@ -85,6 +88,14 @@ public class GeneratedMethodComponentExecutor<M extends ComponentModel>
     this.method = method;
     this.componentInstance = componentInstance;
     extensionClassLoader = method.getDeclaringClass().getClassLoader();
+
+    // Method returns a copy of these on each invocation, so they are kept to avoid doing that for each execution
+    parameterTypes = method.getParameterTypes();
+    final Parameter[] parameters = method.getParameters();
+    parameterNames = new String[parameters.length];
+    for (int i = 0; i < parameters.length; ++i) {
+      parameterNames[i] = parameters[i].getName();
+    }
   }
 
   public Object execute(ExecutionContext<M> executionContext) {
@@ -106,7 +117,7 @@ public class GeneratedMethodComponentExecutor<M extends ComponentModel>
     initialiseIfNeeded(componentInstance, true, muleContext);
 
     argumentResolverDelegate =
-        isEmpty(method.getParameterTypes()) ? NO_ARGS_DELEGATE : getMethodArgumentResolver(groups, method);
+        isEmpty(parameterTypes) ? NO_ARGS_DELEGATE : getMethodArgumentResolver(groups, method);
 
     try {
       methodExecutor = methodExecutorGenerator.generate(componentInstance, method, argumentResolverDelegate);
@@ -151,12 +162,11 @@ public class GeneratedMethodComponentExecutor<M extends ComponentModel>
   @Override
   public Function<ExecutionContext<M>, Map<String, Object>> createArgumentResolver(M operationModel) {
     return ec -> withContextClassLoader(extensionClassLoader, () -> {
-      final Object[] resolved = getParameterValues(ec, method.getParameterTypes());
+      final Object[] resolved = getParameterValues(ec, parameterTypes);
 
-      int parameterCount = method.getParameterCount();
-      final Map<String, Object> resolvedParams = forSize(parameterCount);
-      for (int i = 0; i < parameterCount; ++i) {
-        resolvedParams.put(method.getParameters()[i].getName(), resolved[i]);
+      final Map<String, Object> resolvedParams = forSize(parameterNames.length);
+      for (int i = 0; i < parameterNames.length; ++i) {
+        resolvedParams.put(parameterNames[i], resolved[i]);
       }
       return resolvedParams;
     });
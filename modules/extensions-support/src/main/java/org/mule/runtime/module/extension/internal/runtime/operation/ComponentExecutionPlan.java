@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.operation;
+
+import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.extension.api.runtime.operation.CompletableComponentExecutor;
+import org.mule.runtime.module.extension.internal.runtime.execution.interceptor.InterceptorChain;
+
+import java.util.Optional;
+
+/**
+ * Holds the state needed to invoke a component that doesn't depend on the event being processed.
+ * <p>
+ * It is compiled when a {@link ComponentMessageProcessor} that uses a static configuration (or no configuration at all) is
+ * initialised, so that each invocation only has to resolve what is specific to its event: the parameter values and the execution
+ * context that carries them. The {@link InterceptorChain} and the argument resolvers of the {@link CompletableComponentExecutor}
+ * are also fixed at that point, by the {@link ExecutionMediator} and the executor respectively.
+ *
+ * @since 4.3.0
+ */
+final class ComponentExecutionPlan {
+
+  private final Optional<ConfigurationInstance> configuration;
+  private final RetryPolicyTemplate retryPolicyTemplate;
+  private final boolean async;
+
+  ComponentExecutionPlan(Optional<ConfigurationInstance> configuration, RetryPolicyTemplate retryPolicyTemplate, boolean async) {
+    this.configuration = configuration;
+    this.retryPolicyTemplate = retryPolicyTemplate;
+    this.async = async;
+  }
+
+  /**
+   * @return the pre-bound configuration instance to use on every invocation
+   */
+  Optional<ConfigurationInstance> getConfiguration() {
+    return configuration;
+  }
+
+  /**
+   * @return the {@link RetryPolicyTemplate} to use on every invocation
+   */
+  RetryPolicyTemplate getRetryPolicyTemplate() {
+    return retryPolicyTemplate;
+  }
+
+  /**
+   * @return whether the component has to be executed asynchronously through its inner flux
+   */
+  boolean isAsync() {
+    return async;
+  }
+}
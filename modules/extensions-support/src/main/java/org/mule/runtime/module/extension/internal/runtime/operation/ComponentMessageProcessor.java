@@ -209,6 +209,7 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
   private Scheduler outerFluxCompletionScheduler;
 
   protected ExecutionMediator executionMediator;
+  private ComponentExecutionPlan executionPlan;
   protected CompletableComponentExecutor componentExecutor;
   protected ReturnDelegate returnDelegate;
   protected PolicyManager policyManager;
@@ -401,19 +402,27 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
   }
 
   private Optional<ConfigurationInstance> resolveConfiguration(CoreEvent event) {
-    if (shouldUsePrecalculatedContext(event)) {
+    final PrecalculatedExecutionContextAdapter<T> precalculatedContext = getPrecalculatedContextIfPresent(event);
+    if (precalculatedContext != null) {
       // If the event already contains an execution context, use that one.
       // Only for interceptable components!
-      return getPrecalculatedContext(event).getConfiguration();
+      return precalculatedContext.getConfiguration();
+    } else if (executionPlan != null) {
+      return executionPlan.getConfiguration();
     } else {
       // Otherwise, generate the context as usual.
       return getConfiguration(event);
     }
   }
 
-  private boolean shouldUsePrecalculatedContext(CoreEvent event) {
-    return getLocation() != null && isInterceptedComponent(getLocation(), (InternalEvent) event)
-        && getPrecalculatedContext(event) != null;
+  /**
+   * @return the execution context precalculated by an interceptor for this component, or {@code null} if there is none.
+   */
+  private PrecalculatedExecutionContextAdapter<T> getPrecalculatedContextIfPresent(CoreEvent event) {
+    if (getLocation() != null && isInterceptedComponent(getLocation(), (InternalEvent) event)) {
+      return getPrecalculatedContext(event);
+    }
+    return null;
   }
 
   private PrecalculatedExecutionContextAdapter<T> getPrecalculatedContext(CoreEvent event) {
@@ -428,9 +437,11 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
                                                             Map<String, Object> resolvedParameters,
                                                             CoreEvent event, Scheduler currentScheduler) {
 
+    final RetryPolicyTemplate retryPolicy =
+        executionPlan != null ? executionPlan.getRetryPolicyTemplate() : getRetryPolicyTemplate(configuration);
     return new DefaultExecutionContext<>(extensionModel, configuration, resolvedParameters, componentModel, event,
                                          getCursorProviderFactory(), streamingManager, this,
-                                         getRetryPolicyTemplate(configuration), currentScheduler, muleContext);
+                                         retryPolicy, currentScheduler, muleContext);
   }
 
   @Override
@@ -444,12 +455,36 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
       initialiseIfNeeded(componentExecutor, true, muleContext);
 
       resolvedProcessorRepresentation = getRepresentation();
+      executionPlan = compileExecutionPlan();
 
       initProcessingStrategy();
       initialised = true;
     }
   }
 
+  /**
+   * Compiles the {@link ComponentExecutionPlan} for this component, if its configuration is known at this point.
+   *
+   * @return the plan, or {@code null} if the configuration has to be resolved for each event.
+   */
+  private ComponentExecutionPlan compileExecutionPlan() {
+    if (!requiresConfig()) {
+      return new ComponentExecutionPlan(Optional.empty(), getRetryPolicyTemplate(Optional.empty()), false);
+    }
+
+    if (usesDynamicConfiguration()) {
+      return null;
+    }
+
+    final Optional<ConfigurationInstance> staticConfig = getStaticConfiguration();
+    if (!staticConfig.isPresent()) {
+      return null;
+    }
+
+    final RetryPolicyTemplate retryPolicy = getRetryPolicyTemplate(staticConfig);
+    return new ComponentExecutionPlan(staticConfig, retryPolicy, retryPolicy.isEnabled());
+  }
+
   private void initProcessingStrategy() throws InitialisationException {
     final Optional<ProcessingStrategy> processingStrategyFromRootContainer =
         getProcessingStrategy(componentLocator, getRootContainerLocation());
@@ -537,8 +572,10 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
         .orElse(IMMEDIATE_SCHEDULER);
 
     ExecutionContextAdapter<T> operationContext;
-    if (shouldUsePrecalculatedContext(event)) {
-      operationContext = getPrecalculatedContext(oep.getOperationEvent());
+    final PrecalculatedExecutionContextAdapter<T> precalculatedContext =
+        getPrecalculatedContextIfPresent(oep.getOperationEvent());
+    if (precalculatedContext != null) {
+      operationContext = precalculatedContext;
       operationContext.setCurrentScheduler(currentScheduler);
     } else {
       operationContext = createExecutionContext(oep.getConfiguration(),
@@ -755,6 +792,10 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
   }
 
   protected boolean isAsync() {
+    if (executionPlan != null) {
+      return executionPlan.isAsync();
+    }
+
     if (!requiresConfig()) {
       return false;
     }
@@ -826,6 +867,7 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
     if (ownedProcessingStrategy) {
       disposeIfNeeded(processingStrategy, LOGGER);
     }
+    executionPlan = null;
     initialised = false;
   }
 
@@ -17,6 +17,7 @@ import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.util.Reference;
 import org.mule.runtime.core.api.extension.ExtensionManager;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
@@ -35,6 +36,10 @@ import org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSet;
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.slf4j.Logger;
 
@@ -134,31 +139,55 @@ public class OAuthOperationMessageProcessor extends OperationMessageProcessor {
 
         Optional<String> resourceOwnerId = resourceOwnerIdReference.get();
 
+        CompletableFuture<Void> refresh;
         try {
-          connectionProvider.refreshToken(resourceOwnerId.orElse(""));
+          refresh = connectionProvider.refreshTokenAsync(resourceOwnerId.orElse(""));
         } catch (Exception refreshException) {
-          callback.error(new MuleRuntimeException(createStaticMessage(format(
-                                                                             "AccessToken %s expired while executing operation '%s:%s' using config '%s'. Refresh token "
-                                                                                 + "workflow was attempted but failed with the following exception",
-                                                                             forResourceOwner(resourceOwnerId),
-                                                                             getExtensionModel().getName(),
-                                                                             operationContext.getComponentModel().getName(),
-                                                                             operationContext.getConfiguration().get()
-                                                                                 .getName())),
-                                                  refreshException));
-
-          return;
+          refresh = new CompletableFuture<>();
+          refresh.completeExceptionally(refreshException);
         }
 
-        LOGGER.debug("Access Token successfully refreshed {} on config '{}'",
-                     forResourceOwner(resourceOwnerId),
-                     operationContext.getConfiguration().get().getName());
+        // concurrent operations which found the same expired token wait on the same refresh, without blocking. The operation is
+        // retried on its own scheduler rather than on the thread that completed the refresh, which belongs to the OAuth client.
+        refresh.whenCompleteAsync((v, refreshException) -> {
+          if (refreshException != null) {
+            callback.error(new MuleRuntimeException(createStaticMessage(format(
+                                                                               "AccessToken %s expired while executing operation '%s:%s' using config '%s'. Refresh token "
+                                                                                   + "workflow was attempted but failed with the following exception",
+                                                                               forResourceOwner(resourceOwnerId),
+                                                                               getExtensionModel().getName(),
+                                                                               operationContext.getComponentModel().getName(),
+                                                                               operationContext.getConfiguration().get()
+                                                                                   .getName())),
+                                                    unwrap(refreshException)));
+            return;
+          }
+
+          LOGGER.debug("Access Token successfully refreshed {} on config '{}'",
+                       forResourceOwner(resourceOwnerId),
+                       operationContext.getConfiguration().get().getName());
+
+          OAuthOperationMessageProcessor.super.executeOperation(operationContext, callback);
+        }, retryExecutor(operationContext.getCurrentScheduler()));
+      }
+    };
+  }
 
-        OAuthOperationMessageProcessor.super.executeOperation(operationContext, callback);
+  private Executor retryExecutor(Scheduler scheduler) {
+    return task -> {
+      try {
+        scheduler.execute(task);
+      } catch (RejectedExecutionException e) {
+        // the scheduler is being stopped, the callback must still be notified
+        task.run();
       }
     };
   }
 
+  private Throwable unwrap(Throwable t) {
+    return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+  }
+
   private String forResourceOwner(Optional<String> resourceOwnerId) {
     return resourceOwnerId.map(id -> format("for resource owner '%s' ", id)).orElse("");
   }
@@ -32,6 +32,7 @@ import org.mule.runtime.core.api.transaction.TransactionConfig;
 import org.mule.runtime.core.api.util.func.Once;
 import org.mule.runtime.core.api.util.func.Once.RunOnce;
 import org.mule.runtime.core.internal.execution.ExceptionCallback;
+import org.mule.runtime.core.internal.execution.FlowProcessTemplate;
 import org.mule.runtime.core.internal.execution.MessageProcessContext;
 import org.mule.runtime.core.internal.execution.MessageProcessingManager;
 import org.mule.runtime.core.internal.execution.SourceResultAdapter;
@@ -43,6 +44,8 @@ import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
 import org.mule.runtime.module.extension.internal.runtime.transaction.TransactionSourceBinder;
 
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -243,20 +246,46 @@ class DefaultSourceCallback<T, A> implements SourceCallbackAdapter<T, A> {
 
     SourceCallbackContextAdapter contextAdapter = (SourceCallbackContextAdapter) context;
     validateNotifications(contextAdapter);
-    MediaType mediaType = resolveMediaType(result);
-    PayloadMediaTypeResolver payloadMediaTypeResolver = new PayloadMediaTypeResolver(getDefaultEncoding(muleContext),
-                                                                                     defaultMediaType,
-                                                                                     encodingParam,
-                                                                                     mimeTypeInitParam);
 
-    SourceResultAdapter resultAdapter =
-        new SourceResultAdapter(result, cursorProviderFactory, mediaType, returnsListOfMessages,
-                                context.getCorrelationId(), payloadMediaTypeResolver);
-
-    executeFlow(context, messageProcessContext, resultAdapter);
+    executeFlow(context, messageProcessContext, createResultAdapter(result, context, createPayloadMediaTypeResolver()));
     contextAdapter.dispatched();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handleBatch(List<Result<T, A>> results, List<SourceCallbackContext> contexts) {
+    resolveInitializationParams.runOnce();
+    checkArgument(results.size() == contexts.size(), () -> format("Got %d results but %d contexts for a batch",
+                                                                  results.size(), contexts.size()));
+
+    PayloadMediaTypeResolver payloadMediaTypeResolver = createPayloadMediaTypeResolver();
+    List<FlowProcessTemplate> templates = new ArrayList<>(results.size());
+    for (int i = 0; i < results.size(); ++i) {
+      SourceCallbackContext context = contexts.get(i);
+      checkArgument(context instanceof SourceCallbackContextAdapter,
+                    "The supplied context was not created through this callback, you naughty developer");
+
+      validateNotifications((SourceCallbackContextAdapter) context);
+      templates.add(createTemplate((SourceCallbackContextAdapter) context,
+                                   createResultAdapter(results.get(i), context, payloadMediaTypeResolver)));
+    }
+
+    messageProcessingManager.processMessages(templates, messageProcessContext);
+    contexts.forEach(context -> ((SourceCallbackContextAdapter) context).dispatched());
+  }
+
+  private PayloadMediaTypeResolver createPayloadMediaTypeResolver() {
+    return new PayloadMediaTypeResolver(getDefaultEncoding(muleContext), defaultMediaType, encodingParam, mimeTypeInitParam);
+  }
+
+  private SourceResultAdapter createResultAdapter(Result<T, A> result, SourceCallbackContext context,
+                                                  PayloadMediaTypeResolver payloadMediaTypeResolver) {
+    return new SourceResultAdapter(result, cursorProviderFactory, resolveMediaType(result), returnsListOfMessages,
+                                   context.getCorrelationId(), payloadMediaTypeResolver);
+  }
+
   private void validateNotifications(SourceCallbackContextAdapter contextAdapter) {
     contextAdapter.getNotificationsFunctions().forEach(sourceNotification -> {
       String notificationName = ((ExtensionNotificationFunction) sourceNotification).getActionName();
@@ -267,15 +296,15 @@ class DefaultSourceCallback<T, A> implements SourceCallbackAdapter<T, A> {
 
   private void executeFlow(SourceCallbackContext context, MessageProcessContext messageProcessContext,
                            SourceResultAdapter resultAdapter) {
-    SourceCallbackContextAdapter contextAdapter = (SourceCallbackContextAdapter) context;
-    messageProcessingManager.processMessage(
-                                            new ExtensionsFlowProcessingTemplate(resultAdapter, listener,
-                                                                                 contextAdapter.getNotificationsFunctions(),
-                                                                                 completionHandlerFactory
-                                                                                     .createCompletionHandler(contextAdapter)),
+    messageProcessingManager.processMessage(createTemplate((SourceCallbackContextAdapter) context, resultAdapter),
                                             messageProcessContext);
   }
 
+  private FlowProcessTemplate createTemplate(SourceCallbackContextAdapter contextAdapter, SourceResultAdapter resultAdapter) {
+    return new ExtensionsFlowProcessingTemplate(resultAdapter, listener, contextAdapter.getNotificationsFunctions(),
+                                                completionHandlerFactory.createCompletionHandler(contextAdapter));
+  }
+
   protected MediaType resolveMediaType(Object value) {
     Charset existingEncoding = encodingParam;
     MediaType mediaType = mimeTypeInitParam;
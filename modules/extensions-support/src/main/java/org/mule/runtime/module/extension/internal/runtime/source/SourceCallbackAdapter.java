@@ -9,10 +9,14 @@ package org.mule.runtime.module.extension.internal.runtime.source;
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.core.api.transaction.TransactionConfig;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.runtime.source.Source;
 import org.mule.runtime.extension.api.runtime.source.SourceCallback;
+import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
 import org.mule.runtime.module.extension.internal.runtime.transaction.TransactionSourceBinder;
 
+import java.util.List;
+
 import javax.transaction.TransactionManager;
 
 /**
@@ -25,6 +29,25 @@ import javax.transaction.TransactionManager;
  */
 public interface SourceCallbackAdapter<T, A> extends SourceCallback<T, A> {
 
+  /**
+   * Handles a batch of results generated together by the source, such as the messages received from a queue at once.
+   * <p>
+   * Each result is processed through the flow as its own event, with the completion callbacks of the source invoked for each of
+   * them with its context, like if each one had been handed to {@link #handle(Result, SourceCallbackContext)}. The work that
+   * does not depend on each result is done once for the batch.
+   * <p>
+   * Sources don't call this method themselves, since it is not part of {@link SourceCallback}. It is used by the
+   * {@link org.mule.runtime.module.extension.internal.runtime.source.poll.PollingSourceWrapper} to dispatch the items accepted in
+   * a poll of a polling source.
+   * <p>
+   * The results are validated before any of them is dispatched, so if this method fails none of them was dispatched.
+   *
+   * @param results  the results to handle, in the order they were generated
+   * @param contexts the context of each result, created through {@link #createContext()}, in the same order as {@code results}
+   * @since 4.3.0
+   */
+  void handleBatch(List<Result<T, A>> results, List<SourceCallbackContext> contexts);
+
   /**
    * @return The {@link TransactionSourceBinder} to be used when binding a transaction
    */
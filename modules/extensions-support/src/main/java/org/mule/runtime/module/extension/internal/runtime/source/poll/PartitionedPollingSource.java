@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.source.poll;
+
+import org.mule.runtime.extension.api.runtime.source.PollContext;
+import org.mule.runtime.extension.api.runtime.source.PollingSource;
+
+/**
+ * Allows a {@link PollingSource} to split the items it polls into independent partitions, for instance the shards or queues of
+ * the remote system, so that {@link PollingSourceWrapper} polls them concurrently.
+ * <p>
+ * Each partition has its own watermark and its own lock, so the items of a partition are only compared against the watermark of
+ * that same partition, and the ids of the items already processed are only kept per partition. Only the ids of the items still
+ * being processed are shared by all the partitions, so an item in flight is not dispatched again from another partition.
+ * <p>
+ * A partition is not polled again until its previous poll is done.
+ * <p>
+ * When a source implements this interface, {@link PollingSource#poll(PollContext)} is not called.
+ *
+ * @param <T> the generic type of the generated message's payload
+ * @param <A> the generic type of the generated message's attributes
+ *
+ * @since 4.3.0
+ */
+public interface PartitionedPollingSource<T, A> {
+
+  /**
+   * @return the number of partitions to poll. A source with a single partition keeps the same watermark as a
+   *         {@link PollingSource} that doesn't implement this interface.
+   */
+  int getPartitionsCount();
+
+  /**
+   * Polls the items of a single partition. Different partitions may be polled at the same time from different threads.
+   *
+   * @param pollContext the context of the poll, with the watermark of the {@code partition}
+   * @param partition   the index of the partition to poll, between {@code 0} and {@link #getPartitionsCount()} - 1
+   */
+  void poll(PollContext<T, A> pollContext, int partition);
+}
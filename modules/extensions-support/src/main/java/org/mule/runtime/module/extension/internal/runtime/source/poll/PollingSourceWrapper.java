@@ -35,13 +35,15 @@ import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lock.LockFactory;
 import org.mule.runtime.api.scheduler.SchedulerConfig;
 import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.api.store.ObjectStoreManager;
 import org.mule.runtime.api.store.ObjectStoreSettings;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.source.scheduler.Scheduler;
-import org.mule.runtime.core.api.util.func.CheckedRunnable;
+import org.mule.runtime.core.api.transaction.TransactionConfig;
+import org.mule.runtime.core.internal.store.AtomicObjectStore;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 import org.mule.runtime.extension.api.runtime.source.PollContext;
 import org.mule.runtime.extension.api.runtime.source.PollContext.PollItem;
@@ -49,14 +51,17 @@ import org.mule.runtime.extension.api.runtime.source.PollingSource;
 import org.mule.runtime.extension.api.runtime.source.Source;
 import org.mule.runtime.extension.api.runtime.source.SourceCallback;
 import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
+import org.mule.runtime.module.extension.internal.runtime.source.SourceCallbackAdapter;
 import org.mule.runtime.module.extension.internal.runtime.source.SourceCallbackContextAdapter;
 import org.mule.runtime.module.extension.internal.runtime.source.SourceWrapper;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Consumer;
@@ -69,6 +74,12 @@ import org.slf4j.Logger;
 /**
  * A {@link SourceWrapper} implementation that provides Polling related capabilities to any wrapped {@link Source}, like scheduled
  * polling, watermarking and idempotent processing.
+ * <p>
+ * If the wrapped source is a {@link PartitionedPollingSource}, each of its partitions is polled concurrently with its own
+ * watermark.
+ * <p>
+ * Unless the source is transactional, the items accepted in a poll are dispatched to the flow in batches of up to
+ * {@link #DISPATCH_BATCH_SIZE} through {@link SourceCallbackAdapter#handleBatch(List, List)}, rather than one by one.
  *
  * @param <T>
  * @param <A>
@@ -81,6 +92,8 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
   private static final String ITEM_RELEASER_CTX_VAR = "itemReleaser";
   private static final String UPDATE_PROCESSED_LOCK = "OSClearing";
   private static final String INFLIGHT_IDS_OS_NAME_SUFFIX = "inflight-ids";
+  // Big enough to share the dispatching work among many items, small enough for the first items of a long poll not to wait
+  static final int DISPATCH_BATCH_SIZE = 32;
 
   private final PollingSource<T, A> delegate;
   private final Scheduler scheduler;
@@ -95,10 +108,8 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
   @Inject
   private SchedulerService schedulerService;
 
-  private ObjectStore<Serializable> watermarkObjectStore;
   private ObjectStore<Serializable> inflightIdsObjectStore;
-  private ObjectStore<Serializable> recentlyProcessedIds;
-  private ObjectStore<Serializable> idsOnUpdatedWatermark;
+  private List<PollPartition> partitions;
 
   private ComponentLocation componentLocation;
   private String flowName;
@@ -118,17 +129,14 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
     inflightIdsObjectStore = objectStoreManager.getOrCreateObjectStore(formatKey(INFLIGHT_IDS_OS_NAME_SUFFIX),
                                                                        unmanagedTransient());
 
-    recentlyProcessedIds = objectStoreManager.getOrCreateObjectStore(formatKey(RECENTLY_PROCESSED_IDS_OS_NAME_SUFFIX),
-                                                                     unmanagedPersistent());
-
-    idsOnUpdatedWatermark = objectStoreManager.getOrCreateObjectStore(formatKey(IDS_ON_UPDATED_WATERMARK_OS_NAME_SUFFIX),
-                                                                      unmanagedPersistent());
-
-    watermarkObjectStore = objectStoreManager.getOrCreateObjectStore(formatKey(WATERMARK_OS_NAME_SUFFIX),
-                                                                     unmanagedPersistent());
+    final int partitionsCount = getPartitionsCount();
+    partitions = new ArrayList<>(partitionsCount);
+    for (int i = 0; i < partitionsCount; ++i) {
+      partitions.add(new PollPartition(i));
+    }
 
     executor = schedulerService.customScheduler(SchedulerConfig.config()
-        .withMaxConcurrentTasks(1)
+        .withMaxConcurrentTasks(partitionsCount)
         .withWaitAllowed(true)
         .withName(formatKey("executor")));
 
@@ -140,6 +148,21 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
     return format(OS_NAME_MASK, flowName, key);
   }
 
+  private boolean isPartitioned() {
+    return delegate instanceof PartitionedPollingSource;
+  }
+
+  private int getPartitionsCount() {
+    if (!isPartitioned()) {
+      return 1;
+    }
+
+    final int partitionsCount = ((PartitionedPollingSource<T, A>) delegate).getPartitionsCount();
+    checkArgument(partitionsCount > 0,
+                  format("Source at flow '%s' declared %d partitions, at least one is required", flowName, partitionsCount));
+    return partitionsCount;
+  }
+
   @Override
   public void onStop() {
     stopRequested.set(true);
@@ -175,18 +198,44 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
       return;
     }
 
-    withWatermarkLock(() -> {
-      DefaultPollContext pollContext = new DefaultPollContext(sourceCallback, getCurrentWatermark(), getUpdatedWatermark());
+    if (partitions.size() == 1) {
+      partitions.get(0).poll(sourceCallback, true);
+      return;
+    }
+
+    // A partition still being polled since the previous poll is skipped until the next one
+    for (PollPartition partition : partitions.subList(1, partitions.size())) {
+      if (!partition.startPolling()) {
+        continue;
+      }
+
       try {
-        delegate.poll(pollContext);
-        pollContext.getUpdatedWatermark()
-            .ifPresent(w -> updateWatermark(w, pollContext.getWatermarkComparator()));
-      } catch (Throwable t) {
-        LOGGER.error(format("Found exception trying to process item on source at flow '%s'. %s",
-                            flowName, t.getMessage()),
-                     t);
+        executor.submit(() -> {
+          try {
+            if (!isRequestedToStop()) {
+              partition.poll(sourceCallback, false);
+            }
+          } finally {
+            partition.finishPolling();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        partition.finishPolling();
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Source at flow '{}' is skipping partition {} because it could not be scheduled", flowName,
+                       partition.index);
+        }
+      }
+    }
+
+    final PollPartition firstPartition = partitions.get(0);
+    if (firstPartition.startPolling()) {
+      try {
+        firstPartition.poll(sourceCallback, false);
+      } finally {
+        firstPartition.finishPolling();
       }
-    });
+    }
   }
 
   private int compareWatermarks(Serializable w1, Serializable w2, Comparator comparator) throws IllegalArgumentException {
@@ -207,15 +256,23 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
   private class DefaultPollContext implements PollContext<T, A> {
 
     private final SourceCallback<T, A> sourceCallback;
+    private final PollPartition partition;
+    private final boolean batchDispatch;
+    private final List<Result<T, A>> acceptedResults = new ArrayList<>();
+    private final List<SourceCallbackContext> acceptedContexts = new ArrayList<>();
     private Serializable currentWatermark;
     private Serializable updatedWatermark;
     private Comparator<Serializable> watermarkComparator = null;
 
-    private DefaultPollContext(SourceCallback<T, A> sourceCallback, Serializable currentWatermark,
+    private DefaultPollContext(SourceCallback<T, A> sourceCallback, PollPartition partition, Serializable currentWatermark,
                                Serializable updatedWatermark) {
       this.sourceCallback = sourceCallback;
+      this.partition = partition;
       this.currentWatermark = currentWatermark;
       this.updatedWatermark = updatedWatermark;
+      // A transaction is bound to the thread along with its item, so transacted items are dispatched as soon as accepted
+      this.batchDispatch = sourceCallback instanceof SourceCallbackAdapter
+          && !isTransacted(((SourceCallbackAdapter<T, A>) sourceCallback).getTransactionConfig());
     }
 
     @Override
@@ -235,7 +292,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
       } else if (isRequestedToStop()) {
         status = SOURCE_STOPPING;
       } else {
-        sourceCallback.handle(pollItem.getResult(), callbackContext);
+        dispatch(pollItem.getResult(), callbackContext);
         status = ACCEPTED;
       }
 
@@ -246,6 +303,46 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
       return status;
     }
 
+    private void dispatch(Result<T, A> result, SourceCallbackContext callbackContext) {
+      if (!batchDispatch) {
+        sourceCallback.handle(result, callbackContext);
+        return;
+      }
+
+      acceptedResults.add(result);
+      acceptedContexts.add(callbackContext);
+      if (acceptedResults.size() >= DISPATCH_BATCH_SIZE) {
+        dispatchAccepted();
+      }
+    }
+
+    /**
+     * Dispatches the items accepted since the last dispatch to the flow. If they can't be dispatched, they are rejected so that
+     * they are not kept as being processed, and are polled again.
+     */
+    private void dispatchAccepted() {
+      if (acceptedResults.isEmpty()) {
+        return;
+      }
+
+      try {
+        ((SourceCallbackAdapter<T, A>) sourceCallback).handleBatch(new ArrayList<>(acceptedResults),
+                                                                   new ArrayList<>(acceptedContexts));
+      } catch (RuntimeException e) {
+        for (int i = 0; i < acceptedResults.size(); ++i) {
+          try {
+            rejectItem(acceptedResults.get(i), acceptedContexts.get(i));
+          } catch (RuntimeException rejectionException) {
+            e.addSuppressed(rejectionException);
+          }
+        }
+        throw e;
+      } finally {
+        acceptedResults.clear();
+        acceptedContexts.clear();
+      }
+    }
+
     @Override
     public boolean isSourceStopping() {
       return isRequestedToStop();
@@ -278,10 +375,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
     private void setUpdatedWatermark(Serializable updatedWatermark) {
       try {
         this.updatedWatermark = updatedWatermark;
-        if (watermarkObjectStore.contains(UPDATED_WATERMARK_ITEM_OS_KEY)) {
-          watermarkObjectStore.remove(UPDATED_WATERMARK_ITEM_OS_KEY);
-        }
-        watermarkObjectStore.store(UPDATED_WATERMARK_ITEM_OS_KEY, updatedWatermark);
+        storeOrReplace(partition.watermarkObjectStore, UPDATED_WATERMARK_ITEM_OS_KEY, updatedWatermark);
       } catch (ObjectStoreException e) {
         throw new MuleRuntimeException(
                                        createStaticMessage("An error occurred while trying to update the updatedWatermark in the the object store"),
@@ -291,9 +385,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
 
     private void addToIdsOnUpdatedWatermark(String itemId, Serializable itemWatermark) {
       try {
-        if (!idsOnUpdatedWatermark.contains(itemId)) {
-          idsOnUpdatedWatermark.store(itemId, itemWatermark);
-        }
+        storeIfAbsent(partition.idsOnUpdatedWatermark, itemId, itemWatermark);
       } catch (ObjectStoreException e) {
         throw new MuleRuntimeException(
                                        createStaticMessage("An error occurred while adding an item id to the object store" +
@@ -320,8 +412,8 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
         if (compare < 0) {
 
           try {
-            if (itemId != null && recentlyProcessedIds.contains(itemId)) {
-              Serializable previousItemWatermark = recentlyProcessedIds.retrieve(itemId);
+            Serializable previousItemWatermark = itemId != null ? retrieve(partition.recentlyProcessedIds, itemId) : null;
+            if (previousItemWatermark != null) {
               if (compareWatermarks(itemWatermark, previousItemWatermark, watermarkComparator) <= 0) {
                 accept = false;
               }
@@ -345,7 +437,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
           }
         } else if (compare == 0 && pollItem.getItemId().isPresent()) {
           try {
-            accept = !(recentlyProcessedIds.contains(itemId) || idsOnUpdatedWatermark.contains(itemId));
+            accept = !(partition.recentlyProcessedIds.contains(itemId) || partition.idsOnUpdatedWatermark.contains(itemId));
           } catch (ObjectStoreException e) {
             throw new MuleRuntimeException(
                                            createStaticMessage("An error occurred while checking the existance for Item with ID [%s]",
@@ -360,10 +452,7 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
       if (accept) {
         try {
           if (itemId != null) {
-            if (recentlyProcessedIds.contains(itemId)) {
-              recentlyProcessedIds.remove(itemId);
-            }
-            recentlyProcessedIds.store(itemId, itemWatermark);
+            storeOrReplace(partition.recentlyProcessedIds, itemId, itemWatermark);
           }
         } catch (ObjectStoreException e) {
           throw new MuleRuntimeException(
@@ -458,88 +547,199 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
     context.<ItemReleaser>getVariable(ITEM_RELEASER_CTX_VAR).ifPresent(ItemReleaser::release);
   }
 
-  private void withWatermarkLock(CheckedRunnable runnable) {
-    Lock lock = getWatermarkLock();
-    lock.lock();
+  private static boolean isTransacted(TransactionConfig transactionConfig) {
+    return transactionConfig != null && transactionConfig.isTransacted();
+  }
+
+  private static boolean supportsAtomicOperations(ObjectStore<Serializable> store) {
+    return store instanceof AtomicObjectStore && ((AtomicObjectStore<Serializable>) store).supportsAtomicOperations();
+  }
+
+  private static void storeOrReplace(ObjectStore<Serializable> store, String key, Serializable value)
+      throws ObjectStoreException {
+    if (supportsAtomicOperations(store)) {
+      ((AtomicObjectStore<Serializable>) store).compute(key, (k, previous) -> value);
+      return;
+    }
+
+    if (store.contains(key)) {
+      store.remove(key);
+    }
+    store.store(key, value);
+  }
+
+  /**
+   * @return the value stored for the {@code key}, or {@code null} if there is none
+   */
+  private static Serializable retrieve(ObjectStore<Serializable> store, String key) throws ObjectStoreException {
     try {
-      runnable.run();
-    } finally {
-      safeUnlock(lock);
+      return store.retrieve(key);
+    } catch (ObjectDoesNotExistException e) {
+      return null;
     }
   }
 
-  private Lock getWatermarkLock() {
-    return lockFactory.createLock(formatKey("watermark"));
+  /**
+   * @return whether the {@code value} was stored, {@code false} if there already was a value for the {@code key}
+   */
+  private static boolean storeIfAbsent(ObjectStore<Serializable> store, String key, Serializable value)
+      throws ObjectStoreException {
+    if (supportsAtomicOperations(store)) {
+      return ((AtomicObjectStore<Serializable>) store).putIfAbsent(key, value) == null;
+    }
+
+    if (store.contains(key)) {
+      return false;
+    }
+    store.store(key, value);
+    return true;
   }
 
-  private void updateWatermark(Serializable value, Comparator comparator) {
-    try {
-      if (watermarkObjectStore.contains(WATERMARK_ITEM_OS_KEY)) {
-        Serializable currentValue = watermarkObjectStore.retrieve(WATERMARK_ITEM_OS_KEY);
-        if (compareWatermarks(currentValue, value, comparator) >= 0) {
-          return;
-        }
-        watermarkObjectStore.remove(WATERMARK_ITEM_OS_KEY);
+  /**
+   * The watermark state of a partition of the wrapped source, along with the locks that guard it. The first partition uses the
+   * same stores and locks as a source that is not partitioned, so that its watermark is kept if the source becomes partitioned.
+   */
+  private class PollPartition {
+
+    private final int index;
+    private final ObjectStore<Serializable> watermarkObjectStore;
+    private final ObjectStore<Serializable> recentlyProcessedIds;
+    private final ObjectStore<Serializable> idsOnUpdatedWatermark;
+    // Whether this partition is being polled by this node, so that it is not polled again until done
+    private final AtomicBoolean polling = new AtomicBoolean(false);
+
+    private PollPartition(int index) {
+      this.index = index;
+      recentlyProcessedIds = objectStoreManager.getOrCreateObjectStore(partitionKey(RECENTLY_PROCESSED_IDS_OS_NAME_SUFFIX),
+                                                                       unmanagedPersistent());
+
+      idsOnUpdatedWatermark = objectStoreManager.getOrCreateObjectStore(partitionKey(IDS_ON_UPDATED_WATERMARK_OS_NAME_SUFFIX),
+                                                                        unmanagedPersistent());
+
+      watermarkObjectStore = objectStoreManager.getOrCreateObjectStore(partitionKey(WATERMARK_OS_NAME_SUFFIX),
+                                                                       unmanagedPersistent());
+    }
+
+    private String partitionKey(String key) {
+      return index == 0 ? formatKey(key) : formatKey(format("%s-partition-%d", key, index));
+    }
+
+    /**
+     * @return whether this partition may be polled, {@code false} if a previous poll of it in this node is still in progress
+     */
+    private boolean startPolling() {
+      if (polling.compareAndSet(false, true)) {
+        return true;
       }
 
-      updateRecentlyProcessedIds();
-      watermarkObjectStore.store(WATERMARK_ITEM_OS_KEY, value);
-    } catch (ObjectStoreException e) {
-      throw new MuleRuntimeException(
-                                     createStaticMessage(format("Failed to update watermark value for message source at location '%s'. %s",
-                                                                flowName, e.getMessage())),
-                                     e);
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Source at flow '{}' is skipping partition {} because it is still being polled", flowName, index);
+      }
+      return false;
     }
-  }
 
-  private void updateRecentlyProcessedIds() throws ObjectStoreException {
-    Lock osClearingLock = lockFactory.createLock(UPDATE_PROCESSED_LOCK);
-    try {
-      osClearingLock.lock();
-      List<String> strings = recentlyProcessedIds.allKeys();
-      idsOnUpdatedWatermark.clear();
-      strings.forEach(key -> {
+    private void finishPolling() {
+      polling.set(false);
+    }
+
+    private void poll(SourceCallback<T, A> sourceCallback, boolean waitForLock) {
+      Lock lock = lockFactory.createLock(partitionKey("watermark"));
+      if (waitForLock) {
+        lock.lock();
+      } else if (!lock.tryLock()) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug("Source at flow '{}' is skipping partition {} because another thread or node is polling it", flowName,
+                       index);
+        }
+        return;
+      }
+
+      try {
+        DefaultPollContext pollContext =
+            new DefaultPollContext(sourceCallback, this, getCurrentWatermark(), getUpdatedWatermark());
         try {
-          idsOnUpdatedWatermark.store(key, recentlyProcessedIds.retrieve(key));
-        } catch (ObjectStoreException e) {
-          throw new MuleRuntimeException(createStaticMessage("An error occurred while updating the watermark Ids. Failed to update key '%s' in Watermark-IDs ObjectStore: %s",
-                                                             key, e.getMessage()),
-                                         e);
+          try {
+            if (isPartitioned()) {
+              ((PartitionedPollingSource<T, A>) delegate).poll(pollContext, index);
+            } else {
+              delegate.poll(pollContext);
+            }
+          } finally {
+            pollContext.dispatchAccepted();
+          }
+          pollContext.getUpdatedWatermark()
+              .ifPresent(w -> updateWatermark(w, pollContext.getWatermarkComparator()));
+        } catch (Throwable t) {
+          LOGGER.error(format("Found exception trying to process item on source at flow '%s'. %s",
+                              flowName, t.getMessage()),
+                       t);
         }
-      });
-      recentlyProcessedIds.clear();
-    } finally {
-      safeUnlock(osClearingLock);
+      } finally {
+        safeUnlock(lock);
+      }
     }
-  }
 
-  private Serializable getCurrentWatermark() {
-    try {
-      if (watermarkObjectStore.contains(WATERMARK_ITEM_OS_KEY)) {
-        return watermarkObjectStore.retrieve(WATERMARK_ITEM_OS_KEY);
-      } else {
-        return null;
+    private void updateWatermark(Serializable value, Comparator comparator) {
+      try {
+        if (watermarkObjectStore.contains(WATERMARK_ITEM_OS_KEY)) {
+          Serializable currentValue = watermarkObjectStore.retrieve(WATERMARK_ITEM_OS_KEY);
+          if (compareWatermarks(currentValue, value, comparator) >= 0) {
+            return;
+          }
+          watermarkObjectStore.remove(WATERMARK_ITEM_OS_KEY);
+        }
+
+        updateRecentlyProcessedIds();
+        watermarkObjectStore.store(WATERMARK_ITEM_OS_KEY, value);
+      } catch (ObjectStoreException e) {
+        throw new MuleRuntimeException(
+                                       createStaticMessage(format("Failed to update watermark value for message source at location '%s'. %s",
+                                                                  flowName, e.getMessage())),
+                                       e);
       }
-    } catch (ObjectStoreException e) {
-      throw new MuleRuntimeException(
-                                     createStaticMessage(format("Failed to fetch watermark for Message source at location '%s'. %s",
-                                                                flowName, e.getMessage())),
-                                     e);
     }
-  }
 
-  private Serializable getUpdatedWatermark() {
-    try {
-      if (watermarkObjectStore.contains(UPDATED_WATERMARK_ITEM_OS_KEY)) {
-        return watermarkObjectStore.retrieve(UPDATED_WATERMARK_ITEM_OS_KEY);
-      } else {
-        return null;
+    private void updateRecentlyProcessedIds() throws ObjectStoreException {
+      Lock osClearingLock = lockFactory.createLock(index == 0 ? UPDATE_PROCESSED_LOCK : partitionKey(UPDATE_PROCESSED_LOCK));
+      try {
+        osClearingLock.lock();
+        List<String> strings = recentlyProcessedIds.allKeys();
+        idsOnUpdatedWatermark.clear();
+        strings.forEach(key -> {
+          try {
+            idsOnUpdatedWatermark.store(key, recentlyProcessedIds.retrieve(key));
+          } catch (ObjectStoreException e) {
+            throw new MuleRuntimeException(createStaticMessage("An error occurred while updating the watermark Ids. Failed to update key '%s' in Watermark-IDs ObjectStore: %s",
+                                                               key, e.getMessage()),
+                                           e);
+          }
+        });
+        recentlyProcessedIds.clear();
+      } finally {
+        safeUnlock(osClearingLock);
+      }
+    }
+
+    private Serializable getCurrentWatermark() {
+      try {
+        return retrieve(watermarkObjectStore, WATERMARK_ITEM_OS_KEY);
+      } catch (ObjectStoreException e) {
+        throw new MuleRuntimeException(
+                                       createStaticMessage(format("Failed to fetch watermark for Message source at location '%s'. %s",
+                                                                  flowName, e.getMessage())),
+                                       e);
+      }
+    }
+
+    private Serializable getUpdatedWatermark() {
+      try {
+        return retrieve(watermarkObjectStore, UPDATED_WATERMARK_ITEM_OS_KEY);
+      } catch (ObjectStoreException e) {
+        throw new MuleRuntimeException(
+                                       createStaticMessage(format("Failed to fetch watermark for Message source at location '%s'. %s",
+                                                                  flowName, e.getMessage())),
+                                       e);
       }
-    } catch (ObjectStoreException e) {
-      throw new MuleRuntimeException(
-                                     createStaticMessage(format("Failed to fetch watermark for Message source at location '%s'. %s",
-                                                                flowName, e.getMessage())),
-                                     e);
     }
   }
 
@@ -559,24 +759,20 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
     }
 
     try {
-      if (inflightIdsObjectStore.contains(id)) {
+      if (!storeIfAbsent(inflightIdsObjectStore, id, id)) {
         if (LOGGER.isDebugEnabled()) {
           LOGGER.debug("Source at flow '{}' polled item '{}', but skipping it since it is already being processed in another "
               + "thread or node", flowName, id);
         }
         return false;
-      } else {
-        try {
-          inflightIdsObjectStore.store(id, id);
-          callbackContext.addVariable(ITEM_RELEASER_CTX_VAR, new ItemReleaser(id));
-          return true;
-        } catch (ObjectStoreException e) {
-          LOGGER.error(format("Flow at source '%s' could not track item '%s' as being processed. %s",
-                              flowName, id, e.getMessage()),
-                       e);
-          return false;
-        }
       }
+      callbackContext.addVariable(ITEM_RELEASER_CTX_VAR, new ItemReleaser(id));
+      return true;
+    } catch (ObjectStoreException e) {
+      LOGGER.error(format("Flow at source '%s' could not track item '%s' as being processed. %s",
+                          flowName, id, e.getMessage()),
+                   e);
+      return false;
     } catch (Exception e) {
       LOGGER.error(format("Could not guarantee idempotency for item '%s' for source at flow '%s'. '%s",
                           id, flowName, e.getMessage()),
@@ -607,7 +803,9 @@ public class PollingSourceWrapper<T, A> extends SourceWrapper<T, A> {
 
     private void release() {
       try {
-        if (inflightIdsObjectStore.contains(id)) {
+        if (supportsAtomicOperations(inflightIdsObjectStore)) {
+          ((AtomicObjectStore<Serializable>) inflightIdsObjectStore).compute(id, (k, previous) -> null);
+        } else if (inflightIdsObjectStore.contains(id)) {
           inflightIdsObjectStore.remove(id);
         }
       } catch (ObjectStoreException e) {
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.connectivity.oauth;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.util.IOUtils.toByteArray;
+import static org.mule.tck.probe.PollingProber.probe;
+
+import org.mule.runtime.oauth.api.state.ResourceOwnerOAuthContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class OAuthTokenRefresherTestCase extends AbstractMuleTestCase {
+
+  private static final String TOKEN_KEY = "owner-config";
+  private static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\":\\s*\"([^\"]+)\"");
+  private static final Pattern EXPIRES_IN = Pattern.compile("\"expires_in\":\\s*(\\d+)");
+
+  private final AtomicInteger tokenRequests = new AtomicInteger();
+  private volatile CountDownLatch tokenEndpointLatch = new CountDownLatch(0);
+  private volatile int tokenEndpointStatus = 200;
+  private volatile String expiresIn = "3600";
+
+  private HttpServer tokenEndpoint;
+  private ExecutorService clientExecutor;
+  private ScheduledExecutorService scheduler;
+  private OAuthTokenRefresher refresher;
+  private volatile ResourceOwnerOAuthContext context;
+
+  @Before
+  public void before() throws IOException {
+    tokenEndpoint = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    tokenEndpoint.createContext("/token", exchange -> {
+      tokenRequests.incrementAndGet();
+      try {
+        tokenEndpointLatch.await(5, SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      byte[] body = ("{\"access_token\": \"token" + tokenRequests.get() + "\", \"expires_in\": " + expiresIn + "}")
+          .getBytes(UTF_8);
+      exchange.sendResponseHeaders(tokenEndpointStatus, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    tokenEndpoint.setExecutor(newCachedThreadPool());
+    tokenEndpoint.start();
+
+    clientExecutor = newCachedThreadPool();
+    scheduler = newSingleThreadScheduledExecutor();
+    refresher = new OAuthTokenRefresher(60000);
+    refresher.start(scheduler);
+  }
+
+  @After
+  public void after() {
+    refresher.stop();
+    scheduler.shutdownNow();
+    clientExecutor.shutdownNow();
+    tokenEndpoint.stop(0);
+  }
+
+  @Test
+  public void concurrentRefreshesCollapseIntoSingleCall() throws Exception {
+    tokenEndpointLatch = new CountDownLatch(1);
+
+    List<CompletableFuture<Void>> refreshes = new ArrayList<>();
+    for (int i = 0; i < 10; ++i) {
+      refreshes.add(refresher.refresh(TOKEN_KEY, this::requestToken, () -> context));
+    }
+
+    probe(() -> tokenRequests.get() == 1);
+    tokenEndpointLatch.countDown();
+
+    for (CompletableFuture<Void> refresh : refreshes) {
+      refresh.get(5, SECONDS);
+    }
+    assertThat(tokenRequests.get(), is(1));
+    assertThat(context.getAccessToken(), is("token1"));
+  }
+
+  @Test
+  public void refreshAfterCompletionCallsEndpointAgain() throws Exception {
+    refresher.refresh(TOKEN_KEY, this::requestToken, () -> context).get(5, SECONDS);
+    refresher.refresh(TOKEN_KEY, this::requestToken, () -> context).get(5, SECONDS);
+
+    assertThat(tokenRequests.get(), is(2));
+    assertThat(context.getAccessToken(), is("token2"));
+  }
+
+  @Test
+  public void failedRefreshIsPropagatedToEveryCaller() throws Exception {
+    tokenEndpointStatus = 500;
+    tokenEndpointLatch = new CountDownLatch(1);
+
+    CompletableFuture<Void> first = refresher.refresh(TOKEN_KEY, this::requestToken, () -> context);
+    CompletableFuture<Void> second = refresher.refresh(TOKEN_KEY, this::requestToken, () -> context);
+    tokenEndpointLatch.countDown();
+
+    for (CompletableFuture<Void> refresh : new CompletableFuture[] {first, second}) {
+      try {
+        refresh.get(5, SECONDS);
+        fail("refresh should have failed");
+      } catch (ExecutionException e) {
+        assertThat(e.getCause(), instanceOf(IOException.class));
+      }
+    }
+    assertThat(tokenRequests.get(), is(1));
+
+    tokenEndpointStatus = 200;
+    refresher.refresh(TOKEN_KEY, this::requestToken, () -> context).get(5, SECONDS);
+    assertThat(tokenRequests.get(), is(2));
+  }
+
+  @Test
+  public void tokenRefreshedAheadOfExpiration() throws Exception {
+    expiresIn = "1";
+    requestToken().get(5, SECONDS);
+    assertThat(tokenRequests.get(), is(1));
+
+    refresher.obtained(TOKEN_KEY, context);
+    refresher.scheduleIfAbsent(TOKEN_KEY, context, this::requestToken, () -> context);
+
+    // each refreshed token also expires in one second, so refreshes keep being scheduled
+    probe(() -> tokenRequests.get() >= 3);
+  }
+
+  @Test
+  public void failedRefreshAheadOfExpirationScheduledAgain() throws Exception {
+    expiresIn = "1";
+    requestToken().get(5, SECONDS);
+    tokenEndpointStatus = 500;
+
+    refresher.obtained(TOKEN_KEY, context);
+    refresher.scheduleIfAbsent(TOKEN_KEY, context, this::requestToken, () -> context);
+    probe(() -> tokenRequests.get() == 2);
+
+    // once the scheduled refresh fails, the next operation that obtains the token schedules it again
+    probe(() -> {
+      refresher.scheduleIfAbsent(TOKEN_KEY, context, this::requestToken, () -> context);
+      return tokenRequests.get() >= 3;
+    });
+  }
+
+  @Test
+  public void cancelledRefreshNotPerformed() throws Exception {
+    expiresIn = "1";
+    requestToken().get(5, SECONDS);
+
+    refresher.obtained(TOKEN_KEY, context);
+    refresher.scheduleIfAbsent(TOKEN_KEY, context, this::requestToken, () -> context);
+    refresher.cancel(TOKEN_KEY);
+
+    Thread.sleep(1000);
+    assertThat(tokenRequests.get(), is(1));
+  }
+
+  @Test
+  public void refreshDelay() {
+    assertThat(refresher.refreshDelay("3600"), is(3540000L));
+    assertThat(refresher.refreshDelay("60"), is(30000L));
+    assertThat(refresher.refreshDelay("0"), is(-1L));
+    assertThat(refresher.refreshDelay("soon"), is(-1L));
+    assertThat(refresher.refreshDelay(null), is(-1L));
+    assertThat(new OAuthTokenRefresher(-1).refreshDelay("3600"), is(-1L));
+  }
+
+  @Test
+  public void tokenOfUnknownAgeRefreshedRightAway() throws Exception {
+    requestToken().get(5, SECONDS);
+
+    // as if the token was restored from the store, so it may have been obtained long ago
+    refresher.scheduleIfAbsent(TOKEN_KEY, context, this::requestToken, () -> context);
+
+    probe(() -> tokenRequests.get() == 2);
+    assertThat(context.getAccessToken(), is("token2"));
+  }
+
+  @Test
+  public void refreshDelayRelativeToWhenObtained() throws Exception {
+    requestToken().get(5, SECONDS);
+    refresher.obtained(TOKEN_KEY, context);
+
+    Thread.sleep(100);
+    long delay = refresher.refreshDelay(TOKEN_KEY, context);
+    assertThat(delay <= 3540000L - 100, is(true));
+    assertThat(delay > 3540000L - 5000, is(true));
+
+    // a rescheduled token keeps the time it was obtained at
+    assertThat(refresher.refreshDelay(TOKEN_KEY, context) <= delay, is(true));
+
+    assertThat(refresher.refreshDelay("other-config", context), is(0L));
+    refresher.cancel(TOKEN_KEY);
+    assertThat(refresher.refreshDelay(TOKEN_KEY, context), is(0L));
+  }
+
+  @Test
+  public void noExpirationNotScheduled() throws Exception {
+    expiresIn = "1";
+    requestToken().get(5, SECONDS);
+    when(context.getExpiresIn()).thenReturn(null);
+
+    refresher.scheduleIfAbsent(TOKEN_KEY, context, this::requestToken, () -> context);
+
+    Thread.sleep(1000);
+    assertThat(tokenRequests.get(), is(1));
+  }
+
+  /**
+   * Requests a token to the stub endpoint asynchronously, the same way an OAuth dancer does.
+   */
+  private CompletableFuture<Void> requestToken() {
+    return runAsync(() -> {
+      try {
+        HttpURLConnection connection =
+            (HttpURLConnection) new URL("http://localhost:" + tokenEndpoint.getAddress().getPort() + "/token")
+                .openConnection();
+        try {
+          if (connection.getResponseCode() != 200) {
+            throw new IOException("Token endpoint responded with status " + connection.getResponseCode());
+          }
+
+          String body;
+          try (InputStream in = connection.getInputStream()) {
+            body = new String(toByteArray(in), UTF_8);
+          }
+          context = contextFrom(body);
+        } finally {
+          connection.disconnect();
+        }
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    }, clientExecutor);
+  }
+
+  private ResourceOwnerOAuthContext contextFrom(String body) {
+    Matcher accessToken = ACCESS_TOKEN.matcher(body);
+    Matcher expiresIn = EXPIRES_IN.matcher(body);
+
+    ResourceOwnerOAuthContext context = mock(ResourceOwnerOAuthContext.class);
+    when(context.getAccessToken()).thenReturn(accessToken.find() ? accessToken.group(1) : null);
+    when(context.getExpiresIn()).thenReturn(expiresIn.find() ? expiresIn.group(1) : null);
+    return context;
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.source;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.metadata.api.model.MetadataFormat.JAVA;
+
+import org.mule.metadata.api.builder.BaseTypeBuilder;
+import org.mule.runtime.api.component.execution.CompletableCallback;
+import org.mule.runtime.api.meta.model.source.SourceModel;
+import org.mule.runtime.api.notification.NotificationDispatcher;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.streaming.CursorProviderFactory;
+import org.mule.runtime.core.internal.execution.ExceptionCallback;
+import org.mule.runtime.core.internal.execution.FlowProcessTemplate;
+import org.mule.runtime.core.internal.execution.MessageProcessContext;
+import org.mule.runtime.core.internal.execution.MessageProcessingManager;
+import org.mule.runtime.extension.api.model.ImmutableOutputModel;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.source.SourceCallbackContext;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
+
+@SmallTest
+public class DefaultSourceCallbackTestCase extends AbstractMuleContextTestCase {
+
+  @Rule
+  public ExpectedException expected = ExpectedException.none();
+
+  private MessageProcessingManager messageProcessingManager;
+  private MessageProcessContext messageProcessContext;
+  private SourceCompletionHandlerFactory completionHandlerFactory;
+  private SourceCallbackAdapter<Object, Object> sourceCallback;
+
+  @Before
+  public void setUp() {
+    SourceModel sourceModel = mock(SourceModel.class);
+    when(sourceModel.getOutput())
+        .thenReturn(new ImmutableOutputModel("Output", BaseTypeBuilder.create(JAVA).stringType().build(), true, emptySet()));
+
+    messageProcessingManager = mock(MessageProcessingManager.class);
+    messageProcessContext = mock(MessageProcessContext.class);
+    completionHandlerFactory = mock(SourceCompletionHandlerFactory.class);
+
+    sourceCallback = (SourceCallbackAdapter<Object, Object>) DefaultSourceCallback.builder()
+        .setSourceModel(sourceModel)
+        .setProcessingManager(messageProcessingManager)
+        .setListener(mock(Processor.class))
+        .setSource(mock(ExtensionMessageSource.class))
+        .setProcessContext(messageProcessContext)
+        .setMuleContext(muleContext)
+        .setApplicationName(muleContext.getConfiguration().getId())
+        .setNotificationDispatcher(mock(NotificationDispatcher.class))
+        .setTransactionFactoryManager(muleContext.getTransactionFactoryManager())
+        .setCompletionHandlerFactory(completionHandlerFactory)
+        .setExceptionCallback(mock(ExceptionCallback.class))
+        .setCursorStreamProviderFactory(mock(CursorProviderFactory.class))
+        .build();
+  }
+
+  @Test
+  public void batchDispatchedAtOnce() {
+    List<SourceCallbackContext> contexts = asList(mock(SourceCallbackContextAdapter.class),
+                                                  mock(SourceCallbackContextAdapter.class));
+
+    sourceCallback.handleBatch(asList(result("a"), result("b")), contexts);
+
+    ArgumentCaptor<List> templates = ArgumentCaptor.forClass(List.class);
+    verify(messageProcessingManager).processMessages(templates.capture(), same(messageProcessContext));
+    verify(messageProcessingManager, never()).processMessage(any(), any());
+    assertThat(templates.getValue().size(), is(2));
+    assertThat(((FlowProcessTemplate) templates.getValue().get(0)).getSourceMessage().getResult().getOutput(), is("a"));
+    assertThat(((FlowProcessTemplate) templates.getValue().get(1)).getSourceMessage().getResult().getOutput(), is("b"));
+  }
+
+  @Test
+  public void eachContextDispatched() {
+    SourceCallbackContextAdapter first = mock(SourceCallbackContextAdapter.class);
+    SourceCallbackContextAdapter second = mock(SourceCallbackContextAdapter.class);
+
+    sourceCallback.handleBatch(asList(result("a"), result("b")), asList(first, second));
+
+    verify(first).dispatched();
+    verify(second).dispatched();
+  }
+
+  @Test
+  public void eachItemCompletedWithItsContext() {
+    SourceCallbackContextAdapter first = mock(SourceCallbackContextAdapter.class);
+    SourceCallbackContextAdapter second = mock(SourceCallbackContextAdapter.class);
+    SourceCompletionHandler firstCompletionHandler = mock(SourceCompletionHandler.class);
+    SourceCompletionHandler secondCompletionHandler = mock(SourceCompletionHandler.class);
+    when(completionHandlerFactory.createCompletionHandler(first)).thenReturn(firstCompletionHandler);
+    when(completionHandlerFactory.createCompletionHandler(second)).thenReturn(secondCompletionHandler);
+
+    sourceCallback.handleBatch(asList(result("a"), result("b")), asList(first, second));
+
+    ArgumentCaptor<List> templates = ArgumentCaptor.forClass(List.class);
+    verify(messageProcessingManager).processMessages(templates.capture(), any());
+
+    CoreEvent response = mock(CoreEvent.class);
+    CompletableCallback<Void> callback = mock(CompletableCallback.class);
+    ((FlowProcessTemplate) templates.getValue().get(1)).sendResponseToClient(response, emptyMap(), callback);
+
+    verify(secondCompletionHandler).onCompletion(same(response), any(), same(callback));
+    verify(firstCompletionHandler, never()).onCompletion(any(), any(), any());
+  }
+
+  @Test
+  public void resultsAndContextsSizeMismatch() {
+    SourceCallbackContextAdapter context = mock(SourceCallbackContextAdapter.class);
+
+    expected.expect(IllegalArgumentException.class);
+    try {
+      sourceCallback.handleBatch(asList(result("a"), result("b")), asList(context));
+    } finally {
+      verify(messageProcessingManager, never()).processMessages(any(), any());
+      verify(context, never()).dispatched();
+    }
+  }
+
+  @Test
+  public void nothingDispatchedWhenAnItemIsInvalid() {
+    SourceCallbackContextAdapter valid = mock(SourceCallbackContextAdapter.class);
+    SourceCallbackContextAdapter invalid = mock(SourceCallbackContextAdapter.class);
+    ExtensionNotificationFunction undeclaredNotification = mock(ExtensionNotificationFunction.class);
+    when(undeclaredNotification.getActionName()).thenReturn("undeclared");
+    when(invalid.getNotificationsFunctions()).thenReturn(singletonList(undeclaredNotification));
+
+    expected.expect(IllegalArgumentException.class);
+    try {
+      sourceCallback.handleBatch(asList(result("a"), result("b")), asList(valid, invalid));
+    } finally {
+      verify(messageProcessingManager, never()).processMessages(any(), any());
+      verify(valid, never()).dispatched();
+    }
+  }
+
+  private static Result<Object, Object> result(String output) {
+    return Result.<Object, Object>builder().output(output).build();
+  }
+}
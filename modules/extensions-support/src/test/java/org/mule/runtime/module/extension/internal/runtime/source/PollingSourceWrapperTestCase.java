@@ -6,28 +6,62 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.source;
 
+import static java.util.Arrays.asList;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentCaptor.forClass;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.mockito.hamcrest.MockitoHamcrest.argThat;
 import static org.mule.runtime.api.store.ObjectStoreSettings.DEFAULT_EXPIRATION_INTERVAL;
 import static org.mule.runtime.core.api.util.ClassUtils.setFieldValue;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.FILTERED_BY_WATERMARK;
+import static org.mule.runtime.extension.api.runtime.source.PollingSource.WATERMARK_ITEM_OS_KEY;
+
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lock.LockFactory;
+import org.mule.runtime.api.scheduler.SchedulerConfig;
 import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.api.store.ObjectStoreManager;
 import org.mule.runtime.api.store.ObjectStoreSettings;
+import org.mule.runtime.api.store.SimpleMemoryObjectStore;
 import org.mule.runtime.core.api.source.scheduler.Scheduler;
+import org.mule.runtime.core.api.transaction.TransactionConfig;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+import org.mule.runtime.extension.api.runtime.source.PollContext;
+import org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus;
 import org.mule.runtime.extension.api.runtime.source.PollingSource;
 import org.mule.runtime.extension.api.runtime.source.SourceCallback;
+import org.mule.runtime.module.extension.internal.runtime.source.poll.PartitionedPollingSource;
 import org.mule.runtime.module.extension.internal.runtime.source.poll.PollingSourceWrapper;
 import org.mule.tck.size.SmallTest;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -46,6 +80,11 @@ public class PollingSourceWrapperTestCase {
   public static final String EXPECTED_RECENT_IDS_OS = "_pollingSource_myFlow/recently-processed-ids";
   public static final String EXPECTED_IDS_UPDATED_WATERMARK_OS = "_pollingSource_myFlow/ids-on-updated-watermark";
   public static final String EXPECTED_INFLIGHT_IDS_OS = "_pollingSource_myFlow/inflight-ids";
+  public static final String EXPECTED_PARTITION_WATERMARK_OS = "_pollingSource_myFlow/watermark-partition-1";
+  public static final String EXPECTED_PARTITION_RECENT_IDS_OS = "_pollingSource_myFlow/recently-processed-ids-partition-1";
+  public static final String EXPECTED_PARTITION_IDS_UPDATED_WATERMARK_OS =
+      "_pollingSource_myFlow/ids-on-updated-watermark-partition-1";
+  private static final long TIMEOUT = 5;
 
   @Mock(answer = Answers.RETURNS_DEEP_STUBS)
   private LockFactory lockFactoryMock;
@@ -86,6 +125,240 @@ public class PollingSourceWrapperTestCase {
     assertTransientStoreIsCreated(EXPECTED_INFLIGHT_IDS_OS, DEFAULT_EXPIRATION_INTERVAL);
   }
 
+  @Test
+  public void partitionedWaterMarkingStoresGetCreatedOnStart() throws Exception {
+    PollingSource<Object, Object> partitionedSource =
+        mock(PollingSource.class, withSettings().extraInterfaces(PartitionedPollingSource.class));
+    when(((PartitionedPollingSource) partitionedSource).getPartitionsCount()).thenReturn(2);
+
+    pollingSourceWrapper = new PollingSourceWrapper<>(partitionedSource, mock(Scheduler.class));
+    setFieldValue(pollingSourceWrapper, "lockFactory", lockFactoryMock, false);
+    setFieldValue(pollingSourceWrapper, "objectStoreManager", objectStoreManagerMock, false);
+    setFieldValue(pollingSourceWrapper, "schedulerService", schedulerServiceMock, false);
+    setComponentLocationMock();
+
+    pollingSourceWrapper.onStart(callbackMock);
+
+    assertPersistentStoreIsCreated(EXPECTED_WATERMARK_OS, DEFAULT_EXPIRATION_INTERVAL);
+    assertPersistentStoreIsCreated(EXPECTED_RECENT_IDS_OS, DEFAULT_EXPIRATION_INTERVAL);
+    assertPersistentStoreIsCreated(EXPECTED_IDS_UPDATED_WATERMARK_OS, DEFAULT_EXPIRATION_INTERVAL);
+    assertPersistentStoreIsCreated(EXPECTED_PARTITION_WATERMARK_OS, DEFAULT_EXPIRATION_INTERVAL);
+    assertPersistentStoreIsCreated(EXPECTED_PARTITION_RECENT_IDS_OS, DEFAULT_EXPIRATION_INTERVAL);
+    assertPersistentStoreIsCreated(EXPECTED_PARTITION_IDS_UPDATED_WATERMARK_OS, DEFAULT_EXPIRATION_INTERVAL);
+    assertTransientStoreIsCreated(EXPECTED_INFLIGHT_IDS_OS, DEFAULT_EXPIRATION_INTERVAL);
+
+    ArgumentCaptor<SchedulerConfig> configCaptor = forClass(SchedulerConfig.class);
+    verify(schedulerServiceMock).customScheduler(configCaptor.capture());
+    assertThat(configCaptor.getValue().getMaxConcurrentTasks(), is(2));
+  }
+
+  @Test
+  public void acceptedItemsDispatchedInBatch() throws Exception {
+    PollingSource<Object, Object> source = mock(PollingSource.class);
+    doAnswer(invocation -> {
+      PollContext<Object, Object> pollContext = invocation.getArgument(0);
+      pollContext.accept(item -> item.setResult(Result.builder().output("a").build()));
+      pollContext.accept(item -> item.setResult(Result.builder().output("b").build()));
+      return null;
+    }).when(source).poll(any());
+
+    SourceCallbackAdapter<Object, Object> callback = mock(SourceCallbackAdapter.class);
+    when(callback.createContext()).thenAnswer(invocation -> mock(SourceCallbackContextAdapter.class));
+
+    startPolling(source, callback).run();
+
+    ArgumentCaptor<List> results = forClass(List.class);
+    verify(callback).handleBatch(results.capture(), argThat(hasSize(2)));
+    verify(callback, never()).handle(any(), any());
+    assertThat(((Result) results.getValue().get(0)).getOutput(), is("a"));
+    assertThat(((Result) results.getValue().get(1)).getOutput(), is("b"));
+  }
+
+  @Test
+  public void transactedItemsDispatchedWhenAccepted() throws Exception {
+    PollingSource<Object, Object> source = mock(PollingSource.class);
+    doAnswer(invocation -> {
+      PollContext<Object, Object> pollContext = invocation.getArgument(0);
+      pollContext.accept(item -> item.setResult(Result.builder().output("a").build()));
+      return null;
+    }).when(source).poll(any());
+
+    SourceCallbackAdapter<Object, Object> callback = mock(SourceCallbackAdapter.class);
+    when(callback.createContext()).thenAnswer(invocation -> mock(SourceCallbackContextAdapter.class));
+    TransactionConfig transactionConfig = mock(TransactionConfig.class);
+    when(transactionConfig.isTransacted()).thenReturn(true);
+    when(callback.getTransactionConfig()).thenReturn(transactionConfig);
+
+    startPolling(source, callback).run();
+
+    verify(callback).handle(any(), any());
+    verify(callback, never()).handleBatch(any(), any());
+  }
+
+  @Test
+  public void acceptedItemsReleasedWhenBatchNotDispatched() throws Exception {
+    Map<String, ObjectStore<Serializable>> stores = new HashMap<>();
+    when(objectStoreManagerMock.getOrCreateObjectStore(any(), any()))
+        .thenAnswer(invocation -> stores.computeIfAbsent(invocation.getArgument(0), name -> new SimpleMemoryObjectStore<>()));
+    when(lockFactoryMock.createLock(any()).tryLock()).thenReturn(true);
+
+    PollingSource<Object, Object> source = mock(PollingSource.class);
+    doAnswer(invocation -> {
+      PollContext<Object, Object> pollContext = invocation.getArgument(0);
+      pollContext.accept(item -> item.setResult(Result.builder().output("a").build()).setId("a"));
+      pollContext.accept(item -> item.setResult(Result.builder().output("b").build()).setId("b"));
+      return null;
+    }).when(source).poll(any());
+
+    SourceCallbackAdapter<Object, Object> callback = mock(SourceCallbackAdapter.class);
+    when(callback.createContext()).thenAnswer(invocation -> createCallbackContext());
+    doThrow(new IllegalArgumentException()).when(callback).handleBatch(any(), any());
+
+    startPolling(source, callback).run();
+
+    verify(source, times(2)).onRejectedItem(any(), any());
+    assertThat(stores.get(EXPECTED_INFLIGHT_IDS_OS).contains("a"), is(false));
+    assertThat(stores.get(EXPECTED_INFLIGHT_IDS_OS).contains("b"), is(false));
+  }
+
+  @Test
+  public void partitionNotPolledAgainWhileStillPolled() throws Exception {
+    PollingSource<Object, Object> source = createPartitionedSource(2);
+    org.mule.runtime.api.scheduler.Scheduler executor = mock(org.mule.runtime.api.scheduler.Scheduler.class);
+    when(schedulerServiceMock.customScheduler(any())).thenReturn(executor);
+
+    Runnable poll = startPolling(source, callbackMock);
+    poll.run();
+    poll.run();
+
+    ArgumentCaptor<Runnable> partitionPoll = forClass(Runnable.class);
+    verify(executor).submit(partitionPoll.capture());
+    verify((PartitionedPollingSource) source, times(2)).poll(any(), eq(0));
+
+    partitionPoll.getValue().run();
+    verify((PartitionedPollingSource) source).poll(any(), eq(1));
+
+    poll.run();
+    verify(executor, times(2)).submit(any(Runnable.class));
+  }
+
+  @Test
+  public void partitionsPolledConcurrently() throws Exception {
+    PollingSource<Object, Object> source = createPartitionedSource(2);
+    CountDownLatch firstPartitionPolled = new CountDownLatch(1);
+    AtomicBoolean polledConcurrently = new AtomicBoolean(false);
+    doAnswer(invocation -> {
+      firstPartitionPolled.countDown();
+      return null;
+    }).when((PartitionedPollingSource) source).poll(any(), eq(0));
+    doAnswer(invocation -> {
+      // the first partition is polled while this one is still being polled
+      polledConcurrently.set(firstPartitionPolled.await(TIMEOUT, SECONDS));
+      return null;
+    }).when((PartitionedPollingSource) source).poll(any(), eq(1));
+
+    List<Thread> partitionThreads = new ArrayList<>();
+    org.mule.runtime.api.scheduler.Scheduler executor = mock(org.mule.runtime.api.scheduler.Scheduler.class);
+    doAnswer(invocation -> {
+      Thread partitionThread = new Thread((Runnable) invocation.getArgument(0));
+      partitionThreads.add(partitionThread);
+      partitionThread.start();
+      return null;
+    }).when(executor).submit(any(Runnable.class));
+    when(schedulerServiceMock.customScheduler(any())).thenReturn(executor);
+
+    startPolling(source, callbackMock).run();
+    for (Thread partitionThread : partitionThreads) {
+      partitionThread.join(SECONDS.toMillis(TIMEOUT));
+    }
+
+    assertThat(partitionThreads, hasSize(1));
+    assertThat(polledConcurrently.get(), is(true));
+  }
+
+  @Test
+  public void watermarkUpdatedPerPartition() throws Exception {
+    Map<String, ObjectStore<Serializable>> stores = new HashMap<>();
+    when(objectStoreManagerMock.getOrCreateObjectStore(any(), any()))
+        .thenAnswer(invocation -> stores.computeIfAbsent(invocation.getArgument(0), name -> new SimpleMemoryObjectStore<>()));
+
+    PollingSource<Object, Object> source = createPartitionedSource(2);
+    List<PollItemStatus> statuses = new ArrayList<>();
+    Queue<Integer> firstPartitionWatermarks = new LinkedList<>(asList(5, 7));
+    Queue<Integer> secondPartitionWatermarks = new LinkedList<>(asList(10, 8));
+    doAnswer(invocation -> {
+      statuses.add(acceptWithWatermark(invocation.getArgument(0), firstPartitionWatermarks.remove()));
+      return null;
+    }).when((PartitionedPollingSource) source).poll(any(), eq(0));
+    doAnswer(invocation -> {
+      statuses.add(acceptWithWatermark(invocation.getArgument(0), secondPartitionWatermarks.remove()));
+      return null;
+    }).when((PartitionedPollingSource) source).poll(any(), eq(1));
+
+    org.mule.runtime.api.scheduler.Scheduler executor = mock(org.mule.runtime.api.scheduler.Scheduler.class);
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArgument(0)).run();
+      return null;
+    }).when(executor).submit(any(Runnable.class));
+    when(schedulerServiceMock.customScheduler(any())).thenReturn(executor);
+
+    SourceCallbackAdapter<Object, Object> callback = mock(SourceCallbackAdapter.class);
+    when(callback.createContext()).thenAnswer(invocation -> mock(SourceCallbackContextAdapter.class));
+
+    Runnable poll = startPolling(source, callback);
+    poll.run();
+
+    assertThat(stores.get(EXPECTED_WATERMARK_OS).retrieve(WATERMARK_ITEM_OS_KEY), is(5));
+    assertThat(stores.get(EXPECTED_PARTITION_WATERMARK_OS).retrieve(WATERMARK_ITEM_OS_KEY), is(10));
+
+    poll.run();
+
+    // the first partition is polled once the others have been scheduled
+    assertThat(statuses, contains(ACCEPTED, ACCEPTED, FILTERED_BY_WATERMARK, ACCEPTED));
+    assertThat(stores.get(EXPECTED_WATERMARK_OS).retrieve(WATERMARK_ITEM_OS_KEY), is(7));
+    assertThat(stores.get(EXPECTED_PARTITION_WATERMARK_OS).retrieve(WATERMARK_ITEM_OS_KEY), is(10));
+  }
+
+  private PollItemStatus acceptWithWatermark(PollContext<Object, Object> pollContext, Integer watermark) {
+    return pollContext.accept(item -> item.setResult(Result.builder().output(watermark).build()).setWatermark(watermark));
+  }
+
+  private SourceCallbackContextAdapter createCallbackContext() {
+    Map<String, Object> variables = new HashMap<>();
+    SourceCallbackContextAdapter context = mock(SourceCallbackContextAdapter.class);
+    doAnswer(invocation -> variables.put(invocation.getArgument(0), invocation.getArgument(1)))
+        .when(context).addVariable(any(), any());
+    when(context.getVariable(any())).thenAnswer(invocation -> ofNullable(variables.get(invocation.getArgument(0))));
+    return context;
+  }
+
+  private PollingSource<Object, Object> createPartitionedSource(int partitionsCount) {
+    PollingSource<Object, Object> partitionedSource =
+        mock(PollingSource.class, withSettings().extraInterfaces(PartitionedPollingSource.class));
+    when(((PartitionedPollingSource) partitionedSource).getPartitionsCount()).thenReturn(partitionsCount);
+    when(lockFactoryMock.createLock(any()).tryLock()).thenReturn(true);
+    return partitionedSource;
+  }
+
+  /**
+   * Starts a wrapper of the given source and returns its poll, to be run by the test instead of the scheduler.
+   */
+  private Runnable startPolling(PollingSource<Object, Object> source, SourceCallback<Object, Object> callback)
+      throws Exception {
+    Scheduler scheduler = mock(Scheduler.class);
+    pollingSourceWrapper = new PollingSourceWrapper<>(source, scheduler);
+    setFieldValue(pollingSourceWrapper, "lockFactory", lockFactoryMock, false);
+    setFieldValue(pollingSourceWrapper, "objectStoreManager", objectStoreManagerMock, false);
+    setFieldValue(pollingSourceWrapper, "schedulerService", schedulerServiceMock, false);
+    setComponentLocationMock();
+
+    pollingSourceWrapper.onStart(callback);
+
+    ArgumentCaptor<Runnable> poll = forClass(Runnable.class);
+    verify(scheduler).schedule(any(), poll.capture());
+    return poll.getValue();
+  }
+
   private void assertPersistentStoreIsCreated(String expectedName, Long expirationInterval) {
     assertStoreIsCreated(expectedName, true, expirationInterval);
   }
@@ -6,13 +6,21 @@
  */
 package org.mule.runtime.module.tls.internal;
 
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
 import static java.util.Arrays.copyOf;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 
 import org.mule.runtime.api.component.AbstractComponent;
 import org.mule.runtime.api.lifecycle.CreateException;
+import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.tls.TlsContextFactory;
 import org.mule.runtime.api.tls.TlsContextKeyStoreConfiguration;
 import org.mule.runtime.api.tls.TlsContextTrustStoreConfiguration;
@@ -23,16 +31,23 @@ import org.mule.runtime.core.internal.security.tls.RestrictedSSLSocketFactory;
 import org.mule.runtime.core.internal.util.ArrayUtils;
 import org.mule.runtime.core.privileged.security.RevocationCheck;
 import org.mule.runtime.core.privileged.security.tls.TlsConfiguration;
+import org.mule.runtime.module.tls.internal.revocation.CrlFile;
 
 import com.google.common.base.Joiner;
 
+import java.io.File;
 import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.inject.Inject;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.SSLServerSocketFactory;
 import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
@@ -45,21 +60,58 @@ import org.slf4j.LoggerFactory;
 /**
  * Default implementation of the {@code TlsContextFactory} interface, which delegates all its operations to a
  * {@code TlsConfiguration} object. Only enabled cipher suites and protocols will not delegate to it if configured.
+ * <p>
+ * The {@link SSLContext} is built once and shared by all the socket factories created from this instance, so that TLS sessions
+ * can be resumed across connections. If a stores watch interval is set, the key and trust store files are checked for changes
+ * with that interval and the context is rebuilt when they change, so that certificates can be rotated without redeploying. That
+ * check, and the reload of a {@link CrlFile}, run on a scheduler obtained from the {@link SchedulerService}, which is stopped
+ * when this factory is disposed.
  */
-public class DefaultTlsContextFactory extends AbstractComponent implements TlsContextFactory, Initialisable {
+public class DefaultTlsContextFactory extends AbstractComponent implements TlsContextFactory, Initialisable, Disposable {
+
+  /**
+   * The size of the client and server TLS session caches of the built {@link SSLContext}. Zero means no limit. If not set, the
+   * JVM's default is used.
+   */
+  public static final String MULE_TLS_SESSION_CACHE_SIZE = SYSTEM_PROPERTY_PREFIX + "tls.sessionCacheSize";
+
+  /**
+   * The timeout in seconds of the TLS sessions cached by the built {@link SSLContext}. Zero means no timeout. If not set, the
+   * JVM's default is used.
+   */
+  public static final String MULE_TLS_SESSION_TIMEOUT = SYSTEM_PROPERTY_PREFIX + "tls.sessionTimeout";
+
+  /**
+   * The interval in milliseconds for checking whether the key and trust store files changed. Zero, the default, means that they
+   * are not checked.
+   */
+  public static final String MULE_TLS_STORES_WATCH_INTERVAL = SYSTEM_PROPERTY_PREFIX + "tls.storesWatchInterval";
 
   private static final Logger logger = LoggerFactory.getLogger(DefaultTlsContextFactory.class);
   private static final String DEFAULT = "default";
 
   private String name;
 
-  private final TlsConfiguration tlsConfiguration;
+  // replaced with a new one when the stores are reloaded
+  private volatile TlsConfiguration tlsConfiguration;
 
   private AtomicBoolean initialized = new AtomicBoolean(false);
   private boolean trustStoreInsecure = false;
   private String[] enabledProtocols;
   private String[] enabledCipherSuites;
 
+  private int sessionCacheSize = getInteger(MULE_TLS_SESSION_CACHE_SIZE, -1);
+  private int sessionTimeout = getInteger(MULE_TLS_SESSION_TIMEOUT, -1);
+  private long storesWatchInterval = getLong(MULE_TLS_STORES_WATCH_INTERVAL, 0L);
+
+  @Inject
+  private SchedulerService schedulerService;
+
+  private volatile SSLContext sslContext;
+  private Scheduler scheduler;
+  private RevocationCheck revocationCheck;
+  private long[] storesLastModified;
+
   public DefaultTlsContextFactory(Map<QName, Object> annotations) {
     tlsConfiguration = new TlsConfiguration(null);
     tlsConfiguration.setAnnotations(annotations);
@@ -71,6 +123,9 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
       return;
     }
 
+    // started before initialising the TLS configuration, since that is when a CRL file is loaded
+    startScheduler();
+
     try {
       tlsConfiguration.initialise(null == getKeyStorePath(), null);
     } catch (CreateException e) {
@@ -97,6 +152,100 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
         }
       }
     }
+
+    startStoresWatcher();
+  }
+
+  @Override
+  public void dispose() {
+    if (scheduler != null) {
+      scheduler.stop();
+      scheduler = null;
+    }
+  }
+
+  private void startScheduler() {
+    boolean watchStores = storesWatchInterval > 0 && !getStoreFiles().isEmpty();
+    if (!watchStores && !(revocationCheck instanceof CrlFile)) {
+      return;
+    }
+
+    if (schedulerService == null) {
+      logger.warn("No scheduler service available for TLS context {}, its key and trust stores and CRL file will not be watched "
+          + "for changes", name);
+      return;
+    }
+
+    // one task for the stores and one for the CRL file
+    scheduler = schedulerService.customScheduler(config().withName("tls-context." + name).withMaxConcurrentTasks(2));
+    if (revocationCheck instanceof CrlFile) {
+      ((CrlFile) revocationCheck).setReloadScheduler(scheduler);
+    }
+  }
+
+  private void startStoresWatcher() {
+    List<File> storeFiles = getStoreFiles();
+    if (scheduler == null || storesWatchInterval <= 0 || storeFiles.isEmpty()) {
+      return;
+    }
+
+    storesLastModified = lastModified(storeFiles);
+    scheduler.scheduleWithFixedDelay(() -> reloadIfStoresChanged(storeFiles), storesWatchInterval, storesWatchInterval,
+                                         MILLISECONDS);
+  }
+
+  private List<File> getStoreFiles() {
+    List<File> storeFiles = new ArrayList<>(2);
+    for (String storePath : new String[] {getKeyStorePath(), getTrustStorePath()}) {
+      // stores loaded from the classpath cannot be watched
+      if (storePath != null && new File(storePath).isFile()) {
+        storeFiles.add(new File(storePath));
+      }
+    }
+    return storeFiles;
+  }
+
+  private long[] lastModified(List<File> files) {
+    return files.stream().mapToLong(File::lastModified).toArray();
+  }
+
+  private void reloadIfStoresChanged(List<File> storeFiles) {
+    long[] lastModified = lastModified(storeFiles);
+    if (Arrays.equals(lastModified, storesLastModified)) {
+      return;
+    }
+
+    try {
+      // the current configuration is left untouched until the new one is ready, since it is in use by other threads
+      TlsConfiguration reloadedConfiguration = copyTlsConfiguration();
+      reloadedConfiguration.initialise(null == getKeyStorePath(), null);
+      SSLContext reloadedContext = buildSslContext(reloadedConfiguration);
+      tlsConfiguration = reloadedConfiguration;
+      sslContext = reloadedContext;
+      storesLastModified = lastModified;
+      logger.info("Key or trust store changed, reloaded TLS context {}", name);
+    } catch (Exception e) {
+      // the stores may be in the middle of being written, so this is retried on the next check
+      logger.warn("Could not reload TLS context " + name + " after its key or trust store changed, keeping the previous one",
+                  e);
+    }
+  }
+
+  private TlsConfiguration copyTlsConfiguration() throws IOException {
+    TlsConfiguration current = tlsConfiguration;
+    TlsConfiguration copy = new TlsConfiguration(current.getKeyStore());
+    copy.setAnnotations(current.getAnnotations());
+    copy.setKeyStoreType(current.getKeyStoreType());
+    copy.setKeyAlias(current.getKeyAlias());
+    copy.setKeyStorePassword(current.getKeyStorePassword());
+    copy.setKeyPassword(current.getKeyPassword());
+    copy.setKeyManagerAlgorithm(current.getKeyManagerAlgorithm());
+    copy.setTrustStore(current.getTrustStore());
+    copy.setTrustStoreType(current.getTrustStoreType());
+    copy.setTrustStorePassword(current.getTrustStorePassword());
+    copy.setTrustManagerAlgorithm(current.getTrustManagerAlgorithm());
+    copy.setRevocationCheck(revocationCheck);
+    return copy;
   }
 
   private boolean isUseDefaults(String[] array) {
@@ -212,23 +361,84 @@ public class DefaultTlsContextFactory extends AbstractComponent implements TlsCo
                                 name == null ? StringUtils.EMPTY : name));
     }
     this.trustStoreInsecure = insecure;
+    this.sslContext = null;
+  }
+
+  public int getSessionCacheSize() {
+    return sessionCacheSize;
+  }
+
+  public void setSessionCacheSize(int sessionCacheSize) {
+    this.sessionCacheSize = sessionCacheSize;
+  }
+
+  public int getSessionTimeout() {
+    return sessionTimeout;
+  }
+
+  public void setSessionTimeout(int sessionTimeout) {
+    this.sessionTimeout = sessionTimeout;
+  }
+
+  public long getStoresWatchInterval() {
+    return storesWatchInterval;
+  }
+
+  public void setStoresWatchInterval(long storesWatchInterval) {
+    this.storesWatchInterval = storesWatchInterval;
   }
 
   public void setRevocationCheck(RevocationCheck revocationCheck) {
+    this.revocationCheck = revocationCheck;
     tlsConfiguration.setRevocationCheck(revocationCheck);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The context is built on the first invocation and then reused.
+   */
   @Override
   public SSLContext createSslContext() throws KeyManagementException, NoSuchAlgorithmException {
+    SSLContext context = sslContext;
+    if (context == null) {
+      synchronized (this) {
+        context = sslContext;
+        if (context == null) {
+          context = buildSslContext(tlsConfiguration);
+          sslContext = context;
+        }
+      }
+    }
+    return context;
+  }
+
+  private SSLContext buildSslContext(TlsConfiguration configuration) throws KeyManagementException, NoSuchAlgorithmException {
     SSLContext sslContext;
     if (trustStoreInsecure) {
-      sslContext = tlsConfiguration.getSslContext(new TrustManager[] {new InsecureTrustManager()});
+      sslContext = configuration.getSslContext(new TrustManager[] {new InsecureTrustManager()});
     } else {
-      sslContext = tlsConfiguration.getSslContext();
+      sslContext = configuration.getSslContext();
     }
+
+    configureSessionContext(sslContext.getClientSessionContext());
+    configureSessionContext(sslContext.getServerSessionContext());
     return sslContext;
   }
 
+  private void configureSessionContext(SSLSessionContext sessionContext) {
+    if (sessionContext == null) {
+      return;
+    }
+
+    if (sessionCacheSize >= 0) {
+      sessionContext.setSessionCacheSize(sessionCacheSize);
+    }
+    if (sessionTimeout >= 0) {
+      sessionContext.setSessionTimeout(sessionTimeout);
+    }
+  }
+
   @Override
   public SSLSocketFactory createSocketFactory() throws KeyManagementException, NoSuchAlgorithmException {
     return new RestrictedSSLSocketFactory(createSslContext(), getEnabledCipherSuites(), getEnabledProtocols());
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.lang.System.currentTimeMillis;
+import static java.security.cert.CertPathValidatorException.BasicReason.REVOKED;
+import static java.security.cert.CertPathValidatorException.BasicReason.UNDETERMINED_REVOCATION_STATUS;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.api.util.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.PKIXCertPathChecker;
+import java.security.cert.PKIXParameters;
+import java.security.cert.PKIXRevocationChecker;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link PKIXCertPathChecker} which checks the revocation status of each certificate in the path with a fixed OCSP responder,
+ * reusing each response until its {@code nextUpdate} time instead of querying the responder on every handshake.
+ * <p>
+ * Responses are validated by the JDK's {@link PKIXRevocationChecker} both when fetched and when reused, so a cached response is
+ * trusted exactly as much as a fresh one. Responses without a {@code nextUpdate} are never cached.
+ *
+ * @since 4.3.0
+ */
+final class CachingOcspRevocationChecker extends PKIXCertPathChecker {
+
+  private static final Logger LOGGER = getLogger(CachingOcspRevocationChecker.class);
+
+  private static final int CONNECT_TIMEOUT = 15000;
+  private static final int READ_TIMEOUT = 15000;
+  private static final int MAX_CACHED_RESPONSES = 10000;
+
+  private final URI responderUri;
+  private final X509Certificate responderCert;
+  private final Set<TrustAnchor> trustAnchors;
+
+  // shared by the clones of this checker that the JDK creates for each validation
+  private final Map<X509Certificate, CachedResponse> responses;
+
+  private X509Certificate previous;
+
+  CachingOcspRevocationChecker(URI responderUri, X509Certificate responderCert, Set<TrustAnchor> trustAnchors) {
+    this.responderUri = responderUri;
+    this.responderCert = responderCert;
+    this.trustAnchors = trustAnchors;
+    this.responses = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public void init(boolean forward) throws CertPathValidatorException {
+    if (forward) {
+      throw new CertPathValidatorException("Forward checking not supported");
+    }
+    previous = null;
+  }
+
+  @Override
+  public boolean isForwardCheckingSupported() {
+    return false;
+  }
+
+  @Override
+  public Set<String> getSupportedExtensions() {
+    return emptySet();
+  }
+
+  @Override
+  public void check(Certificate cert, Collection<String> unresolvedCritExts) throws CertPathValidatorException {
+    X509Certificate certificate = (X509Certificate) cert;
+    X509Certificate issuer = previous != null ? previous : findTrustAnchor(certificate);
+    previous = certificate;
+
+    if (issuer == null) {
+      throw new CertPathValidatorException("Could not determine revocation status: issuer of '"
+          + certificate.getSubjectX500Principal() + "' not found", null, null, -1, UNDETERMINED_REVOCATION_STATUS);
+    }
+
+    CachedResponse cached = responses.get(certificate);
+    if (cached != null) {
+      if (cached.isFresh()) {
+        validate(certificate, issuer, cached.response);
+        return;
+      }
+      responses.remove(certificate, cached);
+    }
+
+    byte[] response = fetch(certificate, issuer);
+    try {
+      validate(certificate, issuer, response);
+      cache(certificate, response);
+    } catch (CertPathValidatorException e) {
+      // a revoked status is as reusable as a good one
+      if (e.getReason() == REVOKED) {
+        cache(certificate, response);
+      }
+      throw e;
+    }
+  }
+
+  private void cache(X509Certificate certificate, byte[] response) {
+    Date nextUpdate = nextUpdate(response);
+    if (nextUpdate == null) {
+      return;
+    }
+
+    if (responses.size() >= MAX_CACHED_RESPONSES) {
+      responses.values().removeIf(cached -> !cached.isFresh());
+    }
+    if (responses.size() < MAX_CACHED_RESPONSES) {
+      responses.put(certificate, new CachedResponse(response, nextUpdate));
+    }
+  }
+
+  private X509Certificate findTrustAnchor(X509Certificate certificate) {
+    for (TrustAnchor trustAnchor : trustAnchors) {
+      X509Certificate anchorCert = trustAnchor.getTrustedCert();
+      if (anchorCert != null && anchorCert.getSubjectX500Principal().equals(certificate.getIssuerX500Principal())) {
+        return anchorCert;
+      }
+    }
+    return null;
+  }
+
+  private byte[] fetch(X509Certificate certificate, X509Certificate issuer) throws CertPathValidatorException {
+    try {
+      byte[] request = OcspMessages.createRequest(certificate, issuer);
+
+      HttpURLConnection connection = (HttpURLConnection) responderUri.toURL().openConnection();
+      try {
+        connection.setConnectTimeout(CONNECT_TIMEOUT);
+        connection.setReadTimeout(READ_TIMEOUT);
+        connection.setDoOutput(true);
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "application/ocsp-request");
+        connection.setRequestProperty("Accept", "application/ocsp-response");
+        connection.setFixedLengthStreamingMode(request.length);
+
+        try (OutputStream out = connection.getOutputStream()) {
+          out.write(request);
+        }
+        try (InputStream in = connection.getInputStream()) {
+          return IOUtils.toByteArray(in);
+        }
+      } finally {
+        connection.disconnect();
+      }
+    } catch (IOException e) {
+      throw new CertPathValidatorException("Could not obtain OCSP response from " + responderUri, e, null, -1,
+                                           UNDETERMINED_REVOCATION_STATUS);
+    }
+  }
+
+  private Date nextUpdate(byte[] response) {
+    try {
+      return OcspMessages.getNextUpdate(response);
+    } catch (IOException e) {
+      // the JDK reports malformed responses when validating them
+      LOGGER.debug("Could not read nextUpdate of OCSP response from " + responderUri, e);
+      return null;
+    }
+  }
+
+  /**
+   * Validates the given {@code response} for the given {@code certificate} with the JDK's checker, by validating a path made of
+   * just that certificate and anchored on its issuer.
+   */
+  private void validate(X509Certificate certificate, X509Certificate issuer, byte[] response)
+      throws CertPathValidatorException {
+    try {
+      CertPathValidator validator = CertPathValidator.getInstance("PKIX");
+
+      PKIXRevocationChecker revocationChecker = (PKIXRevocationChecker) validator.getRevocationChecker();
+      revocationChecker.setOptions(EnumSet.of(PKIXRevocationChecker.Option.NO_FALLBACK));
+      revocationChecker.setOcspResponder(responderUri);
+      if (responderCert != null) {
+        revocationChecker.setOcspResponderCert(responderCert);
+      }
+      revocationChecker.setOcspResponses(singletonMap(certificate, response));
+
+      PKIXParameters params = new PKIXParameters(singleton(new TrustAnchor(issuer, null)));
+      params.addCertPathChecker(revocationChecker);
+
+      validator.validate(CertificateFactory.getInstance("X.509").generateCertPath(singletonList(certificate)), params);
+    } catch (CertPathValidatorException e) {
+      throw new CertPathValidatorException(e.getMessage(), e.getCause(), null, -1, e.getReason());
+    } catch (GeneralSecurityException e) {
+      throw new CertPathValidatorException("Could not validate OCSP response from " + responderUri, e, null, -1,
+                                           UNDETERMINED_REVOCATION_STATUS);
+    }
+  }
+
+  private static final class CachedResponse {
+
+    private final byte[] response;
+    private final long nextUpdate;
+
+    private CachedResponse(byte[] response, Date nextUpdate) {
+      this.response = response;
+      this.nextUpdate = nextUpdate.getTime();
+    }
+
+    private boolean isFresh() {
+      return currentTimeMillis() < nextUpdate;
+    }
+  }
+}
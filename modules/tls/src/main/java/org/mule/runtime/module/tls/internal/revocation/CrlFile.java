@@ -9,27 +9,19 @@ package org.mule.runtime.module.tls.internal.revocation;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 
 import org.mule.runtime.api.component.AbstractComponent;
-import org.mule.runtime.core.api.util.IOUtils;
 import org.mule.runtime.core.privileged.security.RevocationCheck;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
-import java.security.cert.CRL;
-import java.security.cert.CRLException;
-import java.security.cert.CertStore;
-import java.security.cert.CertificateException;
-import java.security.cert.CertificateFactory;
-import java.security.cert.CollectionCertStoreParameters;
 import java.security.cert.PKIXBuilderParameters;
 import java.security.cert.TrustAnchor;
 import java.security.cert.X509CertSelector;
 import java.security.cert.X509Certificate;
-import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.net.ssl.CertPathTrustManagerParameters;
 import javax.net.ssl.ManagerFactoryParameters;
@@ -40,17 +32,29 @@ import javax.net.ssl.ManagerFactoryParameters;
  *
  * Note that the signer of the CRL must be the client certificate's CA, in case that's not possible consider
  * using {@link CustomOcspResponder}.
+ * <p>
+ * The revoked certificates are indexed by serial number when loaded, and the file is reloaded in the background when it changes
+ * (see {@link ReloadableCrlIndex#MULE_TLS_CRL_RELOAD_INTERVAL}), on the scheduler set by the TLS context that uses it.
  *
  * @since 4.1
  */
 public class CrlFile extends AbstractComponent implements RevocationCheck {
 
   private String path;
+  private ScheduledExecutorService reloadScheduler;
+  private ReloadableCrlIndex crlIndex;
 
   public void setPath(String path) {
     this.path = path;
   }
 
+  /**
+   * @param reloadScheduler where to check the CRL file for changes. If not set, the file is only loaded once.
+   */
+  public void setReloadScheduler(ScheduledExecutorService reloadScheduler) {
+    this.reloadScheduler = reloadScheduler;
+  }
+
   @Override
   public ManagerFactoryParameters configFor(KeyStore trustStore, Set<TrustAnchor> defaultTrustAnchors) {
     checkArgument(path != null, "tls:crl-file requires the 'path' attribute");
@@ -60,13 +64,14 @@ public class CrlFile extends AbstractComponent implements RevocationCheck {
       Set<TrustAnchor> trustAnchors = getTrustAnchorsFromKeyStore(trustStore);
       PKIXBuilderParameters pbParams = new PKIXBuilderParameters(trustAnchors, new X509CertSelector());
 
-      // Make sure revocation checking is enabled (com.sun.net.ssl.checkRevocation)
-      pbParams.setRevocationEnabled(true);
-
-      Collection<? extends CRL> crls = loadCRL(path);
-      if (crls != null && !crls.isEmpty()) {
-        pbParams.addCertStore(CertStore.getInstance("Collection", new CollectionCertStoreParameters(crls)));
+      // Revocation is checked against the index rather than by the JDK's checker, which scans the whole CRL on every handshake
+      pbParams.setRevocationEnabled(false);
+      // the trust manager using the previously loaded CRL is being replaced
+      if (crlIndex != null) {
+        crlIndex.stop();
       }
+      crlIndex = new ReloadableCrlIndex(path, trustAnchors, reloadScheduler);
+      pbParams.addCertPathChecker(new IndexedCrlRevocationChecker(crlIndex));
 
       return new CertPathTrustManagerParameters(pbParams);
     } catch (IOException | GeneralSecurityException e) {
@@ -74,24 +79,6 @@ public class CrlFile extends AbstractComponent implements RevocationCheck {
     }
   }
 
-  private Collection<? extends CRL> loadCRL(String crlPath) throws CertificateException, IOException, CRLException {
-    Collection<? extends CRL> crlList = null;
-
-    if (crlPath != null) {
-      InputStream in = null;
-      try {
-        in = IOUtils.getResourceAsStream(crlPath, getClass());
-        crlList = CertificateFactory.getInstance("X.509").generateCRLs(in);
-      } finally {
-        if (in != null) {
-          in.close();
-        }
-      }
-    }
-
-    return crlList;
-  }
-
   private static Set<TrustAnchor> getTrustAnchorsFromKeyStore(KeyStore keyStore) throws GeneralSecurityException {
     Enumeration<String> aliases = keyStore.aliases();
     HashSet<TrustAnchor> trustAnchors = new HashSet<>();
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.cert.CRL;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.slf4j.Logger;
+
+/**
+ * Immutable index of the entries of a set of CRLs, by issuer and serial number, so that checking whether a certificate is revoked
+ * takes constant time regardless of the size of the CRLs.
+ * <p>
+ * Only CRLs signed by one of the given trust anchors, and without critical extensions, are indexed, since none of them is
+ * supported. CRLs are only used to check certificates while they are current, as the JDK's revocation checker does: an expired
+ * CRL is no proof that a certificate is not revoked.
+ *
+ * @since 4.3.0
+ */
+final class CrlIndex {
+
+  private static final Logger LOGGER = getLogger(CrlIndex.class);
+
+  // Same tolerance as the JDK's revocation checker
+  private static final long MAX_CLOCK_SKEW = MINUTES.toMillis(15);
+
+  private final Map<X500Principal, List<IndexedCrl>> crlsByIssuer;
+
+  private CrlIndex(Map<X500Principal, List<IndexedCrl>> crlsByIssuer) {
+    this.crlsByIssuer = crlsByIssuer;
+  }
+
+  /**
+   * Builds an index from the given {@code crls}, ignoring the ones whose signature cannot be verified with any of the given
+   * {@code trustAnchors} and the ones with critical extensions.
+   *
+   * @param crls         the CRLs to index
+   * @param trustAnchors the trusted certificates that may have issued the CRLs
+   * @return a new index
+   */
+  static CrlIndex index(Collection<? extends CRL> crls, Set<TrustAnchor> trustAnchors) {
+    Map<X500Principal, List<IndexedCrl>> crlsByIssuer = new HashMap<>();
+
+    for (CRL crl : crls) {
+      if (!(crl instanceof X509CRL)) {
+        continue;
+      }
+
+      X509CRL x509Crl = (X509CRL) crl;
+      if (!isSignedByTrustAnchor(x509Crl, trustAnchors)) {
+        LOGGER.warn("Ignoring CRL issued by '{}', since its signature could not be verified with any of the trusted certificates",
+                    x509Crl.getIssuerX500Principal());
+        continue;
+      }
+
+      Set<String> criticalExtensions = getCriticalExtensions(x509Crl);
+      if (!criticalExtensions.isEmpty()) {
+        LOGGER.warn("Ignoring CRL issued by '{}', since it has unsupported critical extensions {}",
+                    x509Crl.getIssuerX500Principal(), criticalExtensions);
+        continue;
+      }
+
+      if (x509Crl.getNextUpdate() != null && x509Crl.getNextUpdate().before(new Date())) {
+        LOGGER.warn("CRL issued by '{}' expired on {}, the revocation status of the certificates it covers cannot be determined "
+            + "until it is updated", x509Crl.getIssuerX500Principal(), x509Crl.getNextUpdate());
+      }
+
+      crlsByIssuer.computeIfAbsent(x509Crl.getIssuerX500Principal(), issuer -> new ArrayList<>(1))
+          .add(new IndexedCrl(x509Crl));
+    }
+
+    return new CrlIndex(crlsByIssuer.isEmpty() ? emptyMap() : crlsByIssuer);
+  }
+
+  private static boolean isSignedByTrustAnchor(X509CRL crl, Set<TrustAnchor> trustAnchors) {
+    for (TrustAnchor trustAnchor : trustAnchors) {
+      X509Certificate anchorCert = trustAnchor.getTrustedCert();
+      if (anchorCert != null && anchorCert.getSubjectX500Principal().equals(crl.getIssuerX500Principal())) {
+        try {
+          crl.verify(anchorCert.getPublicKey());
+          return true;
+        } catch (GeneralSecurityException e) {
+          // try with the next anchor with the same subject, if any
+        }
+      }
+    }
+    return false;
+  }
+
+  private static Set<String> getCriticalExtensions(X509CRL crl) {
+    Set<String> criticalExtensions = new HashSet<>();
+    if (crl.getCriticalExtensionOIDs() != null) {
+      criticalExtensions.addAll(crl.getCriticalExtensionOIDs());
+    }
+
+    Set<? extends X509CRLEntry> entries = crl.getRevokedCertificates();
+    if (entries != null) {
+      for (X509CRLEntry entry : entries) {
+        if (entry.getCriticalExtensionOIDs() != null) {
+          criticalExtensions.addAll(entry.getCriticalExtensionOIDs());
+        }
+      }
+    }
+    return criticalExtensions;
+  }
+
+  /**
+   * @param certificate a certificate
+   * @param date        the date for which the revocation status is checked
+   * @return whether a CRL from the issuer of the given {@code certificate} that is current at the given {@code date} was indexed
+   */
+  boolean hasCurrentCrlFor(X509Certificate certificate, Date date) {
+    for (IndexedCrl crl : crlsByIssuer.getOrDefault(certificate.getIssuerX500Principal(), emptyList())) {
+      if (crl.isCurrent(date)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param certificate a certificate
+   * @param date        the date for which the revocation status is checked
+   * @return the entry of a CRL current at the given {@code date} that revokes the given {@code certificate}, or {@code null} if
+   *         it is not revoked
+   */
+  X509CRLEntry getRevocationEntry(X509Certificate certificate, Date date) {
+    for (IndexedCrl crl : crlsByIssuer.getOrDefault(certificate.getIssuerX500Principal(), emptyList())) {
+      if (!crl.isCurrent(date)) {
+        continue;
+      }
+
+      X509CRLEntry entry = crl.revoked.get(certificate.getSerialNumber());
+      if (entry != null && !entry.getRevocationDate().after(date)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * The revoked entries of a single CRL, along with the period in which it is current.
+   */
+  private static final class IndexedCrl {
+
+    private final Date thisUpdate;
+    private final Date nextUpdate;
+    private final Map<BigInteger, X509CRLEntry> revoked = new HashMap<>();
+
+    private IndexedCrl(X509CRL crl) {
+      this.thisUpdate = crl.getThisUpdate();
+      this.nextUpdate = crl.getNextUpdate();
+
+      Set<? extends X509CRLEntry> entries = crl.getRevokedCertificates();
+      if (entries != null) {
+        for (X509CRLEntry entry : entries) {
+          revoked.put(entry.getSerialNumber(), entry);
+        }
+      }
+    }
+
+    private boolean isCurrent(Date date) {
+      final long time = date.getTime();
+      return thisUpdate.getTime() - MAX_CLOCK_SKEW <= time
+          && (nextUpdate == null || nextUpdate.getTime() + MAX_CLOCK_SKEW >= time);
+    }
+  }
+}
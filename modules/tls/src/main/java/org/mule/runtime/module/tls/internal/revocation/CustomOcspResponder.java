@@ -15,13 +15,10 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.GeneralSecurityException;
 import java.security.KeyStore;
-import java.security.cert.CertPathBuilder;
 import java.security.cert.PKIXBuilderParameters;
-import java.security.cert.PKIXRevocationChecker;
 import java.security.cert.TrustAnchor;
 import java.security.cert.X509CertSelector;
 import java.security.cert.X509Certificate;
-import java.util.EnumSet;
 import java.util.Set;
 
 import javax.net.ssl.CertPathTrustManagerParameters;
@@ -31,6 +28,8 @@ import javax.net.ssl.ManagerFactoryParameters;
  * Uses a custom OCSP responder for certificate revocation checks, with a specific trusted certificate for
  * revocating other keys. This ignores extension points (additional tags for CRLDP or OCSP) present in the
  * certificate, if any.
+ * <p>
+ * Responses are reused until their {@code nextUpdate} time, so the responder is not queried on every handshake.
  *
  * @since 4.1
  */
@@ -53,23 +52,20 @@ public class CustomOcspResponder extends AbstractComponent implements Revocation
     checkArgument(trustStore != null, "tls:custom-ocsp-responder requires a trust store");
 
     try {
-      CertPathBuilder cpb = CertPathBuilder.getInstance("PKIX");
-      PKIXRevocationChecker rc = (PKIXRevocationChecker) cpb.getRevocationChecker();
-      rc.setOptions(EnumSet.of(PKIXRevocationChecker.Option.NO_FALLBACK));
-
-      if (url != null) {
-        rc.setOcspResponder(new URI(url));
-      }
+      X509Certificate responderCert = null;
       if (certAlias != null) {
         if (trustStore.isCertificateEntry(certAlias)) {
-          rc.setOcspResponderCert((X509Certificate) trustStore.getCertificate(certAlias));
+          responderCert = (X509Certificate) trustStore.getCertificate(certAlias);
         } else {
           throw new IllegalStateException("Key with alias \"" + certAlias + "\" was not found");
         }
       }
 
       PKIXBuilderParameters pkixParams = new PKIXBuilderParameters(trustStore, new X509CertSelector());
-      pkixParams.addCertPathChecker(rc);
+
+      // The JDK's checker is used by the caching one to validate the responses, rather than querying the responder directly
+      pkixParams.setRevocationEnabled(false);
+      pkixParams.addCertPathChecker(new CachingOcspRevocationChecker(new URI(url), responderCert, pkixParams.getTrustAnchors()));
 
       return new CertPathTrustManagerParameters(pkixParams);
     } catch (GeneralSecurityException | URISyntaxException e) {
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.security.cert.CRLReason.UNSPECIFIED;
+import static java.security.cert.CertPathValidatorException.BasicReason.REVOKED;
+import static java.security.cert.CertPathValidatorException.BasicReason.UNDETERMINED_REVOCATION_STATUS;
+import static java.util.Collections.emptySet;
+
+import java.security.cert.CRLReason;
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.Certificate;
+import java.security.cert.PKIXCertPathChecker;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * {@link PKIXCertPathChecker} which checks the revocation status of each certificate in the path against a {@link CrlIndex}.
+ * Certificates whose issuer has no current CRL in the index fail with an undetermined revocation status.
+ * <p>
+ * The index is obtained from the given supplier on every check, so that a reloaded index is used by the next handshake without
+ * having to rebuild the trust manager.
+ *
+ * @since 4.3.0
+ */
+final class IndexedCrlRevocationChecker extends PKIXCertPathChecker {
+
+  private final Supplier<CrlIndex> crlIndex;
+
+  IndexedCrlRevocationChecker(Supplier<CrlIndex> crlIndex) {
+    this.crlIndex = crlIndex;
+  }
+
+  @Override
+  public void init(boolean forward) throws CertPathValidatorException {
+    // stateless, so any direction works
+  }
+
+  @Override
+  public boolean isForwardCheckingSupported() {
+    return true;
+  }
+
+  @Override
+  public Set<String> getSupportedExtensions() {
+    return emptySet();
+  }
+
+  @Override
+  public void check(Certificate cert, Collection<String> unresolvedCritExts) throws CertPathValidatorException {
+    X509Certificate certificate = (X509Certificate) cert;
+    CrlIndex index = crlIndex.get();
+    Date now = new Date();
+
+    if (!index.hasCurrentCrlFor(certificate, now)) {
+      throw new CertPathValidatorException("Could not determine revocation status: no current CRL found for issuer '"
+          + certificate.getIssuerX500Principal() + "'", null, null, -1, UNDETERMINED_REVOCATION_STATUS);
+    }
+
+    X509CRLEntry entry = index.getRevocationEntry(certificate, now);
+    if (entry != null) {
+      CRLReason reason = entry.getRevocationReason() != null ? entry.getRevocationReason() : UNSPECIFIED;
+      throw new CertPathValidatorException("Certificate has been revoked, reason: " + reason + ", revocation date: "
+          + entry.getRevocationDate() + ", authority: " + certificate.getIssuerX500Principal(), null, null, -1, REVOKED);
+    }
+  }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.lang.System.arraycopy;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.TimeZone.getTimeZone;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Minimal DER encoding and decoding of the OCSP messages defined in RFC 6960, just enough to request the status of a certificate
+ * and to know until when a response may be reused. Validating the responses is left to the JDK.
+ *
+ * @since 4.3.0
+ */
+final class OcspMessages {
+
+  private static final int SEQUENCE = 0x30;
+  private static final int INTEGER = 0x02;
+  private static final int BIT_STRING = 0x03;
+  private static final int OCTET_STRING = 0x04;
+  private static final int NULL = 0x05;
+  private static final int OID = 0x06;
+  private static final int ENUMERATED = 0x0A;
+  private static final int GENERALIZED_TIME = 0x18;
+  private static final int CONTEXT_0 = 0xA0;
+
+  // 1.3.14.3.2.26
+  private static final byte[] SHA1_OID = {0x2B, 0x0E, 0x03, 0x02, 0x1A};
+
+  private static final int SUCCESSFUL = 0;
+
+  private OcspMessages() {}
+
+  /**
+   * Encodes an {@code OCSPRequest} for the given {@code certificate}, identified with a SHA-1 {@code CertID} as required by RFC
+   * 5019.
+   *
+   * @param certificate the certificate to check
+   * @param issuer      the certificate of the issuer of {@code certificate}
+   * @return the DER encoded request
+   */
+  static byte[] createRequest(X509Certificate certificate, X509Certificate issuer) throws IOException {
+    MessageDigest sha1;
+    try {
+      sha1 = MessageDigest.getInstance("SHA-1");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IOException(e);
+    }
+
+    byte[] issuerNameHash = sha1.digest(issuer.getSubjectX500Principal().getEncoded());
+    byte[] issuerKeyHash = sha1.digest(subjectPublicKey(issuer.getPublicKey().getEncoded()));
+
+    byte[] certId = encode(SEQUENCE,
+                           encode(SEQUENCE, encode(OID, SHA1_OID), encode(NULL)),
+                           encode(OCTET_STRING, issuerNameHash),
+                           encode(OCTET_STRING, issuerKeyHash),
+                           encode(INTEGER, certificate.getSerialNumber().toByteArray()));
+
+    // OCSPRequest { TBSRequest { requestList { Request { CertID } } } }
+    return encode(SEQUENCE, encode(SEQUENCE, encode(SEQUENCE, encode(SEQUENCE, certId))));
+  }
+
+  /**
+   * Decodes the earliest {@code nextUpdate} of the single responses in the given {@code OCSPResponse}.
+   *
+   * @param response a DER encoded OCSP response
+   * @return the time until which the response may be reused, or {@code null} if the response is not successful or the responder
+   *         did not provide that time.
+   */
+  static Date getNextUpdate(byte[] response) throws IOException {
+    DerReader ocspResponse = new DerReader(response).enter(SEQUENCE);
+    if (ocspResponse.readInteger(ENUMERATED) != SUCCESSFUL || !ocspResponse.hasNext()) {
+      return null;
+    }
+
+    // responseBytes [0] EXPLICIT { responseType, response OCTET STRING }
+    DerReader responseBytes = ocspResponse.enter(CONTEXT_0).enter(SEQUENCE);
+    responseBytes.skip();
+    DerReader responseData = new DerReader(responseBytes.read(OCTET_STRING)).enter(SEQUENCE).enter(SEQUENCE);
+
+    // version [0] EXPLICIT DEFAULT v1, responderID, producedAt
+    if (responseData.peekTag() == CONTEXT_0) {
+      responseData.skip();
+    }
+    responseData.skip();
+    responseData.skip();
+
+    Date nextUpdate = null;
+    DerReader responses = responseData.enter(SEQUENCE);
+    while (responses.hasNext()) {
+      // certID, certStatus, thisUpdate, nextUpdate [0] EXPLICIT OPTIONAL
+      DerReader singleResponse = responses.enter(SEQUENCE);
+      singleResponse.skip();
+      singleResponse.skip();
+      singleResponse.skip();
+
+      if (!singleResponse.hasNext() || singleResponse.peekTag() != CONTEXT_0) {
+        // a response without nextUpdate means that newer information is always available
+        return null;
+      }
+
+      Date singleNextUpdate = parseGeneralizedTime(singleResponse.enter(CONTEXT_0).read(GENERALIZED_TIME));
+      if (nextUpdate == null || singleNextUpdate.before(nextUpdate)) {
+        nextUpdate = singleNextUpdate;
+      }
+    }
+
+    return nextUpdate;
+  }
+
+  private static byte[] subjectPublicKey(byte[] subjectPublicKeyInfo) throws IOException {
+    DerReader spki = new DerReader(subjectPublicKeyInfo).enter(SEQUENCE);
+    spki.skip();
+    byte[] bitString = spki.read(BIT_STRING);
+
+    // the first byte is the number of unused bits
+    byte[] key = new byte[bitString.length - 1];
+    arraycopy(bitString, 1, key, 0, key.length);
+    return key;
+  }
+
+  private static Date parseGeneralizedTime(byte[] value) throws IOException {
+    String time = new String(value, US_ASCII);
+    if (time.length() < 14) {
+      throw new IOException("Invalid GeneralizedTime: " + time);
+    }
+
+    SimpleDateFormat format = new SimpleDateFormat("yyyyMMddHHmmss");
+    format.setTimeZone(getTimeZone("UTC"));
+    try {
+      return format.parse(time.substring(0, 14));
+    } catch (ParseException e) {
+      throw new IOException("Invalid GeneralizedTime: " + time, e);
+    }
+  }
+
+  private static byte[] encode(int tag, byte[]... contents) {
+    int length = 0;
+    for (byte[] content : contents) {
+      length += content.length;
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream(length + 6);
+    out.write(tag);
+    if (length < 0x80) {
+      out.write(length);
+    } else {
+      int lengthBytes = length > 0xFFFFFF ? 4 : length > 0xFFFF ? 3 : length > 0xFF ? 2 : 1;
+      out.write(0x80 | lengthBytes);
+      for (int i = lengthBytes - 1; i >= 0; --i) {
+        out.write(length >>> (8 * i));
+      }
+    }
+    for (byte[] content : contents) {
+      out.write(content, 0, content.length);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Sequential reader of the DER elements contained in a region of a byte array.
+   */
+  private static final class DerReader {
+
+    private final byte[] data;
+    private final int end;
+    private int position;
+
+    DerReader(byte[] data) {
+      this(data, 0, data.length);
+    }
+
+    private DerReader(byte[] data, int start, int end) {
+      this.data = data;
+      this.position = start;
+      this.end = end;
+    }
+
+    boolean hasNext() {
+      return position < end;
+    }
+
+    int peekTag() throws IOException {
+      checkAvailable(1);
+      return data[position] & 0xFF;
+    }
+
+    /**
+     * Consumes the next element, which must have the given tag, and returns a reader over its contents.
+     */
+    DerReader enter(int tag) throws IOException {
+      int contentEnd = header(tag);
+      DerReader contents = new DerReader(data, position, contentEnd);
+      position = contentEnd;
+      return contents;
+    }
+
+    byte[] read(int tag) throws IOException {
+      int contentEnd = header(tag);
+      byte[] value = new byte[contentEnd - position];
+      arraycopy(data, position, value, 0, value.length);
+      position = contentEnd;
+      return value;
+    }
+
+    int readInteger(int tag) throws IOException {
+      int value = 0;
+      for (byte b : read(tag)) {
+        value = (value << 8) | (b & 0xFF);
+      }
+      return value;
+    }
+
+    void skip() throws IOException {
+      position = header(peekTag());
+    }
+
+    /**
+     * Consumes the tag and length of the next element, leaving the position at the start of its contents.
+     *
+     * @return the position where the contents of the element end
+     */
+    private int header(int expectedTag) throws IOException {
+      int tag = peekTag();
+      if (tag != expectedTag) {
+        throw new IOException("Unexpected DER tag " + tag + ", expected " + expectedTag);
+      }
+      position++;
+
+      checkAvailable(1);
+      int length = data[position++] & 0xFF;
+      if (length >= 0x80) {
+        int lengthBytes = length & 0x7F;
+        if (lengthBytes == 0 || lengthBytes > 4) {
+          throw new IOException("Unsupported DER length");
+        }
+        checkAvailable(lengthBytes);
+        length = 0;
+        for (int i = 0; i < lengthBytes; ++i) {
+          length = (length << 8) | (data[position++] & 0xFF);
+        }
+      }
+
+      if (length < 0) {
+        throw new IOException("Unsupported DER length");
+      }
+      checkAvailable(length);
+      return position + length;
+    }
+
+    private void checkAvailable(int length) throws IOException {
+      if (end - position < length) {
+        throw new IOException("Truncated DER element");
+      }
+    }
+  }
+}
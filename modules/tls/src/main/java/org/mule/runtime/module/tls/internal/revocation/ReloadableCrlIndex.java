@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.lang.Long.getLong;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.api.util.IOUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.TrustAnchor;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Holds the {@link CrlIndex} built from a CRL file, rebuilding it in the background when the file changes.
+ * <p>
+ * Handshakes always see a complete index: the new one is built aside and then published, and if the new file cannot be parsed
+ * the previous index is kept. CRLs loaded from the classpath are not reloaded, and neither are CRLs for which no scheduler is
+ * given.
+ * <p>
+ * The reload runs on the scheduler of the TLS context that uses the CRL, so it stops along with the context. It may also be
+ * stopped before, with {@link #stop()}, when the CRL is loaded again.
+ *
+ * @since 4.3.0
+ */
+final class ReloadableCrlIndex implements Supplier<CrlIndex> {
+
+  /**
+   * The interval in milliseconds for checking whether CRL files changed. Zero disables reloading. Defaults to one minute.
+   */
+  static final String MULE_TLS_CRL_RELOAD_INTERVAL = SYSTEM_PROPERTY_PREFIX + "tls.crlReloadInterval";
+
+  private static final Logger LOGGER = getLogger(ReloadableCrlIndex.class);
+
+  private static final long RELOAD_INTERVAL = getLong(MULE_TLS_CRL_RELOAD_INTERVAL, 60000L);
+
+  private final String path;
+  private final Set<TrustAnchor> trustAnchors;
+  private final File file;
+  private final ScheduledFuture<?> reloadTask;
+
+  private volatile CrlIndex index;
+  private long lastModified;
+
+  /**
+   * @param path            the path of the CRL file, in the file system or the classpath
+   * @param trustAnchors    the trusted certificates that may have issued the CRLs
+   * @param reloadScheduler where to check for changes of the file, or {@code null} not to reload it
+   */
+  ReloadableCrlIndex(String path, Set<TrustAnchor> trustAnchors, ScheduledExecutorService reloadScheduler)
+      throws IOException, GeneralSecurityException {
+    this.path = path;
+    this.trustAnchors = trustAnchors;
+
+    File candidate = new File(path);
+    this.file = candidate.isFile() ? candidate : null;
+    this.lastModified = file != null ? file.lastModified() : 0;
+    this.index = load();
+
+    if (file != null && reloadScheduler != null && RELOAD_INTERVAL > 0) {
+      reloadTask = reloadScheduler.scheduleWithFixedDelay(this::reloadIfChanged, RELOAD_INTERVAL, RELOAD_INTERVAL, MILLISECONDS);
+    } else {
+      reloadTask = null;
+    }
+  }
+
+  private CrlIndex load() throws IOException, GeneralSecurityException {
+    try (InputStream in = IOUtils.getResourceAsStream(path, getClass())) {
+      if (in == null) {
+        throw new IOException("CRL file '" + path + "' not found");
+      }
+      return CrlIndex.index(CertificateFactory.getInstance("X.509").generateCRLs(in), trustAnchors);
+    }
+  }
+
+  void reloadIfChanged() {
+    long currentLastModified = file.lastModified();
+    if (currentLastModified == lastModified) {
+      return;
+    }
+
+    try {
+      index = load();
+      lastModified = currentLastModified;
+      LOGGER.info("CRL file '{}' changed, reloaded its revoked certificates", path);
+    } catch (IOException | GeneralSecurityException e) {
+      // the file may be in the middle of being written, so this is retried on the next check
+      LOGGER.warn("Could not reload CRL file '" + path + "', keeping the previously loaded one", e);
+    }
+  }
+
+  /**
+   * Stops checking the file for changes. The last loaded index is still available.
+   */
+  void stop() {
+    if (reloadTask != null) {
+      reloadTask.cancel(false);
+    }
+  }
+
+  @Override
+  public CrlIndex get() {
+    return index;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.module.tls.internal.revocation.TestCertificateAuthority.DAY;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.math.BigInteger;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class CrlIndexTestCase extends AbstractMuleTestCase {
+
+  private static TestCertificateAuthority ca;
+  private static X509Certificate revoked;
+  private static X509Certificate notRevoked;
+
+  @BeforeClass
+  public static void createCertificates() throws Exception {
+    ca = new TestCertificateAuthority("CA");
+    revoked = ca.issue(2);
+    notRevoked = ca.issue(3);
+  }
+
+  @Test
+  public void revokedCertificate() throws Exception {
+    CrlIndex index = CrlIndex.index(singletonList(ca.crl(2)), ca.getTrustAnchors());
+
+    X509CRLEntry entry = index.getRevocationEntry(revoked, new Date());
+    assertThat(entry, is(notNullValue()));
+    assertThat(entry.getSerialNumber(), is(BigInteger.valueOf(2)));
+  }
+
+  @Test
+  public void notRevokedCertificate() throws Exception {
+    CrlIndex index = CrlIndex.index(singletonList(ca.crl(2)), ca.getTrustAnchors());
+
+    assertThat(index.hasCurrentCrlFor(notRevoked, new Date()), is(true));
+    assertThat(index.getRevocationEntry(notRevoked, new Date()), is(nullValue()));
+  }
+
+  @Test
+  public void notRevokedBeforeRevocationDate() throws Exception {
+    CrlIndex index = CrlIndex.index(singletonList(ca.crl(2)), ca.getTrustAnchors());
+
+    assertThat(index.getRevocationEntry(revoked, new Date(currentTimeMillis() - 2 * DAY)), is(nullValue()));
+  }
+
+  @Test
+  public void expiredCrlIsNotCurrent() throws Exception {
+    Date thisUpdate = new Date(currentTimeMillis() - 30 * DAY);
+    Date nextUpdate = new Date(currentTimeMillis() - DAY);
+    CrlIndex index = CrlIndex.index(singletonList(ca.crl(thisUpdate, nextUpdate, false, 2)), ca.getTrustAnchors());
+
+    assertThat(index.hasCurrentCrlFor(notRevoked, new Date()), is(false));
+    assertThat(index.getRevocationEntry(revoked, new Date()), is(nullValue()));
+  }
+
+  @Test
+  public void notYetValidCrlIsNotCurrent() throws Exception {
+    Date thisUpdate = new Date(currentTimeMillis() + DAY);
+    Date nextUpdate = new Date(currentTimeMillis() + 30 * DAY);
+    CrlIndex index = CrlIndex.index(singletonList(ca.crl(thisUpdate, nextUpdate, false)), ca.getTrustAnchors());
+
+    assertThat(index.hasCurrentCrlFor(notRevoked, new Date()), is(false));
+  }
+
+  @Test
+  public void currentCrlUsedWhenAnotherExpired() throws Exception {
+    Date expiredThisUpdate = new Date(currentTimeMillis() - 30 * DAY);
+    Date expiredNextUpdate = new Date(currentTimeMillis() - DAY);
+    CrlIndex index = CrlIndex.index(asList(ca.crl(expiredThisUpdate, expiredNextUpdate, false), ca.crl(2)),
+                                    ca.getTrustAnchors());
+
+    assertThat(index.hasCurrentCrlFor(notRevoked, new Date()), is(true));
+    assertThat(index.getRevocationEntry(revoked, new Date()), is(notNullValue()));
+  }
+
+  @Test
+  public void crlWithCriticalExtensionIgnored() throws Exception {
+    Date thisUpdate = new Date(currentTimeMillis() - DAY);
+    Date nextUpdate = new Date(currentTimeMillis() + 30 * DAY);
+    CrlIndex index = CrlIndex.index(singletonList(ca.crl(thisUpdate, nextUpdate, true, 2)), ca.getTrustAnchors());
+
+    assertThat(index.hasCurrentCrlFor(revoked, new Date()), is(false));
+  }
+
+  @Test
+  public void crlNotSignedByTrustAnchorIgnored() throws Exception {
+    // same name as the trusted CA, but different keys
+    TestCertificateAuthority impostor = new TestCertificateAuthority("CA");
+    CrlIndex index = CrlIndex.index(singletonList(impostor.crl()), ca.getTrustAnchors());
+
+    assertThat(index.hasCurrentCrlFor(notRevoked, new Date()), is(false));
+  }
+}
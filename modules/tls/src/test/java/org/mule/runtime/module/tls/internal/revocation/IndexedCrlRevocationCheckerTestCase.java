@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.lang.System.currentTimeMillis;
+import static java.security.cert.CertPathValidatorException.BasicReason.REVOKED;
+import static java.security.cert.CertPathValidatorException.BasicReason.UNDETERMINED_REVOCATION_STATUS;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.is;
+import static org.mule.runtime.module.tls.internal.revocation.TestCertificateAuthority.DAY;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.security.cert.CertPathValidatorException;
+import java.security.cert.X509CRL;
+import java.util.Date;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class IndexedCrlRevocationCheckerTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  private static TestCertificateAuthority ca;
+
+  @BeforeClass
+  public static void createCa() throws Exception {
+    ca = new TestCertificateAuthority("CA");
+  }
+
+  @Test
+  public void notRevoked() throws Exception {
+    createChecker(ca.crl(2)).check(ca.issue(3), emptySet());
+  }
+
+  @Test
+  public void revoked() throws Exception {
+    expectedException.expect(CertPathValidatorException.class);
+    expectedException.expect(hasProperty("reason", is(REVOKED)));
+    createChecker(ca.crl(2)).check(ca.issue(2), emptySet());
+  }
+
+  @Test
+  public void expiredCrl() throws Exception {
+    X509CRL expired = ca.crl(new Date(currentTimeMillis() - 30 * DAY), new Date(currentTimeMillis() - DAY), false);
+
+    expectedException.expect(CertPathValidatorException.class);
+    expectedException.expect(hasProperty("reason", is(UNDETERMINED_REVOCATION_STATUS)));
+    createChecker(expired).check(ca.issue(3), emptySet());
+  }
+
+  @Test
+  public void noCrlForIssuer() throws Exception {
+    TestCertificateAuthority otherCa = new TestCertificateAuthority("Other CA");
+
+    expectedException.expect(CertPathValidatorException.class);
+    expectedException.expect(hasProperty("reason", is(UNDETERMINED_REVOCATION_STATUS)));
+    createChecker(ca.crl()).check(otherCa.issue(3), emptySet());
+  }
+
+  private IndexedCrlRevocationChecker createChecker(X509CRL crl) {
+    CrlIndex index = CrlIndex.index(singletonList(crl), ca.getTrustAnchors());
+    return new IndexedCrlRevocationChecker(() -> index);
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.lang.System.currentTimeMillis;
+import static org.bouncycastle.asn1.ocsp.OCSPObjectIdentifiers.id_pkix_ocsp_basic;
+import static org.bouncycastle.asn1.ocsp.OCSPResponseStatus.SUCCESSFUL;
+import static org.bouncycastle.asn1.ocsp.OCSPResponseStatus.TRY_LATER;
+import static org.bouncycastle.asn1.oiw.OIWObjectIdentifiers.idSHA1;
+import static org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers.sha256WithRSAEncryption;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.module.tls.internal.revocation.TestCertificateAuthority.DAY;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+
+import org.bouncycastle.asn1.ASN1GeneralizedTime;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.DERBitString;
+import org.bouncycastle.asn1.DERGeneralizedTime;
+import org.bouncycastle.asn1.DERNull;
+import org.bouncycastle.asn1.DEROctetString;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.ocsp.BasicOCSPResponse;
+import org.bouncycastle.asn1.ocsp.CertID;
+import org.bouncycastle.asn1.ocsp.CertStatus;
+import org.bouncycastle.asn1.ocsp.OCSPRequest;
+import org.bouncycastle.asn1.ocsp.OCSPResponse;
+import org.bouncycastle.asn1.ocsp.OCSPResponseStatus;
+import org.bouncycastle.asn1.ocsp.Request;
+import org.bouncycastle.asn1.ocsp.ResponderID;
+import org.bouncycastle.asn1.ocsp.ResponseBytes;
+import org.bouncycastle.asn1.ocsp.ResponseData;
+import org.bouncycastle.asn1.ocsp.SingleResponse;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.Extensions;
+import org.junit.Test;
+
+public class OcspMessagesTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void requestIdentifiesCertificate() throws Exception {
+    TestCertificateAuthority ca = new TestCertificateAuthority("CA");
+    X509Certificate certificate = ca.issue(42);
+
+    OCSPRequest request = OCSPRequest.getInstance(OcspMessages.createRequest(certificate, ca.getCertificate()));
+    CertID certId = Request.getInstance(request.getTbsRequest().getRequestList().getObjectAt(0)).getReqCert();
+
+    assertThat(certId.getHashAlgorithm().getAlgorithm(), is(idSHA1));
+    assertThat(certId.getSerialNumber().getValue(), is(BigInteger.valueOf(42)));
+    assertThat(certId.getIssuerNameHash().getOctets(),
+               is(MessageDigest.getInstance("SHA-1").digest(ca.getCertificate().getSubjectX500Principal().getEncoded())));
+  }
+
+  @Test
+  public void earliestNextUpdate() throws Exception {
+    Date earliest = secondsPrecision(currentTimeMillis() + DAY);
+    Date latest = secondsPrecision(currentTimeMillis() + 2 * DAY);
+
+    byte[] response = successfulResponse(singleResponse(latest), singleResponse(earliest));
+
+    assertThat(OcspMessages.getNextUpdate(response), is(earliest));
+  }
+
+  @Test
+  public void noNextUpdate() throws Exception {
+    byte[] response = successfulResponse(singleResponse(secondsPrecision(currentTimeMillis() + DAY)), singleResponse(null));
+
+    assertThat(OcspMessages.getNextUpdate(response), is(nullValue()));
+  }
+
+  @Test
+  public void unsuccessfulResponse() throws Exception {
+    byte[] response = new OCSPResponse(new OCSPResponseStatus(TRY_LATER), null).getEncoded();
+
+    assertThat(OcspMessages.getNextUpdate(response), is(nullValue()));
+  }
+
+  private static byte[] successfulResponse(SingleResponse... singleResponses) throws Exception {
+    ResponseData responseData = new ResponseData(new ResponderID(new X500Name("CN=Responder")),
+                                                 new DERGeneralizedTime(new Date()),
+                                                 new DERSequence(singleResponses),
+                                                 (Extensions) null);
+    BasicOCSPResponse basicResponse = new BasicOCSPResponse(responseData, new AlgorithmIdentifier(sha256WithRSAEncryption),
+                                                            new DERBitString(new byte[1]), null);
+
+    ResponseBytes responseBytes = new ResponseBytes(id_pkix_ocsp_basic, new DEROctetString(basicResponse));
+    return new OCSPResponse(new OCSPResponseStatus(SUCCESSFUL), responseBytes).getEncoded();
+  }
+
+  private static SingleResponse singleResponse(Date nextUpdate) {
+    CertID certId = new CertID(new AlgorithmIdentifier(idSHA1, DERNull.INSTANCE), new DEROctetString(new byte[20]),
+                               new DEROctetString(new byte[20]), new ASN1Integer(1));
+    ASN1GeneralizedTime nextUpdateTime = nextUpdate != null ? new DERGeneralizedTime(nextUpdate) : null;
+    return new SingleResponse(certId, new CertStatus(), new DERGeneralizedTime(new Date()), nextUpdateTime, (Extensions) null);
+  }
+
+  private static Date secondsPrecision(long millis) {
+    return new Date(millis / 1000 * 1000);
+  }
+}
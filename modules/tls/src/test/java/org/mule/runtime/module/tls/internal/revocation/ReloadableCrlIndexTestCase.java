@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.nio.file.Files.write;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.io.File;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ReloadableCrlIndexTestCase extends AbstractMuleTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static TestCertificateAuthority ca;
+  private static X509Certificate certificate;
+
+  @BeforeClass
+  public static void createCertificates() throws Exception {
+    ca = new TestCertificateAuthority("CA");
+    certificate = ca.issue(2);
+  }
+
+  @Test
+  public void reloadedWhenFileChanges() throws Exception {
+    File crlFile = writeCrl(ca.crl());
+    ReloadableCrlIndex crlIndex = new ReloadableCrlIndex(crlFile.getAbsolutePath(), ca.getTrustAnchors(), null);
+    assertThat(crlIndex.get().getRevocationEntry(certificate, new Date()), is(nullValue()));
+
+    write(crlFile.toPath(), ca.crl(2).getEncoded());
+    crlFile.setLastModified(crlFile.lastModified() + 10000);
+    crlIndex.reloadIfChanged();
+
+    assertThat(crlIndex.get().getRevocationEntry(certificate, new Date()), is(notNullValue()));
+  }
+
+  @Test
+  public void notReloadedWhenFileUnchanged() throws Exception {
+    File crlFile = writeCrl(ca.crl());
+    ReloadableCrlIndex crlIndex = new ReloadableCrlIndex(crlFile.getAbsolutePath(), ca.getTrustAnchors(), null);
+    CrlIndex index = crlIndex.get();
+
+    crlIndex.reloadIfChanged();
+
+    assertThat(crlIndex.get(), is(sameInstance(index)));
+  }
+
+  @Test
+  public void previousIndexKeptWhenFileCannotBeParsed() throws Exception {
+    File crlFile = writeCrl(ca.crl(2));
+    ReloadableCrlIndex crlIndex = new ReloadableCrlIndex(crlFile.getAbsolutePath(), ca.getTrustAnchors(), null);
+    CrlIndex index = crlIndex.get();
+
+    write(crlFile.toPath(), "not a CRL".getBytes());
+    crlFile.setLastModified(crlFile.lastModified() + 10000);
+    crlIndex.reloadIfChanged();
+
+    assertThat(crlIndex.get(), is(sameInstance(index)));
+  }
+
+  @Test
+  public void reloadScheduledUntilStopped() throws Exception {
+    ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    ScheduledFuture<?> reloadTask = mock(ScheduledFuture.class);
+    doReturn(reloadTask).when(scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(60000L), eq(60000L), eq(MILLISECONDS));
+
+    ReloadableCrlIndex crlIndex = new ReloadableCrlIndex(writeCrl(ca.crl()).getAbsolutePath(), ca.getTrustAnchors(), scheduler);
+    verify(scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(60000L), eq(60000L), eq(MILLISECONDS));
+
+    crlIndex.stop();
+    verify(reloadTask).cancel(false);
+  }
+
+  private File writeCrl(X509CRL crl) throws Exception {
+    File crlFile = temporaryFolder.newFile();
+    write(crlFile.toPath(), crl.getEncoded());
+    return crlFile;
+  }
+}
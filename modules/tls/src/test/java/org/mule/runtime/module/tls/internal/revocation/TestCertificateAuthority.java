@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.singleton;
+import static org.bouncycastle.asn1.x509.CRLReason.keyCompromise;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.Set;
+
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.CRLNumber;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.x509.X509V2CRLGenerator;
+import org.bouncycastle.x509.X509V3CertificateGenerator;
+
+/**
+ * Generates the certificates and CRLs of a CA for the revocation tests.
+ */
+final class TestCertificateAuthority {
+
+  static final long DAY = 24 * 60 * 60 * 1000L;
+
+  private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+
+  private final X500Principal name;
+  private final KeyPair keys;
+  private final X509Certificate certificate;
+
+  TestCertificateAuthority(String name) throws Exception {
+    this.name = new X500Principal("CN=" + name);
+    this.keys = generateKeyPair();
+    this.certificate = generateCertificate(this.name, keys, BigInteger.ONE, true);
+  }
+
+  X509Certificate getCertificate() {
+    return certificate;
+  }
+
+  Set<TrustAnchor> getTrustAnchors() {
+    return singleton(new TrustAnchor(certificate, null));
+  }
+
+  /**
+   * @return a certificate issued by this CA with the given {@code serial}
+   */
+  X509Certificate issue(long serial) throws Exception {
+    return generateCertificate(new X500Principal("CN=client" + serial), generateKeyPair(), BigInteger.valueOf(serial), false);
+  }
+
+  /**
+   * @return a CRL current since yesterday and for the next month, revoking the given {@code serials} since yesterday
+   */
+  X509CRL crl(long... serials) throws Exception {
+    return crl(new Date(currentTimeMillis() - DAY), new Date(currentTimeMillis() + 30 * DAY), false, serials);
+  }
+
+  /**
+   * @return a CRL revoking the given {@code serials} since {@code thisUpdate}
+   */
+  X509CRL crl(Date thisUpdate, Date nextUpdate, boolean criticalExtension, long... serials) throws Exception {
+    X509V2CRLGenerator generator = new X509V2CRLGenerator();
+    generator.setIssuerDN(name);
+    generator.setThisUpdate(thisUpdate);
+    generator.setNextUpdate(nextUpdate);
+    generator.setSignatureAlgorithm(SIGNATURE_ALGORITHM);
+    if (criticalExtension) {
+      generator.addExtension(Extension.deltaCRLIndicator, true, new CRLNumber(BigInteger.ONE));
+    }
+
+    for (long serial : serials) {
+      generator.addCRLEntry(BigInteger.valueOf(serial), thisUpdate, keyCompromise);
+    }
+    return generator.generate(keys.getPrivate());
+  }
+
+  private X509Certificate generateCertificate(X500Principal subject, KeyPair subjectKeys, BigInteger serial, boolean ca)
+      throws Exception {
+    X509V3CertificateGenerator generator = new X509V3CertificateGenerator();
+    generator.setSerialNumber(serial);
+    generator.setSubjectDN(subject);
+    generator.setIssuerDN(name);
+    generator.setNotBefore(new Date(currentTimeMillis() - DAY));
+    generator.setNotAfter(new Date(currentTimeMillis() + 365 * DAY));
+    generator.setPublicKey(subjectKeys.getPublic());
+    generator.setSignatureAlgorithm(SIGNATURE_ALGORITHM);
+    generator.addExtension(Extension.basicConstraints, true, new BasicConstraints(ca));
+    return generator.generate(keys.getPrivate());
+  }
+
+  private static KeyPair generateKeyPair() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(1024);
+    return generator.generateKeyPair();
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.test.module.tls;
 
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Collections.emptyMap;
 import static javax.net.ssl.TrustManagerFactory.getDefaultAlgorithm;
 import static org.apache.commons.lang3.SystemUtils.IS_JAVA_1_8;
@@ -13,27 +14,37 @@ import static org.hamcrest.Matchers.arrayContaining;
 import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assume.assumeThat;
 import static org.mule.functional.junit4.matchers.ThrowableCauseMatcher.hasCause;
 import static org.mule.functional.junit4.matchers.ThrowableMessageMatcher.hasMessage;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.util.ClassUtils.setFieldValue;
 import static org.mule.runtime.core.privileged.security.tls.TlsConfiguration.DEFAULT_SECURITY_MODEL;
 import static org.mule.runtime.core.privileged.security.tls.TlsConfiguration.PROPERTIES_FILE_PATTERN;
+import static org.mule.tck.probe.PollingProber.probe;
 
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.tls.TlsContextFactory;
 import org.mule.runtime.core.api.util.ClassUtils;
+import org.mule.runtime.core.api.util.IOUtils;
 import org.mule.runtime.core.api.util.StringUtils;
 import org.mule.runtime.module.tls.internal.DefaultTlsContextFactory;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
 import org.mule.tck.junit4.AbstractMuleTestCase;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintWriter;
+import java.nio.file.Files;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 
@@ -45,12 +56,16 @@ import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
 public class DefaultTlsContextFactoryTestCase extends AbstractMuleTestCase {
 
   @Rule
   public ExpectedException expectedException = ExpectedException.none();
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @BeforeClass
   public static void createTlsPropertiesFile() throws Exception {
 
@@ -194,6 +209,79 @@ public class DefaultTlsContextFactoryTestCase extends AbstractMuleTestCase {
     defaultIncludesDEfaultTlsVersionCiphers("TLSv1.3");
   }
 
+  @Test
+  public void sslContextIsReused() throws Exception {
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    tlsContextFactory.initialise();
+
+    assertThat(tlsContextFactory.createSslContext(), sameInstance(tlsContextFactory.createSslContext()));
+  }
+
+  @Test
+  public void sessionCacheSettingsApplied() throws Exception {
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    tlsContextFactory.setSessionCacheSize(10);
+    tlsContextFactory.setSessionTimeout(60);
+    tlsContextFactory.initialise();
+
+    SSLContext sslContext = tlsContextFactory.createSslContext();
+    assertThat(sslContext.getClientSessionContext().getSessionCacheSize(), is(10));
+    assertThat(sslContext.getClientSessionContext().getSessionTimeout(), is(60));
+    assertThat(sslContext.getServerSessionContext().getSessionCacheSize(), is(10));
+    assertThat(sslContext.getServerSessionContext().getSessionTimeout(), is(60));
+  }
+
+  @Test
+  public void sslContextRebuiltWhenTrustStoreChanges() throws Exception {
+    File trustStore = temporaryFolder.newFile("trustStore");
+    try (InputStream is = IOUtils.getResourceAsStream("trustStore", getClass())) {
+      Files.copy(is, trustStore.toPath(), REPLACE_EXISTING);
+    }
+
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    tlsContextFactory.setTrustStorePath(trustStore.getAbsolutePath());
+    tlsContextFactory.setTrustStorePassword("mulepassword");
+    tlsContextFactory.setStoresWatchInterval(50);
+    SimpleUnitTestSupportSchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+    setFieldValue(tlsContextFactory, "schedulerService", schedulerService, false);
+    tlsContextFactory.initialise();
+
+    try {
+      SSLContext sslContext = tlsContextFactory.createSslContext();
+      trustStore.setLastModified(trustStore.lastModified() + 10000);
+
+      probe(() -> tlsContextFactory.createSslContext() != sslContext);
+      assertThat(tlsContextFactory.createSslContext(), not(sameInstance(sslContext)));
+    } finally {
+      tlsContextFactory.dispose();
+      schedulerService.stop();
+    }
+  }
+
+  @Test
+  public void storesWatcherStoppedOnDispose() throws Exception {
+    File trustStore = temporaryFolder.newFile("trustStore");
+    try (InputStream is = IOUtils.getResourceAsStream("trustStore", getClass())) {
+      Files.copy(is, trustStore.toPath(), REPLACE_EXISTING);
+    }
+
+    DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
+    tlsContextFactory.setTrustStorePath(trustStore.getAbsolutePath());
+    tlsContextFactory.setTrustStorePassword("mulepassword");
+    tlsContextFactory.setStoresWatchInterval(50);
+    SimpleUnitTestSupportSchedulerService schedulerService = new SimpleUnitTestSupportSchedulerService();
+    setFieldValue(tlsContextFactory, "schedulerService", schedulerService, false);
+    tlsContextFactory.initialise();
+
+    try {
+      assertThat(schedulerService.getSchedulers(), hasSize(1));
+      tlsContextFactory.dispose();
+      assertThat(schedulerService.getSchedulers(), is(empty()));
+    } finally {
+      schedulerService.stop();
+    }
+  }
+
   private void defaultIncludesDEfaultTlsVersionCiphers(String sslVersion)
       throws InitialisationException, KeyManagementException, NoSuchAlgorithmException {
     DefaultTlsContextFactory tlsContextFactory = new DefaultTlsContextFactory(emptyMap());
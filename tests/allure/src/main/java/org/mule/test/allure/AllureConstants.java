@@ -268,6 +268,8 @@ public interface AllureConstants {
       String REACTOR = "Reactor";
       String DIRECT = "Direct";
       String WORK_QUEUE = "Work Queue";
+      String WORK_STEALING = "Work Stealing";
+      String ADAPTIVE_CONCURRENCY = "Adaptive Concurrency";
     }
 
   }
@@ -281,6 +283,8 @@ public interface AllureConstants {
       String COLLECT_LIST = "Collect List";
       String COLLECT_MAP = "Collect Map";
       String JOIN_ONLY = "Join Only";
+      String REDUCE = "Reduce";
+      String STREAMING_COLLECT_LIST = "Streaming Collect List";
     }
 
   }
@@ -9,14 +9,23 @@ package org.mule;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
+import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.core.internal.metadata.DataTypeInterner;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 
+/**
+ * Run with {@code -prof gc} to compare the allocation rate of the interned variants against the plain ones.
+ */
 @OutputTimeUnit(NANOSECONDS)
 public class MediaTypeBenchmark extends AbstractBenchmark {
 
+  private static final String CONTENT_TYPE = "application/json; charset=UTF-8";
+
+  private final Object value = PAYLOAD;
+
   @Benchmark
   public Object noCharset() {
     return MediaType.create("text", "plain" + System.nanoTime());
@@ -27,4 +36,29 @@ public class MediaTypeBenchmark extends AbstractBenchmark {
     return MediaType.create("text", "plain" + System.nanoTime(), UTF_8);
   }
 
+  @Benchmark
+  public Object parse() {
+    return MediaType.parse(CONTENT_TYPE);
+  }
+
+  @Benchmark
+  public Object parseInterned() {
+    return DataTypeInterner.parseMediaType(CONTENT_TYPE);
+  }
+
+  @Benchmark
+  public Object dataTypeFromObject() {
+    return DataType.fromObject(value);
+  }
+
+  @Benchmark
+  public Object dataTypeFromObjectInterned() {
+    return DataTypeInterner.fromObject(value);
+  }
+
+  @Benchmark
+  public Object dataTypeWithMediaType() {
+    return DataType.builder().type(String.class).mediaType(CONTENT_TYPE).build();
+  }
+
 }
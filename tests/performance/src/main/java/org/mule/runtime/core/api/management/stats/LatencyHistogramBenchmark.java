@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.AbstractBenchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+public class LatencyHistogramBenchmark extends AbstractBenchmark {
+
+  private final LatencyHistogram histogram = new LatencyHistogram(HOURS.toMicros(1));
+  private final ComponentStatistics componentStatistics = new ComponentStatistics();
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void record() {
+    histogram.record(current().nextInt(100_000));
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void addExecutionTime() {
+    componentStatistics.addExecutionTime(current().nextInt(1000));
+  }
+}
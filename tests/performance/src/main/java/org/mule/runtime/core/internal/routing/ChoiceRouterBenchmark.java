@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.mule.runtime.api.component.AbstractComponent.LOCATION_KEY;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures routing an event to the last route of a {@link ChoiceRouter} whose routes compare the same selector against different
+ * values, both when the routes are dispatched by the selector and when each route expression is evaluated in turn.
+ */
+@OutputTimeUnit(MICROSECONDS)
+public class ChoiceRouterBenchmark extends AbstractBenchmark {
+
+  @Param({"5", "20", "100"})
+  public int routes;
+
+  @Param({"selector", "sequential"})
+  public String dispatch;
+
+  private MuleContext muleContext;
+  private ChoiceRouter router;
+  private CoreEvent event;
+
+  @Setup
+  public void setup() throws MuleException {
+    muleContext = createMuleContextWithServices();
+
+    router = new ChoiceRouter();
+    router.setAnnotations(singletonMap(LOCATION_KEY, CONNECTOR_LOCATION));
+    router.setExpressionManager(muleContext.getExpressionManager());
+    router.setMuleContext(muleContext);
+    for (int i = 0; i < routes; ++i) {
+      // parenthesized comparisons are not analysed, so each one is evaluated in turn
+      router.addRoute("selector".equals(dispatch) ? "#[vars.type == 'type" + i + "']" : "#[(vars.type == 'type" + i + "')]",
+                      e -> e);
+    }
+    router.initialise();
+    router.start();
+
+    event = CoreEvent.builder(create(createFlow(muleContext), CONNECTOR_LOCATION)).message(of(PAYLOAD))
+        .addVariable("type", "type" + (routes - 1)).build();
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    router.stop();
+    router.dispose();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent route() throws MuleException {
+    return router.process(event);
+  }
+}
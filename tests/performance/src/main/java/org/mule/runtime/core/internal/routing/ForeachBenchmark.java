@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.component.AbstractComponent.LOCATION_KEY;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.namespace.QName;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures iterating a collection of one million elements with a {@link Foreach} whose nested processor does nothing.
+ */
+@OutputTimeUnit(MILLISECONDS)
+public class ForeachBenchmark extends AbstractBenchmark {
+
+  private static final int ELEMENTS = 1000000;
+
+  @Param({"1", "100"})
+  public int batchSize;
+
+  private MuleContext muleContext;
+  private Foreach foreach;
+  private CoreEvent event;
+
+  @Setup
+  public void setup() throws MuleException {
+    muleContext = createMuleContextWithServices();
+
+    Map<QName, Object> annotations = new HashMap<>();
+    annotations.put(LOCATION_KEY, CONNECTOR_LOCATION);
+
+    foreach = new Foreach();
+    foreach.setAnnotations(annotations);
+    foreach.setBatchSize(batchSize);
+    foreach.setMessageProcessors(singletonList(e -> e));
+    initialiseIfNeeded(foreach, muleContext);
+    foreach.start();
+
+    List<Integer> elements = new ArrayList<>(ELEMENTS);
+    for (int i = 0; i < ELEMENTS; ++i) {
+      elements.add(i);
+    }
+    event = createEvent(createFlow(muleContext), elements);
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    foreach.stop();
+    foreach.dispose();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public CoreEvent foreach() throws MuleException {
+    return foreach.process(event);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.privileged.processor;
+
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.ThreadLocalRandom.current;
+import static org.mule.runtime.api.component.AbstractComponent.LOCATION_KEY;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the throughput of an {@link IdempotentRedeliveryPolicy} processed concurrently by many threads, either with every
+ * thread delivering the same message or with the deliveries spread across many messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class IdempotentRedeliveryPolicyBenchmark extends AbstractBenchmark {
+
+  @Param({"1", "1000"})
+  public int messages;
+
+  private MuleContext muleContext;
+  private IdempotentRedeliveryPolicy policy;
+  private CoreEvent[] events;
+
+  @Setup
+  public void setup() throws MuleException {
+    muleContext = createMuleContextWithServices();
+
+    policy = new IdempotentRedeliveryPolicy();
+    policy.setAnnotations(singletonMap(LOCATION_KEY, CONNECTOR_LOCATION));
+    policy.setIdExpression("#[vars.messageId]");
+    policy.setMaxRedeliveryCount(5);
+    policy.setListener(event -> event);
+    initialiseIfNeeded(policy, muleContext);
+    policy.start();
+
+    Flow flow = createFlow(muleContext);
+    events = new CoreEvent[messages];
+    for (int i = 0; i < messages; ++i) {
+      events[i] = CoreEvent.builder(createEvent(flow)).addVariable("messageId", "message-" + i).build();
+    }
+  }
+
+  @TearDown
+  public void teardown() throws MuleException {
+    policy.stop();
+    policy.dispose();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent redeliveryPolicy() throws MuleException {
+    return policy.process(events[current().nextInt(messages)]);
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.processor.strategy;
 
+import static java.util.concurrent.ThreadLocalRandom.current;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static reactor.core.publisher.FluxSink.OverflowStrategy.ERROR;
 
@@ -19,6 +20,7 @@ import org.mule.runtime.core.api.processor.Sink;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory;
 import org.mule.runtime.core.internal.processor.strategy.TransactionAwareStreamEmitterProcessingStrategyFactory;
+import org.mule.runtime.core.internal.processor.strategy.WorkStealingStreamEmitterProcessingStrategyFactory;
 
 import java.util.function.Function;
 
@@ -45,6 +47,7 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
 
   private ProcessingStrategy directPs;
   private ProcessingStrategy emitterPs;
+  private ProcessingStrategy workStealingPs;
   private Flow flow;
 
   private Sink directSink;
@@ -59,6 +62,9 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
   private Sink directAllSink;
   private Sink emitterAllSink;
 
+  private Sink emitterSkewedSink;
+  private Sink workStealingSkewedSink;
+
   @Setup(Level.Trial)
   public void setUp() throws MuleException {
     muleContext = createMuleContextWithServices();
@@ -67,6 +73,8 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
     startIfNeeded(directPs);
     emitterPs = new TransactionAwareStreamEmitterProcessingStrategyFactory().create(muleContext, "emitter_mb");
     startIfNeeded(emitterPs);
+    workStealingPs = new WorkStealingStreamEmitterProcessingStrategyFactory().create(muleContext, "work_stealing_mb");
+    startIfNeeded(workStealingPs);
 
     flow = createFlow(muleContext);
 
@@ -94,6 +102,16 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
         directPs.createSink(flow, publisher -> baseFlux(publisher, directPs.onPipeline(directPs.onProcessor(processor))));
     emitterAllSink =
         emitterPs.createSink(flow, publisher -> baseFlux(publisher, emitterPs.onPipeline(emitterPs.onProcessor(processor))));
+
+    // One in every 16 events costs 100 times more than the rest
+    final ReactiveProcessor skewedProcessor = p -> Flux.from(p).doOnNext(e -> {
+      Blackhole.consumeCPU(current().nextInt(16) == 0 ? 10000 : 100);
+    });
+
+    emitterSkewedSink = emitterPs.createSink(flow, publisher -> baseFlux(publisher, emitterPs
+        .onPipeline(emitterPs.onProcessor(skewedProcessor))));
+    workStealingSkewedSink = workStealingPs.createSink(flow, publisher -> baseFlux(publisher, workStealingPs
+        .onPipeline(workStealingPs.onProcessor(skewedProcessor))));
   }
 
   private Flux<CoreEvent> baseFlux(Publisher<CoreEvent> publisher,
@@ -153,4 +171,16 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
   public CoreEvent emitterAllSink() {
     return Mono.<CoreEvent>create(resultSink -> emitterAllSink.accept(createEvent(flow, resultSink))).block();
   }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent emitterSkewedSink() {
+    return Mono.<CoreEvent>create(resultSink -> emitterSkewedSink.accept(createEvent(flow, resultSink))).block();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent workStealingSkewedSink() {
+    return Mono.<CoreEvent>create(resultSink -> workStealingSkewedSink.accept(createEvent(flow, resultSink))).block();
+  }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.operation;
+
+import static java.util.Collections.singletonMap;
+import static java.util.Optional.empty;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.registerObject;
+import static org.mule.runtime.module.extension.api.util.MuleExtensionUtils.loadExtension;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.meta.model.ComponentModel;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.extension.api.runtime.operation.ExecutionContext;
+import org.mule.runtime.module.extension.internal.runtime.execution.GeneratedMethodComponentExecutor;
+import org.mule.runtime.module.extension.internal.runtime.execution.executor.MethodExecutorGenerator;
+import org.mule.runtime.module.extension.internal.util.ReflectionCache;
+import org.mule.test.heisenberg.extension.HeisenbergExtension;
+import org.mule.test.heisenberg.extension.HeisenbergOperations;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures the cost of invoking operations of the heisenberg test extension through the {@link GeneratedMethodComponentExecutor},
+ * which holds the argument resolvers and parameter metadata compiled when the operation is initialised.
+ */
+@Threads(1)
+public class OperationExecutionBenchmark extends AbstractBenchmark {
+
+  private static final String MESSAGE = "Say my name";
+
+  private MuleContext muleContext;
+
+  private OperationModel echoModel;
+  private GeneratedMethodComponentExecutor<ComponentModel> echoExecutor;
+  private Function<ExecutionContext<ComponentModel>, Map<String, Object>> echoArgumentResolver;
+  private ExecutionContext<ComponentModel> echoContext;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    muleContext = createMuleContextWithServices();
+    registerObject(muleContext, ReflectionCache.class.getName(), new ReflectionCache());
+    registerObject(muleContext, MethodExecutorGenerator.class.getName(), new MethodExecutorGenerator());
+    muleContext.start();
+
+    ExtensionModel extensionModel = loadExtension(HeisenbergExtension.class);
+    echoModel = extensionModel.getOperationModel("echoStaticMessage").get();
+
+    echoExecutor = new GeneratedMethodComponentExecutor<>(echoModel.getParameterGroupModels(),
+                                                          HeisenbergOperations.class.getMethod("echoStaticMessage",
+                                                                                               String.class),
+                                                          new HeisenbergOperations());
+    echoExecutor.setMuleContext(muleContext);
+    initialiseIfNeeded(echoExecutor, true, muleContext);
+    echoArgumentResolver = echoExecutor.createArgumentResolver(echoModel);
+
+    echoContext = new BenchmarkExecutionContext(extensionModel, echoModel, singletonMap("message", MESSAGE));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws MuleException {
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public Object execute() {
+    return echoExecutor.execute(echoContext);
+  }
+
+  @Benchmark
+  public Map<String, Object> resolveArguments() {
+    return echoArgumentResolver.apply(echoContext);
+  }
+
+  @Benchmark
+  public Map<String, Object> createAndApplyArgumentResolver() {
+    return echoExecutor.createArgumentResolver(echoModel).apply(echoContext);
+  }
+
+  private static class BenchmarkExecutionContext implements ExecutionContext<ComponentModel> {
+
+    private final ExtensionModel extensionModel;
+    private final ComponentModel componentModel;
+    private final Map<String, Object> parameters;
+
+    private BenchmarkExecutionContext(ExtensionModel extensionModel, ComponentModel componentModel,
+                                      Map<String, Object> parameters) {
+      this.extensionModel = extensionModel;
+      this.componentModel = componentModel;
+      this.parameters = parameters;
+    }
+
+    @Override
+    public boolean hasParameter(String parameterName) {
+      return parameters.containsKey(parameterName);
+    }
+
+    @Override
+    public <T> T getParameter(String parameterName) {
+      return (T) parameters.get(parameterName);
+    }
+
+    @Override
+    public <T> T getParameterOrDefault(String parameterName, T defaultValue) {
+      return (T) parameters.getOrDefault(parameterName, defaultValue);
+    }
+
+    @Override
+    public Map<String, Object> getParameters() {
+      return parameters;
+    }
+
+    @Override
+    public Optional<ConfigurationInstance> getConfiguration() {
+      return empty();
+    }
+
+    @Override
+    public ExtensionModel getExtensionModel() {
+      return extensionModel;
+    }
+
+    @Override
+    public ComponentModel getComponentModel() {
+      return componentModel;
+    }
+  }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.tls.internal.revocation;
+
+import static java.lang.System.currentTimeMillis;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.delete;
+import static java.nio.file.Files.write;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.FINISHED;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_TASK;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_UNWRAP;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_WRAP;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING;
+import static javax.net.ssl.SSLEngineResult.Status.BUFFER_OVERFLOW;
+import static org.bouncycastle.asn1.x509.CRLReason.keyCompromise;
+
+import org.mule.AbstractBenchmark;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.cert.CertStore;
+import java.security.cert.CollectionCertStoreParameters;
+import java.security.cert.PKIXBuilderParameters;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CertSelector;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+
+import javax.net.ssl.CertPathTrustManagerParameters;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.ManagerFactoryParameters;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.TrustManagerFactory;
+import javax.security.auth.x500.X500Principal;
+
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.x509.X509V2CRLGenerator;
+import org.bouncycastle.x509.X509V3CertificateGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures a full mutual TLS handshake in which the server checks the client certificate against a CRL, either through the
+ * JDK's revocation checker or through {@link CrlFile}'s indexed one. All the CA material is generated when the benchmark starts.
+ */
+@OutputTimeUnit(MICROSECONDS)
+public class RevocationCheckHandshakeBenchmark extends AbstractBenchmark {
+
+  private static final char[] PASSWORD = "changeit".toCharArray();
+  private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
+  private static final long DAY = 24 * 60 * 60 * 1000L;
+
+  @Param({"0", "1000", "100000"})
+  public int revokedCertificates;
+
+  @Param({"jdk", "indexed"})
+  public String revocationCheck;
+
+  private Path crlFile;
+  private SSLContext serverContext;
+  private SSLContext clientContext;
+
+  @Setup
+  public void setup() throws Exception {
+    KeyPair caKeys = generateKeyPair();
+    X500Principal caName = new X500Principal("CN=Benchmark CA");
+    X509Certificate caCert = generateCertificate(caName, caName, caKeys, caKeys, BigInteger.ONE, true);
+
+    KeyPair serverKeys = generateKeyPair();
+    X509Certificate serverCert =
+        generateCertificate(new X500Principal("CN=localhost"), caName, serverKeys, caKeys, BigInteger.valueOf(2), false);
+
+    // the client's serial is beyond the revoked ones, so that the whole CRL has to be looked at by the JDK's checker
+    KeyPair clientKeys = generateKeyPair();
+    X509Certificate clientCert = generateCertificate(new X500Principal("CN=client"), caName, clientKeys, caKeys,
+                                                     BigInteger.valueOf(revokedCertificates + 3L), false);
+
+    X509CRL crl = generateCrl(caName, caKeys);
+    crlFile = createTempFile("benchmark", ".crl");
+    write(crlFile, crl.getEncoded());
+
+    KeyStore trustStore = newKeyStore();
+    trustStore.setCertificateEntry("ca", caCert);
+
+    serverContext = createContext(keyStore(serverKeys, serverCert, caCert), serverTrustParameters(trustStore, crl), null);
+    clientContext = createContext(keyStore(clientKeys, clientCert, caCert), null, trustStore);
+  }
+
+  @TearDown
+  public void teardown() throws Exception {
+    delete(crlFile);
+  }
+
+  @Benchmark
+  public boolean handshake() throws Exception {
+    SSLEngine server = serverContext.createSSLEngine();
+    server.setUseClientMode(false);
+    server.setNeedClientAuth(true);
+
+    // no peer host, so that sessions are never resumed and each handshake validates the client certificate
+    SSLEngine client = clientContext.createSSLEngine();
+    client.setUseClientMode(true);
+
+    return handshake(client, server);
+  }
+
+  private ManagerFactoryParameters serverTrustParameters(KeyStore trustStore, X509CRL crl)
+      throws Exception {
+    if ("indexed".equals(revocationCheck)) {
+      CrlFile crlFileCheck = new CrlFile();
+      crlFileCheck.setPath(crlFile.toString());
+      return crlFileCheck.configFor(trustStore, null);
+    }
+
+    PKIXBuilderParameters params = new PKIXBuilderParameters(trustStore, new X509CertSelector());
+    params.setRevocationEnabled(true);
+    params.addCertStore(CertStore.getInstance("Collection", new CollectionCertStoreParameters(singleton(crl))));
+    return new CertPathTrustManagerParameters(params);
+  }
+
+  private static SSLContext createContext(KeyStore keyStore, ManagerFactoryParameters trustParameters, KeyStore trustStore)
+      throws Exception {
+    KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+    kmf.init(keyStore, PASSWORD);
+
+    TrustManagerFactory tmf = TrustManagerFactory.getInstance("PKIX");
+    if (trustParameters != null) {
+      tmf.init(trustParameters);
+    } else {
+      tmf.init(trustStore);
+    }
+
+    SSLContext context = SSLContext.getInstance("TLSv1.2");
+    context.init(kmf.getKeyManagers(), tmf.getTrustManagers(), null);
+    return context;
+  }
+
+  private static boolean handshake(SSLEngine client, SSLEngine server) throws Exception {
+    int packetSize = client.getSession().getPacketBufferSize();
+    int applicationSize = client.getSession().getApplicationBufferSize();
+    ByteBuffer clientToServer = ByteBuffer.allocate(packetSize);
+    ByteBuffer serverToClient = ByteBuffer.allocate(packetSize);
+    ByteBuffer clientApp = ByteBuffer.allocate(applicationSize);
+    ByteBuffer serverApp = ByteBuffer.allocate(applicationSize);
+    ByteBuffer empty = ByteBuffer.allocate(0);
+
+    client.beginHandshake();
+    server.beginHandshake();
+
+    boolean clientDone = false;
+    boolean serverDone = false;
+    while (!clientDone || !serverDone) {
+      clientDone = step(client, empty, serverToClient, clientToServer, clientApp) || clientDone;
+      serverDone = step(server, empty, clientToServer, serverToClient, serverApp) || serverDone;
+    }
+    return clientDone && serverDone;
+  }
+
+  /**
+   * Advances the handshake of the given {@code engine} as much as possible with the data received so far.
+   *
+   * @return whether the handshake of the engine finished
+   */
+  private static boolean step(SSLEngine engine, ByteBuffer empty, ByteBuffer in, ByteBuffer out, ByteBuffer app)
+      throws Exception {
+    while (true) {
+      HandshakeStatus status = engine.getHandshakeStatus();
+      if (status == NEED_TASK) {
+        Runnable task;
+        while ((task = engine.getDelegatedTask()) != null) {
+          task.run();
+        }
+      } else if (status == NEED_WRAP) {
+        SSLEngineResult result = engine.wrap(empty, out);
+        if (result.getHandshakeStatus() == FINISHED) {
+          return true;
+        }
+        if (result.getStatus() == BUFFER_OVERFLOW) {
+          // waiting for the peer to consume what was already sent
+          return false;
+        }
+      } else if (status == NEED_UNWRAP) {
+        in.flip();
+        HandshakeStatus result = engine.unwrap(in, app).getHandshakeStatus();
+        boolean consumed = in.position() > 0;
+        in.compact();
+        if (result == FINISHED) {
+          return true;
+        }
+        if (!consumed) {
+          // waiting for the peer
+          return false;
+        }
+      } else {
+        return status == NOT_HANDSHAKING;
+      }
+    }
+  }
+
+  private static KeyPair generateKeyPair() throws Exception {
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    return generator.generateKeyPair();
+  }
+
+  private static X509Certificate generateCertificate(X500Principal subject, X500Principal issuer, KeyPair subjectKeys,
+                                                     KeyPair issuerKeys, BigInteger serial, boolean ca)
+      throws Exception {
+    X509V3CertificateGenerator generator = new X509V3CertificateGenerator();
+    generator.setSerialNumber(serial);
+    generator.setSubjectDN(subject);
+    generator.setIssuerDN(issuer);
+    generator.setNotBefore(new Date(currentTimeMillis() - DAY));
+    generator.setNotAfter(new Date(currentTimeMillis() + 365 * DAY));
+    generator.setPublicKey(subjectKeys.getPublic());
+    generator.setSignatureAlgorithm(SIGNATURE_ALGORITHM);
+    generator.addExtension(Extension.basicConstraints, true, new BasicConstraints(ca));
+    return generator.generate(issuerKeys.getPrivate());
+  }
+
+  private X509CRL generateCrl(X500Principal caName, KeyPair caKeys) throws Exception {
+    X509V2CRLGenerator generator = new X509V2CRLGenerator();
+    generator.setIssuerDN(caName);
+    generator.setThisUpdate(new Date(currentTimeMillis() - DAY));
+    generator.setNextUpdate(new Date(currentTimeMillis() + 30 * DAY));
+    generator.setSignatureAlgorithm(SIGNATURE_ALGORITHM);
+
+    Date revocationDate = new Date(currentTimeMillis() - DAY);
+    for (int i = 0; i < revokedCertificates; ++i) {
+      generator.addCRLEntry(BigInteger.valueOf(i + 3L), revocationDate, keyCompromise);
+    }
+    return generator.generate(caKeys.getPrivate());
+  }
+
+  private static KeyStore keyStore(KeyPair keys, X509Certificate cert, X509Certificate caCert) throws Exception {
+    KeyStore keyStore = newKeyStore();
+    keyStore.setKeyEntry("key", keys.getPrivate(), PASSWORD, new X509Certificate[] {cert, caCert});
+    return keyStore;
+  }
+
+  private static KeyStore newKeyStore() throws Exception {
+    KeyStore keyStore = KeyStore.getInstance("JKS");
+    keyStore.load(null, PASSWORD);
+    return keyStore;
+  }
+}